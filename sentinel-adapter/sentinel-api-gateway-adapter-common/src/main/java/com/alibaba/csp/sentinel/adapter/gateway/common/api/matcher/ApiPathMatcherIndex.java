@@ -0,0 +1,372 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.gateway.common.api.matcher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiDefinition;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiPathPredicateItem;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiPredicateItem;
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.csp.sentinel.util.function.Function;
+import com.alibaba.csp.sentinel.util.function.Predicate;
+
+/**
+ * <p>All path predicates of API definitions compiled into a single index, so that matching APIs of a request
+ * could be picked without testing every API definition.</p>
+ * <ul>
+ * <li>Exact patterns are kept in a hash table.</li>
+ * <li>Prefix (Ant-style) patterns are indexed by their leading literal path segments in a path trie. Patterns like
+ * {@code /foo/bar/**} match directly on the trie node, while the others are only tested when the request path
+ * reaches their node.</li>
+ * <li>Regex patterns are indexed in another path trie by the complete path segments of their literal prefix, and
+ * are only tested when the request path reaches their node. Patterns without such a prefix are always tested.</li>
+ * </ul>
+ * <p>Path segments are split by {@code /} with empty segments ignored, which is the same as
+ * {@code AntPathMatcher}.</p>
+ *
+ * @since 1.8.1
+ */
+public final class ApiPathMatcherIndex {
+
+    private static final String SEPARATOR = "/";
+    private static final String ANY_PATH = "**";
+
+    private static final ApiPathMatcherIndex EMPTY = new ApiPathMatcherIndex();
+
+    private final Map<String, Set<String>> exactApis = new HashMap<>();
+    private final PathTrie prefixTrie = new PathTrie();
+    private final PathTrie regexTrie = new PathTrie();
+
+    private ApiPathMatcherIndex() {}
+
+    public static ApiPathMatcherIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compile path predicates of the API definitions into an index.
+     *
+     * @param definitions            API definitions
+     * @param antPathMatcherFactory  creates the matcher of an Ant-style path pattern, or returns null if
+     *                               the pattern never matches
+     * @return the compiled index
+     */
+    public static ApiPathMatcherIndex compile(Collection<ApiDefinition> definitions,
+                                              Function<String, Predicate<String>> antPathMatcherFactory) {
+        AssertUtil.notNull(antPathMatcherFactory, "antPathMatcherFactory cannot be null");
+        ApiPathMatcherIndex index = new ApiPathMatcherIndex();
+        if (definitions == null) {
+            return index;
+        }
+        for (ApiDefinition definition : definitions) {
+            if (definition == null || StringUtil.isBlank(definition.getApiName())
+                || definition.getPredicateItems() == null) {
+                continue;
+            }
+            for (ApiPredicateItem item : definition.getPredicateItems()) {
+                if (item instanceof ApiPathPredicateItem) {
+                    try {
+                        index.add(definition.getApiName(), (ApiPathPredicateItem)item, antPathMatcherFactory);
+                    } catch (Exception ex) {
+                        RecordLog.warn("[ApiPathMatcherIndex] Ignoring invalid path predicate of API <{}>: {}",
+                            definition.getApiName(), item, ex);
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Pick all matching APIs of the request path.
+     *
+     * @param path the request path
+     * @return names of matching APIs
+     */
+    public Set<String> match(String path) {
+        return match(path, path, path);
+    }
+
+    /**
+     * Pick all matching APIs of the request path. Adapters may match different kinds of patterns against
+     * different forms of the request path.
+     *
+     * @param exactPath  the request path used for exact patterns
+     * @param prefixPath the request path used for prefix patterns
+     * @param regexPath  the request path used for regex patterns
+     * @return names of matching APIs
+     */
+    public Set<String> match(String exactPath, String prefixPath, String regexPath) {
+        Set<String> result = null;
+        if (exactPath != null) {
+            Set<String> apis = exactApis.get(exactPath);
+            if (apis != null) {
+                result = new HashSet<>(apis);
+            }
+        }
+        result = prefixTrie.match(prefixPath, result);
+        result = regexTrie.match(regexPath, result);
+        return result == null ? Collections.<String>emptySet() : result;
+    }
+
+    private static Set<String> testCandidate(PathCandidate candidate, String path, Set<String> result) {
+        if (result != null && result.contains(candidate.apiName)) {
+            return result;
+        }
+        if (candidate.matcher.test(path)) {
+            if (result == null) {
+                result = new HashSet<>();
+            }
+            result.add(candidate.apiName);
+        }
+        return result;
+    }
+
+    private void add(String apiName, ApiPathPredicateItem item,
+                     Function<String, Predicate<String>> antPathMatcherFactory) {
+        String pattern = item.getPattern();
+        if (StringUtil.isBlank(pattern)) {
+            return;
+        }
+        switch (item.getMatchStrategy()) {
+            case SentinelGatewayConstants.URL_MATCH_STRATEGY_REGEX:
+                addRegex(apiName, pattern);
+                break;
+            case SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX:
+                addAntPath(apiName, pattern, antPathMatcherFactory.apply(pattern));
+                break;
+            default:
+                Set<String> apis = exactApis.get(pattern);
+                if (apis == null) {
+                    apis = new HashSet<>();
+                    exactApis.put(pattern, apis);
+                }
+                apis.add(apiName);
+        }
+    }
+
+    private void addAntPath(String apiName, String pattern, Predicate<String> matcher) {
+        if (matcher == null) {
+            return;
+        }
+        if (!pattern.startsWith(SEPARATOR)) {
+            prefixTrie.unanchored.add(new PathCandidate(apiName, matcher));
+            return;
+        }
+        String[] segments = splitSegments(pattern);
+        int literalCount = 0;
+        while (literalCount < segments.length && isLiteralSegment(segments[literalCount])) {
+            literalCount++;
+        }
+        TrieNode node = prefixTrie.nodeOf(segments, literalCount);
+        if (literalCount == segments.length - 1 && ANY_PATH.equals(segments[literalCount])
+            && pattern.endsWith(SEPARATOR + ANY_PATH)) {
+            // Pattern like "/foo/bar/**" matches all paths reaching the node.
+            node.apis.add(apiName);
+        } else {
+            node.candidates.add(new PathCandidate(apiName, matcher));
+        }
+    }
+
+    private void addRegex(String apiName, String pattern) {
+        final Pattern regex = Pattern.compile(pattern);
+        Predicate<String> matcher = new Predicate<String>() {
+            @Override
+            public boolean test(String path) {
+                return regex.matcher(path).matches();
+            }
+        };
+        String prefix = literalPrefixOf(pattern);
+        if (!prefix.startsWith(SEPARATOR)) {
+            regexTrie.unanchored.add(new PathCandidate(apiName, matcher));
+            return;
+        }
+        // Only complete segments of the prefix are reliable.
+        String[] segments = splitSegments(prefix.substring(0, prefix.lastIndexOf('/') + 1));
+        regexTrie.nodeOf(segments, segments.length).candidates.add(new PathCandidate(apiName, matcher));
+    }
+
+    private static String[] splitSegments(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split(SEPARATOR)) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    private static boolean isLiteralSegment(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '*' || c == '?' || c == '{' || c == '}') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the literal prefix that every path matching the regex must start with.
+     *
+     * @param regex the regex pattern
+     * @return the literal prefix, or empty string if there is not one
+     */
+    static String literalPrefixOf(String regex) {
+        if (hasTopLevelAlternation(regex)) {
+            return "";
+        }
+        int i = regex.startsWith("^") ? 1 : 0;
+        StringBuilder prefix = new StringBuilder();
+        for (; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if ("\\^$.|?*+()[]{}".indexOf(c) >= 0) {
+                if ((c == '?' || c == '*' || c == '+' || c == '{') && prefix.length() > 0) {
+                    // The quantifier applies to the last literal character.
+                    prefix.setLength(prefix.length() - 1);
+                }
+                break;
+            }
+            prefix.append(c);
+        }
+        return prefix.toString();
+    }
+
+    private static boolean hasTopLevelAlternation(String regex) {
+        int depth = 0;
+        boolean inClass = false;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                }
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class PathTrie {
+        final TrieNode root = new TrieNode();
+        /**
+         * Candidates which could not be anchored in the trie, always tested.
+         */
+        final List<PathCandidate> unanchored = new ArrayList<>();
+
+        TrieNode nodeOf(String[] segments, int count) {
+            TrieNode node = root;
+            for (int i = 0; i < count; i++) {
+                TrieNode child = node.children.get(segments[i]);
+                if (child == null) {
+                    child = new TrieNode();
+                    node.children.put(segments[i], child);
+                }
+                node = child;
+            }
+            return node;
+        }
+
+        Set<String> match(String path, Set<String> result) {
+            if (path == null) {
+                return result;
+            }
+            for (PathCandidate candidate : unanchored) {
+                result = testCandidate(candidate, path, result);
+            }
+            if (!path.startsWith(SEPARATOR)) {
+                // All anchored patterns start with the separator, so they never match.
+                return result;
+            }
+            TrieNode node = root;
+            int start = 0;
+            int length = path.length();
+            while (true) {
+                if (!node.apis.isEmpty()) {
+                    if (result == null) {
+                        result = new HashSet<>();
+                    }
+                    result.addAll(node.apis);
+                }
+                for (PathCandidate candidate : node.candidates) {
+                    result = testCandidate(candidate, path, result);
+                }
+                if (node.children.isEmpty()) {
+                    return result;
+                }
+                // Move to the next non-empty segment.
+                while (start < length && path.charAt(start) == '/') {
+                    start++;
+                }
+                if (start >= length) {
+                    return result;
+                }
+                int end = path.indexOf('/', start);
+                if (end < 0) {
+                    end = length;
+                }
+                node = node.children.get(path.substring(start, end));
+                if (node == null) {
+                    return result;
+                }
+                start = end;
+            }
+        }
+    }
+
+    private static final class TrieNode {
+        final Map<String, TrieNode> children = new HashMap<>();
+        /**
+         * APIs matching all paths reaching this node.
+         */
+        final Set<String> apis = new HashSet<>();
+        /**
+         * Candidates to test when the path reaches this node.
+         */
+        final List<PathCandidate> candidates = new ArrayList<>();
+    }
+
+    private static final class PathCandidate {
+        final String apiName;
+        final Predicate<String> matcher;
+
+        PathCandidate(String apiName, Predicate<String> matcher) {
+            this.apiName = apiName;
+            this.matcher = matcher;
+        }
+    }
+}
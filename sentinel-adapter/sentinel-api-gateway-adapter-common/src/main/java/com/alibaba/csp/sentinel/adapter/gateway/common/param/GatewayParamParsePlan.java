@@ -0,0 +1,240 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.gateway.common.param;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
+import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayFlowRule;
+import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayParamFlowItem;
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.csp.sentinel.util.function.Predicate;
+
+/**
+ * <p>Immutable parameter extraction plan of gateway flow rules for a resource, compiled when rules are loaded.
+ * Request items (client IP, headers, URL parameters and cookies) referred by several rules are read only once,
+ * and regex patterns are compiled in advance.</p>
+ *
+ * @since 1.8.1
+ */
+public final class GatewayParamParsePlan {
+
+    private static final Object[] EMPTY_PARAMS = new Object[0];
+
+    private static final int SOURCE_CLIENT_IP = 0;
+    private static final int SOURCE_HEADER = 1;
+    private static final int SOURCE_URL_PARAM = 2;
+    private static final int SOURCE_COOKIE = 3;
+    private static final String HOST_HEADER = "Host";
+
+    private final GatewayFlowRule[] paramRules;
+    private final ParamExtractor[] extractors;
+    private final RequestSource[] sources;
+    private final boolean hasNonParamRule;
+    private final int size;
+
+    private GatewayParamParsePlan(List<GatewayFlowRule> paramRules, List<ParamExtractor> extractors,
+                                  List<RequestSource> sources, boolean hasNonParamRule) {
+        this.paramRules = paramRules.toArray(new GatewayFlowRule[0]);
+        this.extractors = extractors.toArray(new ParamExtractor[0]);
+        this.sources = sources.toArray(new RequestSource[0]);
+        this.hasNonParamRule = hasNonParamRule;
+        this.size = hasNonParamRule ? paramRules.size() + 1 : paramRules.size();
+    }
+
+    /**
+     * Compile the plan from valid gateway flow rules of the same resource, whose parameter items
+     * have been indexed.
+     *
+     * @param rules valid gateway flow rules of the same resource
+     * @return the compiled plan
+     */
+    public static GatewayParamParsePlan compile(Collection<GatewayFlowRule> rules) {
+        List<GatewayFlowRule> paramRules = new ArrayList<>();
+        List<ParamExtractor> extractors = new ArrayList<>();
+        List<RequestSource> sources = new ArrayList<>();
+        boolean hasNonParamRule = false;
+        if (rules != null) {
+            for (GatewayFlowRule rule : rules) {
+                GatewayParamFlowItem item = rule.getParamItem();
+                if (item == null) {
+                    hasNonParamRule = true;
+                    continue;
+                }
+                paramRules.add(rule);
+                extractors.add(new ParamExtractor(item.getIndex(), sourceSlotOf(item, sources),
+                    item.getMatchStrategy(), item.getPattern()));
+            }
+        }
+        return new GatewayParamParsePlan(paramRules, extractors, sources, hasNonParamRule);
+    }
+
+    private static int sourceSlotOf(GatewayParamFlowItem item, List<RequestSource> sources) {
+        RequestSource source;
+        switch (item.getParseStrategy()) {
+            case SentinelGatewayConstants.PARAM_PARSE_STRATEGY_CLIENT_IP:
+                source = new RequestSource(SOURCE_CLIENT_IP, null);
+                break;
+            case SentinelGatewayConstants.PARAM_PARSE_STRATEGY_HOST:
+                source = new RequestSource(SOURCE_HEADER, HOST_HEADER);
+                break;
+            case SentinelGatewayConstants.PARAM_PARSE_STRATEGY_HEADER:
+                source = new RequestSource(SOURCE_HEADER, item.getFieldName());
+                break;
+            case SentinelGatewayConstants.PARAM_PARSE_STRATEGY_URL_PARAM:
+                source = new RequestSource(SOURCE_URL_PARAM, item.getFieldName());
+                break;
+            case SentinelGatewayConstants.PARAM_PARSE_STRATEGY_COOKIE:
+                source = new RequestSource(SOURCE_COOKIE, item.getFieldName());
+                break;
+            default:
+                return -1;
+        }
+        int slot = sources.indexOf(source);
+        if (slot < 0) {
+            slot = sources.size();
+            sources.add(source);
+        }
+        return slot;
+    }
+
+    /**
+     * Parse parameters from the request entity on condition of the rule predicate.
+     *
+     * @param request       valid request
+     * @param itemParser    parser of request items
+     * @param rulePredicate rule predicate indicating the rules to refer
+     * @param <T>           type of the request
+     * @return the parameter array, which is empty if not all parameter rules satisfy the predicate
+     */
+    public <T> Object[] parse(T request, RequestItemParser<T> itemParser, Predicate<GatewayFlowRule> rulePredicate) {
+        if (size == 0) {
+            return EMPTY_PARAMS;
+        }
+        for (GatewayFlowRule rule : paramRules) {
+            if (!rulePredicate.test(rule)) {
+                return EMPTY_PARAMS;
+            }
+        }
+        String[] values = new String[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            values[i] = sources[i].read(request, itemParser);
+        }
+        Object[] params = new Object[size];
+        for (ParamExtractor extractor : extractors) {
+            params[extractor.index] = extractor.extract(values);
+        }
+        if (hasNonParamRule) {
+            params[size - 1] = SentinelGatewayConstants.GATEWAY_DEFAULT_PARAM;
+        }
+        return params;
+    }
+
+    private static final class RequestSource {
+        private final int type;
+        private final String name;
+
+        RequestSource(int type, String name) {
+            this.type = type;
+            this.name = name;
+        }
+
+        <T> String read(T request, RequestItemParser<T> itemParser) {
+            switch (type) {
+                case SOURCE_CLIENT_IP:
+                    return itemParser.getRemoteAddress(request);
+                case SOURCE_HEADER:
+                    // TODO: what if the header has multiple values?
+                    return itemParser.getHeader(request, name);
+                case SOURCE_URL_PARAM:
+                    return itemParser.getUrlParam(request, name);
+                default:
+                    return itemParser.getCookieValue(request, name);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RequestSource)) {
+                return false;
+            }
+            RequestSource that = (RequestSource)o;
+            return type == that.type && (name == null ? that.name == null : name.equals(that.name));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type + (name != null ? name.hashCode() : 0);
+        }
+    }
+
+    private static final class ParamExtractor {
+        private final int index;
+        private final int sourceSlot;
+        private final int matchStrategy;
+        private final String pattern;
+        private final Pattern regex;
+
+        ParamExtractor(int index, int sourceSlot, int matchStrategy, String pattern) {
+            this.index = index;
+            this.sourceSlot = sourceSlot;
+            this.matchStrategy = matchStrategy;
+            this.pattern = StringUtil.isEmpty(pattern) ? null : pattern;
+            this.regex = this.pattern != null && matchStrategy == SentinelGatewayConstants.PARAM_MATCH_STRATEGY_REGEX
+                ? compileRegex(pattern) : null;
+        }
+
+        String extract(String[] values) {
+            if (sourceSlot < 0) {
+                return null;
+            }
+            String value = values[sourceSlot];
+            if (pattern == null || value == null) {
+                return value;
+            }
+            // Match value according to regex pattern or exact mode.
+            switch (matchStrategy) {
+                case SentinelGatewayConstants.PARAM_MATCH_STRATEGY_EXACT:
+                    return value.equals(pattern) ? value : SentinelGatewayConstants.GATEWAY_NOT_MATCH_PARAM;
+                case SentinelGatewayConstants.PARAM_MATCH_STRATEGY_CONTAINS:
+                    return value.contains(pattern) ? value : SentinelGatewayConstants.GATEWAY_NOT_MATCH_PARAM;
+                case SentinelGatewayConstants.PARAM_MATCH_STRATEGY_REGEX:
+                    if (regex == null) {
+                        return value;
+                    }
+                    return regex.matcher(value).matches() ? value : SentinelGatewayConstants.GATEWAY_NOT_MATCH_PARAM;
+                default:
+                    return value;
+            }
+        }
+
+        private static Pattern compileRegex(String pattern) {
+            try {
+                return Pattern.compile(pattern);
+            } catch (Exception ex) {
+                RecordLog.warn("[GatewayParamParsePlan] Failed to compile the regex: " + pattern, ex);
+                return null;
+            }
+        }
+    }
+}
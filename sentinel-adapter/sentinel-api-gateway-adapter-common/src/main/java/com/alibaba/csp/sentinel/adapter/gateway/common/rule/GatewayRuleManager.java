@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel.adapter.gateway.common.rule;
 
 import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
+import com.alibaba.csp.sentinel.adapter.gateway.common.param.GatewayParamParsePlan;
 import com.alibaba.csp.sentinel.adapter.gateway.common.param.GatewayRegexCache;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
@@ -45,6 +46,11 @@ public final class GatewayRuleManager {
 
     private static final Map<String, List<ParamFlowRule>> CONVERTED_PARAM_RULE_MAP = new ConcurrentHashMap<>();
 
+    /**
+     * Parameter parse plan map: (resource, plan), compiled along with the rules.
+     */
+    private static volatile Map<String, GatewayParamParsePlan> paramParsePlanMap = new HashMap<>();
+
     private static final GatewayRulePropertyListener LISTENER = new GatewayRulePropertyListener();
     private static final Set<Integer> FIELD_REQUIRED_SET = new HashSet<>(
             Arrays.asList(SentinelGatewayConstants.PARAM_PARSE_STRATEGY_URL_PARAM,
@@ -100,6 +106,20 @@ public final class GatewayRuleManager {
         return new HashSet<>(set);
     }
 
+    /**
+     * Get the compiled parameter parse plan of gateway rules for the resource.
+     *
+     * @param resourceName valid resource name
+     * @return the parse plan, or null if there are no rules for the resource
+     * @since 1.8.1
+     */
+    public static GatewayParamParsePlan getParamParsePlan(String resourceName) {
+        if (resourceName == null) {
+            return null;
+        }
+        return paramParsePlanMap.get(resourceName);
+    }
+
     /**
      * <p>Get all converted parameter rules.</p>
      * <p>Note: caller SHOULD NOT modify the list and rules.</p>
@@ -180,6 +200,7 @@ public final class GatewayRuleManager {
             if (conf == null || conf.isEmpty()) {
                 applyToConvertedParamMap(new HashSet<ParamFlowRule>());
                 GATEWAY_RULE_MAP.clear();
+                paramParsePlanMap = new HashMap<>();
                 return;
             }
             Map<String, Set<GatewayFlowRule>> gatewayRuleMap = new ConcurrentHashMap<>();
@@ -234,6 +255,13 @@ public final class GatewayRuleManager {
 
             GATEWAY_RULE_MAP.clear();
             GATEWAY_RULE_MAP.putAll(gatewayRuleMap);
+
+            // Compile parse plans after the parameter items are indexed.
+            Map<String, GatewayParamParsePlan> planMap = new HashMap<>();
+            for (Map.Entry<String, Set<GatewayFlowRule>> e : gatewayRuleMap.entrySet()) {
+                planMap.put(e.getKey(), GatewayParamParsePlan.compile(e.getValue()));
+            }
+            paramParsePlanMap = planMap;
         }
 
         private void applyToConvertedParamMap(Set<ParamFlowRule> paramFlowRules) {
@@ -0,0 +1,125 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.gateway.common.api.matcher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiDefinition;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiPathPredicateItem;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiPredicateItem;
+import com.alibaba.csp.sentinel.util.function.Function;
+import com.alibaba.csp.sentinel.util.function.Predicate;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ApiPathMatcherIndexTest {
+
+    /**
+     * A simplified Ant-style matcher, which is enough for the cases here.
+     */
+    private static final Function<String, Predicate<String>> ANT_FACTORY = new Function<String, Predicate<String>>() {
+        @Override
+        public Predicate<String> apply(String pattern) {
+            if (!pattern.contains("*")) {
+                return null;
+            }
+            final Pattern regex = Pattern.compile(pattern.replace("/**", "(/.*)?").replace("*", "[^/]*"));
+            return new Predicate<String>() {
+                @Override
+                public boolean test(String path) {
+                    return regex.matcher(path).matches();
+                }
+            };
+        }
+    };
+
+    @Test
+    public void testMatch() {
+        ApiPathMatcherIndex index = ApiPathMatcherIndex.compile(Arrays.asList(
+            api("exact", item("/a/b", SentinelGatewayConstants.URL_MATCH_STRATEGY_EXACT)),
+            api("prefix", item("/a/**", SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX)),
+            api("wildcard", item("/a/*/c", SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX)),
+            api("regex", item("^/b/\\d+", SentinelGatewayConstants.URL_MATCH_STRATEGY_REGEX)),
+            api("any", item(".*/z", SentinelGatewayConstants.URL_MATCH_STRATEGY_REGEX)),
+            api("multi", item("/m", SentinelGatewayConstants.URL_MATCH_STRATEGY_EXACT),
+                item("/n/**", SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX)),
+            api("never", item("/plain", SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX))
+        ), ANT_FACTORY);
+
+        assertEquals(setOf("exact", "prefix"), index.match("/a/b"));
+        assertEquals(setOf("prefix"), index.match("/a"));
+        assertEquals(setOf("prefix", "wildcard"), index.match("/a/x/c"));
+        assertEquals(setOf("prefix", "any"), index.match("/a/z"));
+        assertEquals(setOf("regex"), index.match("/b/123"));
+        assertEquals(setOf(), index.match("/b/x"));
+        assertEquals(setOf("multi"), index.match("/m"));
+        assertEquals(setOf("multi"), index.match("/n/1/2"));
+        assertEquals(setOf(), index.match("/plain"));
+        assertEquals(setOf(), index.match("/ab"));
+        assertEquals(setOf(), index.match(null));
+
+        // Exact, prefix and regex patterns could match different paths.
+        assertEquals(setOf("exact", "regex"), index.match("/a/b", "/c", "/b/1"));
+    }
+
+    @Test
+    public void testEmptySegmentsIgnored() {
+        ApiPathMatcherIndex index = ApiPathMatcherIndex.compile(Collections.singletonList(
+            api("prefix", item("/a/b/**", SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX))
+        ), ANT_FACTORY);
+        assertEquals(setOf("prefix"), index.match("//a//b/c"));
+        assertEquals(setOf(), index.match("a/b/c"));
+    }
+
+    @Test
+    public void testInvalidRegexIgnored() {
+        ApiPathMatcherIndex index = ApiPathMatcherIndex.compile(Collections.singletonList(
+            api("api", item("/a/(", SentinelGatewayConstants.URL_MATCH_STRATEGY_REGEX),
+                item("/a", SentinelGatewayConstants.URL_MATCH_STRATEGY_EXACT))
+        ), ANT_FACTORY);
+        assertEquals(setOf("api"), index.match("/a"));
+    }
+
+    @Test
+    public void testLiteralPrefixOf() {
+        assertEquals("/api/v1/", ApiPathMatcherIndex.literalPrefixOf("/api/v1/.*"));
+        assertEquals("/api/v1/", ApiPathMatcherIndex.literalPrefixOf("^/api/v1/\\d+"));
+        assertEquals("/api", ApiPathMatcherIndex.literalPrefixOf("/apis?/x"));
+        assertEquals("/api/", ApiPathMatcherIndex.literalPrefixOf("/api/(a|b)"));
+        assertEquals("", ApiPathMatcherIndex.literalPrefixOf("/api/a|/b"));
+        assertEquals("", ApiPathMatcherIndex.literalPrefixOf("(?i)/api"));
+        assertEquals("/api/", ApiPathMatcherIndex.literalPrefixOf("/api/[|]"));
+    }
+
+    private static ApiDefinition api(String name, ApiPredicateItem... items) {
+        return new ApiDefinition(name).setPredicateItems(new HashSet<>(Arrays.asList(items)));
+    }
+
+    private static ApiPathPredicateItem item(String pattern, int strategy) {
+        return new ApiPathPredicateItem().setPattern(pattern).setMatchStrategy(strategy);
+    }
+
+    private static Set<String> setOf(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+}
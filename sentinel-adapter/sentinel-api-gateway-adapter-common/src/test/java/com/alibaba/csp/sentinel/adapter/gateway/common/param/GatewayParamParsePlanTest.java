@@ -0,0 +1,111 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.gateway.common.param;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
+import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayFlowRule;
+import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayParamFlowItem;
+import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayRuleManager;
+import com.alibaba.csp.sentinel.util.function.Predicate;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+public class GatewayParamParsePlanTest {
+
+    private final Predicate<GatewayFlowRule> alwaysTrue = new Predicate<GatewayFlowRule>() {
+        @Override
+        public boolean test(GatewayFlowRule e) {
+            return true;
+        }
+    };
+    private final Predicate<GatewayFlowRule> alwaysFalse = new Predicate<GatewayFlowRule>() {
+        @Override
+        public boolean test(GatewayFlowRule e) {
+            return false;
+        }
+    };
+
+    @After
+    public void tearDown() {
+        GatewayRuleManager.loadRules(new HashSet<GatewayFlowRule>());
+    }
+
+    @Test
+    public void testSharedRequestItemIsReadOnce() {
+        String resource = "some_route";
+        Set<GatewayFlowRule> rules = new HashSet<>();
+        rules.add(paramRule(resource, SentinelGatewayConstants.PARAM_PARSE_STRATEGY_HEADER, "X-Sentinel", null)
+            .setCount(5));
+        rules.add(paramRule(resource, SentinelGatewayConstants.PARAM_PARSE_STRATEGY_HEADER, "X-Sentinel", "^a.*")
+            .setCount(6));
+        rules.add(paramRule(resource, SentinelGatewayConstants.PARAM_PARSE_STRATEGY_HOST, null, null));
+        rules.add(new GatewayFlowRule(resource).setCount(10));
+        GatewayRuleManager.loadRules(rules);
+        GatewayParamParsePlan plan = GatewayRuleManager.getParamParsePlan(resource);
+        assertThat(plan).isNotNull();
+
+        RequestItemParser<Object> itemParser = mock(RequestItemParser.class);
+        Object request = new Object();
+        when(itemParser.getHeader(any(), eq("X-Sentinel"))).thenReturn("abc");
+        when(itemParser.getHeader(any(), eq("Host"))).thenReturn("sentinel.io");
+
+        Object[] params = plan.parse(request, itemParser, alwaysTrue);
+        assertThat(params).hasSize(4);
+        assertThat(params[3]).isEqualTo(SentinelGatewayConstants.GATEWAY_DEFAULT_PARAM);
+        assertThat(Arrays.copyOf(params, 3)).containsExactlyInAnyOrder("abc", "abc", "sentinel.io");
+        verify(itemParser, times(1)).getHeader(request, "X-Sentinel");
+        verify(itemParser, times(1)).getHeader(request, "Host");
+    }
+
+    @Test
+    public void testParseWithUnsatisfiedPredicate() {
+        String resource = "some_route";
+        Set<GatewayFlowRule> rules = new HashSet<>();
+        rules.add(paramRule(resource, SentinelGatewayConstants.PARAM_PARSE_STRATEGY_CLIENT_IP, null, null));
+        GatewayRuleManager.loadRules(rules);
+        GatewayParamParsePlan plan = GatewayRuleManager.getParamParsePlan(resource);
+
+        RequestItemParser<Object> itemParser = mock(RequestItemParser.class);
+        assertThat(plan.parse(new Object(), itemParser, alwaysFalse)).isEmpty();
+        assertThat(GatewayParamParsePlan.compile(new ArrayList<GatewayFlowRule>())
+            .parse(new Object(), itemParser, alwaysTrue)).isEmpty();
+        assertThat(GatewayRuleManager.getParamParsePlan("other_route")).isNull();
+    }
+
+    private GatewayFlowRule paramRule(String resource, int parseStrategy, String fieldName, String pattern) {
+        return new GatewayFlowRule(resource)
+            .setParamItem(new GatewayParamFlowItem()
+                .setParseStrategy(parseStrategy)
+                .setFieldName(fieldName)
+                .setPattern(pattern)
+                .setMatchStrategy(SentinelGatewayConstants.PARAM_MATCH_STRATEGY_REGEX));
+    }
+}
@@ -16,18 +16,20 @@
 package com.alibaba.csp.sentinel.adapter.reactor;
 
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.alibaba.csp.sentinel.AsyncEntry;
 import com.alibaba.csp.sentinel.SphU;
 import com.alibaba.csp.sentinel.Tracer;
+import com.alibaba.csp.sentinel.concurrent.ListenableFuture;
 import com.alibaba.csp.sentinel.context.ContextUtil;
-import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.function.Supplier;
 
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.context.Context;
 
 /**
@@ -44,6 +46,21 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
     private volatile AsyncEntry currentEntry;
     private final AtomicBoolean entryExited = new AtomicBoolean(false);
 
+    /**
+     * Whether the subscription has been signalled to downstream, which is delayed for paced requests.
+     * Guarded by {@code this}.
+     */
+    private boolean downstreamSubscribed = false;
+    /**
+     * Terminal signal from upstream that arrives while the paced request is still waiting.
+     * Guarded by {@code this}.
+     */
+    private Runnable pendingTerminal;
+    /**
+     * The admission of the request, which is cancelled if the subscription is cancelled during the wait.
+     */
+    private volatile ListenableFuture<AsyncEntry> admission;
+
     public SentinelReactorSubscriber(EntryConfig entryConfig,
                                      CoreSubscriber<? super T> actual,
                                      boolean unary) {
@@ -89,22 +106,77 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
             ContextUtil.enter(sentinelContextConfig.getContextName(), sentinelContextConfig.getOrigin());
         }
         try {
-            AsyncEntry entry = SphU.asyncEntry(entryConfig.getResourceName(), entryConfig.getResourceType(),
-                entryConfig.getEntryType(), entryConfig.getAcquireCount(), entryConfig.getArgs());
-            this.currentEntry = entry;
-            actual.onSubscribe(this);
-        } catch (BlockException ex) {
+            // The paced requests will not sleep on current thread (which may be an event loop),
+            // the subscription will be signalled after the wait instead.
+            ListenableFuture<AsyncEntry> future = SphU.entryAsync(entryConfig.getResourceName(),
+                entryConfig.getResourceType(), entryConfig.getEntryType(), entryConfig.getAcquireCount(),
+                entryConfig.getArgs());
+            this.admission = future;
+            if (future.isDone()) {
+                future.whenComplete(this::onAdmission);
+            } else {
+                // Paced requests complete on the pacing timer of Sentinel, so hand over to a Reactor scheduler
+                // so that the downstream signals never run on the timer thread.
+                future.whenComplete((entry, cause) -> Schedulers.parallel().schedule(
+                    () -> onAdmission(entry, cause)));
+            }
+        } finally {
+            if (sentinelContextConfig != null) {
+                ContextUtil.exit();
+            }
+        }
+    }
+
+    private void onAdmission(AsyncEntry entry, Throwable cause) {
+        if (cause instanceof CancellationException) {
+            // Cancelled during the wait, and the admitted entry has been exited by Sentinel.
+            return;
+        }
+        if (cause != null) {
             // Mark as completed (exited) explicitly.
             entryExited.set(true);
             // Signal cancel and propagate the {@code BlockException}.
             cancel();
+            synchronized (this) {
+                downstreamSubscribed = true;
+            }
             actual.onSubscribe(this);
-            actual.onError(ex);
-        } finally {
-            if (sentinelContextConfig != null) {
-                ContextUtil.exit();
+            actual.onError(cause);
+            return;
+        }
+        this.currentEntry = entry;
+        if (isDisposed()) {
+            // Cancelled right after the wait.
+            tryCompleteEntry();
+            return;
+        }
+        subscribeDownstream();
+    }
+
+    private void subscribeDownstream() {
+        Runnable terminal;
+        synchronized (this) {
+            downstreamSubscribed = true;
+            terminal = pendingTerminal;
+            pendingTerminal = null;
+        }
+        actual.onSubscribe(this);
+        if (terminal != null) {
+            // Upstream terminated during the wait, when the entry was not available yet.
+            tryCompleteEntry();
+            terminal.run();
+        }
+    }
+
+    private void signalTerminal(Runnable terminal) {
+        synchronized (this) {
+            if (!downstreamSubscribed) {
+                // Downstream must not receive terminal signals before the subscription.
+                pendingTerminal = terminal;
+                return;
             }
         }
+        terminal.run();
     }
 
     @Override
@@ -133,7 +205,7 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
     @Override
     protected void hookOnComplete() {
         tryCompleteEntry();
-        actual.onComplete();
+        signalTerminal(actual::onComplete);
     }
 
     @Override
@@ -150,11 +222,15 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
             Tracer.traceContext(t, 1, currentEntry.getAsyncContext());
         }
         tryCompleteEntry();
-        actual.onError(t);
+        signalTerminal(() -> actual.onError(t));
     }
 
     @Override
     protected void hookOnCancel() {
+        ListenableFuture<AsyncEntry> future = admission;
+        if (future != null) {
+            future.cancel(false);
+        }
         tryCompleteEntry();
     }
 
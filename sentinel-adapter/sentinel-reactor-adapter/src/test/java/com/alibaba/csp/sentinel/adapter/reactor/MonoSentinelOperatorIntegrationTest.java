@@ -3,11 +3,14 @@ package com.alibaba.csp.sentinel.adapter.reactor;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.node.ClusterNode;
 import com.alibaba.csp.sentinel.node.EntranceNode;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
@@ -184,6 +187,60 @@ public class MonoSentinelOperatorIntegrationTest {
         FlowRuleManager.loadRules(new ArrayList<>());
     }
 
+    @Test
+    public void testPacedMonoWaitsOnTimer() {
+        String resourceName = createResourceName("testPacedMonoWaitsOnTimer");
+        FlowRuleManager.loadRules(Collections.singletonList(
+            new FlowRule(resourceName).setCount(10)
+                .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER)
+                .setMaxQueueingTimeMs(1000)
+        ));
+        long start = System.currentTimeMillis();
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        Flux<Integer> paced = Flux.range(1, 4)
+            .flatMap(i -> Mono.just(i).transform(new SentinelReactorTransformer<>(resourceName))
+                .doOnNext(v -> threadNames.add(Thread.currentThread().getName())));
+        StepVerifier.create(paced)
+            .expectNextCount(4)
+            .verifyComplete();
+        // Downstream signals of the delayed requests are emitted on Reactor schedulers, not the pacing timer.
+        for (String threadName : threadNames) {
+            assertFalse(threadName.startsWith("sentinel-pacing-timer"));
+        }
+        // The last request waits for about 300ms on the timer.
+        assertTrue(System.currentTimeMillis() - start >= 250);
+
+        ClusterNode cn = ClusterBuilderSlot.getClusterNode(resourceName);
+        assertNotNull(cn);
+        assertEquals(4, cn.totalSuccess());
+        assertEquals(0, cn.curThreadNum());
+
+        FlowRuleManager.loadRules(new ArrayList<>());
+    }
+
+    @Test
+    public void testCancelPacedMonoExitsEntry() throws Exception {
+        String resourceName = createResourceName("testCancelPacedMonoExitsEntry");
+        FlowRuleManager.loadRules(Collections.singletonList(
+            new FlowRule(resourceName).setCount(10)
+                .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER)
+                .setMaxQueueingTimeMs(1000)
+        ));
+        assertEquals(1, (int)Mono.just(1).transform(new SentinelReactorTransformer<>(resourceName)).block());
+        // The second request has to wait on the timer, and is cancelled during the wait.
+        Mono.just(2).transform(new SentinelReactorTransformer<>(resourceName))
+            .subscribe()
+            .dispose();
+
+        ClusterNode cn = ClusterBuilderSlot.getClusterNode(resourceName);
+        assertNotNull(cn);
+        // The cancellation reaches the entry once the subscription is signalled after the wait.
+        Thread.sleep(300);
+        assertEquals(0, cn.curThreadNum());
+
+        FlowRuleManager.loadRules(new ArrayList<>());
+    }
+
     private String createResourceName(String resourceName) {
         return "reactor_test_mono_" + resourceName;
     }
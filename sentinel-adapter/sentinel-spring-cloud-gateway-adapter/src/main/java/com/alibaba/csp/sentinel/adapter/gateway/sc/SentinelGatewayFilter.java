@@ -17,7 +17,6 @@ package com.alibaba.csp.sentinel.adapter.gateway.sc;
 
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.ResourceTypeConstants;
@@ -28,7 +27,6 @@ import com.alibaba.csp.sentinel.adapter.reactor.ContextConfig;
 import com.alibaba.csp.sentinel.adapter.reactor.EntryConfig;
 import com.alibaba.csp.sentinel.adapter.reactor.SentinelReactorTransformer;
 import com.alibaba.csp.sentinel.adapter.gateway.sc.api.GatewayApiMatcherManager;
-import com.alibaba.csp.sentinel.adapter.gateway.sc.api.matcher.WebExchangeApiMatcher;
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -94,11 +92,7 @@ public class SentinelGatewayFilter implements GatewayFilter, GlobalFilter, Order
     }
 
     Set<String> pickMatchingApiDefinitions(ServerWebExchange exchange) {
-        return GatewayApiMatcherManager.getApiMatcherMap().values()
-            .stream()
-            .filter(m -> m.test(exchange))
-            .map(WebExchangeApiMatcher::getApiName)
-            .collect(Collectors.toSet());
+        return GatewayApiMatcherManager.getApiMatcherIndex().match(exchange.getRequest().getPath().value());
     }
 
     @Override
@@ -23,7 +23,13 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiDefinition;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.matcher.ApiPathMatcherIndex;
 import com.alibaba.csp.sentinel.adapter.gateway.sc.api.matcher.WebExchangeApiMatcher;
+import com.alibaba.csp.sentinel.util.function.Function;
+import com.alibaba.csp.sentinel.util.function.Predicate;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
 
 /**
  * @author Eric Zhao
@@ -33,6 +39,15 @@ public final class GatewayApiMatcherManager {
 
     private static final Map<String, WebExchangeApiMatcher> API_MATCHER_MAP = new ConcurrentHashMap<>();
 
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final Function<String, Predicate<String>> ANT_PATH_MATCHER_FACTORY =
+        pattern -> PATH_MATCHER.isPattern(pattern) ? path -> PATH_MATCHER.match(pattern, path) : null;
+
+    /**
+     * Path predicates of all API definitions, compiled on API definition change.
+     */
+    private static volatile ApiPathMatcherIndex apiMatcherIndex = ApiPathMatcherIndex.empty();
+
     public static Map<String, WebExchangeApiMatcher> getApiMatcherMap() {
         return Collections.unmodifiableMap(API_MATCHER_MAP);
     }
@@ -42,6 +57,14 @@ public final class GatewayApiMatcherManager {
             .map(e -> API_MATCHER_MAP.get(apiName));
     }
 
+    /**
+     * @return compiled path predicates of all API definitions
+     * @since 1.8.1
+     */
+    public static ApiPathMatcherIndex getApiMatcherIndex() {
+        return apiMatcherIndex;
+    }
+
     public static Set<ApiDefinition> getApiDefinitionSet() {
         return API_MATCHER_MAP.values()
             .stream()
@@ -52,13 +75,19 @@ public final class GatewayApiMatcherManager {
     static synchronized void loadApiDefinitions(/*@Valid*/ Set<ApiDefinition> definitions) {
         if (definitions == null || definitions.isEmpty()) {
             API_MATCHER_MAP.clear();
-            return;
+        } else {
+            definitions.forEach(d -> API_MATCHER_MAP.put(d.getApiName(), new WebExchangeApiMatcher(d)));
         }
-        definitions.forEach(GatewayApiMatcherManager::addApiDefinition);
+        rebuildApiMatcherIndex();
     }
 
-    static void addApiDefinition(ApiDefinition definition) {
+    static synchronized void addApiDefinition(ApiDefinition definition) {
         API_MATCHER_MAP.put(definition.getApiName(), new WebExchangeApiMatcher(definition));
+        rebuildApiMatcherIndex();
+    }
+
+    private static void rebuildApiMatcherIndex() {
+        apiMatcherIndex = ApiPathMatcherIndex.compile(getApiDefinitionSet(), ANT_PATH_MATCHER_FACTORY);
     }
 
     private GatewayApiMatcherManager() {}
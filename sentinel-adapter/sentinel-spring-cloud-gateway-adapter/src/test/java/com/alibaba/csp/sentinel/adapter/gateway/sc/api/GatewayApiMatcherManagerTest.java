@@ -0,0 +1,109 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.gateway.sc.api;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiDefinition;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiPathPredicateItem;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiPredicateItem;
+import com.alibaba.csp.sentinel.adapter.gateway.sc.api.matcher.WebExchangeApiMatcher;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.server.RequestPath;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test cases for {@link GatewayApiMatcherManager}.
+ */
+public class GatewayApiMatcherManagerTest {
+
+    @Test
+    public void testIndexConsistentWithApiMatchers() {
+        Set<ApiDefinition> definitions = new HashSet<>();
+        definitions.add(api("exact", item("/product/1", SentinelGatewayConstants.URL_MATCH_STRATEGY_EXACT)));
+        definitions.add(api("prefix", item("/product/**", SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX)));
+        definitions.add(api("root", item("/**", SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX)));
+        definitions.add(api("wildcard", item("/product/*/detail", SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX),
+            item("/order/{id}", SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX)));
+        definitions.add(api("deep", item("/**/detail", SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX)));
+        definitions.add(api("notPattern", item("/order", SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX)));
+        definitions.add(api("regex", item("/order/\\d+", SentinelGatewayConstants.URL_MATCH_STRATEGY_REGEX),
+            item("/(cart|wish)/.*", SentinelGatewayConstants.URL_MATCH_STRATEGY_REGEX)));
+        definitions.add(api("alternation", item("/a|/b/c", SentinelGatewayConstants.URL_MATCH_STRATEGY_REGEX)));
+        GatewayApiMatcherManager.loadApiDefinitions(definitions);
+
+        for (String path : Arrays.asList("/", "/product", "/product/", "/product/1", "/product/1/detail",
+            "//product//2/detail", "/productx", "/order", "/order/12", "/order/abc", "/cart/1", "/wish/",
+            "/a", "/b/c", "/b/c/d", "detail", "/x/y/detail")) {
+            ServerWebExchange exchange = mockExchange(path);
+            Set<String> expected = GatewayApiMatcherManager.getApiMatcherMap().values().stream()
+                .filter(m -> m.test(exchange))
+                .map(WebExchangeApiMatcher::getApiName)
+                .collect(Collectors.toSet());
+            assertThat(GatewayApiMatcherManager.getApiMatcherIndex().match(path))
+                .as("matching APIs of path %s", path)
+                .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void testIndexRebuiltOnChange() {
+        GatewayApiMatcherManager.loadApiDefinitions(new HashSet<>(Arrays.asList(
+            api("a", item("/a/**", SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX)))));
+        assertThat(GatewayApiMatcherManager.getApiMatcherIndex().match("/a/1")).containsExactly("a");
+
+        GatewayApiMatcherManager.addApiDefinition(
+            api("b", item("/a/1", SentinelGatewayConstants.URL_MATCH_STRATEGY_EXACT)));
+        assertThat(GatewayApiMatcherManager.getApiMatcherIndex().match("/a/1")).containsOnly("a", "b");
+
+        GatewayApiMatcherManager.loadApiDefinitions(new HashSet<>());
+        assertThat(GatewayApiMatcherManager.getApiMatcherIndex().match("/a/1")).isEmpty();
+    }
+
+    @After
+    public void tearDown() {
+        GatewayApiMatcherManager.loadApiDefinitions(new HashSet<>());
+    }
+
+    private static ServerWebExchange mockExchange(String path) {
+        ServerWebExchange exchange = mock(ServerWebExchange.class);
+        ServerHttpRequest request = mock(ServerHttpRequest.class);
+        when(exchange.getRequest()).thenReturn(request);
+        RequestPath requestPath = mock(RequestPath.class);
+        when(request.getPath()).thenReturn(requestPath);
+        when(requestPath.value()).thenReturn(path);
+        return exchange;
+    }
+
+    private static ApiDefinition api(String name, ApiPredicateItem... items) {
+        return new ApiDefinition(name).setPredicateItems(new HashSet<>(Arrays.asList(items)));
+    }
+
+    private static ApiPathPredicateItem item(String pattern, int strategy) {
+        return new ApiPathPredicateItem().setPattern(pattern).setMatchStrategy(strategy);
+    }
+}
@@ -22,7 +22,13 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiDefinition;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.matcher.ApiPathMatcherIndex;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul.api.matcher.RequestContextApiMatcher;
+import com.alibaba.csp.sentinel.util.function.Function;
+import com.alibaba.csp.sentinel.util.function.Predicate;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
 
 /**
  * @author Eric Zhao
@@ -32,6 +38,28 @@ public final class ZuulGatewayApiMatcherManager {
 
     private static final Map<String, RequestContextApiMatcher> API_MATCHER_MAP = new ConcurrentHashMap<>();
 
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final Function<String, Predicate<String>> ANT_PATH_MATCHER_FACTORY =
+        new Function<String, Predicate<String>>() {
+            @Override
+            public Predicate<String> apply(final String pattern) {
+                if (!PATH_MATCHER.isPattern(pattern)) {
+                    return null;
+                }
+                return new Predicate<String>() {
+                    @Override
+                    public boolean test(String path) {
+                        return PATH_MATCHER.match(pattern, path);
+                    }
+                };
+            }
+        };
+
+    /**
+     * Path predicates of all API definitions, compiled on API definition change.
+     */
+    private static volatile ApiPathMatcherIndex apiMatcherIndex = ApiPathMatcherIndex.empty();
+
     public static Map<String, RequestContextApiMatcher> getApiMatcherMap() {
         return Collections.unmodifiableMap(API_MATCHER_MAP);
     }
@@ -43,6 +71,14 @@ public final class ZuulGatewayApiMatcherManager {
         return API_MATCHER_MAP.get(apiName);
     }
 
+    /**
+     * @return compiled path predicates of all API definitions
+     * @since 1.8.1
+     */
+    public static ApiPathMatcherIndex getApiMatcherIndex() {
+        return apiMatcherIndex;
+    }
+
     public static Set<ApiDefinition> getApiDefinitionSet() {
         Set<ApiDefinition> set = new HashSet<>();
         for (RequestContextApiMatcher matcher : API_MATCHER_MAP.values()) {
@@ -54,15 +90,21 @@ public final class ZuulGatewayApiMatcherManager {
     static synchronized void loadApiDefinitions(/*@Valid*/ Set<ApiDefinition> definitions) {
         if (definitions == null || definitions.isEmpty()) {
             API_MATCHER_MAP.clear();
-            return;
-        }
-        for (ApiDefinition definition : definitions) {
-            addApiDefinition(definition);
+        } else {
+            for (ApiDefinition definition : definitions) {
+                API_MATCHER_MAP.put(definition.getApiName(), new RequestContextApiMatcher(definition));
+            }
         }
+        rebuildApiMatcherIndex();
     }
 
-    static void addApiDefinition(ApiDefinition definition) {
+    static synchronized void addApiDefinition(ApiDefinition definition) {
         API_MATCHER_MAP.put(definition.getApiName(), new RequestContextApiMatcher(definition));
+        rebuildApiMatcherIndex();
+    }
+
+    private static void rebuildApiMatcherIndex() {
+        apiMatcherIndex = ApiPathMatcherIndex.compile(getApiDefinitionSet(), ANT_PATH_MATCHER_FACTORY);
     }
 
     private ZuulGatewayApiMatcherManager() {}
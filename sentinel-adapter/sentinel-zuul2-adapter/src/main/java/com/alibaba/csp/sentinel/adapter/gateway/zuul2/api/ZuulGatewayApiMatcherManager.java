@@ -22,7 +22,13 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiDefinition;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.matcher.ApiPathMatcherIndex;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul2.api.matcher.HttpRequestMessageApiMatcher;
+import com.alibaba.csp.sentinel.util.function.Function;
+import com.alibaba.csp.sentinel.util.function.Predicate;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
 
 /**
  * @author wavesZh
@@ -32,6 +38,15 @@ public final class ZuulGatewayApiMatcherManager {
 
     private static final Map<String, HttpRequestMessageApiMatcher> API_MATCHER_MAP = new ConcurrentHashMap<>();
 
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final Function<String, Predicate<String>> ANT_PATH_MATCHER_FACTORY =
+        pattern -> PATH_MATCHER.isPattern(pattern) ? path -> PATH_MATCHER.match(pattern, path) : null;
+
+    /**
+     * Path predicates of all API definitions, compiled on API definition change.
+     */
+    private static volatile ApiPathMatcherIndex apiMatcherIndex = ApiPathMatcherIndex.empty();
+
     public static Map<String, HttpRequestMessageApiMatcher> getApiMatcherMap() {
         return Collections.unmodifiableMap(API_MATCHER_MAP);
     }
@@ -43,6 +58,14 @@ public final class ZuulGatewayApiMatcherManager {
         return API_MATCHER_MAP.get(apiName);
     }
 
+    /**
+     * @return compiled path predicates of all API definitions
+     * @since 1.8.1
+     */
+    public static ApiPathMatcherIndex getApiMatcherIndex() {
+        return apiMatcherIndex;
+    }
+
     public static Set<ApiDefinition> getApiDefinitionSet() {
         Set<ApiDefinition> set = new HashSet<>();
         for (HttpRequestMessageApiMatcher matcher : API_MATCHER_MAP.values()) {
@@ -54,15 +77,21 @@ public final class ZuulGatewayApiMatcherManager {
     static synchronized void loadApiDefinitions(/*@Valid*/ Set<ApiDefinition> definitions) {
         if (definitions == null || definitions.isEmpty()) {
             API_MATCHER_MAP.clear();
-            return;
-        }
-        for (ApiDefinition definition : definitions) {
-            addApiDefinition(definition);
+        } else {
+            for (ApiDefinition definition : definitions) {
+                API_MATCHER_MAP.put(definition.getApiName(), new HttpRequestMessageApiMatcher(definition));
+            }
         }
+        rebuildApiMatcherIndex();
     }
 
-    static void addApiDefinition(ApiDefinition definition) {
+    static synchronized void addApiDefinition(ApiDefinition definition) {
         API_MATCHER_MAP.put(definition.getApiName(), new HttpRequestMessageApiMatcher(definition));
+        rebuildApiMatcherIndex();
+    }
+
+    private static void rebuildApiMatcherIndex() {
+        apiMatcherIndex = ApiPathMatcherIndex.compile(getApiDefinitionSet(), ANT_PATH_MATCHER_FACTORY);
     }
 
     private ZuulGatewayApiMatcherManager() {}
@@ -17,7 +17,6 @@ package com.alibaba.csp.sentinel.adapter.gateway.zuul2.filters.inbound;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
@@ -29,7 +28,6 @@ import com.alibaba.csp.sentinel.SphU;
 import com.alibaba.csp.sentinel.adapter.gateway.common.param.GatewayParamParser;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul2.HttpRequestMessageItemParser;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul2.api.ZuulGatewayApiMatcherManager;
-import com.alibaba.csp.sentinel.adapter.gateway.zuul2.api.matcher.HttpRequestMessageApiMatcher;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul2.constants.SentinelZuul2Constants;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul2.filters.EntryHolder;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul2.filters.endpoint.SentinelZuulEndpoint;
@@ -166,13 +164,10 @@ public class SentinelZuulInboundFilter extends HttpInboundFilter {
     }
 
     private Set<String> pickMatchingApiDefinitions(HttpRequestMessage message) {
-        Set<String> apis = new HashSet<>();
-        for (HttpRequestMessageApiMatcher matcher : ZuulGatewayApiMatcherManager.getApiMatcherMap().values()) {
-            if (matcher.test(message)) {
-                apis.add(matcher.getApiName());
-            }
-        }
-        return apis;
+        // Exact and prefix patterns match the current path, while regex patterns match the inbound path.
+        String path = message.getPath();
+        return ZuulGatewayApiMatcherManager.getApiMatcherIndex()
+            .match(path, path, message.getInboundRequest().getPath());
     }
 
     @Override
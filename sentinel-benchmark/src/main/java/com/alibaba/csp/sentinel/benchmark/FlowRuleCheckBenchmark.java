@@ -0,0 +1,112 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowCheckPlan;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleChecker;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for checking the flow rules of a resource (limiting the {@code default} app, a specific app,
+ * {@code other} apps, and a related resource) with the compiled {@link FlowCheckPlan} and with the
+ * rule provider, which selects nodes by comparing origins and looking up the reference node on each check.
+ * Run with {@code -prof gc} to compare allocation.
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FlowRuleCheckBenchmark {
+
+    private static final String RESOURCE = "flowRuleCheckBenchmark";
+    private static final String REF_RESOURCE = "flowRuleCheckBenchmarkRef";
+
+    private final FlowRuleChecker checker = new FlowRuleChecker();
+
+    private StringResourceWrapper resource;
+    private Context context;
+    private DefaultNode node;
+    private FlowCheckPlan plan;
+    private Function<String, Collection<FlowRule>> ruleProvider;
+
+    @Setup
+    public void setUp() {
+        FlowRule appRule = new FlowRule(RESOURCE).setCount(Integer.MAX_VALUE);
+        appRule.setLimitApp("appA");
+        FlowRule otherRule = new FlowRule(RESOURCE).setCount(Integer.MAX_VALUE);
+        otherRule.setLimitApp(RuleConstant.LIMIT_APP_OTHER);
+        final List<FlowRule> rules = Arrays.asList(
+            appRule,
+            otherRule,
+            new FlowRule(RESOURCE).setCount(Integer.MAX_VALUE)
+                .setStrategy(RuleConstant.STRATEGY_RELATE).setRefResource(REF_RESOURCE),
+            new FlowRule(RESOURCE).setCount(Integer.MAX_VALUE));
+        FlowRuleManager.loadRules(rules);
+        ClusterBuilderSlot.getClusterNodeMap().put(new StringResourceWrapper(REF_RESOURCE, EntryType.IN),
+            new ClusterNode(REF_RESOURCE));
+
+        resource = new StringResourceWrapper(RESOURCE, EntryType.IN);
+        node = new DefaultNode(resource, new ClusterNode(RESOURCE));
+        context = new Context(node, "flowRuleCheckBenchmarkContext").setOrigin("appB");
+        plan = FlowCheckPlan.compile(RESOURCE, rules);
+        ruleProvider = new Function<String, Collection<FlowRule>>() {
+            @Override
+            public Collection<FlowRule> apply(String r) {
+                return rules;
+            }
+        };
+    }
+
+    @Benchmark
+    public Context checkPlan() throws BlockException {
+        checker.checkFlow(plan, context, node, 1, false);
+        return context;
+    }
+
+    @Benchmark
+    public Context ruleProvider() throws BlockException {
+        checker.checkFlow(ruleProvider, resource, context, node, 1, false);
+        return context;
+    }
+}
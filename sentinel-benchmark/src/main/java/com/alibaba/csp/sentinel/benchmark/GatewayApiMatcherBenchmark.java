@@ -0,0 +1,213 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiDefinition;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiPathPredicateItem;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiPredicateItem;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.matcher.ApiPathMatcherIndex;
+import com.alibaba.csp.sentinel.util.function.Function;
+import com.alibaba.csp.sentinel.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+/**
+ * Benchmark for picking the matching APIs of a request path, by testing the path predicates of every
+ * API definition one by one (as the gateway API matchers do) and by the compiled {@link ApiPathMatcherIndex}.
+ *
+ * <p>API definitions are a mix of prefix ({@code /svcN/**} and {@code /svcN/&#42;/detail}), exact
+ * and regex patterns, and about one in eight request paths matches no API.</p>
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class GatewayApiMatcherBenchmark {
+
+    private static final int PATH_COUNT = 1024;
+
+    @Param({"10", "100", "1000", "10000"})
+    private int apiCount;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private List<LinearApiMatcher> linearMatchers;
+    private ApiPathMatcherIndex index;
+    private String[] paths;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        List<ApiDefinition> definitions = new ArrayList<>(apiCount);
+        for (int i = 0; i < apiCount; i++) {
+            Set<ApiPredicateItem> items = new HashSet<>();
+            switch (i % 4) {
+                case 0:
+                    items.add(item("/svc" + i + "/**", SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX));
+                    break;
+                case 1:
+                    items.add(item("/svc" + i + "/item", SentinelGatewayConstants.URL_MATCH_STRATEGY_EXACT));
+                    items.add(item("/svc" + i + "/*/detail", SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX));
+                    break;
+                case 2:
+                    items.add(item("/svc" + i + "/order/\\d+", SentinelGatewayConstants.URL_MATCH_STRATEGY_REGEX));
+                    break;
+                default:
+                    items.add(item("/svc" + i + "/item", SentinelGatewayConstants.URL_MATCH_STRATEGY_EXACT));
+            }
+            definitions.add(new ApiDefinition("api" + i).setPredicateItems(items));
+        }
+
+        linearMatchers = new ArrayList<>(apiCount);
+        for (ApiDefinition definition : definitions) {
+            linearMatchers.add(new LinearApiMatcher(definition));
+        }
+        index = ApiPathMatcherIndex.compile(definitions, new Function<String, Predicate<String>>() {
+            @Override
+            public Predicate<String> apply(final String pattern) {
+                if (!pathMatcher.isPattern(pattern)) {
+                    return null;
+                }
+                return new Predicate<String>() {
+                    @Override
+                    public boolean test(String path) {
+                        return pathMatcher.match(pattern, path);
+                    }
+                };
+            }
+        });
+
+        Random random = new Random(17);
+        paths = new String[PATH_COUNT];
+        for (int i = 0; i < PATH_COUNT; i++) {
+            int svc = random.nextInt(apiCount);
+            switch (random.nextInt(8)) {
+                case 0:
+                    paths[i] = "/unknown/" + svc;
+                    break;
+                case 1:
+                case 2:
+                    paths[i] = "/svc" + svc + "/order/" + random.nextInt(1000);
+                    break;
+                case 3:
+                case 4:
+                    paths[i] = "/svc" + svc + "/" + random.nextInt(1000) + "/detail";
+                    break;
+                default:
+                    paths[i] = "/svc" + svc + "/item";
+            }
+        }
+    }
+
+    private String nextPath() {
+        return paths[cursor++ & (PATH_COUNT - 1)];
+    }
+
+    @Benchmark
+    public Set<String> linearScan() {
+        String path = nextPath();
+        Set<String> apis = new HashSet<>();
+        for (LinearApiMatcher matcher : linearMatchers) {
+            if (matcher.test(path)) {
+                apis.add(matcher.apiName);
+            }
+        }
+        return apis;
+    }
+
+    @Benchmark
+    public Set<String> compiledIndex() {
+        return index.match(nextPath());
+    }
+
+    private static ApiPathPredicateItem item(String pattern, int strategy) {
+        return new ApiPathPredicateItem().setPattern(pattern).setMatchStrategy(strategy);
+    }
+
+    /**
+     * Same as the matchers of gateway adapters, but tests the path directly.
+     */
+    private static final class LinearApiMatcher {
+        private final String apiName;
+        private final List<Predicate<String>> matchers = new ArrayList<>();
+
+        LinearApiMatcher(ApiDefinition definition) {
+            this.apiName = definition.getApiName();
+            for (ApiPredicateItem item : definition.getPredicateItems()) {
+                final String pattern = ((ApiPathPredicateItem)item).getPattern();
+                switch (((ApiPathPredicateItem)item).getMatchStrategy()) {
+                    case SentinelGatewayConstants.URL_MATCH_STRATEGY_REGEX:
+                        final Pattern regex = Pattern.compile(pattern);
+                        matchers.add(new Predicate<String>() {
+                            @Override
+                            public boolean test(String path) {
+                                return regex.matcher(path).matches();
+                            }
+                        });
+                        break;
+                    case SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX:
+                        final PathMatcher pathMatcher = new AntPathMatcher();
+                        matchers.add(new Predicate<String>() {
+                            @Override
+                            public boolean test(String path) {
+                                return pathMatcher.match(pattern, path);
+                            }
+                        });
+                        break;
+                    default:
+                        matchers.add(new Predicate<String>() {
+                            @Override
+                            public boolean test(String path) {
+                                return path.equals(pattern);
+                            }
+                        });
+                }
+            }
+        }
+
+        boolean test(String path) {
+            for (Predicate<String> matcher : matchers) {
+                if (matcher.test(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
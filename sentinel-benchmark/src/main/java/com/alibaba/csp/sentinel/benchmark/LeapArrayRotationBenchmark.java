@@ -0,0 +1,88 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+import com.alibaba.csp.sentinel.slots.statistic.metric.BucketLeapArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for recording into a sliding window whose buckets are 1 ms long, so all threads keep
+ * running into window boundaries and racing on the rotation of the deprecated bucket.
+ * The latency distribution (p99 and above) shows the cost of the rotation on the entry path.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class LeapArrayRotationBenchmark {
+
+    @Param({"lock", "epoch"})
+    private String rotation;
+
+    private BucketLeapArray leapArray;
+
+    @Setup
+    public void setUp() {
+        leapArray = new BucketLeapArray(10, 10, "epoch".equals(rotation));
+    }
+
+    private MetricBucket record() {
+        MetricBucket bucket = leapArray.currentWindow(System.currentTimeMillis()).value();
+        bucket.addPass(1);
+        return bucket;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public MetricBucket record1Thread() {
+        return record();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public MetricBucket record8Threads() {
+        return record();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public MetricBucket record32Threads() {
+        return record();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public MetricBucket record64Threads() {
+        return record();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.node.metric.MetricNode;
+import com.alibaba.csp.sentinel.node.metric.MetricWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for writing one second of metrics of 20k resources to metric log files, which the metric
+ * writer thread should sustain within one second. {@code encodePerNode} is the baseline of encoding each
+ * node with {@link MetricNode#toFatString()}.
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class MetricWriterBenchmark {
+
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+
+    @Param({"20000"})
+    private int resourceCount;
+
+    @Param({"text", "binary"})
+    private String format;
+
+    private List<MetricNode> nodes;
+    private MetricWriter writer;
+    private long time;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Write metric files to a temporary directory rather than the user home.
+        System.setProperty("csp.sentinel.log.dir", Files.createTempDirectory("sentinel-metric-bench").toString());
+        nodes = new ArrayList<>(resourceCount);
+        for (int i = 0; i < resourceCount; i++) {
+            MetricNode node = new MetricNode();
+            node.setResource("com.alibaba.csp.sentinel.demo.DemoService:sayHello(java.lang.String)#" + i);
+            node.setPassQps(100 + i % 50);
+            node.setSuccessQps(100 + i % 50);
+            node.setBlockQps(i % 7);
+            node.setRt(3 + i % 20);
+            nodes.add(node);
+        }
+        writer = new MetricWriter(50 * 1024 * 1024, 6, "binary".equals(format));
+        time = System.currentTimeMillis() / 1000 * 1000;
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        writer.close();
+    }
+
+    @Benchmark
+    public MetricWriter writeOneSecond() throws Exception {
+        time += 1000;
+        writer.write(time, nodes);
+        return writer;
+    }
+
+    @Benchmark
+    public long encodePerNode() {
+        long size = 0;
+        for (MetricNode node : nodes) {
+            size += node.toFatString().getBytes(CHARSET).length;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowChecker;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParameterMetricStorage;
+import com.alibaba.csp.sentinel.slots.statistic.cache.CacheMap;
+import com.alibaba.csp.sentinel.slots.statistic.cache.ConcurrentLinkedHashMapWrapper;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the default (token bucket) local check of parameter flow rules, with parameter values
+ * drawn from a Zipfian distribution. {@code packedBucket} is the single-map check with packed state in
+ * {@link ParamFlowChecker}, while {@code twoCounterMaps} is the former check with separate token and time
+ * counter maps, which allocates counters on every check. Run with {@code -prof gc} to compare allocation.
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ParamFlowCheckerBenchmark {
+
+    private static final int SAMPLE_COUNT = 1 << 20;
+
+    /**
+     * Number of distinct parameter values.
+     */
+    @Param({"10000", "1000000"})
+    private int keyCount;
+
+    /**
+     * Skew of the Zipfian distribution, 0 for uniform distribution.
+     */
+    @Param({"0.99", "1.2"})
+    private double skew;
+
+    private Object[] samples;
+    private int cursor;
+
+    private ResourceWrapper resourceWrapper;
+    private ParamFlowRule rule;
+
+    private CacheMap<Object, AtomicLong> tokenCounters;
+    private CacheMap<Object, AtomicLong> timeCounters;
+
+    @Setup
+    public void setUp() {
+        samples = zipfianSamples(keyCount, skew, SAMPLE_COUNT, new Random(17));
+
+        String resourceName = "paramFlowCheckerBenchmark";
+        resourceWrapper = new StringResourceWrapper(resourceName, EntryType.IN);
+        rule = new ParamFlowRule(resourceName)
+            .setParamIdx(0)
+            .setCount(50);
+        ParameterMetricStorage.initParamMetricsFor(resourceWrapper, rule);
+
+        // Same capacity as ParameterMetric.
+        tokenCounters = new ConcurrentLinkedHashMapWrapper<>(4000);
+        timeCounters = new ConcurrentLinkedHashMapWrapper<>(4000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ParameterMetricStorage.clearParamMetricForResource(resourceWrapper.getName());
+    }
+
+    @Benchmark
+    public boolean packedBucket() {
+        return ParamFlowChecker.passCheck(resourceWrapper, rule, 1, nextSample());
+    }
+
+    @Benchmark
+    public boolean twoCounterMaps() {
+        return twoCounterMapsCheck(rule, 1, nextSample());
+    }
+
+    private Object nextSample() {
+        int i = cursor;
+        cursor = (i + 1) & (SAMPLE_COUNT - 1);
+        return samples[i];
+    }
+
+    /**
+     * Draw boxed keys from a Zipfian distribution over [0, n) by inverting the CDF, so that the benchmarks
+     * neither box keys nor compute the distribution.
+     */
+    private static Object[] zipfianSamples(int n, double skew, int count, Random random) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+        Object[] samples = new Object[count];
+        for (int i = 0; i < count; i++) {
+            double u = random.nextDouble() * sum;
+            int lo = 0, hi = n - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cdf[mid] < u) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            // Scatter the ranks so that hot keys are not adjacent numbers.
+            samples[i] = "user-" + Integer.toHexString(lo * 0x9E3779B1);
+        }
+        return samples;
+    }
+
+    /**
+     * The former default local check with separate token and time counter maps.
+     */
+    private boolean twoCounterMapsCheck(ParamFlowRule rule, int acquireCount, Object value) {
+        long tokenCount = (long)rule.getCount();
+        long maxCount = tokenCount + rule.getBurstCount();
+        while (true) {
+            long currentTime = TimeUtil.currentTimeMillis();
+
+            AtomicLong lastAddTokenTime = timeCounters.putIfAbsent(value, new AtomicLong(currentTime));
+            if (lastAddTokenTime == null) {
+                tokenCounters.putIfAbsent(value, new AtomicLong(maxCount - acquireCount));
+                return true;
+            }
+
+            long passTime = currentTime - lastAddTokenTime.get();
+            if (passTime > rule.getDurationInSec() * 1000) {
+                AtomicLong oldQps = tokenCounters.putIfAbsent(value, new AtomicLong(maxCount - acquireCount));
+                if (oldQps == null) {
+                    lastAddTokenTime.set(currentTime);
+                    return true;
+                } else {
+                    long restQps = oldQps.get();
+                    long toAddCount = (passTime * tokenCount) / (rule.getDurationInSec() * 1000);
+                    long newQps = toAddCount + restQps > maxCount ? (maxCount - acquireCount)
+                        : (restQps + toAddCount - acquireCount);
+
+                    if (newQps < 0) {
+                        return false;
+                    }
+                    if (oldQps.compareAndSet(restQps, newQps)) {
+                        lastAddTokenTime.set(currentTime);
+                        return true;
+                    }
+                    Thread.yield();
+                }
+            } else {
+                AtomicLong oldQps = tokenCounters.get(value);
+                if (oldQps != null) {
+                    long oldQpsValue = oldQps.get();
+                    if (oldQpsValue - acquireCount >= 0) {
+                        if (oldQps.compareAndSet(oldQpsValue, oldQpsValue - acquireCount)) {
+                            return true;
+                        }
+                    } else {
+                        return false;
+                    }
+                }
+                Thread.yield();
+            }
+        }
+    }
+}
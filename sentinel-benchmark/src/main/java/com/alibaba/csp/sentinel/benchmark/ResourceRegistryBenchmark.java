@@ -0,0 +1,135 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.CtSph;
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for warming up lots of dynamically named resources concurrently, which registers
+ * slot chains, cluster nodes and entrance children for each new resource.
+ *
+ * <p>Each thread walks through all resource names starting from a different offset, so threads
+ * keep racing on registering the same new names. Note that only the first
+ * {@link Constants#MAX_SLOT_CHAIN_SIZE} resources get a slot chain, the remaining ones go through
+ * the rejection path of the registry.</p>
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ResourceRegistryBenchmark {
+
+    @Param({"5000", "50000"})
+    private int resourceCount;
+
+    @Param({"1", "8", "32"})
+    private int threads;
+
+    private String[] names;
+    private ExecutorService pool;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        names = new String[resourceCount];
+        for (int i = 0; i < resourceCount; i++) {
+            names[i] = "/api/v1/users/" + i + "/orders";
+        }
+        pool = Executors.newFixedThreadPool(threads);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetRegistry() throws Exception {
+        invokeStatic(CtSph.class, "resetChainMap");
+        invokeStatic(ContextUtil.class, "resetContextMap");
+        ClusterBuilderSlot.getClusterNodeMap().clear();
+        Constants.ROOT.removeChildList();
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public int registerResourcesConcurrently() throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            final int offset = resourceCount / threads * t;
+            futures.add(pool.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    int passed = 0;
+                    for (int i = 0; i < resourceCount; i++) {
+                        Entry e = null;
+                        try {
+                            e = SphU.entry(names[(offset + i) % resourceCount]);
+                            passed++;
+                        } catch (BlockException ex) {
+                            // Ignore.
+                        } finally {
+                            if (e != null) {
+                                e.exit();
+                            }
+                        }
+                    }
+                    return passed;
+                }
+            }));
+        }
+        int total = 0;
+        for (Future<Integer> f : futures) {
+            total += f.get();
+        }
+        return total;
+    }
+
+    private static void invokeStatic(Class<?> clazz, String methodName) throws Exception {
+        Method method = clazz.getDeclaredMethod(methodName);
+        method.setAccessible(true);
+        method.invoke(null);
+    }
+}
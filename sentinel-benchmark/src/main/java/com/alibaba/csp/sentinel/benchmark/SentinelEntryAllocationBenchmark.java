@@ -0,0 +1,123 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.ResourceHandle;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark for allocation of the entry/exit path, comparing entries created by resource name
+ * and entries created by a reusable {@link ResourceHandle}.
+ *
+ * <p>Run the main method (or JMH with {@code -prof gc}) to check the normalized allocation rate.
+ * The main method fails if the handle-based path allocates in steady state.</p>
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SentinelEntryAllocationBenchmark {
+
+    private static final String RESOURCE_NAME = "benchmark-allocation";
+
+    private static final String ALLOC_RATE_NORM = "·gc.alloc.rate.norm";
+
+    /**
+     * Allocation per op below this value is regarded as noise of the profiler and
+     * amortized window creation of the sliding window.
+     */
+    private static final double ALLOC_THRESHOLD_BYTES_PER_OP = 1.0d;
+
+    private final ResourceHandle handle = SphU.resource(RESOURCE_NAME);
+
+    @Benchmark
+    @Threads(1)
+    public void testEntryByName() {
+        Entry e = null;
+        try {
+            e = SphU.entry(RESOURCE_NAME);
+        } catch (BlockException ex) {
+        } finally {
+            if (e != null) {
+                e.exit();
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testEntryByHandle() {
+        Entry e = null;
+        try {
+            e = handle.entry();
+        } catch (BlockException ex) {
+        } finally {
+            if (e != null) {
+                e.exit();
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void test4ThreadsEntryByHandle() {
+        testEntryByHandle();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+            .include(SentinelEntryAllocationBenchmark.class.getSimpleName() + ".*ByHandle")
+            .addProfiler(GCProfiler.class)
+            .build();
+        Collection<RunResult> results = new Runner(opt).run();
+        for (RunResult result : results) {
+            Result alloc = result.getSecondaryResults().get(ALLOC_RATE_NORM);
+            String benchmark = result.getParams().getBenchmark();
+            if (alloc == null) {
+                throw new IllegalStateException("No allocation result for " + benchmark);
+            }
+            if (alloc.getScore() >= ALLOC_THRESHOLD_BYTES_PER_OP) {
+                throw new IllegalStateException(String.format(
+                    "Expected zero allocation per op for %s, but actual: %.3f B/op", benchmark, alloc.getScore()));
+            }
+            System.out.printf("%s allocates %.3f B/op%n", benchmark, alloc.getScore());
+        }
+    }
+}
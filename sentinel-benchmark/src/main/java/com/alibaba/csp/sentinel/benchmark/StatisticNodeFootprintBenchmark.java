@@ -0,0 +1,148 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.CtSph;
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Memory footprint benchmark of statistic nodes, printing the retained heap bytes per resource after
+ * each iteration.
+ *
+ * <p>Each resource is entered in {@link #CONTEXT_COUNT} contexts with {@link #ORIGIN_COUNT} origins,
+ * which creates a cluster node, a default node per context and an origin node per origin. The minute-level
+ * metrics of cluster nodes is read once as the metric log timer does. {@code mode} is applied before any
+ * Sentinel class is loaded, which relies on each parameter combination running in a fresh fork.</p>
+ */
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StatisticNodeFootprintBenchmark {
+
+    private static final int CONTEXT_COUNT = 2;
+    private static final int ORIGIN_COUNT = 2;
+
+    @State(Scope.Benchmark)
+    public static class Registry {
+
+        @Param({"default", "compact"})
+        private String mode;
+
+        @Param({"2000"})
+        private int resourceCount;
+
+        private String[] names;
+        private long bytesPerResource;
+
+        @Setup(Level.Trial)
+        public void prepare() {
+            if ("compact".equals(mode)) {
+                System.setProperty(SentinelConfig.STATISTIC_NODE_COMPACT, "true");
+            }
+            names = new String[resourceCount];
+            for (int i = 0; i < resourceCount; i++) {
+                names[i] = "/api/v1/users/" + i + "/orders";
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void resetRegistry() throws Exception {
+            invokeStatic(CtSph.class, "resetChainMap");
+            invokeStatic(ContextUtil.class, "resetContextMap");
+            ClusterBuilderSlot.getClusterNodeMap().clear();
+            Constants.ROOT.removeChildList();
+        }
+
+        @TearDown(Level.Iteration)
+        public void report() {
+            System.out.println("[" + mode + "] bytes per resource: " + bytesPerResource);
+        }
+    }
+
+    @Benchmark
+    public int registerResources(Registry registry) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = usedHeapAfterGc(memory);
+
+        int passed = 0;
+        for (int c = 0; c < CONTEXT_COUNT; c++) {
+            for (int o = 0; o < ORIGIN_COUNT; o++) {
+                ContextUtil.enter("context-" + c, "origin-" + o);
+                for (String name : registry.names) {
+                    Entry e = null;
+                    try {
+                        e = SphU.entry(name);
+                        passed++;
+                    } catch (BlockException ex) {
+                        // Ignore.
+                    } finally {
+                        if (e != null) {
+                            e.exit();
+                        }
+                    }
+                }
+                ContextUtil.exit();
+            }
+        }
+        for (ClusterNode node : ClusterBuilderSlot.getClusterNodeMap().values()) {
+            node.metrics();
+        }
+
+        registry.bytesPerResource = (usedHeapAfterGc(memory) - before) / registry.resourceCount;
+        return passed;
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static void invokeStatic(Class<?> clazz, String methodName) throws Exception {
+        Method method = clazz.getDeclaredMethod(methodName);
+        method.setAccessible(true);
+        method.invoke(null);
+    }
+}
@@ -16,8 +16,12 @@
 package com.alibaba.csp.sentinel.cluster.client;
 
 import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.alibaba.csp.sentinel.cluster.AsyncClusterTransportClient;
+import com.alibaba.csp.sentinel.cluster.AsyncTokenService;
 import com.alibaba.csp.sentinel.cluster.ClusterConstants;
 import com.alibaba.csp.sentinel.cluster.ClusterErrorMessages;
 import com.alibaba.csp.sentinel.cluster.ClusterTransportClient;
@@ -29,12 +33,16 @@ import com.alibaba.csp.sentinel.cluster.client.config.ClusterClientConfigManager
 import com.alibaba.csp.sentinel.cluster.client.config.ServerChangeObserver;
 import com.alibaba.csp.sentinel.cluster.log.ClusterClientStatLogUtil;
 import com.alibaba.csp.sentinel.cluster.request.ClusterRequest;
+import com.alibaba.csp.sentinel.cluster.request.data.FlowLeaseRequestData;
 import com.alibaba.csp.sentinel.cluster.request.data.FlowRequestData;
 import com.alibaba.csp.sentinel.cluster.request.data.ParamFlowRequestData;
 import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.cluster.response.data.FlowLeaseResponseData;
 import com.alibaba.csp.sentinel.cluster.response.data.FlowTokenResponseData;
+import com.alibaba.csp.sentinel.concurrent.ListenableFuture;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
 
 /**
  * Default implementation of {@link ClusterTokenClient}.
@@ -42,13 +50,18 @@ import com.alibaba.csp.sentinel.util.StringUtil;
  * @author Eric Zhao
  * @since 1.4.0
  */
-public class DefaultClusterTokenClient implements ClusterTokenClient {
+public class DefaultClusterTokenClient implements ClusterTokenClient, AsyncTokenService {
 
     private ClusterTransportClient transportClient;
     private TokenServerDescriptor serverDescriptor;
 
     private final AtomicBoolean shouldStart = new AtomicBoolean(false);
 
+    /**
+     * Tokens leased from current token server (flowId -> lease).
+     */
+    private final ConcurrentMap<Long, TokenLease> tokenLeases = new ConcurrentHashMap<>();
+
     public DefaultClusterTokenClient() {
         ClusterClientConfigManager.addServerChangeObserver(new ServerChangeObserver() {
             @Override
@@ -93,6 +106,8 @@ public class DefaultClusterTokenClient implements ClusterTokenClient {
             if (transportClient != null) {
                 transportClient.stop();
             }
+            // Tokens leased from the previous server are no longer valid.
+            tokenLeases.clear();
             // Replace with new, even if the new client is not ready.
             this.transportClient = new NettyTransportClient(config.getServerHost(), config.getServerPort());
             this.serverDescriptor = new TokenServerDescriptor(config.getServerHost(), config.getServerPort());
@@ -151,6 +166,13 @@ public class DefaultClusterTokenClient implements ClusterTokenClient {
         if (notValidRequest(flowId, acquireCount)) {
             return badRequest();
         }
+        if (shouldLease(acquireCount, prioritized)) {
+            return requestTokenWithLease(flowId, acquireCount);
+        }
+        return requestTokenDirectly(flowId, acquireCount, prioritized);
+    }
+
+    private TokenResult requestTokenDirectly(Long flowId, int acquireCount, boolean prioritized) {
         FlowRequestData data = new FlowRequestData().setCount(acquireCount)
             .setFlowId(flowId).setPriority(prioritized);
         ClusterRequest<FlowRequestData> request = new ClusterRequest<>(ClusterConstants.MSG_TYPE_FLOW, data);
@@ -164,6 +186,149 @@ public class DefaultClusterTokenClient implements ClusterTokenClient {
         }
     }
 
+    @Override
+    public ListenableFuture<TokenResult> requestTokenAsync(Long flowId, int acquireCount, boolean prioritized) {
+        if (notValidRequest(flowId, acquireCount)) {
+            return ListenableFuture.completed(badRequest());
+        }
+        if (shouldLease(acquireCount, prioritized)) {
+            return requestTokenWithLeaseAsync(flowId, acquireCount);
+        }
+        return requestTokenDirectlyAsync(flowId, acquireCount, prioritized);
+    }
+
+    private ListenableFuture<TokenResult> requestTokenDirectlyAsync(Long flowId, int acquireCount,
+                                                                    boolean prioritized) {
+        ClusterTransportClient client = this.transportClient;
+        if (client == null) {
+            RecordLog.warn(
+                "[DefaultClusterTokenClient] Client not created, please check your config for cluster client");
+            return ListenableFuture.completed(clientFail());
+        }
+        FlowRequestData data = new FlowRequestData().setCount(acquireCount)
+            .setFlowId(flowId).setPriority(prioritized);
+        ClusterRequest<FlowRequestData> request = new ClusterRequest<>(ClusterConstants.MSG_TYPE_FLOW, data);
+
+        final ListenableFuture<TokenResult> resultFuture = new ListenableFuture<>();
+        sendRequestAsync(client, request).whenComplete(new ListenableFuture.Listener<ClusterResponse>() {
+            @Override
+            public void onComplete(ClusterResponse response, Throwable cause) {
+                if (cause != null) {
+                    ClusterClientStatLogUtil.log(cause.getMessage());
+                    resultFuture.complete(clientFail());
+                    return;
+                }
+                TokenResult result = toTokenResult(response);
+                logForResult(result);
+                resultFuture.complete(result);
+            }
+        });
+        return resultFuture;
+    }
+
+    private boolean shouldLease(int acquireCount, boolean prioritized) {
+        // Prioritized requests may occupy future tokens, which should be decided by the token server.
+        return !prioritized && ClusterClientConfigManager.isTokenLeaseEnabled()
+            && acquireCount <= ClusterClientConfigManager.getTokenLeaseMaxCount();
+    }
+
+    private TokenLease getLease(Long flowId) {
+        TokenLease lease = tokenLeases.get(flowId);
+        if (lease == null) {
+            TokenLease newLease = new TokenLease();
+            lease = tokenLeases.putIfAbsent(flowId, newLease);
+            if (lease == null) {
+                lease = newLease;
+            }
+        }
+        return lease;
+    }
+
+    private TokenResult requestTokenWithLease(Long flowId, int acquireCount) {
+        TokenLease lease = getLease(flowId);
+        long now = TimeUtil.currentTimeMillis();
+        int remaining = lease.tryAcquire(acquireCount, now);
+        if (remaining >= 0) {
+            return leasedResult(remaining);
+        }
+        if (!lease.startRefill()) {
+            // Another refill of the lease is in flight, so request the tokens directly instead.
+            return requestTokenDirectly(flowId, acquireCount, false);
+        }
+        try {
+            ClusterRequest<FlowLeaseRequestData> request = newLeaseRequest(lease, flowId, acquireCount, now);
+            return onLeaseResult(lease, sendTokenRequest(request), acquireCount, now);
+        } catch (Exception ex) {
+            lease.endRefill();
+            ClusterClientStatLogUtil.log(ex.getMessage());
+            return new TokenResult(TokenResultStatus.FAIL);
+        }
+    }
+
+    private ListenableFuture<TokenResult> requestTokenWithLeaseAsync(Long flowId, final int acquireCount) {
+        final TokenLease lease = getLease(flowId);
+        final long now = TimeUtil.currentTimeMillis();
+        int remaining = lease.tryAcquire(acquireCount, now);
+        if (remaining >= 0) {
+            return ListenableFuture.completed(leasedResult(remaining));
+        }
+        ClusterTransportClient client = this.transportClient;
+        if (client == null) {
+            RecordLog.warn(
+                "[DefaultClusterTokenClient] Client not created, please check your config for cluster client");
+            return ListenableFuture.completed(clientFail());
+        }
+        if (!lease.startRefill()) {
+            // Another refill of the lease is in flight, so request the tokens directly instead.
+            return requestTokenDirectlyAsync(flowId, acquireCount, false);
+        }
+        ClusterRequest<FlowLeaseRequestData> request = newLeaseRequest(lease, flowId, acquireCount, now);
+
+        final ListenableFuture<TokenResult> resultFuture = new ListenableFuture<>();
+        sendRequestAsync(client, request).whenComplete(new ListenableFuture.Listener<ClusterResponse>() {
+            @Override
+            public void onComplete(ClusterResponse response, Throwable cause) {
+                if (cause != null) {
+                    lease.endRefill();
+                    ClusterClientStatLogUtil.log(cause.getMessage());
+                    resultFuture.complete(clientFail());
+                    return;
+                }
+                resultFuture.complete(onLeaseResult(lease, toTokenResult(response), acquireCount, now));
+            }
+        });
+        return resultFuture;
+    }
+
+    private ClusterRequest<FlowLeaseRequestData> newLeaseRequest(TokenLease lease, Long flowId, int acquireCount,
+                                                                 long now) {
+        int leaseCount = lease.nextLeaseCount(acquireCount, ClusterClientConfigManager.getTokenLeaseMaxCount());
+        FlowLeaseRequestData data = new FlowLeaseRequestData().setFlowId(flowId)
+            .setCount(leaseCount)
+            .setMinCount(acquireCount)
+            .setReturnedLeaseId(lease.getLeaseId())
+            .setReturnedCount(lease.drainReturnable(now));
+        return new ClusterRequest<>(ClusterConstants.MSG_TYPE_FLOW_LEASE, data);
+    }
+
+    private TokenResult onLeaseResult(TokenLease lease, TokenResult result, int acquireCount, long now) {
+        if (result.getStatus() != TokenResultStatus.OK) {
+            lease.endRefill();
+            logForResult(result);
+            return result;
+        }
+        // The granted count of the lease is carried in the remaining field, and the lease ID in the token ID field.
+        int remaining = lease.renew(result.getRemaining(), acquireCount, now,
+            ClusterClientConfigManager.getTokenLeaseIntervalMs(), result.getTokenId());
+        return leasedResult(remaining);
+    }
+
+    private TokenResult leasedResult(int remaining) {
+        return new TokenResult(TokenResultStatus.OK)
+            .setRemaining(remaining)
+            .setWaitInMs(0);
+    }
+
     @Override
     public TokenResult requestParamToken(Long flowId, int acquireCount, Collection<Object> params) {
         if (notValidRequest(flowId, acquireCount) || params == null || params.isEmpty()) {
@@ -203,18 +368,37 @@ public class DefaultClusterTokenClient implements ClusterTokenClient {
         }
     }
 
+    private static ListenableFuture<ClusterResponse> sendRequestAsync(ClusterTransportClient client,
+                                                                      ClusterRequest request) {
+        if (client instanceof AsyncClusterTransportClient) {
+            return ((AsyncClusterTransportClient)client).sendRequestAsync(request);
+        }
+        // Fall back to the blocking call for transport clients without asynchronous support.
+        try {
+            return ListenableFuture.completed(client.sendRequest(request));
+        } catch (Exception ex) {
+            return ListenableFuture.failed(ex);
+        }
+    }
+
     private TokenResult sendTokenRequest(ClusterRequest request) throws Exception {
         if (transportClient == null) {
             RecordLog.warn(
                 "[DefaultClusterTokenClient] Client not created, please check your config for cluster client");
             return clientFail();
         }
-        ClusterResponse response = transportClient.sendRequest(request);
+        return toTokenResult(transportClient.sendRequest(request));
+    }
+
+    private TokenResult toTokenResult(ClusterResponse response) {
         TokenResult result = new TokenResult(response.getStatus());
         if (response.getData() != null) {
             FlowTokenResponseData responseData = (FlowTokenResponseData)response.getData();
             result.setRemaining(responseData.getRemainingCount())
                 .setWaitInMs(responseData.getWaitInMs());
+            if (responseData instanceof FlowLeaseResponseData) {
+                result.setTokenId(((FlowLeaseResponseData)responseData).getLeaseId());
+            }
         }
         return result;
     }
@@ -15,15 +15,18 @@
  */
 package com.alibaba.csp.sentinel.cluster.client;
 
-import java.util.AbstractMap.SimpleEntry;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import com.alibaba.csp.sentinel.cluster.AsyncClusterTransportClient;
+import com.alibaba.csp.sentinel.cluster.ClusterConstants;
 import com.alibaba.csp.sentinel.cluster.ClusterErrorMessages;
-import com.alibaba.csp.sentinel.cluster.ClusterTransportClient;
 import com.alibaba.csp.sentinel.cluster.client.codec.netty.NettyRequestEncoder;
 import com.alibaba.csp.sentinel.cluster.client.codec.netty.NettyResponseDecoder;
 import com.alibaba.csp.sentinel.cluster.client.config.ClusterClientConfigManager;
@@ -33,6 +36,7 @@ import com.alibaba.csp.sentinel.cluster.exception.SentinelClusterException;
 import com.alibaba.csp.sentinel.cluster.request.ClusterRequest;
 import com.alibaba.csp.sentinel.cluster.request.Request;
 import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.concurrent.ListenableFuture;
 import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.util.AssertUtil;
@@ -41,10 +45,10 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.ChannelPromise;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
@@ -58,7 +62,7 @@ import io.netty.util.concurrent.GenericFutureListener;
  * @author Eric Zhao
  * @since 1.4.0
  */
-public class NettyTransportClient implements ClusterTransportClient {
+public class NettyTransportClient implements AsyncClusterTransportClient {
 
     @SuppressWarnings("PMD.ThreadPoolCreationRule")
     private static final ScheduledExecutorService SCHEDULER = Executors.newScheduledThreadPool(1,
@@ -98,9 +102,10 @@ public class NettyTransportClient implements ClusterTransportClient {
                 @Override
                 public void initChannel(SocketChannel ch) throws Exception {
                     clientHandler = new TokenClientHandler(currentState, disconnectCallback);
+                    ch.attr(TokenRequestBatcher.BATCHER_KEY).set(new TokenRequestBatcher(ch));
 
                     ChannelPipeline pipeline = ch.pipeline();
-                    pipeline.addLast(new LengthFieldBasedFrameDecoder(1024, 0, 2, 0, 2));
+                    pipeline.addLast(new LengthFieldBasedFrameDecoder(ClusterConstants.MAX_FRAME_LENGTH, 0, 2, 0, 2));
                     pipeline.addLast(new NettyResponseDecoder());
                     pipeline.addLast(new LengthFieldPrepender(2));
                     pipeline.addLast(new NettyRequestEncoder());
@@ -212,28 +217,81 @@ public class NettyTransportClient implements ClusterTransportClient {
         if (!validRequest(request)) {
             throw new SentinelClusterException(ClusterErrorMessages.BAD_REQUEST);
         }
-        int xid = getCurrentId();
+        ListenableFuture<ClusterResponse> future = new ListenableFuture<>();
+        int xid = writeRequest(channel, request, future);
         try {
-            request.setId(xid);
-
-            channel.writeAndFlush(request);
-
-            ChannelPromise promise = channel.newPromise();
-            TokenClientPromiseHolder.putPromise(xid, promise);
+            return future.get(ClusterClientConfigManager.getRequestTimeout(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new SentinelClusterException(ClusterErrorMessages.REQUEST_TIME_OUT);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            throw cause instanceof Exception ? (Exception)cause : ex;
+        } finally {
+            TokenClientPromiseHolder.remove(xid);
+        }
+    }
 
-            if (!promise.await(ClusterClientConfigManager.getRequestTimeout())) {
-                throw new SentinelClusterException(ClusterErrorMessages.REQUEST_TIME_OUT);
+    @Override
+    public ListenableFuture<ClusterResponse> sendRequestAsync(ClusterRequest request) {
+        if (!isReady()) {
+            return ListenableFuture.failed(new SentinelClusterException(ClusterErrorMessages.CLIENT_NOT_READY));
+        }
+        if (!validRequest(request)) {
+            return ListenableFuture.failed(new SentinelClusterException(ClusterErrorMessages.BAD_REQUEST));
+        }
+        final ListenableFuture<ClusterResponse> future = new ListenableFuture<>();
+        Channel ch = this.channel;
+        final int xid = writeRequest(ch, request, future);
+        if (future.isDone()) {
+            return future;
+        }
+        // Cancelled timeout tasks are removed from the event loop at once.
+        final ScheduledFuture<?> timeoutTask = ch.eventLoop().schedule(new Runnable() {
+            @Override
+            public void run() {
+                TokenClientPromiseHolder.failPromise(xid,
+                    new SentinelClusterException(ClusterErrorMessages.REQUEST_TIME_OUT));
             }
-
-            SimpleEntry<ChannelPromise, ClusterResponse> entry = TokenClientPromiseHolder.getEntry(xid);
-            if (entry == null || entry.getValue() == null) {
-                // Should not go through here.
-                throw new SentinelClusterException(ClusterErrorMessages.UNEXPECTED_STATUS);
+        }, ClusterClientConfigManager.getRequestTimeout(), TimeUnit.MILLISECONDS);
+        future.whenComplete(new ListenableFuture.Listener<ClusterResponse>() {
+            @Override
+            public void onComplete(ClusterResponse result, Throwable cause) {
+                timeoutTask.cancel(false);
             }
-            return entry.getValue();
-        } finally {
-            TokenClientPromiseHolder.remove(xid);
+        });
+        return future;
+    }
+
+    /**
+     * Register the pending request and write it to the channel without waiting for the response,
+     * so that many requests could be in flight on the channel at the same time.
+     */
+    private int writeRequest(Channel ch, ClusterRequest request, ListenableFuture<ClusterResponse> future) {
+        final int xid = getCurrentId();
+        request.setId(xid);
+        // Register the request before writing, so that a quick response will not be missed.
+        TokenClientPromiseHolder.putPromise(xid, future);
+
+        if (ch == null) {
+            TokenClientPromiseHolder.failPromise(xid,
+                new SentinelClusterException(ClusterErrorMessages.CLIENT_NOT_READY));
+            return xid;
         }
+        TokenRequestBatcher batcher = ch.attr(TokenRequestBatcher.BATCHER_KEY).get();
+        if (batcher != null && TokenRequestBatcher.isBatchable(request)) {
+            batcher.add(request);
+            return xid;
+        }
+        ch.writeAndFlush(request).addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture f) {
+                if (!f.isSuccess()) {
+                    TokenClientPromiseHolder.failPromise(xid, f.cause() != null ? f.cause()
+                        : new SentinelClusterException(ClusterErrorMessages.UNEXPECTED_STATUS));
+                }
+            }
+        });
+        return xid;
     }
 
     private int getCurrentId() {
@@ -245,28 +303,6 @@ public class NettyTransportClient implements ClusterTransportClient {
         return next;
     }
 
-    /*public CompletableFuture<ClusterResponse> sendRequestAsync(ClusterRequest request) {
-        // Uncomment this when min target JDK is 1.8.
-        if (!validRequest(request)) {
-            return CompletableFuture.failedFuture(new IllegalArgumentException("Bad request"));
-        }
-        int xid = getCurrentId();
-        request.setId(xid);
-
-        CompletableFuture<ClusterResponse> future = new CompletableFuture<>();
-        channel.writeAndFlush(request)
-            .addListener(f -> {
-                if (f.isSuccess()) {
-                    future.complete(someResult);
-                } else if (f.cause() != null) {
-                    future.completeExceptionally(f.cause());
-                } else {
-                    future.cancel(false);
-                }
-            });
-        return future;
-    }*/
-
     private static final int MIN_ID = 1;
     private static final int MAX_ID = 999_999_999;
 }
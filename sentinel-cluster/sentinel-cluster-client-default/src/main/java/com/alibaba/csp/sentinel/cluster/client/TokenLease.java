@@ -0,0 +1,123 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.client;
+
+import com.alibaba.csp.sentinel.cluster.client.config.ClusterClientConfigManager;
+
+/**
+ * Tokens leased from the token server for a single flow rule. Leased tokens are spent locally until the lease
+ * expires or runs out, then unused tokens are returned to the token server along with the next lease request.
+ *
+ * @since 1.8.1
+ */
+final class TokenLease {
+
+    /**
+     * Unused tokens are only returned while they are still counted in the statistic window of the token server
+     * (1s by default), otherwise returning them would free up capacity that has already been released.
+     */
+    static final int RECONCILE_WINDOW_MS = ClusterClientConfigManager.MAX_TOKEN_LEASE_INTERVAL_MS;
+
+    private int available;
+    private int consumed;
+    private int lastGranted;
+    private long grantedAt;
+    private long expireAt;
+    private long leaseId;
+    /**
+     * Whether a refill request of this lease is in flight.
+     */
+    private boolean refilling;
+
+    /**
+     * Try to spend tokens of the current lease.
+     *
+     * @return remaining tokens of the lease if acquired, or -1 if the lease is expired or not enough
+     */
+    synchronized int tryAcquire(int count, long now) {
+        if (now >= expireAt || available < count) {
+            return -1;
+        }
+        available -= count;
+        consumed += count;
+        return available;
+    }
+
+    /**
+     * Start refilling the lease. Only one refill request could be in flight for each lease,
+     * so other requesters should not wait for the lease in the meantime.
+     *
+     * @return true if the caller should send the refill request, or false if another one is in flight
+     */
+    synchronized boolean startRefill() {
+        if (refilling) {
+            return false;
+        }
+        refilling = true;
+        return true;
+    }
+
+    /**
+     * End the in-flight refill without renewing the lease (e.g. the request failed or was rejected).
+     */
+    synchronized void endRefill() {
+        refilling = false;
+    }
+
+    /**
+     * Calculate the count of the next lease. The lease doubles when the previous one was used up,
+     * and shrinks to the actual usage otherwise.
+     */
+    synchronized int nextLeaseCount(int acquireCount, int maxCount) {
+        int expected = consumed >= lastGranted ? consumed * 2 : consumed;
+        return Math.max(acquireCount, Math.min(maxCount, expected));
+    }
+
+    /**
+     * Take over the unused tokens of current lease.
+     *
+     * @return count of tokens that should be returned to the token server
+     */
+    synchronized int drainReturnable(long now) {
+        int returnable = now - grantedAt < RECONCILE_WINDOW_MS ? available : 0;
+        available = 0;
+        return returnable;
+    }
+
+    /**
+     * @return ID of current lease given by the token server, which should be sent back with the returned tokens
+     */
+    synchronized long getLeaseId() {
+        return leaseId;
+    }
+
+    /**
+     * Renew the lease with newly granted tokens, where {@code spent} tokens are consumed by the requester at once.
+     * This also ends the in-flight refill.
+     *
+     * @return remaining tokens of the lease
+     */
+    synchronized int renew(int granted, int spent, long now, long intervalMs, long leaseId) {
+        available += granted - spent;
+        consumed = spent;
+        lastGranted = granted;
+        grantedAt = now;
+        expireAt = now + intervalMs;
+        this.leaseId = leaseId;
+        this.refilling = false;
+        return available;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.alibaba.csp.sentinel.cluster.ClusterConstants;
+import com.alibaba.csp.sentinel.cluster.ClusterErrorMessages;
+import com.alibaba.csp.sentinel.cluster.client.config.ClusterClientConfigManager;
+import com.alibaba.csp.sentinel.cluster.client.handler.TokenClientPromiseHolder;
+import com.alibaba.csp.sentinel.cluster.exception.SentinelClusterException;
+import com.alibaba.csp.sentinel.cluster.request.ClusterRequest;
+import com.alibaba.csp.sentinel.cluster.request.data.BatchRequestData;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.util.AttributeKey;
+
+/**
+ * Coalesces concurrent token requests of a channel into batch frames. Requests are queued by the caller threads,
+ * then drained by the event loop of the channel in one pass, so that many requests share a single frame
+ * and a single flush.
+ *
+ * @since 1.8.1
+ */
+final class TokenRequestBatcher {
+
+    static final AttributeKey<TokenRequestBatcher> BATCHER_KEY = AttributeKey.valueOf("sentinelTokenRequestBatcher");
+
+    private final Channel channel;
+    private final Queue<ClusterRequest> pendingRequests = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    TokenRequestBatcher(Channel channel) {
+        this.channel = channel;
+    }
+
+    static boolean isBatchable(ClusterRequest request) {
+        switch (request.getType()) {
+            case ClusterConstants.MSG_TYPE_FLOW:
+            case ClusterConstants.MSG_TYPE_PARAM_FLOW:
+            case ClusterConstants.MSG_TYPE_FLOW_LEASE:
+                return ClusterClientConfigManager.isRequestBatchEnabled();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Queue the request, which should have been registered in {@link TokenClientPromiseHolder}.
+     */
+    void add(ClusterRequest request) {
+        pendingRequests.offer(request);
+        if (flushScheduled.compareAndSet(false, true)) {
+            int windowMicros = ClusterClientConfigManager.getBatchWindowMicros();
+            try {
+                if (windowMicros > 0) {
+                    channel.eventLoop().schedule(flushTask, windowMicros, TimeUnit.MICROSECONDS);
+                } else {
+                    channel.eventLoop().execute(flushTask);
+                }
+            } catch (RejectedExecutionException ex) {
+                // The event loop has been shut down.
+                flushScheduled.set(false);
+                failPending(new SentinelClusterException(ClusterErrorMessages.CLIENT_NOT_READY));
+            }
+        }
+    }
+
+    void flush() {
+        // Reset the flag first, so that requests added during draining will trigger another flush.
+        flushScheduled.set(false);
+        int maxBatchSize = Math.max(1, ClusterClientConfigManager.getMaxBatchSize());
+
+        List<ClusterRequest> batch = new ArrayList<>();
+        ClusterRequest request;
+        while ((request = pendingRequests.poll()) != null) {
+            batch.add(request);
+            if (batch.size() >= maxBatchSize) {
+                write(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+        channel.flush();
+    }
+
+    int pendingCount() {
+        return pendingRequests.size();
+    }
+
+    private void write(final List<ClusterRequest> batch) {
+        Object message = batch.size() == 1 ? batch.get(0)
+            : new ClusterRequest<>(0, ClusterConstants.MSG_TYPE_BATCH, new BatchRequestData(batch));
+        channel.write(message).addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture f) {
+                if (!f.isSuccess()) {
+                    Throwable cause = f.cause() != null ? f.cause()
+                        : new SentinelClusterException(ClusterErrorMessages.UNEXPECTED_STATUS);
+                    for (ClusterRequest request : batch) {
+                        TokenClientPromiseHolder.failPromise(request.getId(), cause);
+                    }
+                }
+            }
+        });
+    }
+
+    private void failPending(Throwable cause) {
+        ClusterRequest request;
+        while ((request = pendingRequests.poll()) != null) {
+            TokenClientPromiseHolder.failPromise(request.getId(), cause);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.client.codec.data;
+
+import com.alibaba.csp.sentinel.cluster.TokenResultStatus;
+import com.alibaba.csp.sentinel.cluster.client.codec.registry.RequestDataWriterRegistry;
+import com.alibaba.csp.sentinel.cluster.client.handler.TokenClientPromiseHolder;
+import com.alibaba.csp.sentinel.cluster.codec.EntityWriter;
+import com.alibaba.csp.sentinel.cluster.request.ClusterRequest;
+import com.alibaba.csp.sentinel.cluster.request.data.BatchRequestData;
+import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * <p>Writer for batch request data. Each item is written with its own head and a length-prefixed data part,
+ * so that the data part could be decoded by the decoder of the item type.</p>
+ *
+ * <pre>
+ * +----------+--------+---------+-----------+---------+-----+
+ * | count(2) | xid(4) | type(1) | length(2) | data... | ... |
+ * +----------+--------+---------+-----------+---------+-----+
+ * </pre>
+ *
+ * @since 1.8.1
+ */
+public class BatchRequestDataWriter implements EntityWriter<BatchRequestData, ByteBuf> {
+
+    @Override
+    public void writeTo(BatchRequestData entity, ByteBuf target) {
+        int countIndex = target.writerIndex();
+        target.writeShort(0);
+
+        int count = 0;
+        for (ClusterRequest request : entity.getRequests()) {
+            EntityWriter<Object, ByteBuf> dataWriter = RequestDataWriterRegistry.getWriter(request.getType());
+            if (dataWriter == null) {
+                RecordLog.warn("[BatchRequestDataWriter] Cannot find matching request writer for type <{}>,"
+                    + " rejecting the request", request.getType());
+                // Complete the pending request at once rather than leaving it to time out.
+                TokenClientPromiseHolder.completePromise(request.getId(), new ClusterResponse<>(request.getId(),
+                    request.getType(), TokenResultStatus.BAD_REQUEST, null));
+                continue;
+            }
+            target.writeInt(request.getId());
+            target.writeByte(request.getType());
+            int lengthIndex = target.writerIndex();
+            target.writeShort(0);
+            dataWriter.writeTo(request.getData(), target);
+            target.setShort(lengthIndex, target.writerIndex() - lengthIndex - 2);
+            count++;
+        }
+        target.setShort(countIndex, count);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.client.codec.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.cluster.client.codec.registry.ResponseDataDecodeRegistry;
+import com.alibaba.csp.sentinel.cluster.codec.EntityDecoder;
+import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.cluster.response.data.BatchResponseData;
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * <p>Decoder for batch response data. The layout:</p>
+ *
+ * <pre>
+ * +----------+--------+---------+-----------+-----------+---------+-----+
+ * | count(2) | xid(4) | type(1) | status(1) | length(2) | data... | ... |
+ * +----------+--------+---------+-----------+-----------+---------+-----+
+ * </pre>
+ *
+ * @since 1.8.1
+ */
+public class BatchResponseDataDecoder implements EntityDecoder<ByteBuf, BatchResponseData> {
+
+    @Override
+    public BatchResponseData decode(ByteBuf source) {
+        if (source.readableBytes() < 2) {
+            return null;
+        }
+        int count = source.readUnsignedShort();
+        List<ClusterResponse> responses = new ArrayList<>(count);
+        for (int i = 0; i < count && source.readableBytes() >= 8; i++) {
+            int xid = source.readInt();
+            int type = source.readByte();
+            int status = source.readByte();
+            int length = source.readUnsignedShort();
+            if (source.readableBytes() < length) {
+                break;
+            }
+            ByteBuf dataBuf = source.readSlice(length);
+
+            EntityDecoder<ByteBuf, ?> decoder = ResponseDataDecodeRegistry.getDecoder(type);
+            if (decoder == null) {
+                RecordLog.warn("Unknown type of response data decoder: {}", type);
+                continue;
+            }
+            Object data = length == 0 ? null : decoder.decode(dataBuf);
+            responses.add(new ClusterResponse<>(xid, type, status, data));
+        }
+        return new BatchResponseData(responses);
+    }
+}
@@ -23,6 +23,33 @@ public class ClusterClientConfig {
 
     private Integer requestTimeout;
 
+    /**
+     * Max count of tokens leased from the token server at once. Token leasing is disabled if absent or 0.
+     *
+     * @since 1.8.1
+     */
+    private Integer tokenLeaseMaxCount;
+    /**
+     * Time interval (in ms) that leased tokens could be spent locally.
+     *
+     * @since 1.8.1
+     */
+    private Integer tokenLeaseIntervalMs;
+
+    /**
+     * Max count of token requests coalesced into one batch frame. Request batching is disabled if absent or 0.
+     *
+     * @since 1.8.1
+     */
+    private Integer maxBatchSize;
+    /**
+     * Time window (in microseconds) to coalesce concurrent token requests. If 0, requests that arrive before
+     * the next tick of the event loop are coalesced.
+     *
+     * @since 1.8.1
+     */
+    private Integer batchWindowMicros;
+
     public Integer getRequestTimeout() {
         return requestTimeout;
     }
@@ -32,10 +59,50 @@ public class ClusterClientConfig {
         return this;
     }
 
+    public Integer getTokenLeaseMaxCount() {
+        return tokenLeaseMaxCount;
+    }
+
+    public ClusterClientConfig setTokenLeaseMaxCount(Integer tokenLeaseMaxCount) {
+        this.tokenLeaseMaxCount = tokenLeaseMaxCount;
+        return this;
+    }
+
+    public Integer getTokenLeaseIntervalMs() {
+        return tokenLeaseIntervalMs;
+    }
+
+    public ClusterClientConfig setTokenLeaseIntervalMs(Integer tokenLeaseIntervalMs) {
+        this.tokenLeaseIntervalMs = tokenLeaseIntervalMs;
+        return this;
+    }
+
+    public Integer getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public ClusterClientConfig setMaxBatchSize(Integer maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    public Integer getBatchWindowMicros() {
+        return batchWindowMicros;
+    }
+
+    public ClusterClientConfig setBatchWindowMicros(Integer batchWindowMicros) {
+        this.batchWindowMicros = batchWindowMicros;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "ClusterClientConfig{" +
             "requestTimeout=" + requestTimeout +
+            ", tokenLeaseMaxCount=" + tokenLeaseMaxCount +
+            ", tokenLeaseIntervalMs=" + tokenLeaseIntervalMs +
+            ", maxBatchSize=" + maxBatchSize +
+            ", batchWindowMicros=" + batchWindowMicros +
             '}';
     }
 }
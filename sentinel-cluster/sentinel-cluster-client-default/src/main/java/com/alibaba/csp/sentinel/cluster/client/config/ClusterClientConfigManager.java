@@ -41,6 +41,24 @@ public final class ClusterClientConfigManager {
     private static volatile int requestTimeout = ClusterConstants.DEFAULT_REQUEST_TIMEOUT;
     private static volatile int connectTimeout = ClusterConstants.DEFAULT_CONNECT_TIMEOUT_MILLIS;
 
+    /**
+     * Token lease properties. Token leasing is disabled by default.
+     */
+    public static final int DEFAULT_TOKEN_LEASE_INTERVAL_MS = 100;
+    /**
+     * Leased tokens are only counted by the token server within its statistic window (1s by default),
+     * so a longer lease could keep spending tokens whose capacity has been released on the server.
+     */
+    public static final int MAX_TOKEN_LEASE_INTERVAL_MS = 1000;
+    private static volatile int tokenLeaseMaxCount = 0;
+    private static volatile int tokenLeaseIntervalMs = DEFAULT_TOKEN_LEASE_INTERVAL_MS;
+
+    /**
+     * Request batching properties. Request batching is disabled by default.
+     */
+    private static volatile int maxBatchSize = 0;
+    private static volatile int batchWindowMicros = 0;
+
     private static final PropertyListener<ClusterClientConfig> CONFIG_PROPERTY_LISTENER
         = new ClientConfigPropertyListener();
     private static final PropertyListener<ClusterClientAssignConfig> ASSIGN_PROPERTY_LISTENER
@@ -170,6 +188,18 @@ public final class ClusterClientConfigManager {
         if (config.getRequestTimeout() != requestTimeout) {
             requestTimeout = config.getRequestTimeout();
         }
+        if (config.getTokenLeaseMaxCount() != null) {
+            tokenLeaseMaxCount = config.getTokenLeaseMaxCount();
+        }
+        if (config.getTokenLeaseIntervalMs() != null) {
+            tokenLeaseIntervalMs = config.getTokenLeaseIntervalMs();
+        }
+        if (config.getMaxBatchSize() != null) {
+            maxBatchSize = config.getMaxBatchSize();
+        }
+        if (config.getBatchWindowMicros() != null) {
+            batchWindowMicros = config.getBatchWindowMicros();
+        }
     }
 
     private static void updateServerAssignment(/*@Valid*/ ClusterClientAssignConfig config) {
@@ -191,7 +221,13 @@ public final class ClusterClientConfigManager {
     }
 
     public static boolean isValidClientConfig(ClusterClientConfig config) {
-        return config != null && config.getRequestTimeout() > 0;
+        return config != null && config.getRequestTimeout() > 0
+            && (config.getTokenLeaseMaxCount() == null || config.getTokenLeaseMaxCount() >= 0)
+            && (config.getTokenLeaseIntervalMs() == null || (config.getTokenLeaseIntervalMs() > 0
+                && config.getTokenLeaseIntervalMs() <= MAX_TOKEN_LEASE_INTERVAL_MS))
+            && (config.getMaxBatchSize() == null
+                || (config.getMaxBatchSize() >= 0 && config.getMaxBatchSize() <= ClusterConstants.MAX_BATCH_SIZE))
+            && (config.getBatchWindowMicros() == null || config.getBatchWindowMicros() >= 0);
     }
 
     public static String getServerHost() {
@@ -210,5 +246,29 @@ public final class ClusterClientConfigManager {
         return connectTimeout;
     }
 
+    public static int getTokenLeaseMaxCount() {
+        return tokenLeaseMaxCount;
+    }
+
+    public static int getTokenLeaseIntervalMs() {
+        return tokenLeaseIntervalMs;
+    }
+
+    public static boolean isTokenLeaseEnabled() {
+        return tokenLeaseMaxCount > 0;
+    }
+
+    public static int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public static int getBatchWindowMicros() {
+        return batchWindowMicros;
+    }
+
+    public static boolean isRequestBatchEnabled() {
+        return maxBatchSize > 1;
+    }
+
     private ClusterClientConfigManager() {}
 }
@@ -23,6 +23,7 @@ import com.alibaba.csp.sentinel.cluster.client.ClientConstants;
 import com.alibaba.csp.sentinel.cluster.registry.ConfigSupplierRegistry;
 import com.alibaba.csp.sentinel.cluster.request.ClusterRequest;
 import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.cluster.response.data.BatchResponseData;
 import com.alibaba.csp.sentinel.log.RecordLog;
 
 import io.netty.channel.ChannelHandlerContext;
@@ -60,11 +61,26 @@ public class TokenClientHandler extends ChannelInboundHandlerAdapter {
                 handlePingResponse(ctx, response);
                 return;
             }
+            if (response.getType() == ClusterConstants.MSG_TYPE_BATCH) {
+                handleBatchResponse(response);
+                return;
+            }
 
             TokenClientPromiseHolder.completePromise(response.getId(), response);
         }
     }
 
+    private void handleBatchResponse(ClusterResponse response) {
+        BatchResponseData data = (BatchResponseData) response.getData();
+        if (data == null || data.getResponses() == null) {
+            RecordLog.warn("[TokenClientHandler] Bad batch response, status: {}", response.getStatus());
+            return;
+        }
+        for (ClusterResponse item : data.getResponses()) {
+            TokenClientPromiseHolder.completePromise(item.getId(), item);
+        }
+    }
+
     private void fireClientPing(ChannelHandlerContext ctx) {
         // Data body: namespace of the client.
         ClusterRequest<String> ping = new ClusterRequest<String>().setId(0)
@@ -20,16 +20,20 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.concurrent.ListenableFuture;
 
 import io.netty.channel.ChannelPromise;
 
 /**
+ * Holder of the pending requests (by request ID) of the token client.
+ *
  * @author Eric Zhao
  * @since 1.4.0
  */
 public final class TokenClientPromiseHolder {
 
     private static final Map<Integer, SimpleEntry<ChannelPromise, ClusterResponse>> PROMISE_MAP = new ConcurrentHashMap<>();
+    private static final Map<Integer, ListenableFuture<ClusterResponse>> FUTURE_MAP = new ConcurrentHashMap<>();
 
     public static void putPromise(int xid, ChannelPromise promise) {
         PROMISE_MAP.put(xid, new SimpleEntry<ChannelPromise, ClusterResponse>(promise, null));
@@ -39,13 +43,43 @@ public final class TokenClientPromiseHolder {
         return PROMISE_MAP.get(xid);
     }
 
+    /**
+     * Register a pending request, which will be completed when the response arrives.
+     *
+     * @param xid     ID of the request
+     * @param promise the future of the response
+     * @since 1.8.1
+     */
+    public static void putPromise(int xid, ListenableFuture<ClusterResponse> promise) {
+        FUTURE_MAP.put(xid, promise);
+    }
+
+    /**
+     * @param xid ID of the request
+     * @return the future of the pending request, or null if absent
+     * @since 1.8.1
+     */
+    public static ListenableFuture<ClusterResponse> getPromise(int xid) {
+        return FUTURE_MAP.get(xid);
+    }
+
     public static void remove(int xid) {
         PROMISE_MAP.remove(xid);
+        FUTURE_MAP.remove(xid);
+    }
+
+    /**
+     * @return amount of requests that are waiting for responses
+     * @since 1.8.1
+     */
+    public static int pendingCount() {
+        return PROMISE_MAP.size() + FUTURE_MAP.size();
     }
 
     public static <T> boolean completePromise(int xid, ClusterResponse<T> response) {
-        if (!PROMISE_MAP.containsKey(xid)) {
-            return false;
+        ListenableFuture<ClusterResponse> future = FUTURE_MAP.remove(xid);
+        if (future != null) {
+            return future.complete(response);
         }
         SimpleEntry<ChannelPromise, ClusterResponse> entry = PROMISE_MAP.get(xid);
         if (entry != null) {
@@ -60,5 +94,22 @@ public final class TokenClientPromiseHolder {
         return false;
     }
 
+    /**
+     * Fail the pending request (e.g. failed to send or timed out).
+     *
+     * @param xid   ID of the request
+     * @param cause the error
+     * @return true if the request was pending and has been failed by this invocation
+     * @since 1.8.1
+     */
+    public static boolean failPromise(int xid, Throwable cause) {
+        ListenableFuture<ClusterResponse> future = FUTURE_MAP.remove(xid);
+        if (future != null) {
+            return future.completeExceptionally(cause);
+        }
+        SimpleEntry<ChannelPromise, ClusterResponse> entry = PROMISE_MAP.get(xid);
+        return entry != null && entry.getKey().tryFailure(cause);
+    }
+
     private TokenClientPromiseHolder() {}
 }
@@ -16,6 +16,10 @@
 package com.alibaba.csp.sentinel.cluster.client.init;
 
 import com.alibaba.csp.sentinel.cluster.client.ClientConstants;
+import com.alibaba.csp.sentinel.cluster.client.codec.data.BatchRequestDataWriter;
+import com.alibaba.csp.sentinel.cluster.client.codec.data.BatchResponseDataDecoder;
+import com.alibaba.csp.sentinel.cluster.client.codec.data.FlowLeaseRequestDataWriter;
+import com.alibaba.csp.sentinel.cluster.client.codec.data.FlowLeaseResponseDataDecoder;
 import com.alibaba.csp.sentinel.cluster.client.codec.data.FlowRequestDataWriter;
 import com.alibaba.csp.sentinel.cluster.client.codec.data.FlowResponseDataDecoder;
 import com.alibaba.csp.sentinel.cluster.client.codec.data.ParamFlowRequestDataWriter;
@@ -49,11 +53,15 @@ public class DefaultClusterClientInitFunc implements InitFunc {
         } else {
             RequestDataWriterRegistry.addWriter(ClientConstants.TYPE_PARAM_FLOW, new ParamFlowRequestDataWriter(maxParamByteSize));
         }
+        RequestDataWriterRegistry.addWriter(ClientConstants.TYPE_FLOW_LEASE, new FlowLeaseRequestDataWriter());
+        RequestDataWriterRegistry.addWriter(ClientConstants.TYPE_BATCH, new BatchRequestDataWriter());
     }
 
     private void initDefaultEntityDecoders() {
         ResponseDataDecodeRegistry.addDecoder(ClientConstants.TYPE_PING, new PingResponseDataDecoder());
         ResponseDataDecodeRegistry.addDecoder(ClientConstants.TYPE_FLOW, new FlowResponseDataDecoder());
         ResponseDataDecodeRegistry.addDecoder(ClientConstants.TYPE_PARAM_FLOW, new FlowResponseDataDecoder());
+        ResponseDataDecodeRegistry.addDecoder(ClientConstants.TYPE_FLOW_LEASE, new FlowLeaseResponseDataDecoder());
+        ResponseDataDecodeRegistry.addDecoder(ClientConstants.TYPE_BATCH, new BatchResponseDataDecoder());
     }
 }
@@ -30,6 +30,10 @@ public class ClusterClientStateEntity {
     private Integer clientState;
 
     private Integer requestTimeout;
+    private Integer tokenLeaseMaxCount;
+    private Integer tokenLeaseIntervalMs;
+    private Integer maxBatchSize;
+    private Integer batchWindowMicros;
 
     public String getServerHost() {
         return serverHost;
@@ -58,6 +62,42 @@ public class ClusterClientStateEntity {
         return this;
     }
 
+    public Integer getTokenLeaseMaxCount() {
+        return tokenLeaseMaxCount;
+    }
+
+    public ClusterClientStateEntity setTokenLeaseMaxCount(Integer tokenLeaseMaxCount) {
+        this.tokenLeaseMaxCount = tokenLeaseMaxCount;
+        return this;
+    }
+
+    public Integer getTokenLeaseIntervalMs() {
+        return tokenLeaseIntervalMs;
+    }
+
+    public ClusterClientStateEntity setTokenLeaseIntervalMs(Integer tokenLeaseIntervalMs) {
+        this.tokenLeaseIntervalMs = tokenLeaseIntervalMs;
+        return this;
+    }
+
+    public Integer getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public ClusterClientStateEntity setMaxBatchSize(Integer maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    public Integer getBatchWindowMicros() {
+        return batchWindowMicros;
+    }
+
+    public ClusterClientStateEntity setBatchWindowMicros(Integer batchWindowMicros) {
+        this.batchWindowMicros = batchWindowMicros;
+        return this;
+    }
+
     public Integer getClientState() {
         return clientState;
     }
@@ -68,7 +108,11 @@ public class ClusterClientStateEntity {
     }
 
     public ClusterClientConfig toClientConfig() {
-        return new ClusterClientConfig().setRequestTimeout(requestTimeout);
+        return new ClusterClientConfig().setRequestTimeout(requestTimeout)
+            .setTokenLeaseMaxCount(tokenLeaseMaxCount)
+            .setTokenLeaseIntervalMs(tokenLeaseIntervalMs)
+            .setMaxBatchSize(maxBatchSize)
+            .setBatchWindowMicros(batchWindowMicros);
     }
 
     public ClusterClientAssignConfig toAssignConfig() {
@@ -84,6 +128,10 @@ public class ClusterClientStateEntity {
             ", serverPort=" + serverPort +
             ", clientState=" + clientState +
             ", requestTimeout=" + requestTimeout +
+            ", tokenLeaseMaxCount=" + tokenLeaseMaxCount +
+            ", tokenLeaseIntervalMs=" + tokenLeaseIntervalMs +
+            ", maxBatchSize=" + maxBatchSize +
+            ", batchWindowMicros=" + batchWindowMicros +
             '}';
     }
 }
@@ -37,7 +37,11 @@ public class FetchClusterClientConfigHandler implements CommandHandler<String> {
         ClusterClientStateEntity stateVO = new ClusterClientStateEntity()
             .setServerHost(ClusterClientConfigManager.getServerHost())
             .setServerPort(ClusterClientConfigManager.getServerPort())
-            .setRequestTimeout(ClusterClientConfigManager.getRequestTimeout());
+            .setRequestTimeout(ClusterClientConfigManager.getRequestTimeout())
+            .setTokenLeaseMaxCount(ClusterClientConfigManager.getTokenLeaseMaxCount())
+            .setTokenLeaseIntervalMs(ClusterClientConfigManager.getTokenLeaseIntervalMs())
+            .setMaxBatchSize(ClusterClientConfigManager.getMaxBatchSize())
+            .setBatchWindowMicros(ClusterClientConfigManager.getBatchWindowMicros());
         if (TokenClientProvider.isClientSpiAvailable()) {
             stateVO.setClientState(TokenClientProvider.getClient().getState());
         } else {
@@ -0,0 +1,79 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.client;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TokenLeaseTest {
+
+    @Test
+    public void testAcquireWithinLease() {
+        TokenLease lease = new TokenLease();
+        assertEquals(-1, lease.tryAcquire(1, 0));
+
+        assertEquals(9, lease.renew(10, 1, 0, 100, 0));
+        assertEquals(7, lease.tryAcquire(2, 10));
+        assertEquals(-1, lease.tryAcquire(8, 20));
+        // Expired.
+        assertEquals(-1, lease.tryAcquire(1, 100));
+    }
+
+    @Test
+    public void testNextLeaseCount() {
+        TokenLease lease = new TokenLease();
+        assertEquals(2, lease.nextLeaseCount(2, 50));
+
+        // Lease used up: grow.
+        lease.renew(4, 4, 0, 100, 0);
+        assertEquals(8, lease.nextLeaseCount(1, 50));
+        // Lease partially used: shrink to usage.
+        lease.renew(40, 3, 100, 100, 0);
+        assertEquals(3, lease.nextLeaseCount(1, 50));
+        assertEquals(5, lease.nextLeaseCount(5, 50));
+        // Capped by max count.
+        lease.renew(40, 40, 200, 100, 0);
+        assertEquals(50, lease.nextLeaseCount(1, 50));
+    }
+
+    @Test
+    public void testDrainReturnable() {
+        TokenLease lease = new TokenLease();
+        lease.renew(10, 4, 0, 100, 0);
+        assertEquals(6, lease.drainReturnable(200));
+        assertEquals(0, lease.drainReturnable(200));
+
+        lease.renew(10, 4, 1000, 100, 0);
+        // Tokens that are out of the statistic window of the server should not be returned.
+        assertEquals(0, lease.drainReturnable(1000 + TokenLease.RECONCILE_WINDOW_MS));
+    }
+
+    @Test
+    public void testSingleRefillInFlight() {
+        TokenLease lease = new TokenLease();
+        assertTrue(lease.startRefill());
+        // Only one refill request could be in flight.
+        assertFalse(lease.startRefill());
+        lease.endRefill();
+
+        assertTrue(lease.startRefill());
+        lease.renew(10, 1, 0, 100, 1000L);
+        assertEquals(1000L, lease.getLeaseId());
+        // Renewing the lease ends the refill.
+        assertTrue(lease.startRefill());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.client;
+
+import com.alibaba.csp.sentinel.cluster.ClusterConstants;
+import com.alibaba.csp.sentinel.cluster.client.config.ClusterClientConfig;
+import com.alibaba.csp.sentinel.cluster.client.config.ClusterClientConfigManager;
+import com.alibaba.csp.sentinel.cluster.client.handler.TokenClientPromiseHolder;
+import com.alibaba.csp.sentinel.cluster.request.ClusterRequest;
+import com.alibaba.csp.sentinel.cluster.request.data.BatchRequestData;
+import com.alibaba.csp.sentinel.cluster.request.data.FlowRequestData;
+import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.concurrent.ListenableFuture;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TokenRequestBatcherTest {
+
+    @After
+    public void tearDown() {
+        ClusterClientConfigManager.applyNewConfig(new ClusterClientConfig()
+            .setRequestTimeout(ClusterConstants.DEFAULT_REQUEST_TIMEOUT)
+            .setMaxBatchSize(0));
+    }
+
+    @Test
+    public void testCoalesceRequestsIntoBatches() {
+        ClusterClientConfigManager.applyNewConfig(new ClusterClientConfig()
+            .setRequestTimeout(ClusterConstants.DEFAULT_REQUEST_TIMEOUT)
+            .setMaxBatchSize(2));
+        EmbeddedChannel channel = new EmbeddedChannel();
+        TokenRequestBatcher batcher = new TokenRequestBatcher(channel);
+
+        for (int i = 1; i <= 3; i++) {
+            ClusterRequest<FlowRequestData> request = new ClusterRequest<>(ClusterConstants.MSG_TYPE_FLOW,
+                new FlowRequestData().setFlowId(i).setCount(1));
+            assertTrue(TokenRequestBatcher.isBatchable(request));
+            batcher.add(request.setId(i));
+        }
+        assertEquals(3, batcher.pendingCount());
+        assertNull(channel.readOutbound());
+
+        channel.runPendingTasks();
+        assertEquals(0, batcher.pendingCount());
+
+        ClusterRequest first = channel.readOutbound();
+        assertEquals(ClusterConstants.MSG_TYPE_BATCH, first.getType());
+        BatchRequestData batch = (BatchRequestData) first.getData();
+        assertEquals(2, batch.getRequests().size());
+        assertEquals(1, batch.getRequests().get(0).getId());
+        assertEquals(2, batch.getRequests().get(1).getId());
+
+        // The rest is written as a plain request.
+        ClusterRequest second = channel.readOutbound();
+        assertEquals(ClusterConstants.MSG_TYPE_FLOW, second.getType());
+        assertEquals(3, second.getId());
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    public void testFailPromisesWhenWriteFailed() throws Exception {
+        ClusterClientConfigManager.applyNewConfig(new ClusterClientConfig()
+            .setRequestTimeout(ClusterConstants.DEFAULT_REQUEST_TIMEOUT)
+            .setMaxBatchSize(4));
+        EmbeddedChannel channel = new EmbeddedChannel();
+        TokenRequestBatcher batcher = new TokenRequestBatcher(channel);
+
+        int xid = 20001;
+        ListenableFuture<ClusterResponse> future = new ListenableFuture<>();
+        TokenClientPromiseHolder.putPromise(xid, future);
+        channel.close();
+        batcher.add(new ClusterRequest<>(xid, ClusterConstants.MSG_TYPE_FLOW, new FlowRequestData()));
+        channel.runPendingTasks();
+
+        assertTrue(future.isDone());
+        assertNull(TokenClientPromiseHolder.getPromise(xid));
+    }
+
+    @Test
+    public void testPingIsNotBatchable() {
+        ClusterClientConfigManager.applyNewConfig(new ClusterClientConfig()
+            .setRequestTimeout(ClusterConstants.DEFAULT_REQUEST_TIMEOUT)
+            .setMaxBatchSize(4));
+        assertFalse(TokenRequestBatcher.isBatchable(new ClusterRequest<>(ClusterConstants.MSG_TYPE_PING, "ns")));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.client.codec.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.cluster.ClusterConstants;
+import com.alibaba.csp.sentinel.cluster.TokenResultStatus;
+import com.alibaba.csp.sentinel.cluster.client.codec.registry.RequestDataWriterRegistry;
+import com.alibaba.csp.sentinel.cluster.client.handler.TokenClientPromiseHolder;
+import com.alibaba.csp.sentinel.cluster.request.ClusterRequest;
+import com.alibaba.csp.sentinel.cluster.request.data.BatchRequestData;
+import com.alibaba.csp.sentinel.cluster.request.data.FlowRequestData;
+import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.concurrent.ListenableFuture;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BatchRequestDataWriterTest {
+
+    @Test
+    public void testRejectRequestWithoutWriter() throws Exception {
+        int unknownType = 99;
+        assertNull(RequestDataWriterRegistry.getWriter(unknownType));
+        boolean added = RequestDataWriterRegistry.addWriter(ClusterConstants.MSG_TYPE_FLOW,
+            new FlowRequestDataWriter());
+        try {
+            ListenableFuture<ClusterResponse> rejected = new ListenableFuture<>();
+            TokenClientPromiseHolder.putPromise(40001, rejected);
+            ListenableFuture<ClusterResponse> written = new ListenableFuture<>();
+            TokenClientPromiseHolder.putPromise(40002, written);
+
+            List<ClusterRequest> requests = new ArrayList<>();
+            requests.add(new ClusterRequest<>(40001, unknownType, new Object()));
+            requests.add(new ClusterRequest<>(40002, ClusterConstants.MSG_TYPE_FLOW,
+                new FlowRequestData().setFlowId(1L).setCount(1)));
+            ByteBuf buf = Unpooled.buffer();
+            new BatchRequestDataWriter().writeTo(new BatchRequestData(requests), buf);
+
+            // Only the request with a writer is written.
+            assertEquals(1, buf.readShort());
+            assertEquals(40002, buf.readInt());
+            // The rejected request completes at once with a bad request result.
+            assertTrue(rejected.isDone());
+            assertEquals(TokenResultStatus.BAD_REQUEST, rejected.get().getStatus());
+            assertFalse(written.isDone());
+            TokenClientPromiseHolder.remove(40002);
+            buf.release();
+        } finally {
+            if (added) {
+                RequestDataWriterRegistry.remove(ClusterConstants.MSG_TYPE_FLOW);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.client.codec.data;
+
+import com.alibaba.csp.sentinel.cluster.ClusterConstants;
+import com.alibaba.csp.sentinel.cluster.client.codec.registry.ResponseDataDecodeRegistry;
+import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.cluster.response.data.BatchResponseData;
+import com.alibaba.csp.sentinel.cluster.response.data.FlowTokenResponseData;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BatchResponseDataDecoderTest {
+
+    @Test
+    public void testDecode() {
+        ResponseDataDecodeRegistry.addDecoder(ClusterConstants.MSG_TYPE_FLOW, new FlowResponseDataDecoder());
+
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeShort(2);
+        // Flow response with data.
+        buf.writeInt(11);
+        buf.writeByte(ClusterConstants.MSG_TYPE_FLOW);
+        buf.writeByte(0);
+        buf.writeShort(8);
+        buf.writeInt(5);
+        buf.writeInt(0);
+        // Bad response without data.
+        buf.writeInt(12);
+        buf.writeByte(ClusterConstants.MSG_TYPE_FLOW);
+        buf.writeByte(ClusterConstants.RESPONSE_STATUS_BAD);
+        buf.writeShort(0);
+
+        BatchResponseData data = new BatchResponseDataDecoder().decode(buf);
+        assertNotNull(data);
+        assertEquals(2, data.getResponses().size());
+
+        ClusterResponse first = data.getResponses().get(0);
+        assertEquals(11, first.getId());
+        assertEquals(0, first.getStatus());
+        assertEquals(5, ((FlowTokenResponseData) first.getData()).getRemainingCount());
+
+        ClusterResponse second = data.getResponses().get(1);
+        assertEquals(12, second.getId());
+        assertEquals(ClusterConstants.RESPONSE_STATUS_BAD, second.getStatus());
+        assertNull(second.getData());
+        assertEquals(0, buf.readableBytes());
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.client.config;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ClusterClientConfigManagerTest {
+
+    @Test
+    public void testTokenLeaseIntervalWithinServerWindow() {
+        ClusterClientConfig config = new ClusterClientConfig().setRequestTimeout(20);
+        assertTrue(ClusterClientConfigManager.isValidClientConfig(config));
+        assertTrue(ClusterClientConfigManager.isValidClientConfig(config.setTokenLeaseIntervalMs(
+            ClusterClientConfigManager.MAX_TOKEN_LEASE_INTERVAL_MS)));
+        assertFalse(ClusterClientConfigManager.isValidClientConfig(config.setTokenLeaseIntervalMs(0)));
+        // A longer lease could outlive the statistic window of the token server.
+        assertFalse(ClusterClientConfigManager.isValidClientConfig(config.setTokenLeaseIntervalMs(
+            ClusterClientConfigManager.MAX_TOKEN_LEASE_INTERVAL_MS + 1)));
+    }
+}
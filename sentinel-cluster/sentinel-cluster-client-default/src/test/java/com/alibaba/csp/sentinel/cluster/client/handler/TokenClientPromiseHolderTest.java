@@ -0,0 +1,93 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.client.handler;
+
+import java.util.concurrent.ExecutionException;
+
+import com.alibaba.csp.sentinel.cluster.ClusterConstants;
+import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.concurrent.ListenableFuture;
+
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link TokenClientPromiseHolder}.
+ */
+public class TokenClientPromiseHolderTest {
+
+    @Test
+    public void testResponsesMatchedByRequestId() throws Exception {
+        int baseId = 10000;
+        int inFlight = 100;
+        @SuppressWarnings("unchecked")
+        ListenableFuture<ClusterResponse>[] futures = new ListenableFuture[inFlight];
+        for (int i = 0; i < inFlight; i++) {
+            futures[i] = new ListenableFuture<>();
+            TokenClientPromiseHolder.putPromise(baseId + i, futures[i]);
+        }
+
+        // Responses may arrive in any order.
+        for (int i = inFlight - 1; i >= 0; i--) {
+            ClusterResponse<Integer> response = new ClusterResponse<>(baseId + i, ClusterConstants.MSG_TYPE_FLOW,
+                ClusterConstants.RESPONSE_STATUS_OK, i);
+            assertTrue(TokenClientPromiseHolder.completePromise(baseId + i, response));
+        }
+        for (int i = 0; i < inFlight; i++) {
+            assertEquals(i, futures[i].get().getData());
+            assertNull(TokenClientPromiseHolder.getPromise(baseId + i));
+        }
+    }
+
+    @Test
+    public void testFailAndLateResponse() throws Exception {
+        int xid = 20000;
+        ListenableFuture<ClusterResponse> future = new ListenableFuture<>();
+        TokenClientPromiseHolder.putPromise(xid, future);
+
+        assertTrue(TokenClientPromiseHolder.failPromise(xid, new IllegalStateException("timeout")));
+        // The late response should be dropped.
+        assertFalse(TokenClientPromiseHolder.completePromise(xid,
+            new ClusterResponse<>(xid, ClusterConstants.MSG_TYPE_FLOW, ClusterConstants.RESPONSE_STATUS_OK, null)));
+        try {
+            future.get();
+            fail("should fail");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testChannelPromise() {
+        int xid = 30000;
+        ChannelPromise promise = new EmbeddedChannel().newPromise();
+        TokenClientPromiseHolder.putPromise(xid, promise);
+
+        ClusterResponse<Integer> response = new ClusterResponse<>(xid, ClusterConstants.MSG_TYPE_FLOW,
+            ClusterConstants.RESPONSE_STATUS_OK, 1);
+        assertTrue(TokenClientPromiseHolder.completePromise(xid, response));
+        assertTrue(promise.isSuccess());
+        assertSame(response, TokenClientPromiseHolder.getEntry(xid).getValue());
+        // Completed promise should not be completed again.
+        assertFalse(TokenClientPromiseHolder.completePromise(xid, response));
+
+        TokenClientPromiseHolder.remove(xid);
+        assertNull(TokenClientPromiseHolder.getEntry(xid));
+    }
+}
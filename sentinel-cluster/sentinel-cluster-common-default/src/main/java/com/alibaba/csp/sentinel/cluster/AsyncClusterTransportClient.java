@@ -0,0 +1,40 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster;
+
+import com.alibaba.csp.sentinel.cluster.request.ClusterRequest;
+import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.concurrent.ListenableFuture;
+
+/**
+ * Optional extension of {@link ClusterTransportClient} that sends requests without waiting for the response.
+ * Callers should check whether a transport client implements this interface, and fall back to
+ * {@link ClusterTransportClient#sendRequest(ClusterRequest)} otherwise.
+ *
+ * @since 1.8.1
+ */
+public interface AsyncClusterTransportClient extends ClusterTransportClient {
+
+    /**
+     * Send request to remote server without waiting for the response. Many requests could be in flight
+     * on the same connection, and responses are matched by the request ID.
+     *
+     * @param request Sentinel cluster request
+     * @return future of the response from remote server, which fails if the request cannot be sent
+     * or the response times out
+     */
+    ListenableFuture<ClusterResponse> sendRequestAsync(ClusterRequest request);
+}
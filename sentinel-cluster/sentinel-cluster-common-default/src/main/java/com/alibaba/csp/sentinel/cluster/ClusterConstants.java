@@ -26,6 +26,8 @@ public final class ClusterConstants {
     public static final int MSG_TYPE_PARAM_FLOW = 2;
     public static final int MSG_TYPE_CONCURRENT_FLOW_ACQUIRE = 3;
     public static final int MSG_TYPE_CONCURRENT_FLOW_RELEASE = 4;
+    public static final int MSG_TYPE_FLOW_LEASE = 5;
+    public static final int MSG_TYPE_BATCH = 6;
 
 
     public static final int RESPONSE_STATUS_BAD = -1;
@@ -44,5 +46,14 @@ public final class ClusterConstants {
     public static final int DEFAULT_REQUEST_TIMEOUT = 20;
     public static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 10 * 1000;
 
+    /**
+     * Max length of a single frame, which is limited by the 2-byte length field.
+     */
+    public static final int MAX_FRAME_LENGTH = 0xFFFF;
+    /**
+     * Max count of requests that could be carried in a single batch frame.
+     */
+    public static final int MAX_BATCH_SIZE = 32;
+
     private ClusterConstants() {}
 }
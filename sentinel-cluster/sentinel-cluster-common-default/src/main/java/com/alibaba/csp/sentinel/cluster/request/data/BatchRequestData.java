@@ -0,0 +1,52 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.request.data;
+
+import java.util.List;
+
+import com.alibaba.csp.sentinel.cluster.request.ClusterRequest;
+
+/**
+ * Request data that carries many token requests in a single frame.
+ *
+ * @since 1.8.1
+ */
+public class BatchRequestData {
+
+    private List<ClusterRequest> requests;
+
+    public BatchRequestData() {}
+
+    public BatchRequestData(List<ClusterRequest> requests) {
+        this.requests = requests;
+    }
+
+    public List<ClusterRequest> getRequests() {
+        return requests;
+    }
+
+    public BatchRequestData setRequests(List<ClusterRequest> requests) {
+        this.requests = requests;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchRequestData{" +
+            "requests=" + requests +
+            '}';
+    }
+}
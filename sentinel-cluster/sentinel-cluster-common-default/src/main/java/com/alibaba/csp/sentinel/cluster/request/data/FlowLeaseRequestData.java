@@ -0,0 +1,89 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.request.data;
+
+/**
+ * Request data for leasing a block of flow tokens from the token server. The server grants between
+ * {@code minCount} and {@code count} tokens at once, and the client spends them locally until the lease expires.
+ * Unused tokens of the previous lease are reported back via {@code returnedCount}, along with the ID of that lease
+ * ({@code returnedLeaseId}), so that the server could tell whether they could still be reclaimed.
+ *
+ * @since 1.8.1
+ */
+public class FlowLeaseRequestData {
+
+    private long flowId;
+    private int count;
+    private int minCount;
+    private int returnedCount;
+    private long returnedLeaseId;
+
+    public long getFlowId() {
+        return flowId;
+    }
+
+    public FlowLeaseRequestData setFlowId(long flowId) {
+        this.flowId = flowId;
+        return this;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public FlowLeaseRequestData setCount(int count) {
+        this.count = count;
+        return this;
+    }
+
+    public int getMinCount() {
+        return minCount;
+    }
+
+    public FlowLeaseRequestData setMinCount(int minCount) {
+        this.minCount = minCount;
+        return this;
+    }
+
+    public int getReturnedCount() {
+        return returnedCount;
+    }
+
+    public FlowLeaseRequestData setReturnedCount(int returnedCount) {
+        this.returnedCount = returnedCount;
+        return this;
+    }
+
+    public long getReturnedLeaseId() {
+        return returnedLeaseId;
+    }
+
+    public FlowLeaseRequestData setReturnedLeaseId(long returnedLeaseId) {
+        this.returnedLeaseId = returnedLeaseId;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "FlowLeaseRequestData{" +
+            "flowId=" + flowId +
+            ", count=" + count +
+            ", minCount=" + minCount +
+            ", returnedCount=" + returnedCount +
+            ", returnedLeaseId=" + returnedLeaseId +
+            '}';
+    }
+}
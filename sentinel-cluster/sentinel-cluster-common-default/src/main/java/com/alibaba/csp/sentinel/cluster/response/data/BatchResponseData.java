@@ -0,0 +1,52 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.response.data;
+
+import java.util.List;
+
+import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+
+/**
+ * Response data that carries the responses of a batch request in a single frame.
+ *
+ * @since 1.8.1
+ */
+public class BatchResponseData {
+
+    private List<ClusterResponse> responses;
+
+    public BatchResponseData() {}
+
+    public BatchResponseData(List<ClusterResponse> responses) {
+        this.responses = responses;
+    }
+
+    public List<ClusterResponse> getResponses() {
+        return responses;
+    }
+
+    public BatchResponseData setResponses(List<ClusterResponse> responses) {
+        this.responses = responses;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResponseData{" +
+            "responses=" + responses +
+            '}';
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.response.data;
+
+/**
+ * Response data of the token lease request, where {@code remainingCount} carries the granted token count.
+ * The {@code leaseId} identifies the statistic bucket of the token server that the granted tokens are recorded in,
+ * which should be sent back along with the unused tokens of the lease.
+ *
+ * @since 1.8.1
+ */
+public class FlowLeaseResponseData extends FlowTokenResponseData {
+
+    private long leaseId;
+
+    public long getLeaseId() {
+        return leaseId;
+    }
+
+    public FlowLeaseResponseData setLeaseId(long leaseId) {
+        this.leaseId = leaseId;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FlowLeaseResponseData) || !super.equals(o)) {
+            return false;
+        }
+        return this.leaseId == ((FlowLeaseResponseData) o).leaseId;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + (int) (leaseId ^ (leaseId >>> 32));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "FlowLeaseResponseData{" +
+                "remainingCount=" + getRemainingCount() +
+                ", waitInMs=" + getWaitInMs() +
+                ", leaseId=" + leaseId +
+                '}';
+    }
+}
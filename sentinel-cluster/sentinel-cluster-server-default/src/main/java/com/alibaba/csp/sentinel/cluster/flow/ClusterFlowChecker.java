@@ -111,6 +111,62 @@ final class ClusterFlowChecker {
         }
     }
 
+    /**
+     * Grant a block of tokens at once so that the client could spend them locally. The server grants as many tokens
+     * as the global threshold allows, but at most {@code maxCount} and at least {@code minCount}. Granted tokens are
+     * recorded as passed immediately, so the leased tokens are always accounted against the global threshold.
+     * The ID of the lease is the start time of the bucket that the granted tokens are recorded in.
+     * Unused tokens of the previous lease ({@code returnedCount}) are deducted first, but only while the bucket
+     * that granted them is still the current one, so that they are never credited to another bucket.
+     *
+     * @param rule            valid cluster flow rule
+     * @param minCount        minimum count to grant, or the lease is rejected
+     * @param maxCount        maximum count to grant
+     * @param returnedCount   unused tokens returned from the previous lease
+     * @param returnedLeaseId ID of the previous lease
+     * @return the lease result, where {@code remaining} indicates the granted token count
+     * and {@code tokenId} indicates the ID of the lease
+     * @since 1.8.1
+     */
+    static TokenResult acquireClusterTokenLease(/*@Valid*/ FlowRule rule, int minCount, int maxCount,
+                                                int returnedCount, long returnedLeaseId) {
+        Long id = rule.getClusterConfig().getFlowId();
+
+        if (!allowProceed(id)) {
+            return new TokenResult(TokenResultStatus.TOO_MANY_REQUEST);
+        }
+
+        ClusterMetric metric = ClusterMetricStatistics.getMetric(id);
+        if (metric == null) {
+            return new TokenResult(TokenResultStatus.FAIL);
+        }
+
+        if (returnedCount > 0) {
+            metric.reclaim(ClusterFlowEvent.PASS, returnedCount, returnedLeaseId);
+        }
+
+        double latestQps = metric.getAvg(ClusterFlowEvent.PASS);
+        double globalThreshold = calcGlobalThreshold(rule) * ClusterServerConfigManager.getExceedCount();
+        long available = (long) (globalThreshold - latestQps);
+        int granted = (int) Math.min(maxCount, available);
+
+        if (granted >= minCount) {
+            long leaseId = metric.addAndGetWindowStart(ClusterFlowEvent.PASS, granted);
+            metric.add(ClusterFlowEvent.PASS_REQUEST, 1);
+            ClusterServerStatLogUtil.log("flow|lease|" + id, granted);
+            TokenResult result = new TokenResult(TokenResultStatus.OK)
+                .setRemaining(granted)
+                .setWaitInMs(0);
+            result.setTokenId(leaseId);
+            return result;
+        }
+        metric.add(ClusterFlowEvent.BLOCK, minCount);
+        metric.add(ClusterFlowEvent.BLOCK_REQUEST, 1);
+        ClusterServerStatLogUtil.log("flow|block|" + id, minCount);
+        ClusterServerStatLogUtil.log("flow|block_request|" + id, 1);
+        return blockedResult();
+    }
+
     private static TokenResult blockedResult() {
         return new TokenResult(TokenResultStatus.BLOCKED)
             .setRemaining(0)
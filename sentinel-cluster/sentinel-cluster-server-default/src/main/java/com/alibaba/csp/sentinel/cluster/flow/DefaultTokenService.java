@@ -15,11 +15,13 @@
  */
 package com.alibaba.csp.sentinel.cluster.flow;
 
+import com.alibaba.csp.sentinel.cluster.AsyncTokenService;
 import com.alibaba.csp.sentinel.cluster.TokenResult;
 import com.alibaba.csp.sentinel.cluster.TokenResultStatus;
 import com.alibaba.csp.sentinel.cluster.TokenService;
 import com.alibaba.csp.sentinel.cluster.flow.rule.ClusterFlowRuleManager;
 import com.alibaba.csp.sentinel.cluster.flow.rule.ClusterParamFlowRuleManager;
+import com.alibaba.csp.sentinel.concurrent.ListenableFuture;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
 import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRule;
 
@@ -31,7 +33,7 @@ import java.util.Collection;
  * @author Eric Zhao
  * @since 1.4.0
  */
-public class DefaultTokenService implements TokenService {
+public class DefaultTokenService implements AsyncTokenService {
 
     @Override
     public TokenResult requestToken(Long ruleId, int acquireCount, boolean prioritized) {
@@ -47,6 +49,39 @@ public class DefaultTokenService implements TokenService {
         return ClusterFlowChecker.acquireClusterToken(rule, acquireCount, prioritized);
     }
 
+    @Override
+    public ListenableFuture<TokenResult> requestTokenAsync(Long ruleId, int acquireCount, boolean prioritized) {
+        // Tokens are checked locally, so the result is available immediately.
+        return ListenableFuture.completed(requestToken(ruleId, acquireCount, prioritized));
+    }
+
+    /**
+     * Lease a block of tokens for the given rule, so that the client could spend them locally.
+     *
+     * @param ruleId        the unique rule ID
+     * @param minCount      minimum count to grant, or the lease is rejected
+     * @param maxCount      maximum count to grant
+     * @param returnedCount unused tokens returned from the previous lease
+     * @param returnedLeaseId ID of the previous lease
+     * @return result of the lease, where {@code remaining} indicates the granted token count
+     * and {@code tokenId} indicates the ID of the lease
+     * @since 1.8.1
+     */
+    public TokenResult requestTokenLease(Long ruleId, int minCount, int maxCount, int returnedCount,
+                                         long returnedLeaseId) {
+        if (notValidRequest(ruleId, minCount) || maxCount < minCount || returnedCount < 0) {
+            return badRequest();
+        }
+        // The rule should be valid.
+        FlowRule rule = ClusterFlowRuleManager.getFlowRuleById(ruleId);
+        if (rule == null) {
+            return new TokenResult(TokenResultStatus.NO_RULE_EXISTS);
+        }
+
+        return ClusterFlowChecker.acquireClusterTokenLease(rule, minCount, maxCount, returnedCount,
+            returnedLeaseId);
+    }
+
     @Override
     public TokenResult requestParamToken(Long ruleId, int acquireCount, Collection<Object> params) {
         if (notValidRequest(ruleId, acquireCount) || params == null || params.isEmpty()) {
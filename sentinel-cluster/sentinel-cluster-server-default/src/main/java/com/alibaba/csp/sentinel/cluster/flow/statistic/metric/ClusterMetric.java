@@ -19,6 +19,7 @@ import java.util.List;
 
 import com.alibaba.csp.sentinel.cluster.flow.statistic.data.ClusterFlowEvent;
 import com.alibaba.csp.sentinel.cluster.flow.statistic.data.ClusterMetricBucket;
+import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 
 /**
@@ -40,6 +41,38 @@ public class ClusterMetric {
         metric.currentWindow().value().add(event, count);
     }
 
+    /**
+     * Add count to the current bucket.
+     *
+     * @return start time of the bucket that the count is added to
+     * @since 1.8.1
+     */
+    public long addAndGetWindowStart(ClusterFlowEvent event, long count) {
+        WindowWrap<ClusterMetricBucket> wrap = metric.currentWindow();
+        wrap.value().add(event, count);
+        return wrap.windowStart();
+    }
+
+    /**
+     * Take back count from the bucket that starts at {@code windowStart}, only if it is still the current bucket.
+     * The count taken back never exceeds what the bucket holds.
+     *
+     * @return the count actually taken back
+     * @since 1.8.1
+     */
+    public long reclaim(ClusterFlowEvent event, long count, long windowStart) {
+        WindowWrap<ClusterMetricBucket> wrap = metric.currentWindow();
+        if (wrap.windowStart() != windowStart) {
+            return 0;
+        }
+        long reclaimable = Math.min(count, wrap.value().get(event));
+        if (reclaimable > 0) {
+            wrap.value().add(event, -reclaimable);
+            return reclaimable;
+        }
+        return 0;
+    }
+
     public long getCurrentCount(ClusterFlowEvent event) {
         return metric.currentWindow().value().get(event);
     }
@@ -17,9 +17,11 @@ package com.alibaba.csp.sentinel.cluster.server;
 
 import java.util.Collection;
 
+import com.alibaba.csp.sentinel.cluster.AsyncTokenService;
 import com.alibaba.csp.sentinel.cluster.TokenResult;
 import com.alibaba.csp.sentinel.cluster.TokenResultStatus;
 import com.alibaba.csp.sentinel.cluster.TokenService;
+import com.alibaba.csp.sentinel.concurrent.ListenableFuture;
 
 /**
  * Default embedded token server in Sentinel which wraps the {@link SentinelDefaultTokenServer}
@@ -28,7 +30,7 @@ import com.alibaba.csp.sentinel.cluster.TokenService;
  * @author Eric Zhao
  * @since 1.4.0
  */
-public class DefaultEmbeddedTokenServer implements EmbeddedClusterTokenServer {
+public class DefaultEmbeddedTokenServer implements EmbeddedClusterTokenServer, AsyncTokenService {
 
     private final TokenService tokenService = TokenServiceProvider.getService();
     private final ClusterTokenServer server = new SentinelDefaultTokenServer(true);
@@ -51,6 +53,14 @@ public class DefaultEmbeddedTokenServer implements EmbeddedClusterTokenServer {
         return new TokenResult(TokenResultStatus.FAIL);
     }
 
+    @Override
+    public ListenableFuture<TokenResult> requestTokenAsync(Long ruleId, int acquireCount, boolean prioritized) {
+        if (tokenService instanceof AsyncTokenService) {
+            return ((AsyncTokenService)tokenService).requestTokenAsync(ruleId, acquireCount, prioritized);
+        }
+        return ListenableFuture.completed(requestToken(ruleId, acquireCount, prioritized));
+    }
+
     @Override
     public TokenResult requestParamToken(Long ruleId, int acquireCount, Collection<Object> params) {
         if (tokenService != null) {
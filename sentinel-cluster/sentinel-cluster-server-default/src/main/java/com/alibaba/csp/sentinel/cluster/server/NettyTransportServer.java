@@ -19,10 +19,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import com.alibaba.csp.sentinel.cluster.ClusterConstants;
 import com.alibaba.csp.sentinel.cluster.server.codec.netty.NettyRequestDecoder;
 import com.alibaba.csp.sentinel.cluster.server.codec.netty.NettyResponseEncoder;
 import com.alibaba.csp.sentinel.cluster.server.connection.Connection;
+import com.alibaba.csp.sentinel.cluster.server.config.ClusterServerConfigManager;
 import com.alibaba.csp.sentinel.cluster.server.connection.ConnectionPool;
+import com.alibaba.csp.sentinel.cluster.server.handler.RequestProcessExecutor;
 import com.alibaba.csp.sentinel.cluster.server.handler.TokenServerHandler;
 import com.alibaba.csp.sentinel.log.RecordLog;
 
@@ -59,6 +62,7 @@ public class NettyTransportServer implements ClusterTokenServer {
 
     private NioEventLoopGroup bossGroup;
     private NioEventLoopGroup workerGroup;
+    private RequestProcessExecutor processExecutor;
 
     private final ConnectionPool connectionPool = new ConnectionPool();
 
@@ -75,6 +79,11 @@ public class NettyTransportServer implements ClusterTokenServer {
             return;
         }
 
+        final RequestProcessExecutor processExecutor = RequestProcessExecutor.newExecutor(
+            ClusterServerConfigManager.getProcessMode(), ClusterServerConfigManager.getProcessThreads());
+        this.processExecutor = processExecutor;
+        RequestProcessExecutor.setRunningExecutor(processExecutor);
+
         ServerBootstrap b = new ServerBootstrap();
         this.bossGroup = new NioEventLoopGroup(1);
         this.workerGroup = new NioEventLoopGroup(DEFAULT_EVENT_LOOP_THREADS);
@@ -86,11 +95,11 @@ public class NettyTransportServer implements ClusterTokenServer {
                 @Override
                 public void initChannel(SocketChannel ch) throws Exception {
                     ChannelPipeline p = ch.pipeline();
-                    p.addLast(new LengthFieldBasedFrameDecoder(1024, 0, 2, 0, 2));
+                    p.addLast(new LengthFieldBasedFrameDecoder(ClusterConstants.MAX_FRAME_LENGTH, 0, 2, 0, 2));
                     p.addLast(new NettyRequestDecoder());
                     p.addLast(new LengthFieldPrepender(2));
                     p.addLast(new NettyResponseEncoder());
-                    p.addLast(new TokenServerHandler(connectionPool));
+                    p.addLast(new TokenServerHandler(connectionPool, processExecutor));
                 }
             })
             .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
@@ -106,6 +115,7 @@ public class NettyTransportServer implements ClusterTokenServer {
                     RecordLog.info("[NettyTransportServer] Token server start failed (port=" + port + "), failedTimes: " + failedTimes.get(),
                         future.cause());
                     currentState.compareAndSet(SERVER_STATUS_STARTING, SERVER_STATUS_OFF);
+                    processExecutor.shutdown();
                     int failCount = failedTimes.incrementAndGet();
                     if (failCount > MAX_RETRY_TIMES) {
                         return;
@@ -140,6 +150,8 @@ public class NettyTransportServer implements ClusterTokenServer {
             try {
                 bossGroup.shutdownGracefully();
                 workerGroup.shutdownGracefully();
+                processExecutor.shutdown();
+                RequestProcessExecutor.setRunningExecutor(null);
                 connectionPool.shutdownAll();
 
                 failedTimes.set(0);
@@ -40,6 +40,8 @@ public class SentinelDefaultTokenServer implements ClusterTokenServer {
 
     private ClusterTokenServer server;
     private int port;
+    private int processMode;
+    private int processThreads;
     private final AtomicBoolean shouldStart = new AtomicBoolean(false);
 
     static {
@@ -69,6 +71,8 @@ public class SentinelDefaultTokenServer implements ClusterTokenServer {
         if (port > 0) {
             this.server = new NettyTransportServer(port);
             this.port = port;
+            this.processMode = ClusterServerConfigManager.getProcessMode();
+            this.processThreads = ClusterServerConfigManager.getProcessThreads();
         }
     }
 
@@ -77,15 +81,19 @@ public class SentinelDefaultTokenServer implements ClusterTokenServer {
             return;
         }
         int newPort = config.getPort();
-        if (newPort == port) {
+        if (newPort == port && config.getProcessMode() == processMode
+            && config.getProcessThreads() == processThreads) {
             return;
         }
         try {
             if (server != null) {
                 stopServer();
             }
+            // The request process executor is created on start, so a restart is needed for the new processing model.
             this.server = new NettyTransportServer(newPort);
             this.port = newPort;
+            this.processMode = config.getProcessMode();
+            this.processThreads = config.getProcessThreads();
             startServerIfScheduled();
         } catch (Exception ex) {
             RecordLog.warn("[SentinelDefaultTokenServer] Failed to apply modification to token server", ex);
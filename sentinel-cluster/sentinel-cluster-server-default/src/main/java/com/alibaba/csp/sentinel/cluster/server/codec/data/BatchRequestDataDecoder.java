@@ -0,0 +1,71 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.server.codec.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.cluster.codec.EntityDecoder;
+import com.alibaba.csp.sentinel.cluster.request.ClusterRequest;
+import com.alibaba.csp.sentinel.cluster.request.data.BatchRequestData;
+import com.alibaba.csp.sentinel.cluster.server.codec.registry.RequestDataDecodeRegistry;
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * <p>
+ * Decoder for {@link BatchRequestData} from {@code ByteBuf} stream. The layout:
+ * </p>
+ * <pre>
+ * | count (2) | xid (4) | type (1) | length (2) | data... | ... |
+ * </pre>
+ * <p>
+ * Items of unknown type are kept with {@code null} data, so that they could be replied with bad status.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public class BatchRequestDataDecoder implements EntityDecoder<ByteBuf, BatchRequestData> {
+
+    @Override
+    public BatchRequestData decode(ByteBuf source) {
+        if (source.readableBytes() < 2) {
+            return null;
+        }
+        int count = source.readUnsignedShort();
+        List<ClusterRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count && source.readableBytes() >= 7; i++) {
+            int xid = source.readInt();
+            int type = source.readByte();
+            int length = source.readUnsignedShort();
+            if (source.readableBytes() < length) {
+                break;
+            }
+            ByteBuf dataBuf = source.readSlice(length);
+
+            EntityDecoder<ByteBuf, ?> dataDecoder = RequestDataDecodeRegistry.getDecoder(type);
+            Object data = null;
+            if (dataDecoder == null) {
+                RecordLog.warn("Unknown type of request data decoder: {}", type);
+            } else if (length > 0) {
+                data = dataDecoder.decode(dataBuf);
+            }
+            requests.add(new ClusterRequest<>(xid, type, data));
+        }
+        return new BatchRequestData(requests);
+    }
+}
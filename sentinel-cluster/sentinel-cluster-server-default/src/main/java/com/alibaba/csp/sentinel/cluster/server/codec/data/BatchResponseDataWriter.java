@@ -0,0 +1,55 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.server.codec.data;
+
+import com.alibaba.csp.sentinel.cluster.ClusterConstants;
+import com.alibaba.csp.sentinel.cluster.codec.EntityWriter;
+import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.cluster.response.data.BatchResponseData;
+import com.alibaba.csp.sentinel.cluster.server.codec.registry.ResponseDataWriterRegistry;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * <p>Writer for batch response data. The layout:</p>
+ *
+ * <pre>
+ * | count (2) | xid (4) | type (1) | status (1) | length (2) | data... | ... |
+ * </pre>
+ *
+ * @since 1.8.1
+ */
+public class BatchResponseDataWriter implements EntityWriter<BatchResponseData, ByteBuf> {
+
+    @Override
+    public void writeTo(BatchResponseData entity, ByteBuf out) {
+        out.writeShort(entity.getResponses().size());
+        for (ClusterResponse response : entity.getResponses()) {
+            EntityWriter<Object, ByteBuf> dataWriter = ResponseDataWriterRegistry.getWriter(response.getType());
+            boolean writable = dataWriter != null && response.getData() != null;
+
+            out.writeInt(response.getId());
+            out.writeByte(response.getType());
+            out.writeByte(writable ? response.getStatus() : ClusterConstants.RESPONSE_STATUS_BAD);
+            int lengthIndex = out.writerIndex();
+            out.writeShort(0);
+            if (writable) {
+                dataWriter.writeTo(response.getData(), out);
+                out.setShort(lengthIndex, out.writerIndex() - lengthIndex - 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.server.codec.data;
+
+import com.alibaba.csp.sentinel.cluster.codec.EntityWriter;
+import com.alibaba.csp.sentinel.cluster.response.data.FlowLeaseResponseData;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * +------------------------+-------------------+------------------+
+ * | GrantedCount(4 byte)   | WaitInMs(4 byte)  | LeaseID(8 byte)  |
+ * +------------------------+-------------------+------------------+
+ *
+ * @since 1.8.1
+ */
+public class FlowLeaseResponseDataWriter implements EntityWriter<FlowLeaseResponseData, ByteBuf> {
+
+    @Override
+    public void writeTo(FlowLeaseResponseData entity, ByteBuf out) {
+        out.writeInt(entity.getRemainingCount());
+        out.writeInt(entity.getWaitInMs());
+        out.writeLong(entity.getLeaseId());
+    }
+}
@@ -23,6 +23,7 @@ import com.alibaba.csp.sentinel.cluster.server.config.ServerFlowConfig;
 import com.alibaba.csp.sentinel.cluster.server.config.ServerTransportConfig;
 import com.alibaba.csp.sentinel.cluster.server.connection.ConnectionGroup;
 import com.alibaba.csp.sentinel.cluster.server.connection.ConnectionManager;
+import com.alibaba.csp.sentinel.cluster.server.handler.RequestProcessExecutor;
 import com.alibaba.csp.sentinel.command.CommandHandler;
 import com.alibaba.csp.sentinel.command.CommandRequest;
 import com.alibaba.csp.sentinel.command.CommandResponse;
@@ -52,7 +53,9 @@ public class FetchClusterServerInfoCommandHandler implements CommandHandler<Stri
 
         ServerTransportConfig transportConfig = new ServerTransportConfig()
             .setPort(ClusterServerConfigManager.getPort())
-            .setIdleSeconds(ClusterServerConfigManager.getIdleSeconds());
+            .setIdleSeconds(ClusterServerConfigManager.getIdleSeconds())
+            .setProcessMode(ClusterServerConfigManager.getProcessMode())
+            .setProcessThreads(ClusterServerConfigManager.getProcessThreads());
         ServerFlowConfig flowConfig = new ServerFlowConfig()
             .setExceedCount(ClusterServerConfigManager.getExceedCount())
             .setMaxOccupyRatio(ClusterServerConfigManager.getMaxOccupyRatio())
@@ -68,7 +71,8 @@ public class FetchClusterServerInfoCommandHandler implements CommandHandler<Stri
             .fluentPut("transport", transportConfig)
             .fluentPut("flow", flowConfig)
             .fluentPut("namespaceSet", namespaceSet)
-            .fluentPut("embedded", ClusterServerConfigManager.isEmbedded());
+            .fluentPut("embedded", ClusterServerConfigManager.isEmbedded())
+            .fluentPut("processing", buildProcessingData());
 
         // Since 1.5.0 the appName is carried so that the caller can identify the appName of the token server.
         info.put("appName", AppNameUtil.getAppName());
@@ -76,6 +80,20 @@ public class FetchClusterServerInfoCommandHandler implements CommandHandler<Stri
         return CommandResponse.ofSuccess(info.toJSONString());
     }
 
+    private JSONObject buildProcessingData() {
+        RequestProcessExecutor executor = RequestProcessExecutor.getRunningExecutor();
+        if (executor == null) {
+            return null;
+        }
+        return new JSONObject()
+            .fluentPut("mode", executor.getMode())
+            .fluentPut("queueDepth", executor.getQueueDepth())
+            .fluentPut("processedCount", executor.getProcessedCount())
+            .fluentPut("rejectedCount", executor.getRejectedCount())
+            .fluentPut("avgWaitMicros", executor.getAvgWaitMicros())
+            .fluentPut("avgProcessMicros", executor.getAvgProcessMicros());
+    }
+
     private JSONArray buildRequestLimitData(Set<String> namespaceSet) {
         JSONArray array = new JSONArray();
         for (String namespace : namespaceSet) {
@@ -43,9 +43,17 @@ public class ModifyClusterServerTransportConfigHandler implements CommandHandler
         try {
             int port = Integer.valueOf(portValue);
             int idleSeconds = Integer.valueOf(idleSecondsValue);
+            // Processing model is optional, and the current one is kept if absent.
+            String processModeValue = request.getParam("processMode");
+            int processMode = StringUtil.isBlank(processModeValue) ? ClusterServerConfigManager.getProcessMode()
+                : Integer.valueOf(processModeValue);
+            String processThreadsValue = request.getParam("processThreads");
+            int processThreads = StringUtil.isBlank(processThreadsValue)
+                ? ClusterServerConfigManager.getProcessThreads() : Integer.valueOf(processThreadsValue);
 
             ClusterServerConfigManager.loadGlobalTransportConfig(new ServerTransportConfig()
-                .setPort(port).setIdleSeconds(idleSeconds));
+                .setPort(port).setIdleSeconds(idleSeconds)
+                .setProcessMode(processMode).setProcessThreads(processThreads));
             return CommandResponse.ofSuccess("success");
         } catch (NumberFormatException e) {
             return CommandResponse.ofFailure(new IllegalArgumentException("invalid parameter"));
@@ -31,6 +31,7 @@ import com.alibaba.csp.sentinel.cluster.flow.statistic.ClusterParamMetricStatist
 import com.alibaba.csp.sentinel.cluster.flow.statistic.limit.GlobalRequestLimiter;
 import com.alibaba.csp.sentinel.cluster.registry.ConfigSupplierRegistry;
 import com.alibaba.csp.sentinel.cluster.server.ServerConstants;
+import com.alibaba.csp.sentinel.cluster.server.handler.RequestProcessExecutor;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.PropertyListener;
@@ -51,6 +52,8 @@ public final class ClusterServerConfigManager {
      */
     private static volatile int port = ClusterConstants.DEFAULT_CLUSTER_SERVER_PORT;
     private static volatile int idleSeconds = ServerTransportConfig.DEFAULT_IDLE_SECONDS;
+    private static volatile int processMode = ServerTransportConfig.PROCESS_MODE_INLINE;
+    private static volatile int processThreads = 0;
     private static volatile Set<String> namespaceSet = Collections.singleton(ServerConstants.DEFAULT_NAMESPACE);
 
     /**
@@ -222,6 +225,7 @@ public final class ClusterServerConfigManager {
         RecordLog.info("[ClusterServerConfigManager] Server namespace set will be update to: {}", newSet);
         if (newSet.isEmpty()) {
             ClusterServerConfigManager.namespaceSet = Collections.singleton(ServerConstants.DEFAULT_NAMESPACE);
+            retainProcessExecutorNamespaces(ClusterServerConfigManager.namespaceSet);
             return;
         }
 
@@ -255,6 +259,14 @@ public final class ClusterServerConfigManager {
             // Initialize the global QPS limiter for the namespace.
             GlobalRequestLimiter.initIfAbsent(ns);
         }
+        retainProcessExecutorNamespaces(newSet);
+    }
+
+    private static void retainProcessExecutorNamespaces(Set<String> namespaces) {
+        RequestProcessExecutor executor = RequestProcessExecutor.getRunningExecutor();
+        if (executor != null) {
+            executor.retainNamespaces(namespaces);
+        }
     }
 
     private static class ServerGlobalTransportPropertyListener implements PropertyListener<ServerTransportConfig> {
@@ -283,14 +295,20 @@ public final class ClusterServerConfigManager {
             if (config.getIdleSeconds() != idleSeconds) {
                 idleSeconds = config.getIdleSeconds();
             }
-            updateTokenServer(config);
+            // The processing model takes effect when the token server (re)starts,
+            // so the token server will be restarted if it changes.
+            boolean processModelChanged = config.getProcessMode() != processMode
+                || config.getProcessThreads() != processThreads;
+            processMode = config.getProcessMode();
+            processThreads = config.getProcessThreads();
+            updateTokenServer(config, processModelChanged);
         }
     }
 
-    private static void updateTokenServer(ServerTransportConfig config) {
+    private static void updateTokenServer(ServerTransportConfig config, boolean processModelChanged) {
         int newPort = config.getPort();
         AssertUtil.isTrue(newPort > 0, "token server port should be valid (positive)");
-        if (newPort == port) {
+        if (newPort == port && !processModelChanged) {
             return;
         }
         ClusterServerConfigManager.port = newPort;
@@ -346,7 +364,10 @@ public final class ClusterServerConfigManager {
     }
 
     public static boolean isValidTransportConfig(ServerTransportConfig config) {
-        return config != null && config.getPort() > 0 && config.getPort() <= 65535;
+        return config != null && config.getPort() > 0 && config.getPort() <= 65535
+            && config.getProcessMode() >= ServerTransportConfig.PROCESS_MODE_INLINE
+            && config.getProcessMode() <= ServerTransportConfig.PROCESS_MODE_NAMESPACE
+            && config.getProcessThreads() >= 0;
     }
 
     public static boolean isValidFlowConfig(ServerFlowConfig config) {
@@ -430,6 +451,14 @@ public final class ClusterServerConfigManager {
         return idleSeconds;
     }
 
+    public static int getProcessMode() {
+        return processMode;
+    }
+
+    public static int getProcessThreads() {
+        return processThreads;
+    }
+
     public static int getIntervalMs() {
         return intervalMs;
     }
@@ -25,9 +25,35 @@ public class ServerTransportConfig {
 
     public static final int DEFAULT_IDLE_SECONDS = 600;
 
+    /**
+     * Requests are processed on the Netty I/O thread directly.
+     */
+    public static final int PROCESS_MODE_INLINE = 0;
+    /**
+     * Requests are processed in a worker pool shared by all namespaces.
+     */
+    public static final int PROCESS_MODE_SHARED_POOL = 1;
+    /**
+     * Requests of each namespace are processed in a dedicated single-threaded executor.
+     */
+    public static final int PROCESS_MODE_NAMESPACE = 2;
+
     private int port;
     private int idleSeconds;
 
+    /**
+     * Processing model of token requests, which takes effect when the token server starts.
+     *
+     * @since 1.8.1
+     */
+    private int processMode = PROCESS_MODE_INLINE;
+    /**
+     * Worker thread count of the shared pool. If 0, the count of available processors is used.
+     *
+     * @since 1.8.1
+     */
+    private int processThreads;
+
     public ServerTransportConfig() {
         this(ClusterConstants.DEFAULT_CLUSTER_SERVER_PORT, DEFAULT_IDLE_SECONDS);
     }
@@ -55,11 +81,31 @@ public class ServerTransportConfig {
         return this;
     }
 
+    public int getProcessMode() {
+        return processMode;
+    }
+
+    public ServerTransportConfig setProcessMode(int processMode) {
+        this.processMode = processMode;
+        return this;
+    }
+
+    public int getProcessThreads() {
+        return processThreads;
+    }
+
+    public ServerTransportConfig setProcessThreads(int processThreads) {
+        this.processThreads = processThreads;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "ServerTransportConfig{" +
             "port=" + port +
             ", idleSeconds=" + idleSeconds +
+            ", processMode=" + processMode +
+            ", processThreads=" + processThreads +
             '}';
     }
 }
@@ -0,0 +1,319 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.server.handler;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.cluster.server.ServerConstants;
+import com.alibaba.csp.sentinel.cluster.server.config.ClusterServerConfigManager;
+import com.alibaba.csp.sentinel.cluster.server.config.ServerTransportConfig;
+import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import com.alibaba.csp.sentinel.slots.statistic.base.LongAdder;
+
+/**
+ * <p>Executor of token requests that decides which thread a request is processed on.</p>
+ *
+ * <ul>
+ * <li>{@link ServerTransportConfig#PROCESS_MODE_INLINE}: processed on the Netty I/O thread directly.</li>
+ * <li>{@link ServerTransportConfig#PROCESS_MODE_SHARED_POOL}: processed in a worker pool shared
+ * by all namespaces, so that slow checks will not block the I/O thread.</li>
+ * <li>{@link ServerTransportConfig#PROCESS_MODE_NAMESPACE}: requests of each namespace are processed
+ * in order by a dedicated single thread, so that one busy namespace will not delay the others,
+ * and the state of a namespace is only touched by one thread. Only the namespaces configured in
+ * {@link ClusterServerConfigManager#getNamespaceSet()} get dedicated threads, while requests of
+ * other namespaces are processed by a shared single thread.</li>
+ * </ul>
+ *
+ * <p>Queue wait time and processing time of every request are recorded, except for the inline mode.</p>
+ *
+ * @since 1.8.1
+ */
+public abstract class RequestProcessExecutor {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+    private static volatile RequestProcessExecutor runningExecutor;
+
+    private final int mode;
+
+    private final LongAdder processedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalProcessNanos = new LongAdder();
+
+    protected RequestProcessExecutor(int mode) {
+        this.mode = mode;
+    }
+
+    public static RequestProcessExecutor newExecutor(int mode, int threads) {
+        return newExecutor(mode, threads, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    static RequestProcessExecutor newExecutor(int mode, int threads, int queueCapacity) {
+        switch (mode) {
+            case ServerTransportConfig.PROCESS_MODE_SHARED_POOL:
+                int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+                return new SharedPoolExecutor(poolSize, queueCapacity);
+            case ServerTransportConfig.PROCESS_MODE_NAMESPACE:
+                return new NamespaceExecutor(queueCapacity);
+            case ServerTransportConfig.PROCESS_MODE_INLINE:
+            default:
+                return new InlineExecutor();
+        }
+    }
+
+    /**
+     * @return the executor of current running token server, or null if absent
+     */
+    public static RequestProcessExecutor getRunningExecutor() {
+        return runningExecutor;
+    }
+
+    public static void setRunningExecutor(RequestProcessExecutor executor) {
+        runningExecutor = executor;
+    }
+
+    /**
+     * Execute the task of given namespace.
+     *
+     * @param namespace namespace of the request
+     * @param task      processing task
+     * @return false if the task is rejected due to full queue, otherwise true
+     */
+    public boolean execute(String namespace, final Runnable task) {
+        if (isInline()) {
+            task.run();
+            processedCount.increment();
+            return true;
+        }
+        final long enqueueNanos = System.nanoTime();
+        Runnable timedTask = new Runnable() {
+            @Override
+            public void run() {
+                long startNanos = System.nanoTime();
+                totalWaitNanos.add(startNanos - enqueueNanos);
+                try {
+                    task.run();
+                } finally {
+                    totalProcessNanos.add(System.nanoTime() - startNanos);
+                    processedCount.increment();
+                }
+            }
+        };
+        try {
+            dispatch(namespace == null ? ServerConstants.DEFAULT_NAMESPACE : namespace, timedTask);
+            return true;
+        } catch (RejectedExecutionException ex) {
+            rejectedCount.increment();
+            return false;
+        }
+    }
+
+    protected abstract void dispatch(String namespace, Runnable task);
+
+    /**
+     * Callers could process the requests directly rather than wrap them as tasks in inline mode,
+     * and then record them by {@link #recordInlineProcessed()}.
+     *
+     * @return true if requests are processed on the I/O thread directly
+     */
+    public boolean isInline() {
+        return mode == ServerTransportConfig.PROCESS_MODE_INLINE;
+    }
+
+    /**
+     * Record a request processed directly by the caller in inline mode.
+     */
+    public void recordInlineProcessed() {
+        processedCount.increment();
+    }
+
+    /**
+     * Release the resources held for the namespaces out of given set. Called when the namespace set
+     * of the server changes.
+     *
+     * @param namespaces current namespace set
+     */
+    public void retainNamespaces(Set<String> namespaces) {}
+
+    /**
+     * @return count of queued requests (namespace, queue depth)
+     */
+    public abstract Map<String, Integer> getQueueDepth();
+
+    public abstract void shutdown();
+
+    public int getMode() {
+        return mode;
+    }
+
+    public long getProcessedCount() {
+        return processedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public double getAvgWaitMicros() {
+        long count = processedCount.sum();
+        return count == 0 ? 0 : totalWaitNanos.sum() / 1000.0 / count;
+    }
+
+    public double getAvgProcessMicros() {
+        long count = processedCount.sum();
+        return count == 0 ? 0 : totalProcessNanos.sum() / 1000.0 / count;
+    }
+
+    private static ThreadPoolExecutor newPool(int threads, int queueCapacity, String name) {
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<Runnable>(queueCapacity), new NamedThreadFactory(name, true),
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    static final class InlineExecutor extends RequestProcessExecutor {
+
+        InlineExecutor() {
+            super(ServerTransportConfig.PROCESS_MODE_INLINE);
+        }
+
+        @Override
+        protected void dispatch(String namespace, Runnable task) {
+            task.run();
+        }
+
+        @Override
+        public Map<String, Integer> getQueueDepth() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public void shutdown() {}
+    }
+
+    static final class SharedPoolExecutor extends RequestProcessExecutor {
+
+        private final ThreadPoolExecutor pool;
+
+        SharedPoolExecutor(int threads, int queueCapacity) {
+            super(ServerTransportConfig.PROCESS_MODE_SHARED_POOL);
+            this.pool = newPool(threads, queueCapacity, "sentinel-cluster-server-process");
+        }
+
+        @Override
+        protected void dispatch(String namespace, Runnable task) {
+            pool.execute(task);
+        }
+
+        @Override
+        public Map<String, Integer> getQueueDepth() {
+            return Collections.singletonMap("*", pool.getQueue().size());
+        }
+
+        @Override
+        public void shutdown() {
+            pool.shutdown();
+        }
+    }
+
+    static final class NamespaceExecutor extends RequestProcessExecutor {
+
+        private final int queueCapacity;
+        private final ConcurrentMap<String, ThreadPoolExecutor> executorMap = new ConcurrentHashMap<>();
+        /**
+         * Executor of the namespaces absent in the namespace set, which are sent by clients freely.
+         */
+        private final ThreadPoolExecutor sharedExecutor;
+        private volatile boolean shutdown = false;
+
+        NamespaceExecutor(int queueCapacity) {
+            super(ServerTransportConfig.PROCESS_MODE_NAMESPACE);
+            this.queueCapacity = queueCapacity;
+            this.sharedExecutor = newPool(1, queueCapacity, "sentinel-cluster-server-process-shared");
+        }
+
+        @Override
+        protected void dispatch(String namespace, Runnable task) {
+            if (!ClusterServerConfigManager.getNamespaceSet().contains(namespace)) {
+                sharedExecutor.execute(task);
+                return;
+            }
+            ThreadPoolExecutor executor = executorMap.get(namespace);
+            if (executor == null) {
+                if (shutdown) {
+                    throw new RejectedExecutionException("executor has been shut down");
+                }
+                ThreadPoolExecutor newExecutor = newPool(1, queueCapacity,
+                    "sentinel-cluster-server-process-" + namespace);
+                executor = executorMap.putIfAbsent(namespace, newExecutor);
+                if (executor == null) {
+                    executor = newExecutor;
+                    if (!ClusterServerConfigManager.getNamespaceSet().contains(namespace)) {
+                        // The namespace has been removed meanwhile.
+                        executorMap.remove(namespace, newExecutor);
+                        newExecutor.shutdown();
+                        executor = sharedExecutor;
+                    }
+                } else {
+                    newExecutor.shutdown();
+                }
+            }
+            executor.execute(task);
+        }
+
+        @Override
+        public void retainNamespaces(Set<String> namespaces) {
+            Iterator<Map.Entry<String, ThreadPoolExecutor>> it = executorMap.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, ThreadPoolExecutor> entry = it.next();
+                if (!namespaces.contains(entry.getKey())) {
+                    it.remove();
+                    // Queued requests are still processed.
+                    entry.getValue().shutdown();
+                }
+            }
+        }
+
+        @Override
+        public Map<String, Integer> getQueueDepth() {
+            Map<String, Integer> depthMap = new HashMap<>();
+            for (Map.Entry<String, ThreadPoolExecutor> entry : executorMap.entrySet()) {
+                depthMap.put(entry.getKey(), entry.getValue().getQueue().size());
+            }
+            depthMap.put("*", sharedExecutor.getQueue().size());
+            return depthMap;
+        }
+
+        @Override
+        public void shutdown() {
+            this.shutdown = true;
+            for (ThreadPoolExecutor executor : executorMap.values()) {
+                executor.shutdown();
+            }
+            sharedExecutor.shutdown();
+        }
+    }
+}
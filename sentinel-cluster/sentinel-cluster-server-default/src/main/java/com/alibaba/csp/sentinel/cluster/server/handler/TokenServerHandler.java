@@ -16,10 +16,17 @@
 package com.alibaba.csp.sentinel.cluster.server.handler;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.alibaba.csp.sentinel.cluster.ClusterConstants;
+import com.alibaba.csp.sentinel.cluster.TokenResultStatus;
 import com.alibaba.csp.sentinel.cluster.request.ClusterRequest;
+import com.alibaba.csp.sentinel.cluster.request.data.BatchRequestData;
 import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.cluster.response.data.BatchResponseData;
+import com.alibaba.csp.sentinel.cluster.response.data.FlowTokenResponseData;
+import com.alibaba.csp.sentinel.cluster.server.config.ServerTransportConfig;
 import com.alibaba.csp.sentinel.cluster.server.connection.ConnectionManager;
 import com.alibaba.csp.sentinel.cluster.server.connection.ConnectionPool;
 import com.alibaba.csp.sentinel.cluster.server.processor.RequestProcessor;
@@ -29,6 +36,7 @@ import com.alibaba.csp.sentinel.util.StringUtil;
 
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.AttributeKey;
 
 /**
  * Netty server handler for Sentinel token server.
@@ -38,10 +46,19 @@ import io.netty.channel.ChannelInboundHandlerAdapter;
  */
 public class TokenServerHandler extends ChannelInboundHandlerAdapter {
 
+    private static final AttributeKey<String> NAMESPACE_KEY = AttributeKey.valueOf("sentinelClientNamespace");
+
     private final ConnectionPool globalConnectionPool;
+    private final RequestProcessExecutor processExecutor;
 
     public TokenServerHandler(ConnectionPool globalConnectionPool) {
+        this(globalConnectionPool,
+            RequestProcessExecutor.newExecutor(ServerTransportConfig.PROCESS_MODE_INLINE, 0));
+    }
+
+    public TokenServerHandler(ConnectionPool globalConnectionPool, RequestProcessExecutor processExecutor) {
         this.globalConnectionPool = globalConnectionPool;
+        this.processExecutor = processExecutor;
     }
 
     @Override
@@ -57,11 +74,10 @@ public class TokenServerHandler extends ChannelInboundHandlerAdapter {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+    public void channelRead(final ChannelHandlerContext ctx, Object msg) throws Exception {
         globalConnectionPool.refreshLastReadTime(ctx.channel());
         if (msg instanceof ClusterRequest) {
-            ClusterRequest request = (ClusterRequest)msg;
+            final ClusterRequest request = (ClusterRequest)msg;
 
             // Client ping with its namespace, add to connection manager.
             if (request.getType() == ClusterConstants.MSG_TYPE_PING) {
@@ -69,26 +85,89 @@ public class TokenServerHandler extends ChannelInboundHandlerAdapter {
                 return;
             }
 
-            // Pick request processor for request type.
-            RequestProcessor<?, ?> processor = RequestProcessorProvider.getProcessor(request.getType());
-            if (processor == null) {
-                RecordLog.warn("[TokenServerHandler] No processor for request type: " + request.getType());
-                writeBadResponse(ctx, request);
-            } else {
-                ClusterResponse<?> response = processor.processRequest(request);
-                writeResponse(ctx, response);
+            if (processExecutor.isInline()) {
+                // Process on the I/O thread directly, without wrapping as a task.
+                writeResponse(ctx, handleTokenRequest(request));
+                processExecutor.recordInlineProcessed();
+                return;
+            }
+            Runnable task = new Runnable() {
+                @Override
+                public void run() {
+                    writeResponse(ctx, handleTokenRequest(request));
+                }
+            };
+            if (!processExecutor.execute(ctx.channel().attr(NAMESPACE_KEY).get(), task)) {
+                writeResponse(ctx, tooManyRequestResponse(request));
             }
         }
     }
 
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        // Responses of all requests read in one pass are flushed at once.
+        ctx.flush();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ClusterResponse<?> processRequest(ClusterRequest request) {
+        // Pick request processor for request type.
+        RequestProcessor<?, ?> processor = RequestProcessorProvider.getProcessor(request.getType());
+        if (processor == null) {
+            RecordLog.warn("[TokenServerHandler] No processor for request type: " + request.getType());
+            return badResponse(request);
+        }
+        if (request.getData() == null) {
+            return badResponse(request);
+        }
+        return processor.processRequest(request);
+    }
+
+    private ClusterResponse<?> handleTokenRequest(ClusterRequest request) {
+        if (request.getType() != ClusterConstants.MSG_TYPE_BATCH) {
+            return processRequest(request);
+        }
+        BatchRequestData data = (BatchRequestData)request.getData();
+        if (data == null || data.getRequests() == null) {
+            return badResponse(request);
+        }
+        List<ClusterResponse> responses = new ArrayList<>(data.getRequests().size());
+        for (ClusterRequest item : data.getRequests()) {
+            responses.add(processRequest(item));
+        }
+        return new ClusterResponse<>(request.getId(), request.getType(),
+            ClusterConstants.RESPONSE_STATUS_OK, new BatchResponseData(responses));
+    }
+
+    private ClusterResponse<?> tooManyRequestResponse(ClusterRequest request) {
+        if (request.getType() == ClusterConstants.MSG_TYPE_BATCH && request.getData() != null) {
+            List<ClusterRequest> items = ((BatchRequestData)request.getData()).getRequests();
+            List<ClusterResponse> responses = new ArrayList<>(items.size());
+            for (ClusterRequest item : items) {
+                responses.add(tooManyRequestResponse(item));
+            }
+            return new ClusterResponse<>(request.getId(), request.getType(),
+                ClusterConstants.RESPONSE_STATUS_OK, new BatchResponseData(responses));
+        }
+        return new ClusterResponse<>(request.getId(), request.getType(), TokenResultStatus.TOO_MANY_REQUEST,
+            new FlowTokenResponseData());
+    }
+
+    private ClusterResponse<?> badResponse(ClusterRequest request) {
+        return new ClusterResponse<>(request.getId(), request.getType(), ClusterConstants.RESPONSE_STATUS_BAD, null);
+    }
+
     private void writeBadResponse(ChannelHandlerContext ctx, ClusterRequest request) {
-        ClusterResponse<?> response = new ClusterResponse<>(request.getId(), request.getType(),
-            ClusterConstants.RESPONSE_STATUS_BAD, null);
-        writeResponse(ctx, response);
+        writeResponse(ctx, badResponse(request));
     }
 
     private void writeResponse(ChannelHandlerContext ctx, ClusterResponse response) {
-        ctx.writeAndFlush(response);
+        if (ctx.executor().inEventLoop()) {
+            // Flushed on read complete.
+            ctx.write(response);
+        } else {
+            ctx.writeAndFlush(response);
+        }
     }
 
     private void handlePingRequest(ChannelHandlerContext ctx, ClusterRequest request) {
@@ -98,6 +177,7 @@ public class TokenServerHandler extends ChannelInboundHandlerAdapter {
         }
         String namespace = (String)request.getData();
         String clientAddress = getRemoteAddress(ctx);
+        ctx.channel().attr(NAMESPACE_KEY).set(namespace);
         // Add the remote namespace to connection manager.
         int curCount = ConnectionManager.addConnection(namespace, clientAddress).getConnectedCount();
         int status = ClusterConstants.RESPONSE_STATUS_OK;
@@ -0,0 +1,59 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.server.processor;
+
+import com.alibaba.csp.sentinel.cluster.ClusterConstants;
+import com.alibaba.csp.sentinel.cluster.TokenResult;
+import com.alibaba.csp.sentinel.cluster.TokenResultStatus;
+import com.alibaba.csp.sentinel.cluster.TokenService;
+import com.alibaba.csp.sentinel.cluster.annotation.RequestType;
+import com.alibaba.csp.sentinel.cluster.flow.DefaultTokenService;
+import com.alibaba.csp.sentinel.cluster.request.ClusterRequest;
+import com.alibaba.csp.sentinel.cluster.request.data.FlowLeaseRequestData;
+import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.cluster.response.data.FlowLeaseResponseData;
+import com.alibaba.csp.sentinel.cluster.server.TokenServiceProvider;
+
+/**
+ * Processor for token lease requests. The granted token count is carried in the {@code remainingCount}
+ * of the response data, and the ID of the lease is carried in the {@code leaseId}.
+ *
+ * @since 1.8.1
+ */
+@RequestType(ClusterConstants.MSG_TYPE_FLOW_LEASE)
+public class FlowLeaseRequestProcessor implements RequestProcessor<FlowLeaseRequestData, FlowLeaseResponseData> {
+
+    @Override
+    public ClusterResponse<FlowLeaseResponseData> processRequest(ClusterRequest<FlowLeaseRequestData> request) {
+        TokenService tokenService = TokenServiceProvider.getService();
+        if (!(tokenService instanceof DefaultTokenService)) {
+            // Token lease is only supported by the default token service.
+            return toResponse(new TokenResult(TokenResultStatus.FAIL), request);
+        }
+
+        FlowLeaseRequestData data = request.getData();
+        TokenResult result = ((DefaultTokenService) tokenService).requestTokenLease(data.getFlowId(),
+            data.getMinCount(), data.getCount(), data.getReturnedCount(), data.getReturnedLeaseId());
+        return toResponse(result, request);
+    }
+
+    private ClusterResponse<FlowLeaseResponseData> toResponse(TokenResult result, ClusterRequest request) {
+        FlowLeaseResponseData data = new FlowLeaseResponseData().setLeaseId(result.getTokenId());
+        data.setRemainingCount(result.getRemaining())
+            .setWaitInMs(result.getWaitInMs());
+        return new ClusterResponse<>(request.getId(), request.getType(), result.getStatus(), data);
+    }
+}
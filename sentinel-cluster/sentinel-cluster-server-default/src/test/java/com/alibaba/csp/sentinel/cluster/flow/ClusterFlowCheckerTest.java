@@ -15,8 +15,12 @@
  */
 package com.alibaba.csp.sentinel.cluster.flow;
 
+import java.util.Collections;
+
 import com.alibaba.csp.sentinel.cluster.TokenResult;
+import com.alibaba.csp.sentinel.cluster.flow.rule.ClusterFlowRuleManager;
 import com.alibaba.csp.sentinel.cluster.flow.statistic.ClusterMetricStatistics;
+import com.alibaba.csp.sentinel.cluster.flow.statistic.data.ClusterFlowEvent;
 import com.alibaba.csp.sentinel.cluster.flow.statistic.metric.ClusterMetric;
 import com.alibaba.csp.sentinel.slots.block.ClusterRuleConstant;
 import com.alibaba.csp.sentinel.slots.block.flow.ClusterFlowConfig;
@@ -72,6 +76,44 @@ public class ClusterFlowCheckerTest {
         ClusterMetricStatistics.removeMetric(flowId);
     }
 
+    @Test
+    public void testAcquireClusterTokenLease() {
+        long flowId = 98766L;
+        String namespace = "lease-test";
+        FlowRule clusterRule = new FlowRule("lease")
+            .setCount(100)
+            .setClusterMode(true)
+            .setClusterConfig(new ClusterFlowConfig()
+                .setFlowId(flowId)
+                .setThresholdType(ClusterRuleConstant.FLOW_THRESHOLD_GLOBAL));
+        ClusterFlowRuleManager.register2Property(namespace);
+        ClusterFlowRuleManager.loadRules(namespace, Collections.singletonList(clusterRule));
+        try {
+            ClusterMetric metric = ClusterMetricStatistics.getMetric(flowId);
+            assertNotNull(metric);
+
+            TokenResult result = ClusterFlowChecker.acquireClusterTokenLease(clusterRule, 1, 60, 0, 0);
+            assertResultPass(result);
+            assertEquals(60, result.getRemaining());
+            // The lease ID is the start time of the bucket that granted the tokens.
+            assertTrue(result.getTokenId() > 0);
+            // Only the rest of the global threshold could be granted.
+            result = ClusterFlowChecker.acquireClusterTokenLease(clusterRule, 1, 60, 0, 0);
+            assertResultPass(result);
+            assertEquals(40, result.getRemaining());
+            assertEquals(100, metric.getSum(ClusterFlowEvent.PASS));
+            // Rejected when the minimum count cannot be satisfied.
+            assertResultBlock(ClusterFlowChecker.acquireClusterTokenLease(clusterRule, 1, 60, 0, 0));
+            assertResultBlock(ClusterFlowChecker.acquireClusterToken(clusterRule, 1, false));
+
+            // Unused tokens of a lease whose bucket is no longer current should not be reclaimed.
+            assertResultBlock(ClusterFlowChecker.acquireClusterTokenLease(clusterRule, 5, 60, 30, 0));
+            assertEquals(100, metric.getSum(ClusterFlowEvent.PASS));
+        } finally {
+            ClusterFlowRuleManager.removeProperty(namespace);
+        }
+    }
+
     private TokenResult tryAcquire(FlowRule clusterRule, boolean occupy) {
         return ClusterFlowChecker.acquireClusterToken(clusterRule, 1, occupy);
     }
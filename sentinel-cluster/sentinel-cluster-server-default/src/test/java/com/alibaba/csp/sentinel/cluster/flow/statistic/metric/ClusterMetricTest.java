@@ -43,4 +43,24 @@ public class ClusterMetricTest extends AbstractTimeBasedTest {
         metric.add(ClusterFlowEvent.PASS, 1);
         Assert.assertEquals(0, metric.tryOccupyNext(ClusterFlowEvent.PASS, 333, 900));
     }
+
+    @Test
+    public void testReclaimFromGrantingBucket() {
+        setCurrentMillis(1000);
+        ClusterMetric metric = new ClusterMetric(10, 1000);
+        long windowStart = metric.addAndGetWindowStart(ClusterFlowEvent.PASS, 10);
+        Assert.assertEquals(1000, windowStart);
+
+        sleep(50);
+        // Never take back more than the bucket holds.
+        Assert.assertEquals(10, metric.reclaim(ClusterFlowEvent.PASS, 20, windowStart));
+        Assert.assertEquals(0, metric.getSum(ClusterFlowEvent.PASS));
+
+        metric.add(ClusterFlowEvent.PASS, 10);
+        sleep(100);
+        metric.add(ClusterFlowEvent.PASS, 5);
+        // The granting bucket is no longer current, so the count cannot be credited to another bucket.
+        Assert.assertEquals(0, metric.reclaim(ClusterFlowEvent.PASS, 10, windowStart));
+        Assert.assertEquals(15, metric.getSum(ClusterFlowEvent.PASS));
+    }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.server.codec.data;
+
+import com.alibaba.csp.sentinel.cluster.ClusterConstants;
+import com.alibaba.csp.sentinel.cluster.request.ClusterRequest;
+import com.alibaba.csp.sentinel.cluster.request.data.BatchRequestData;
+import com.alibaba.csp.sentinel.cluster.request.data.FlowRequestData;
+import com.alibaba.csp.sentinel.cluster.server.codec.registry.RequestDataDecodeRegistry;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BatchRequestDataDecoderTest {
+
+    @Test
+    public void testDecode() {
+        RequestDataDecodeRegistry.addDecoder(ClusterConstants.MSG_TYPE_FLOW, new FlowRequestDataDecoder());
+
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeShort(3);
+        writeFlowRequest(buf, 1, 101L, 1, false);
+        writeFlowRequest(buf, 2, 102L, 3, true);
+        // Unknown type.
+        buf.writeInt(3);
+        buf.writeByte(99);
+        buf.writeShort(4);
+        buf.writeInt(0);
+
+        BatchRequestData data = new BatchRequestDataDecoder().decode(buf);
+        assertNotNull(data);
+        assertEquals(3, data.getRequests().size());
+
+        ClusterRequest first = data.getRequests().get(0);
+        assertEquals(1, first.getId());
+        assertEquals(101L, ((FlowRequestData) first.getData()).getFlowId());
+        assertFalse(((FlowRequestData) first.getData()).isPriority());
+
+        ClusterRequest second = data.getRequests().get(1);
+        assertEquals(2, second.getId());
+        assertEquals(3, ((FlowRequestData) second.getData()).getCount());
+        assertTrue(((FlowRequestData) second.getData()).isPriority());
+
+        ClusterRequest third = data.getRequests().get(2);
+        assertEquals(99, third.getType());
+        assertNull(third.getData());
+        assertEquals(0, buf.readableBytes());
+    }
+
+    private void writeFlowRequest(ByteBuf buf, int xid, long flowId, int count, boolean priority) {
+        buf.writeInt(xid);
+        buf.writeByte(ClusterConstants.MSG_TYPE_FLOW);
+        buf.writeShort(13);
+        buf.writeLong(flowId);
+        buf.writeInt(count);
+        buf.writeBoolean(priority);
+    }
+}
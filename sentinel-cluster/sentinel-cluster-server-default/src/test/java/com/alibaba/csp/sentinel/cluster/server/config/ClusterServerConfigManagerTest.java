@@ -1,5 +1,10 @@
 package com.alibaba.csp.sentinel.cluster.server.config;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.cluster.ClusterConstants;
+
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -28,4 +33,36 @@ public class ClusterServerConfigManagerTest {
         assertFalse(ClusterServerConfigManager.isValidFlowConfig(badConfig2));
         assertFalse(ClusterServerConfigManager.isValidFlowConfig(badConfig3));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testProcessModeChangeRestartsServer() {
+        final List<ServerTransportConfig> changes = new ArrayList<>();
+        ClusterServerConfigManager.addTransportConfigChangeObserver(new ServerTransportConfigObserver() {
+            @Override
+            public void onTransportConfigChange(ServerTransportConfig config) {
+                changes.add(config);
+            }
+        });
+        int port = ClusterServerConfigManager.getPort();
+        int idleSeconds = ServerTransportConfig.DEFAULT_IDLE_SECONDS;
+        try {
+            // The observers should be notified even if the port is unchanged.
+            ClusterServerConfigManager.loadGlobalTransportConfig(new ServerTransportConfig(port, idleSeconds)
+                .setProcessMode(ServerTransportConfig.PROCESS_MODE_SHARED_POOL));
+            assertEquals(ServerTransportConfig.PROCESS_MODE_SHARED_POOL, ClusterServerConfigManager.getProcessMode());
+            assertEquals(1, changes.size());
+
+            ClusterServerConfigManager.loadGlobalTransportConfig(new ServerTransportConfig(port, idleSeconds)
+                .setProcessMode(ServerTransportConfig.PROCESS_MODE_SHARED_POOL).setProcessThreads(2));
+            assertEquals(2, changes.size());
+
+            // Nothing changed.
+            ClusterServerConfigManager.loadGlobalTransportConfig(new ServerTransportConfig(port, idleSeconds)
+                .setProcessMode(ServerTransportConfig.PROCESS_MODE_SHARED_POOL).setProcessThreads(2));
+            assertEquals(2, changes.size());
+        } finally {
+            ClusterServerConfigManager.loadGlobalTransportConfig(new ServerTransportConfig(
+                ClusterConstants.DEFAULT_CLUSTER_SERVER_PORT, idleSeconds));
+        }
+    }
+}
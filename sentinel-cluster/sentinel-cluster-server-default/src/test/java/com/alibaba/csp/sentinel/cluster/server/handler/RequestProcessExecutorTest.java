@@ -0,0 +1,173 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.server.handler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.cluster.server.config.ClusterServerConfigManager;
+import com.alibaba.csp.sentinel.cluster.server.config.ServerTransportConfig;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RequestProcessExecutorTest {
+
+    @After
+    public void tearDown() {
+        RequestProcessExecutor.setRunningExecutor(null);
+        ClusterServerConfigManager.setNamespaceSet(Collections.<String>emptySet());
+    }
+
+    @Test
+    public void testInlineExecutor() {
+        RequestProcessExecutor executor = RequestProcessExecutor.newExecutor(
+            ServerTransportConfig.PROCESS_MODE_INLINE, 0);
+        final Thread caller = Thread.currentThread();
+        final List<Thread> threads = new ArrayList<>();
+        assertTrue(executor.execute(null, new Runnable() {
+            @Override
+            public void run() {
+                threads.add(Thread.currentThread());
+            }
+        }));
+        assertEquals(Collections.singletonList(caller), threads);
+        assertEquals(1, executor.getProcessedCount());
+        assertTrue(executor.getQueueDepth().isEmpty());
+    }
+
+    @Test
+    public void testNamespaceExecutorKeepsOrderInNamespace() throws Exception {
+        ClusterServerConfigManager.setNamespaceSet(new HashSet<>(Arrays.asList("a", "b")));
+        RequestProcessExecutor executor = RequestProcessExecutor.newExecutor(
+            ServerTransportConfig.PROCESS_MODE_NAMESPACE, 0);
+        try {
+            int count = 100;
+            final CountDownLatch latch = new CountDownLatch(count * 2);
+            final List<Integer> orderA = Collections.synchronizedList(new ArrayList<Integer>());
+            final List<String> threadsA = Collections.synchronizedList(new ArrayList<String>());
+            final List<String> threadsB = Collections.synchronizedList(new ArrayList<String>());
+            for (int i = 0; i < count; i++) {
+                final int seq = i;
+                executor.execute("a", new Runnable() {
+                    @Override
+                    public void run() {
+                        orderA.add(seq);
+                        threadsA.add(Thread.currentThread().getName());
+                        latch.countDown();
+                    }
+                });
+                executor.execute("b", new Runnable() {
+                    @Override
+                    public void run() {
+                        threadsB.add(Thread.currentThread().getName());
+                        latch.countDown();
+                    }
+                });
+            }
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+            for (int i = 0; i < count; i++) {
+                assertEquals(i, (int) orderA.get(i));
+            }
+            // Each namespace is served by its own single thread.
+            assertEquals(1, new HashSet<>(threadsA).size());
+            assertEquals(1, new HashSet<>(threadsB).size());
+            assertNotEquals(threadsA.get(0), threadsB.get(0));
+            // Two dedicated executors and the shared one.
+            assertEquals(3, executor.getQueueDepth().size());
+            assertEquals(count * 2, executor.getProcessedCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testNamespaceExecutorOnlyForConfiguredNamespaces() throws Exception {
+        ClusterServerConfigManager.setNamespaceSet(Collections.singleton("a"));
+        RequestProcessExecutor executor = RequestProcessExecutor.newExecutor(
+            ServerTransportConfig.PROCESS_MODE_NAMESPACE, 0);
+        RequestProcessExecutor.setRunningExecutor(executor);
+        try {
+            final List<String> threads = Collections.synchronizedList(new ArrayList<String>());
+            final CountDownLatch latch = new CountDownLatch(3);
+            Runnable task = new Runnable() {
+                @Override
+                public void run() {
+                    threads.add(Thread.currentThread().getName());
+                    latch.countDown();
+                }
+            };
+            executor.execute("a", task);
+            executor.execute("unknown-1", task);
+            executor.execute("unknown-2", task);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+            assertTrue(threads.get(0).startsWith("sentinel-cluster-server-process-a"));
+            // Unknown namespaces share a single thread.
+            assertTrue(threads.get(1).startsWith("sentinel-cluster-server-process-shared"));
+            assertEquals(threads.get(1), threads.get(2));
+            assertEquals(new HashSet<>(Arrays.asList("a", "*")), executor.getQueueDepth().keySet());
+
+            // The executor of a removed namespace is shut down.
+            ClusterServerConfigManager.setNamespaceSet(Collections.singleton("b"));
+            assertEquals(Collections.singleton("*"), executor.getQueueDepth().keySet());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testRejectWhenQueueFull() throws Exception {
+        RequestProcessExecutor executor = RequestProcessExecutor.newExecutor(
+            ServerTransportConfig.PROCESS_MODE_SHARED_POOL, 1, 1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        try {
+            assertTrue(executor.execute("a", new Runnable() {
+                @Override
+                public void run() {
+                    started.countDown();
+                    try {
+                        blocker.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Runnable noop = new Runnable() {
+                @Override
+                public void run() {}
+            };
+            // One queued, then the queue is full.
+            assertTrue(executor.execute("a", noop));
+            assertFalse(executor.execute("a", noop));
+            assertEquals(1, executor.getRejectedCount());
+            assertEquals(1, (int) executor.getQueueDepth().values().iterator().next());
+        } finally {
+            blocker.countDown();
+            executor.shutdown();
+        }
+    }
+}
@@ -31,6 +31,11 @@ public class AsyncEntry extends CtEntry {
 
     private Context asyncContext;
 
+    /**
+     * Time to wait before proceeding, recorded by traffic shaping controllers when pacing is deferred.
+     */
+    private long pacingDelayMs;
+
     AsyncEntry(ResourceWrapper resourceWrapper, ProcessorSlot<Object> chain, Context context) {
         super(resourceWrapper, chain, context);
     }
@@ -65,6 +70,21 @@ public class AsyncEntry extends CtEntry {
         return asyncContext;
     }
 
+    /**
+     * Get the time that the invocation needs to wait before proceeding, which is only recorded
+     * by the non-blocking entry ({@link SphU#entryAsync(String)}).
+     *
+     * @return the time to wait in milliseconds
+     * @since 1.8.1
+     */
+    public long getPacingDelayMs() {
+        return pacingDelayMs;
+    }
+
+    void setPacingDelayMs(long pacingDelayMs) {
+        this.pacingDelayMs = pacingDelayMs;
+    }
+
     /**
      * The async context should not be initialized until the node for current resource has been set to current entry.
      */
@@ -49,7 +49,7 @@ class CtEntry extends Entry {
         setUpEntryFor(context);
     }
 
-    private void setUpEntryFor(Context context) {
+    void setUpEntryFor(Context context) {
         // The entry should not be associated to NullContext.
         if (context instanceof NullContext) {
             return;
@@ -96,8 +96,12 @@ class CtEntry extends Entry {
                 // Clean previous call stack.
                 CtEntry e = (CtEntry) context.getCurEntry();
                 while (e != null) {
+                    // Read the parent first, as exit may reset the entry.
+                    CtEntry parentEntry = (CtEntry) e.parent;
+                    // Callers still hold the entries exited here, so they must not be reused.
+                    e.disableRecycle();
                     e.exit(count, args);
-                    e = (CtEntry) e.parent;
+                    e = parentEntry;
                 }
                 String errorMessage = String.format("The order of entry exit can't be paired with the order of entry"
                         + ", current entry in context: <%s>, but expected: <%s>", curEntryNameInContext,
@@ -128,6 +132,12 @@ class CtEntry extends Entry {
         }
     }
 
+    /**
+     * Prevent the entry from being reused after exit. No-op for entries that are not pooled.
+     */
+    void disableRecycle() {
+    }
+
     protected void clearEntryContext() {
         this.context = null;
     }
@@ -16,9 +16,16 @@
 package com.alibaba.csp.sentinel;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
-
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.csp.sentinel.concurrent.ListenableFuture;
+import com.alibaba.csp.sentinel.concurrent.TimerWheel;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextUtil;
@@ -40,7 +47,7 @@ import com.alibaba.csp.sentinel.slots.block.Rule;
  * @author Eric Zhao
  * @see Sph
  */
-public class CtSph implements Sph {
+public class CtSph implements SphResourceHandleSupport, SphEntryAsyncSupport {
 
     private static final Object[] OBJECTS0 = new Object[0];
 
@@ -48,10 +55,20 @@ public class CtSph implements Sph {
      * Same resource({@link ResourceWrapper#equals(Object)}) will share the same
      * {@link ProcessorSlotChain}, no matter in which {@link Context}.
      */
-    private static volatile Map<ResourceWrapper, ProcessorSlotChain> chainMap
-        = new HashMap<ResourceWrapper, ProcessorSlotChain>();
+    private static final ConcurrentMap<ResourceWrapper, ProcessorSlotChain> chainMap
+        = new ConcurrentHashMap<ResourceWrapper, ProcessorSlotChain>();
 
-    private static final Object LOCK = new Object();
+    /**
+     * Amount of registered slot chains, which is reserved before a new chain is published
+     * so that the {@link Constants#MAX_SLOT_CHAIN_SIZE} limit holds without locking.
+     */
+    private static final AtomicInteger chainCount = new AtomicInteger(0);
+
+    /**
+     * Incremented whenever slot chains are evicted, so that chains cached in {@link ResourceHandle}s
+     * could be resolved again. Only updated by the single sweeper thread (or in tests).
+     */
+    private static volatile int chainEpoch = 0;
 
     private AsyncEntry asyncEntryWithNoChain(ResourceWrapper resourceWrapper, Context context) {
         AsyncEntry entry = new AsyncEntry(resourceWrapper, null, context);
@@ -63,6 +80,11 @@ public class CtSph implements Sph {
 
     private AsyncEntry asyncEntryWithPriorityInternal(ResourceWrapper resourceWrapper, int count, boolean prioritized,
                                                       Object... args) throws BlockException {
+        return asyncEntryWithPriorityInternal(resourceWrapper, count, prioritized, false, args);
+    }
+
+    private AsyncEntry asyncEntryWithPriorityInternal(ResourceWrapper resourceWrapper, int count, boolean prioritized,
+                                                      boolean deferPacing, Object... args) throws BlockException {
         Context context = ContextUtil.getContext();
         if (context instanceof NullContext) {
             // The {@link NullContext} indicates that the amount of context has exceeded the threshold,
@@ -87,8 +109,14 @@ public class CtSph implements Sph {
         }
 
         AsyncEntry asyncEntry = new AsyncEntry(resourceWrapper, chain, context);
+        if (deferPacing) {
+            context.setPacingDeferred(true);
+        }
         try {
             chain.entry(context, resourceWrapper, null, count, prioritized, args);
+            if (deferPacing) {
+                asyncEntry.setPacingDelayMs(context.getPacingDelayMs());
+            }
             // Initiate the async context only when the entry successfully passed the slot chain.
             asyncEntry.initAsyncContext();
             // The asynchronous call may take time in background, and current context should not be hanged on it.
@@ -105,6 +133,10 @@ public class CtSph implements Sph {
             RecordLog.warn("Sentinel unexpected exception in asyncEntryInternal", e1);
 
             asyncEntry.cleanCurrentEntryInLocal();
+        } finally {
+            if (deferPacing) {
+                context.setPacingDeferred(false);
+            }
         }
         return asyncEntry;
     }
@@ -144,6 +176,12 @@ public class CtSph implements Sph {
         }
 
         Entry e = new CtEntry(resourceWrapper, chain, context);
+        return entryWithChain(e, chain, context, resourceWrapper, count, prioritized, args);
+    }
+
+    private Entry entryWithChain(Entry e, ProcessorSlot<Object> chain, Context context,
+                                 ResourceWrapper resourceWrapper, int count, boolean prioritized, Object... args)
+        throws BlockException {
         try {
             chain.entry(context, resourceWrapper, null, count, prioritized, args);
         } catch (BlockException e1) {
@@ -156,6 +194,41 @@ public class CtSph implements Sph {
         return e;
     }
 
+    @Override
+    public Entry entry(ResourceHandle handle, int count, Object... args) throws BlockException {
+        ResourceWrapper resourceWrapper = handle.getResourceWrapper();
+        Context context = ContextUtil.getContext();
+        if (context instanceof NullContext) {
+            // The {@link NullContext} indicates that the amount of context has exceeded the threshold,
+            // so here init the entry only. No rule checking will be done.
+            return new CtEntry(resourceWrapper, null, context);
+        }
+
+        if (context == null) {
+            // Using default context, which is cached and reused by current thread.
+            context = InternalContextUtil.internalEnterReusableDefault();
+        }
+
+        // Global switch is close, no rule checking will do.
+        if (!Constants.ON) {
+            return new CtEntry(resourceWrapper, null, context);
+        }
+
+        int epoch = chainEpoch;
+        ProcessorSlot<Object> chain = handle.getChain(epoch);
+        if (chain == null) {
+            chain = lookProcessChain(resourceWrapper);
+            // Means amount of resources (slot chain) exceeds {@link Constants.MAX_SLOT_CHAIN_SIZE}.
+            if (chain == null) {
+                return new CtEntry(resourceWrapper, null, context);
+            }
+            handle.setChain(chain, epoch);
+        }
+
+        Entry e = RecyclableEntry.obtain(resourceWrapper, chain, context);
+        return entryWithChain(e, chain, context, resourceWrapper, count, false, args);
+    }
+
     /**
      * Do all {@link Rule}s checking about the resource.
      *
@@ -193,25 +266,24 @@ public class CtSph implements Sph {
      */
     ProcessorSlot<Object> lookProcessChain(ResourceWrapper resourceWrapper) {
         ProcessorSlotChain chain = chainMap.get(resourceWrapper);
-        if (chain == null) {
-            synchronized (LOCK) {
-                chain = chainMap.get(resourceWrapper);
-                if (chain == null) {
-                    // Entry size limit.
-                    if (chainMap.size() >= Constants.MAX_SLOT_CHAIN_SIZE) {
-                        return null;
-                    }
-
-                    chain = SlotChainProvider.newSlotChain();
-                    Map<ResourceWrapper, ProcessorSlotChain> newMap = new HashMap<ResourceWrapper, ProcessorSlotChain>(
-                        chainMap.size() + 1);
-                    newMap.putAll(chainMap);
-                    newMap.put(resourceWrapper, chain);
-                    chainMap = newMap;
-                }
-            }
+        if (chain != null) {
+            return chain;
+        }
+        // Entry size limit. Reserve a slot first so that concurrent registrations won't exceed the limit.
+        // Near the limit, a registration may be rejected while a racing registration of the same name
+        // still holds its reserved slot. Such rejection is transient and later invocations will retry.
+        if (chainCount.incrementAndGet() > Constants.MAX_SLOT_CHAIN_SIZE) {
+            chainCount.decrementAndGet();
+            return chainMap.get(resourceWrapper);
         }
-        return chain;
+        ProcessorSlotChain newChain = SlotChainProvider.newSlotChain();
+        chain = chainMap.putIfAbsent(resourceWrapper, newChain);
+        if (chain != null) {
+            // Other thread has registered the chain of the resource, so release the reserved slot.
+            chainCount.decrementAndGet();
+            return chain;
+        }
+        return newChain;
     }
 
     /**
@@ -221,7 +293,25 @@ public class CtSph implements Sph {
      * @since 0.2.0
      */
     public static int entrySize() {
-        return chainMap.size();
+        return chainCount.get();
+    }
+
+    /**
+     * Remove the slot chain of the resource if it is still registered, which releases its slot of
+     * the {@link Constants#MAX_SLOT_CHAIN_SIZE} limit. Used by {@link IdleResourceSweeper}.
+     *
+     * @param resourceWrapper target resource
+     * @param chain           the registered slot chain of the resource
+     * @return true if the chain was removed
+     * @since 1.8.1
+     */
+    static boolean removeChain(ResourceWrapper resourceWrapper, ProcessorSlotChain chain) {
+        if (!chainMap.remove(resourceWrapper, chain)) {
+            return false;
+        }
+        chainCount.decrementAndGet();
+        chainEpoch++;
+        return true;
     }
 
     /**
@@ -231,15 +321,39 @@ public class CtSph implements Sph {
      */
     static void resetChainMap() {
         chainMap.clear();
+        chainCount.set(0);
+        chainEpoch++;
     }
 
     /**
-     * Only for internal test.
+     * Get a read-only view of registered slot chains. Chains should only be registered or removed
+     * through {@link #lookProcessChain(ResourceWrapper)} and {@link #removeChain(ResourceWrapper,
+     * ProcessorSlotChain)}, which keep {@link #entrySize()} in sync with the map.
      *
      * @since 0.2.0
      */
     static Map<ResourceWrapper, ProcessorSlotChain> getChainMap() {
-        return chainMap;
+        return Collections.unmodifiableMap(chainMap);
+    }
+
+    /**
+     * Only for internal test.
+     *
+     * @since 1.8.1
+     */
+    static int getChainEpoch() {
+        return chainEpoch;
+    }
+
+    /**
+     * Register the slot chain for the resource directly. Only for internal test.
+     *
+     * @since 1.8.1
+     */
+    static void putChain(ResourceWrapper resourceWrapper, ProcessorSlotChain chain) {
+        if (chainMap.put(resourceWrapper, chain) == null) {
+            chainCount.incrementAndGet();
+        }
     }
 
     /**
@@ -253,6 +367,10 @@ public class CtSph implements Sph {
         static Context internalEnter(String name, String origin) {
             return trueEnter(name, origin);
         }
+
+        static Context internalEnterReusableDefault() {
+            return trueEnterReusableDefault();
+        }
     }
 
     @Override
@@ -347,10 +465,47 @@ public class CtSph implements Sph {
         return entryWithPriority(resource, count, prioritized, args);
     }
 
+    @Override
+    public ListenableFuture<AsyncEntry> entryAsync(String name, int resourceType, EntryType entryType,
+                                                   final int count, final Object[] args) {
+        StringResourceWrapper resource = new StringResourceWrapper(name, entryType, resourceType);
+        final AsyncEntry entry;
+        try {
+            entry = asyncEntryWithPriorityInternal(resource, count, false, true, args);
+        } catch (BlockException ex) {
+            return ListenableFuture.failed(ex);
+        }
+        long delayMs = entry.getPacingDelayMs();
+        if (delayMs <= 0) {
+            return ListenableFuture.completed(entry);
+        }
+        final ListenableFuture<AsyncEntry> future = new ListenableFuture<AsyncEntry>();
+        future.whenComplete(new ListenableFuture.Listener<AsyncEntry>() {
+            @Override
+            public void onComplete(AsyncEntry result, Throwable cause) {
+                if (cause instanceof CancellationException) {
+                    // Nobody will exit the admitted entry once the wait is cancelled.
+                    entry.exit(count, args);
+                }
+            }
+        });
+        PacingTimerHolder.TIMER.schedule(new Runnable() {
+            @Override
+            public void run() {
+                future.complete(entry);
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
     @Override
     public AsyncEntry asyncEntryWithType(String name, int resourceType, EntryType entryType, int count,
                                          boolean prioritized, Object[] args) throws BlockException {
         StringResourceWrapper resource = new StringResourceWrapper(name, entryType, resourceType);
         return asyncEntryWithPriorityInternal(resource, count, prioritized, args);
     }
+
+    private static final class PacingTimerHolder {
+        private static final TimerWheel TIMER = new TimerWheel("sentinel-pacing-timer", 1, 512);
+    }
 }
@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel;
 
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.statistic.RtUnit;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 import com.alibaba.csp.sentinel.util.function.BiConsumer;
 import com.alibaba.csp.sentinel.context.ContextUtil;
@@ -55,8 +56,12 @@ public abstract class Entry implements AutoCloseable {
 
     private static final Object[] OBJECTS0 = new Object[0];
 
-    private final long createTimestamp;
+    private long createTimestamp;
     private long completeTimestamp;
+    /**
+     * Start time for measuring response time, in the unit of {@link RtUnit}.
+     */
+    private long rtStartTime;
 
     private Node curNode;
     /**
@@ -67,11 +72,29 @@ public abstract class Entry implements AutoCloseable {
     private Throwable error;
     private BlockException blockError;
 
-    protected final ResourceWrapper resourceWrapper;
+    protected ResourceWrapper resourceWrapper;
 
     public Entry(ResourceWrapper resourceWrapper) {
         this.resourceWrapper = resourceWrapper;
         this.createTimestamp = TimeUtil.currentTimeMillis();
+        this.rtStartTime = RtUnit.now(createTimestamp);
+    }
+
+    /**
+     * Reset the state of this entry so that it could be reused for a new invocation.
+     *
+     * @param resourceWrapper the resource of the new invocation
+     * @since 1.8.1
+     */
+    void resetForReuse(ResourceWrapper resourceWrapper) {
+        this.resourceWrapper = resourceWrapper;
+        this.createTimestamp = TimeUtil.currentTimeMillis();
+        this.rtStartTime = RtUnit.now(createTimestamp);
+        this.completeTimestamp = 0;
+        this.curNode = null;
+        this.originNode = null;
+        this.error = null;
+        this.blockError = null;
     }
 
     public ResourceWrapper getResourceWrapper() {
@@ -131,6 +154,16 @@ public abstract class Entry implements AutoCloseable {
         return createTimestamp;
     }
 
+    /**
+     * Get the start time for measuring response time, in the unit of {@link RtUnit}.
+     *
+     * @return the start time for measuring response time
+     * @since 1.8.1
+     */
+    public long getRtStartTime() {
+        return rtStartTime;
+    }
+
     public long getCompleteTimestamp() {
         return completeTimestamp;
     }
@@ -0,0 +1,208 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.node.EntranceNode;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRuleManager;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRuleManager;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>Background sweeper that evicts slot chains, {@link ClusterNode}s and {@link DefaultNode}s of idle resources,
+ * so that high-cardinality resources (e.g. gateway paths) neither grow the memory unboundedly nor exhaust
+ * the {@link Constants#MAX_SLOT_CHAIN_SIZE} limit. Eviction is enabled by
+ * {@link SentinelConfig#RESOURCE_IDLE_TTL_MS}.</p>
+ * <p>
+ * A resource is idle when its cluster node has no entries for the TTL and no running threads, and
+ * the resource has no flow, degrade or authority rules. Eviction races with concurrent entries as follows:
+ * </p>
+ * <ul>
+ * <li>Entries looking up the chain after eviction create a new chain and new nodes.</li>
+ * <li>Entries already holding the evicted chain replace the evicted cluster node with the current one
+ * in {@link ClusterBuilderSlot}, so statistics of the resource are not split. Only statistics of the
+ * evicted {@link DefaultNode}s in such entries are lost.</li>
+ * <li>Chains cached in {@link ResourceHandle}s are resolved again after any eviction.</li>
+ * </ul>
+ *
+ * @since 1.8.1
+ */
+public final class IdleResourceSweeper {
+
+    private static final long TTL_MS = SentinelConfig.resourceIdleTtlMs();
+
+    private static final AtomicBoolean started = new AtomicBoolean(false);
+
+    private static final AtomicLong evictedResourceCount = new AtomicLong();
+    private static final AtomicLong evictedNodeCount = new AtomicLong();
+    private static final AtomicLong sweepCount = new AtomicLong();
+    private static volatile long lastSweepTime = 0;
+
+    /**
+     * @return whether idle resource eviction is enabled
+     */
+    public static boolean isEnabled() {
+        return TTL_MS > 0;
+    }
+
+    /**
+     * @return the idle TTL of resources in milliseconds, or 0 if eviction is disabled
+     */
+    public static long getTtlMs() {
+        return TTL_MS;
+    }
+
+    /**
+     * Start the sweeper if eviction is enabled. The sweeper runs every half of the TTL,
+     * bounded within [1s, 60s].
+     */
+    public static void start() {
+        if (!isEnabled() || !started.compareAndSet(false, true)) {
+            return;
+        }
+        long intervalMs = Math.min(Math.max(TTL_MS / 2, 1000), 60 * 1000);
+        @SuppressWarnings("PMD.ThreadPoolCreationRule")
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            new NamedThreadFactory("sentinel-idle-resource-sweeper", true));
+        scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    sweep(TTL_MS, TimeUtil.currentTimeMillis());
+                } catch (Throwable ex) {
+                    RecordLog.warn("[IdleResourceSweeper] Failed to sweep idle resources", ex);
+                }
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        RecordLog.info("[IdleResourceSweeper] Idle resource sweeper started, ttl={}ms, interval={}ms",
+            TTL_MS, intervalMs);
+    }
+
+    /**
+     * Evict all idle resources. Sweeps should not run concurrently.
+     *
+     * @param ttlMs idle TTL in milliseconds
+     * @param now   current time in milliseconds
+     * @return amount of evicted resources
+     */
+    static synchronized int sweep(long ttlMs, long now) {
+        Map<ResourceWrapper, ProcessorSlotChain> chainMap = CtSph.getChainMap();
+        Set<ResourceWrapper> evicted = new HashSet<>();
+        for (Map.Entry<ResourceWrapper, ClusterNode> e : ClusterBuilderSlot.getClusterNodeMap().entrySet()) {
+            ResourceWrapper resource = e.getKey();
+            ClusterNode node = e.getValue();
+            if (!isIdle(node, ttlMs, now) || hasRules(resource.getName())) {
+                continue;
+            }
+            ProcessorSlotChain chain = chainMap.get(resource);
+            if (chain != null && !CtSph.removeChain(resource, chain)) {
+                continue;
+            }
+            if (ClusterBuilderSlot.removeClusterNode(resource, node)) {
+                node.markEvicted();
+            }
+            evicted.add(resource);
+        }
+        int nodes = evicted.isEmpty() ? 0 : detachNodes(Constants.ROOT, evicted);
+
+        evictedResourceCount.addAndGet(evicted.size());
+        evictedNodeCount.addAndGet(nodes);
+        sweepCount.incrementAndGet();
+        lastSweepTime = now;
+        if (!evicted.isEmpty()) {
+            RecordLog.info("[IdleResourceSweeper] Evicted {} idle resources and {} nodes", evicted.size(), nodes);
+        }
+        return evicted.size();
+    }
+
+    private static boolean isIdle(ClusterNode node, long ttlMs, long now) {
+        return now - node.getLastAccessTime() >= ttlMs && node.curThreadNum() == 0;
+    }
+
+    private static boolean hasRules(String resource) {
+        return FlowRuleManager.hasConfig(resource) || DegradeRuleManager.hasConfig(resource)
+            || AuthorityRuleManager.hasConfig(resource);
+    }
+
+    /**
+     * Remove {@link DefaultNode}s of evicted resources from the invocation tree. Children of a removed node,
+     * which are still used by slot chains of their own resources, are moved to the parent of the removed node.
+     */
+    private static int detachNodes(DefaultNode parent, Set<ResourceWrapper> evicted) {
+        int removed = 0;
+        for (Node n : parent.getChildList()) {
+            DefaultNode child = (DefaultNode) n;
+            removed += detachNodes(child, evicted);
+            if (!(child instanceof EntranceNode) && evicted.contains(child.getId())) {
+                for (Node grandChild : child.getChildList()) {
+                    parent.addChild(grandChild);
+                }
+                if (parent.removeChild(child)) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return total amount of evicted resources (slot chains and cluster nodes)
+     */
+    public static long getEvictedResourceCount() {
+        return evictedResourceCount.get();
+    }
+
+    /**
+     * @return total amount of evicted {@link DefaultNode}s
+     */
+    public static long getEvictedNodeCount() {
+        return evictedNodeCount.get();
+    }
+
+    /**
+     * @return total amount of sweeps
+     */
+    public static long getSweepCount() {
+        return sweepCount.get();
+    }
+
+    /**
+     * @return time of the latest sweep in milliseconds, or 0 if never swept
+     */
+    public static long getLastSweepTime() {
+        return lastSweepTime;
+    }
+
+    private IdleResourceSweeper() {}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+
+/**
+ * A {@link CtEntry} that will be recycled to a thread-local pool as soon as it exits,
+ * so that entries created from a {@link ResourceHandle} do not allocate in steady state.
+ *
+ * @since 1.8.1
+ */
+final class RecyclableEntry extends CtEntry {
+
+    /**
+     * Max amount of cached entries per thread, which is also the max nested depth that can be served
+     * without allocation.
+     */
+    static final int MAX_CACHED_ENTRIES_PER_THREAD = 16;
+
+    private static final ThreadLocal<EntryStack> ENTRY_STACK = new ThreadLocal<EntryStack>() {
+        @Override
+        protected EntryStack initialValue() {
+            return new EntryStack();
+        }
+    };
+
+    private boolean inUse;
+    private boolean recyclable = true;
+
+    private RecyclableEntry(ResourceWrapper resourceWrapper, ProcessorSlot<Object> chain, Context context) {
+        super(resourceWrapper, chain, context);
+        this.inUse = true;
+    }
+
+    /**
+     * Get an entry from the pool of current thread, or create a new one if the pool is empty.
+     *
+     * @param resourceWrapper resource of the invocation
+     * @param chain           slot chain of the resource
+     * @param context         current context
+     * @return the entry that has been set up for the context
+     */
+    static RecyclableEntry obtain(ResourceWrapper resourceWrapper, ProcessorSlot<Object> chain, Context context) {
+        RecyclableEntry entry = ENTRY_STACK.get().pop();
+        if (entry == null) {
+            return new RecyclableEntry(resourceWrapper, chain, context);
+        }
+        entry.resetForReuse(resourceWrapper);
+        entry.chain = chain;
+        entry.context = context;
+        entry.inUse = true;
+        entry.recyclable = true;
+        entry.setUpEntryFor(context);
+        return entry;
+    }
+
+    @Override
+    protected Entry trueExit(int count, Object... args) throws ErrorEntryFreeException {
+        Entry parentEntry = super.trueExit(count, args);
+        // Only recycle when the entry has completed, so duplicate exit won't push it to the pool twice.
+        if (inUse && recyclable && this.context == null) {
+            recycle();
+        }
+        return parentEntry;
+    }
+
+    @Override
+    void disableRecycle() {
+        this.recyclable = false;
+    }
+
+    private void recycle() {
+        this.inUse = false;
+        this.parent = null;
+        this.child = null;
+        this.chain = null;
+        this.exitHandlers = null;
+        resetForReuse(resourceWrapper);
+        ENTRY_STACK.get().push(this);
+    }
+
+    boolean isInUse() {
+        return inUse;
+    }
+
+    private static final class EntryStack {
+
+        private final RecyclableEntry[] entries = new RecyclableEntry[MAX_CACHED_ENTRIES_PER_THREAD];
+        private int size = 0;
+
+        RecyclableEntry pop() {
+            if (size == 0) {
+                return null;
+            }
+            RecyclableEntry entry = entries[--size];
+            entries[size] = null;
+            return entry;
+        }
+
+        void push(RecyclableEntry entry) {
+            if (size < entries.length) {
+                entries[size++] = entry;
+            }
+        }
+    }
+}
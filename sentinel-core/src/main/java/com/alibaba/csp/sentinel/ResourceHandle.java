@@ -0,0 +1,149 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>A reusable handle of a protected resource, which could be obtained via {@link SphU#resource(String)}.</p>
+ * <p>
+ * The handle holds the {@link ResourceWrapper} of the resource and caches the resolved slot chain,
+ * so entries created from the handle neither allocate a new resource wrapper nor look up the slot chain map
+ * (unless slot chains have been evicted by {@link IdleResourceSweeper} since the chain was cached).
+ * Entries created from the handle are also recycled by the current thread once exited, so the steady-state
+ * entry/exit path does not allocate. As a result, the returned {@link Entry} must be exited exactly once and
+ * must NOT be used anymore after {@link Entry#exit()}.
+ * </p>
+ *
+ * <pre>
+ *  private static final ResourceHandle RESOURCE = SphU.resource("abc");
+ *
+ *  public void foo() {
+ *     Entry entry = null;
+ *     try {
+ *        entry = RESOURCE.entry();
+ *        // resource that need protection
+ *     } catch (BlockException blockException) {
+ *         // when goes there, it is blocked
+ *     } finally {
+ *         if (entry != null) {
+ *             entry.exit();
+ *         }
+ *     }
+ *  }
+ * </pre>
+ *
+ * @since 1.8.1
+ */
+public final class ResourceHandle {
+
+    private static final Object[] OBJECTS0 = new Object[0];
+
+    private final ResourceWrapper resourceWrapper;
+
+    private volatile CachedChain cachedChain;
+
+    ResourceHandle(ResourceWrapper resourceWrapper) {
+        AssertUtil.notNull(resourceWrapper, "resourceWrapper cannot be null");
+        this.resourceWrapper = resourceWrapper;
+    }
+
+    /**
+     * Record statistics and perform rule checking for the resource.
+     *
+     * @return the {@link Entry} of this invocation, which will be recycled after exit
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     */
+    public Entry entry() throws BlockException {
+        return entry(Env.sph, 1, OBJECTS0);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the resource.
+     *
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @return the {@link Entry} of this invocation, which will be recycled after exit
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     */
+    public Entry entry(int batchCount) throws BlockException {
+        return entry(Env.sph, batchCount, OBJECTS0);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the resource.
+     *
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args       args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation, which will be recycled after exit
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     */
+    public Entry entry(int batchCount, Object... args) throws BlockException {
+        return entry(Env.sph, batchCount, args);
+    }
+
+    private Entry entry(Sph sph, int batchCount, Object[] args) throws BlockException {
+        if (sph instanceof SphResourceHandleSupport) {
+            return ((SphResourceHandleSupport)sph).entry(this, batchCount, args);
+        }
+        // Fall back to the common entry for Sph without handle support, which neither caches nor recycles.
+        return sph.entryWithType(resourceWrapper.getName(), resourceWrapper.getResourceType(),
+            resourceWrapper.getEntryType(), batchCount, args);
+    }
+
+    public ResourceWrapper getResourceWrapper() {
+        return resourceWrapper;
+    }
+
+    public String getName() {
+        return resourceWrapper.getName();
+    }
+
+    /**
+     * Get the cached slot chain, which is valid only if no slot chain has been evicted since it was cached.
+     *
+     * @param epoch current chain epoch of {@link CtSph}
+     * @return the cached slot chain, or null if absent or stale
+     */
+    ProcessorSlot<Object> getChain(int epoch) {
+        CachedChain cached = cachedChain;
+        return cached != null && cached.epoch == epoch ? cached.chain : null;
+    }
+
+    void setChain(ProcessorSlot<Object> chain, int epoch) {
+        this.cachedChain = new CachedChain(chain, epoch);
+    }
+
+    private static final class CachedChain {
+
+        private final ProcessorSlot<Object> chain;
+        private final int epoch;
+
+        CachedChain(ProcessorSlot<Object> chain, int epoch) {
+            this.chain = chain;
+            this.epoch = epoch;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceHandle{" +
+            "resourceWrapper=" + resourceWrapper +
+            '}';
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import com.alibaba.csp.sentinel.concurrent.ListenableFuture;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.system.SystemRule;
+
+/**
+ * Optional extension of {@link Sph} that creates async entries without blocking current thread.
+ * Callers should check whether a {@link Sph} implements this interface, and fall back to
+ * {@link Sph#asyncEntryWithType(String, int, EntryType, int, boolean, Object[])} otherwise.
+ *
+ * @since 1.8.1
+ */
+public interface SphEntryAsyncSupport extends Sph {
+
+    /**
+     * Record statistics and perform rule checking for the given resource that indicates an async invocation,
+     * without blocking current thread. If the invocation is paced by traffic shaping controllers, the time to wait
+     * is scheduled on a timer rather than sleeping, and the returned future completes when the wait is over.
+     *
+     * @param name         the unique name for the protected resource
+     * @param resourceType classification of the resource (e.g. Web or RPC)
+     * @param trafficType  the traffic type (inbound, outbound or internal). This is used
+     *                     to mark whether it can be blocked when the system is unstable,
+     *                     only inbound traffic could be blocked by {@link SystemRule}
+     * @param batchCount   the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args         args for parameter flow control or customized slots
+     * @return the future of the admitted entry, or failed with the {@link BlockException} if blocked.
+     * Cancelling the future during the wait exits the admitted entry
+     */
+    ListenableFuture<AsyncEntry> entryAsync(String name, int resourceType, EntryType trafficType, int batchCount,
+                                            Object[] args);
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+
+/**
+ * Optional extension of {@link Sph} that creates entries from reusable {@link ResourceHandle}s.
+ * Callers should check whether a {@link Sph} implements this interface, and fall back to
+ * {@link Sph#entryWithType(String, int, EntryType, int, Object[])} otherwise.
+ *
+ * @since 1.8.1
+ */
+public interface SphResourceHandleSupport extends Sph {
+
+    /**
+     * Record statistics and perform rule checking for the resource of the given handle.
+     * The resolved slot chain is cached in the handle, and the returned entry will be recycled
+     * once it exits, so it must not be used after {@link Entry#exit()}.
+     *
+     * @param handle     the reusable handle of the protected resource
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args       args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met
+     */
+    Entry entry(ResourceHandle handle, int batchCount, Object... args) throws BlockException;
+}
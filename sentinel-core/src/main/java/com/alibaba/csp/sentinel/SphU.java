@@ -17,6 +17,8 @@ package com.alibaba.csp.sentinel;
 
 import java.lang.reflect.Method;
 
+import com.alibaba.csp.sentinel.concurrent.ListenableFuture;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.Rule;
 import com.alibaba.csp.sentinel.slots.system.SystemRule;
@@ -365,4 +367,94 @@ public class SphU {
                                         Object[] args) throws BlockException {
         return Env.sph.asyncEntryWithType(name, resourceType, trafficType, batchCount, false, args);
     }
+
+    /**
+     * Record statistics and check all rules of the resource that indicates an async invocation, without
+     * blocking current thread. Different from {@link #asyncEntry(String)}, the requests paced by traffic shaping
+     * controllers (e.g. rate limiter) will not sleep on current thread. Instead, the time to wait is scheduled
+     * on a timer, and the returned future completes when the wait is over. Listeners of paced requests
+     * are invoked on the timer thread, so they should be short and hand over heavy work to other executors.
+     *
+     * @param name the unique name of the protected resource
+     * @return the future of the admitted entry, or failed with the {@link BlockException} if blocked.
+     * Cancelling the future during the wait exits the admitted entry
+     * @since 1.8.1
+     */
+    public static ListenableFuture<AsyncEntry> entryAsync(String name) {
+        return entryAsync(name, ResourceTypeConstants.COMMON, EntryType.OUT, 1, OBJECTS0);
+    }
+
+    /**
+     * Record statistics and check all rules of the resource that indicates an async invocation, without
+     * blocking current thread.
+     *
+     * @param name         the unique name for the protected resource
+     * @param resourceType classification of the resource (e.g. Web or RPC)
+     * @param trafficType  the traffic type (inbound, outbound or internal). This is used
+     *                     to mark whether it can be blocked when the system is unstable,
+     *                     only inbound traffic could be blocked by {@link SystemRule}
+     * @param batchCount   the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args         args for parameter flow control or customized slots
+     * @return the future of the admitted entry, or failed with the {@link BlockException} if blocked.
+     * Cancelling the future during the wait exits the admitted entry
+     * @see #entryAsync(String)
+     * @since 1.8.1
+     */
+    public static ListenableFuture<AsyncEntry> entryAsync(String name, int resourceType, EntryType trafficType, int batchCount,
+                                                          Object[] args) {
+        Sph sph = Env.sph;
+        if (sph instanceof SphEntryAsyncSupport) {
+            return ((SphEntryAsyncSupport)sph).entryAsync(name, resourceType, trafficType, batchCount, args);
+        }
+        // Fall back to the common async entry for Sph without non-blocking support, which sleeps for pacing.
+        try {
+            return ListenableFuture.completed(
+                sph.asyncEntryWithType(name, resourceType, trafficType, batchCount, false, args));
+        } catch (BlockException ex) {
+            return ListenableFuture.failed(ex);
+        }
+    }
+
+    /**
+     * Create a reusable handle for the given resource. The handle is intended to be created once
+     * (e.g. kept in a static field) and then used to create entries without allocating in steady state.
+     *
+     * @param name the unique name of the protected resource
+     * @return the reusable handle of the resource
+     * @since 1.8.1
+     */
+    public static ResourceHandle resource(String name) {
+        return resource(name, ResourceTypeConstants.COMMON, EntryType.OUT);
+    }
+
+    /**
+     * Create a reusable handle for the given resource. The handle is intended to be created once
+     * (e.g. kept in a static field) and then used to create entries without allocating in steady state.
+     *
+     * @param name        the unique name of the protected resource
+     * @param trafficType the traffic type (inbound, outbound or internal). This is used
+     *                    to mark whether it can be blocked when the system is unstable,
+     *                    only inbound traffic could be blocked by {@link SystemRule}
+     * @return the reusable handle of the resource
+     * @since 1.8.1
+     */
+    public static ResourceHandle resource(String name, EntryType trafficType) {
+        return resource(name, ResourceTypeConstants.COMMON, trafficType);
+    }
+
+    /**
+     * Create a reusable handle for the given resource. The handle is intended to be created once
+     * (e.g. kept in a static field) and then used to create entries without allocating in steady state.
+     *
+     * @param name         the unique name of the protected resource
+     * @param resourceType classification of the resource (e.g. Web or RPC)
+     * @param trafficType  the traffic type (inbound, outbound or internal). This is used
+     *                     to mark whether it can be blocked when the system is unstable,
+     *                     only inbound traffic could be blocked by {@link SystemRule}
+     * @return the reusable handle of the resource
+     * @since 1.8.1
+     */
+    public static ResourceHandle resource(String name, int resourceType, EntryType trafficType) {
+        return new ResourceHandle(new StringResourceWrapper(name, trafficType, resourceType));
+    }
 }
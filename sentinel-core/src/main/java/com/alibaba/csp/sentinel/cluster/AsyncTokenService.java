@@ -0,0 +1,38 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster;
+
+import com.alibaba.csp.sentinel.concurrent.ListenableFuture;
+
+/**
+ * Optional extension of {@link TokenService} that requests tokens without blocking current thread.
+ * Callers should check whether a token service implements this interface, and fall back to
+ * {@link TokenService#requestToken(Long, int, boolean)} otherwise.
+ *
+ * @since 1.8.1
+ */
+public interface AsyncTokenService extends TokenService {
+
+    /**
+     * Request tokens from remote token server without blocking current thread.
+     *
+     * @param ruleId the unique rule ID
+     * @param acquireCount token count to acquire
+     * @param prioritized whether the request is prioritized
+     * @return future of the token request result, which should always complete with a result rather than an error
+     */
+    ListenableFuture<TokenResult> requestTokenAsync(Long ruleId, int acquireCount, boolean prioritized);
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>A minimal future that can be completed manually and notifies listeners on completion,
+ * which works like {@code CompletableFuture#whenComplete} for Java 7.</p>
+ * <p>
+ * Listeners are invoked on the thread that completes the future (e.g. the Netty I/O thread),
+ * or on the registering thread if the future has completed, so they should be short.
+ * </p>
+ *
+ * @param <T> type of the result
+ * @since 1.8.1
+ */
+public final class ListenableFuture<T> implements Future<T> {
+
+    private static final int PENDING = 0;
+    private static final int SUCCEEDED = 1;
+    private static final int FAILED = 2;
+    private static final int CANCELLED = 3;
+
+    private int state = PENDING;
+    private T result;
+    private Throwable cause;
+    private List<Listener<? super T>> listeners;
+
+    public static <T> ListenableFuture<T> completed(T result) {
+        ListenableFuture<T> future = new ListenableFuture<T>();
+        future.complete(result);
+        return future;
+    }
+
+    public static <T> ListenableFuture<T> failed(Throwable cause) {
+        ListenableFuture<T> future = new ListenableFuture<T>();
+        future.completeExceptionally(cause);
+        return future;
+    }
+
+    /**
+     * Complete the future with the result if it's not completed.
+     *
+     * @param result the result
+     * @return true if this invocation completed the future
+     */
+    public boolean complete(T result) {
+        return finish(SUCCEEDED, result, null);
+    }
+
+    /**
+     * Complete the future with the error if it's not completed.
+     *
+     * @param cause the error
+     * @return true if this invocation completed the future
+     */
+    public boolean completeExceptionally(Throwable cause) {
+        AssertUtil.notNull(cause, "cause cannot be null");
+        return finish(FAILED, null, cause);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return finish(CANCELLED, null, new CancellationException());
+    }
+
+    private boolean finish(int newState, T result, Throwable cause) {
+        List<Listener<? super T>> toNotify;
+        synchronized (this) {
+            if (state != PENDING) {
+                return false;
+            }
+            this.state = newState;
+            this.result = result;
+            this.cause = cause;
+            toNotify = listeners;
+            listeners = null;
+            notifyAll();
+        }
+        if (toNotify != null) {
+            for (Listener<? super T> listener : toNotify) {
+                notifyListener(listener, result, cause);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Register a listener, which will be invoked when the future completes.
+     *
+     * @param listener the listener
+     * @return current future
+     */
+    public ListenableFuture<T> whenComplete(Listener<? super T> listener) {
+        AssertUtil.notNull(listener, "listener cannot be null");
+        synchronized (this) {
+            if (state == PENDING) {
+                if (listeners == null) {
+                    listeners = new ArrayList<Listener<? super T>>(1);
+                }
+                listeners.add(listener);
+                return this;
+            }
+        }
+        notifyListener(listener, result, cause);
+        return this;
+    }
+
+    private void notifyListener(Listener<? super T> listener, T result, Throwable cause) {
+        try {
+            listener.onComplete(result, cause);
+        } catch (Throwable ex) {
+            RecordLog.warn("[ListenableFuture] Error when notifying listener", ex);
+        }
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return state == CANCELLED;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return state != PENDING;
+    }
+
+    @Override
+    public synchronized T get() throws InterruptedException, ExecutionException {
+        while (state == PENDING) {
+            wait();
+        }
+        return report();
+    }
+
+    @Override
+    public synchronized T get(long timeout, TimeUnit unit)
+        throws InterruptedException, ExecutionException, TimeoutException {
+        long remainingNanos = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + remainingNanos;
+        while (state == PENDING) {
+            if (remainingNanos <= 0) {
+                throw new TimeoutException();
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+            remainingNanos = deadline - System.nanoTime();
+        }
+        return report();
+    }
+
+    private T report() throws ExecutionException {
+        if (state == SUCCEEDED) {
+            return result;
+        }
+        if (state == CANCELLED) {
+            throw (CancellationException)cause;
+        }
+        throw new ExecutionException(cause);
+    }
+
+    /**
+     * Listener of {@link ListenableFuture}.
+     *
+     * @param <T> type of the result
+     */
+    public interface Listener<T> {
+
+        /**
+         * Invoked when the future completes.
+         *
+         * @param result the result, or null if the future failed
+         * @param cause  the error if the future failed or has been cancelled, otherwise null
+         */
+        void onComplete(T result, Throwable cause);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>A hashed wheel timer for lots of short delayed tasks (e.g. paced requests), so that the waiting tasks
+ * do not hold a thread each.</p>
+ * <p>
+ * All tasks are run on a single worker thread, which ticks only when there are pending tasks and parks
+ * otherwise. Tasks should be short and hand over heavy work to other executors.
+ * The accuracy of delays is about one tick.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public class TimerWheel {
+
+    private final long tickNanos;
+    private final int mask;
+    private final TimerTask[] wheel;
+
+    private final Queue<TimerTask> incoming = new ConcurrentLinkedQueue<TimerTask>();
+    private final AtomicInteger pendingCount = new AtomicInteger(0);
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final Thread worker;
+
+    private volatile boolean stopped = false;
+
+    /**
+     * @param name      name of the worker thread
+     * @param tickMs    tick duration in milliseconds
+     * @param wheelSize amount of buckets in the wheel, which will be rounded up to a power of two
+     */
+    public TimerWheel(String name, long tickMs, int wheelSize) {
+        AssertUtil.isTrue(tickMs > 0, "tick duration should be positive");
+        AssertUtil.isTrue(wheelSize > 0, "wheel size should be positive");
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.mask = size - 1;
+        this.wheel = new TimerTask[size];
+        this.worker = new NamedThreadFactory(name, true).newThread(new Worker());
+    }
+
+    /**
+     * Run the task after given delay on the worker thread.
+     *
+     * @param task  the task to run
+     * @param delay the delay, task with non-positive delay will run in next tick
+     * @param unit  time unit of the delay
+     */
+    public void schedule(Runnable task, long delay, TimeUnit unit) {
+        AssertUtil.notNull(task, "task cannot be null");
+        if (stopped) {
+            throw new IllegalStateException("Timer has been stopped");
+        }
+        if (started.compareAndSet(false, true)) {
+            worker.start();
+        }
+        incoming.add(new TimerTask(task, System.nanoTime() + unit.toNanos(Math.max(0, delay))));
+        if (pendingCount.getAndIncrement() == 0) {
+            // The worker might be parking for idle.
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * @return amount of tasks that have not run yet
+     */
+    public int pendingTasks() {
+        return pendingCount.get();
+    }
+
+    public void stop() {
+        stopped = true;
+        LockSupport.unpark(worker);
+    }
+
+    private final class Worker implements Runnable {
+
+        private final long startNanos = System.nanoTime();
+        private long tick = 0;
+
+        @Override
+        public void run() {
+            while (!stopped) {
+                if (pendingCount.get() == 0) {
+                    LockSupport.park(this);
+                    // Buckets are all empty, so it's safe to jump to the tick of now.
+                    tick = (System.nanoTime() - startNanos) / tickNanos;
+                    continue;
+                }
+                long sleepNanos = startNanos + (tick + 1) * tickNanos - System.nanoTime();
+                if (sleepNanos > 0) {
+                    LockSupport.parkNanos(this, sleepNanos);
+                    continue;
+                }
+                transferIncoming();
+                expireBucket((int)(tick & mask));
+                tick++;
+            }
+        }
+
+        private void transferIncoming() {
+            TimerTask task;
+            while ((task = incoming.poll()) != null) {
+                long ticks = (task.deadlineNanos - startNanos + tickNanos - 1) / tickNanos;
+                // Put overdue tasks to current bucket.
+                long targetTick = Math.max(ticks, tick);
+                task.remainingRounds = (targetTick - tick) / wheel.length;
+                int idx = (int)(targetTick & mask);
+                task.next = wheel[idx];
+                wheel[idx] = task;
+            }
+        }
+
+        private void expireBucket(int idx) {
+            TimerTask prev = null;
+            TimerTask task = wheel[idx];
+            while (task != null) {
+                TimerTask next = task.next;
+                if (task.remainingRounds <= 0) {
+                    if (prev == null) {
+                        wheel[idx] = next;
+                    } else {
+                        prev.next = next;
+                    }
+                    task.next = null;
+                    pendingCount.decrementAndGet();
+                    runTask(task.task);
+                } else {
+                    task.remainingRounds--;
+                    prev = task;
+                }
+                task = next;
+            }
+        }
+
+        private void runTask(Runnable task) {
+            try {
+                task.run();
+            } catch (Throwable ex) {
+                RecordLog.warn("[TimerWheel] Error when running timer task", ex);
+            }
+        }
+    }
+
+    private static final class TimerTask {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private long remainingRounds;
+        private TimerTask next;
+
+        TimerTask(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
@@ -52,15 +52,55 @@ public final class SentinelConfig {
     public static final String CHARSET = "csp.sentinel.charset";
     public static final String SINGLE_METRIC_FILE_SIZE = "csp.sentinel.metric.file.single.size";
     public static final String TOTAL_METRIC_FILE_COUNT = "csp.sentinel.metric.file.total.count";
+    public static final String METRIC_FILE_FORMAT = "csp.sentinel.metric.file.format";
     public static final String COLD_FACTOR = "csp.sentinel.flow.cold.factor";
     public static final String STATISTIC_MAX_RT = "csp.sentinel.statistic.max.rt";
     public static final String SPI_CLASSLOADER = "csp.sentinel.spi.classloader";
+    public static final String STATISTIC_BUCKET_LAYOUT = "csp.sentinel.statistic.bucket.layout";
+    public static final String STATISTIC_BUCKET_STRIPES = "csp.sentinel.statistic.bucket.stripes";
+    public static final String STATISTIC_WINDOW_ROTATION = "csp.sentinel.statistic.window.rotation";
+    public static final String SYSTEM_STATUS_INTERVAL_MS = "csp.sentinel.system.status.interval.ms";
+    public static final String SYSTEM_METRICS_PROVIDER = "csp.sentinel.system.metrics.provider";
+    public static final String SYSTEM_CGROUP_ROOT = "csp.sentinel.system.cgroup.root";
+    public static final String STATISTIC_RT_HISTOGRAM = "csp.sentinel.statistic.rt.histogram";
+    public static final String STATISTIC_RT_UNIT = "csp.sentinel.statistic.rt.unit";
+    public static final String TIME_TICK_MODE = "csp.sentinel.time.tick.mode";
+    public static final String METRIC_WRITE_QUEUE_SIZE = "csp.sentinel.metric.write.queue.size";
+    public static final String STATISTIC_NODE_COMPACT = "csp.sentinel.statistic.node.compact";
+    public static final String RESOURCE_IDLE_TTL_MS = "csp.sentinel.resource.idle.ttl.ms";
 
     public static final String DEFAULT_CHARSET = "UTF-8";
     public static final long DEFAULT_SINGLE_METRIC_FILE_SIZE = 1024 * 1024 * 50;
     public static final int DEFAULT_TOTAL_METRIC_FILE_COUNT = 6;
+    public static final String METRIC_FILE_FORMAT_TEXT = "text";
+    public static final String METRIC_FILE_FORMAT_BINARY = "binary";
+    public static final String DEFAULT_METRIC_FILE_FORMAT = METRIC_FILE_FORMAT_TEXT;
     public static final int DEFAULT_COLD_FACTOR = 3;
     public static final int DEFAULT_STATISTIC_MAX_RT = 5000;
+    public static final String BUCKET_LAYOUT_ADDER = "adder";
+    public static final String BUCKET_LAYOUT_STRIPED = "striped";
+    public static final String BUCKET_LAYOUT_COMPACT = "compact";
+    public static final String DEFAULT_STATISTIC_BUCKET_LAYOUT = BUCKET_LAYOUT_ADDER;
+    public static final int MAX_STATISTIC_BUCKET_STRIPES = 64;
+    public static final String WINDOW_ROTATION_LOCK = "lock";
+    public static final String WINDOW_ROTATION_EPOCH = "epoch";
+    public static final String DEFAULT_STATISTIC_WINDOW_ROTATION = WINDOW_ROTATION_LOCK;
+    public static final String RT_UNIT_MILLIS = "ms";
+    public static final String RT_UNIT_MICROS = "us";
+    public static final String DEFAULT_STATISTIC_RT_UNIT = RT_UNIT_MILLIS;
+    public static final String TIME_TICK_MODE_ALWAYS = "always";
+    public static final String TIME_TICK_MODE_ADAPTIVE = "adaptive";
+    public static final String DEFAULT_TIME_TICK_MODE = TIME_TICK_MODE_ALWAYS;
+    public static final int DEFAULT_METRIC_WRITE_QUEUE_SIZE = 8;
+    public static final long DEFAULT_RESOURCE_IDLE_TTL_MS = 0;
+    public static final long DEFAULT_SYSTEM_STATUS_INTERVAL_MS = 250;
+    public static final long MIN_SYSTEM_STATUS_INTERVAL_MS = 10;
+    public static final long MAX_SYSTEM_STATUS_INTERVAL_MS = 1000;
+    public static final String SYSTEM_METRICS_PROVIDER_AUTO = "auto";
+    public static final String SYSTEM_METRICS_PROVIDER_CGROUP = "cgroup";
+    public static final String SYSTEM_METRICS_PROVIDER_JMX = "jmx";
+    public static final String DEFAULT_SYSTEM_METRICS_PROVIDER = SYSTEM_METRICS_PROVIDER_JMX;
+    public static final String DEFAULT_SYSTEM_CGROUP_ROOT = "/sys/fs/cgroup";
 
     static {
         try {
@@ -176,6 +216,34 @@ public final class SentinelConfig {
         }
     }
 
+    /**
+     * <p>Get the capacity of the queue of metric snapshots waiting to be written to metric log files.
+     * Each snapshot holds the metrics of all resources collected in one run of the metric timer (normally
+     * one second). When the queue is full, the oldest snapshot is dropped.</p>
+     *
+     * @return the capacity of the metric write queue
+     * @since 1.8.1
+     */
+    public static int metricWriteQueueSize() {
+        String v = props.get(METRIC_WRITE_QUEUE_SIZE);
+        try {
+            if (StringUtil.isEmpty(v)) {
+                return DEFAULT_METRIC_WRITE_QUEUE_SIZE;
+            }
+            int size = Integer.parseInt(v.trim());
+            if (size <= 0) {
+                RecordLog.warn("[SentinelConfig] metricWriteQueueSize should be positive, "
+                    + "using the default value instead: " + DEFAULT_METRIC_WRITE_QUEUE_SIZE);
+                return DEFAULT_METRIC_WRITE_QUEUE_SIZE;
+            }
+            return size;
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Invalid metricWriteQueueSize value: {}, using the default value instead: "
+                    + DEFAULT_METRIC_WRITE_QUEUE_SIZE, v, throwable);
+            return DEFAULT_METRIC_WRITE_QUEUE_SIZE;
+        }
+    }
+
     public static int coldFactor() {
         try {
             int coldFactor = Integer.parseInt(props.get(COLD_FACTOR));
@@ -214,6 +282,264 @@ public final class SentinelConfig {
         }
     }
 
+    /**
+     * <p>Get the format of metric log files: {@code text} (one readable line per record, the default)
+     * or {@code binary} (fixed-size records with dictionary-encoded resource names in memory-mapped segments).</p>
+     *
+     * @return the metric file format
+     * @since 1.8.1
+     */
+    public static String metricFileFormat() {
+        String v = props.get(METRIC_FILE_FORMAT);
+        if (StringUtil.isEmpty(v)) {
+            return DEFAULT_METRIC_FILE_FORMAT;
+        }
+        v = v.trim();
+        if (METRIC_FILE_FORMAT_TEXT.equalsIgnoreCase(v) || METRIC_FILE_FORMAT_BINARY.equalsIgnoreCase(v)) {
+            return v.toLowerCase();
+        }
+        RecordLog.warn("[SentinelConfig] Invalid metricFileFormat value: {}, using the default value instead: "
+                + DEFAULT_METRIC_FILE_FORMAT, v);
+        return DEFAULT_METRIC_FILE_FORMAT;
+    }
+
+    /**
+     * <p>Get the counter layout of metric buckets: {@code adder} (one {@code LongAdder} per event, the default),
+     * {@code striped} (all events in cache-line-padded stripes of a single array) or {@code compact}
+     * (all events in a single unpadded array, inflated to {@code LongAdder}s under contention).
+     * The default layout is {@code compact} in compact node mode.</p>
+     *
+     * @return the metric bucket layout
+     * @since 1.8.1
+     */
+    public static String statisticBucketLayout() {
+        String defaultLayout = statisticNodeCompact() ? BUCKET_LAYOUT_COMPACT : DEFAULT_STATISTIC_BUCKET_LAYOUT;
+        String v = props.get(STATISTIC_BUCKET_LAYOUT);
+        if (StringUtil.isEmpty(v)) {
+            return defaultLayout;
+        }
+        v = v.trim();
+        if (BUCKET_LAYOUT_ADDER.equalsIgnoreCase(v) || BUCKET_LAYOUT_STRIPED.equalsIgnoreCase(v)
+            || BUCKET_LAYOUT_COMPACT.equalsIgnoreCase(v)) {
+            return v.toLowerCase();
+        }
+        RecordLog.warn("[SentinelConfig] Invalid statisticBucketLayout value: {}, using the default value instead: "
+                + defaultLayout, v);
+        return defaultLayout;
+    }
+
+    /**
+     * <p>Whether statistic nodes are in compact mode, which is disabled by default. In compact mode,
+     * the minute-level metrics of a node is created on its first read (e.g. by metric logging or
+     * commands of the dashboard) rather than on the creation of the node, and metric buckets are
+     * in {@code compact} layout unless configured explicitly.</p>
+     *
+     * @return true if statistic nodes are in compact mode
+     * @since 1.8.1
+     */
+    public static boolean statisticNodeCompact() {
+        String v = props.get(STATISTIC_NODE_COMPACT);
+        return StringUtil.isNotBlank(v) && Boolean.parseBoolean(v.trim());
+    }
+
+    /**
+     * <p>Get the idle TTL of resources in milliseconds. Slot chains and nodes of resources that have
+     * no traffic and no rules for the TTL will be evicted in background. The default value is 0,
+     * which means idle resources are never evicted.</p>
+     *
+     * @return the idle TTL of resources in milliseconds, or 0 if eviction is disabled
+     * @since 1.8.1
+     */
+    public static long resourceIdleTtlMs() {
+        String v = props.get(RESOURCE_IDLE_TTL_MS);
+        try {
+            if (StringUtil.isEmpty(v)) {
+                return DEFAULT_RESOURCE_IDLE_TTL_MS;
+            }
+            long ttl = Long.parseLong(v.trim());
+            if (ttl < 0) {
+                RecordLog.warn("[SentinelConfig] resourceIdleTtlMs should not be negative, "
+                    + "using the default value instead: " + DEFAULT_RESOURCE_IDLE_TTL_MS);
+                return DEFAULT_RESOURCE_IDLE_TTL_MS;
+            }
+            return ttl;
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Invalid resourceIdleTtlMs value: {}, using the default value instead: "
+                    + DEFAULT_RESOURCE_IDLE_TTL_MS, v, throwable);
+            return DEFAULT_RESOURCE_IDLE_TTL_MS;
+        }
+    }
+
+    /**
+     * <p>Get the stripe amount of each metric bucket for the {@code striped} layout. Each stripe takes
+     * one cache line (64 bytes) per bucket. The default value is the amount of available processors
+     * rounded up to a power of two, and no more than 16.</p>
+     *
+     * @return the stripe amount of each metric bucket
+     * @since 1.8.1
+     */
+    public static int statisticBucketStripes() {
+        int defaultStripes = Math.min(16, Integer.highestOneBit(
+            Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)));
+        String v = props.get(STATISTIC_BUCKET_STRIPES);
+        try {
+            if (StringUtil.isEmpty(v)) {
+                return defaultStripes;
+            }
+            int stripes = Integer.parseInt(v.trim());
+            if (stripes <= 0 || stripes > MAX_STATISTIC_BUCKET_STRIPES) {
+                RecordLog.warn("[SentinelConfig] statisticBucketStripes should be in (0, "
+                    + MAX_STATISTIC_BUCKET_STRIPES + "], using the default value instead: " + defaultStripes);
+                return defaultStripes;
+            }
+            return stripes;
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Invalid statisticBucketStripes value: {}, using the default value instead: "
+                    + defaultStripes, v, throwable);
+            return defaultStripes;
+        }
+    }
+
+    /**
+     * <p>Get the way of rotating deprecated buckets in sliding windows: {@code lock} (reset the bucket
+     * under an update lock, the default) or {@code epoch} (reset a spare bucket after winning the CAS
+     * of a per-bucket epoch stamp, without lock or yield).</p>
+     *
+     * @return the window rotation mode
+     * @since 1.8.1
+     */
+    public static String statisticWindowRotation() {
+        String v = props.get(STATISTIC_WINDOW_ROTATION);
+        if (StringUtil.isEmpty(v)) {
+            return DEFAULT_STATISTIC_WINDOW_ROTATION;
+        }
+        v = v.trim();
+        if (WINDOW_ROTATION_LOCK.equalsIgnoreCase(v) || WINDOW_ROTATION_EPOCH.equalsIgnoreCase(v)) {
+            return v.toLowerCase();
+        }
+        RecordLog.warn("[SentinelConfig] Invalid statisticWindowRotation value: {}, using the default value instead: "
+                + DEFAULT_STATISTIC_WINDOW_ROTATION, v);
+        return DEFAULT_STATISTIC_WINDOW_ROTATION;
+    }
+
+    /**
+     * <p>Whether to keep a histogram of response time in each metric bucket of {@link
+     * com.alibaba.csp.sentinel.node.ClusterNode}s, for RT percentiles. Disabled by default,
+     * as the histograms take much more memory than the counters of the buckets.</p>
+     *
+     * @return true if the RT histogram is enabled
+     * @since 1.8.1
+     */
+    public static boolean statisticRtHistogramEnabled() {
+        String v = props.get(STATISTIC_RT_HISTOGRAM);
+        return StringUtil.isNotBlank(v) && Boolean.parseBoolean(v.trim());
+    }
+
+    /**
+     * <p>Get the unit of response time recorded in metric buckets: {@code ms} (measured with the
+     * millisecond clock of {@link com.alibaba.csp.sentinel.util.TimeUtil}, the default) or {@code us}
+     * (measured with {@link System#nanoTime()} and recorded in microseconds).</p>
+     *
+     * @return the RT unit
+     * @since 1.8.1
+     */
+    public static String statisticRtUnit() {
+        String v = props.get(STATISTIC_RT_UNIT);
+        if (StringUtil.isEmpty(v)) {
+            return DEFAULT_STATISTIC_RT_UNIT;
+        }
+        v = v.trim();
+        if (RT_UNIT_MILLIS.equalsIgnoreCase(v) || RT_UNIT_MICROS.equalsIgnoreCase(v)) {
+            return v.toLowerCase();
+        }
+        RecordLog.warn("[SentinelConfig] Invalid statisticRtUnit value: {}, using the default value instead: "
+                + DEFAULT_STATISTIC_RT_UNIT, v);
+        return DEFAULT_STATISTIC_RT_UNIT;
+    }
+
+    /**
+     * <p>Get the mode of the time tick thread of {@link com.alibaba.csp.sentinel.util.TimeUtil}:
+     * {@code always} (update the cached time every millisecond, the default) or {@code adaptive}
+     * (stop ticking when the time is rarely read and read the system clock directly instead).</p>
+     *
+     * @return the time tick mode
+     * @since 1.8.1
+     */
+    public static String timeTickMode() {
+        String v = props.get(TIME_TICK_MODE);
+        if (StringUtil.isEmpty(v)) {
+            return DEFAULT_TIME_TICK_MODE;
+        }
+        v = v.trim();
+        if (TIME_TICK_MODE_ALWAYS.equalsIgnoreCase(v) || TIME_TICK_MODE_ADAPTIVE.equalsIgnoreCase(v)) {
+            return v.toLowerCase();
+        }
+        RecordLog.warn("[SentinelConfig] Invalid timeTickMode value: {}, using the default value instead: "
+                + DEFAULT_TIME_TICK_MODE, v);
+        return DEFAULT_TIME_TICK_MODE;
+    }
+
+    /**
+     * <p>Get the interval of sampling system status (load and CPU usage), in milliseconds.</p>
+     *
+     * @return the sampling interval in milliseconds
+     * @since 1.8.1
+     */
+    public static long systemStatusIntervalMs() {
+        String v = props.get(SYSTEM_STATUS_INTERVAL_MS);
+        try {
+            if (StringUtil.isEmpty(v)) {
+                return DEFAULT_SYSTEM_STATUS_INTERVAL_MS;
+            }
+            long interval = Long.parseLong(v.trim());
+            if (interval < MIN_SYSTEM_STATUS_INTERVAL_MS || interval > MAX_SYSTEM_STATUS_INTERVAL_MS) {
+                RecordLog.warn("[SentinelConfig] systemStatusIntervalMs should be in [" + MIN_SYSTEM_STATUS_INTERVAL_MS
+                    + ", " + MAX_SYSTEM_STATUS_INTERVAL_MS + "], using the default value instead: "
+                    + DEFAULT_SYSTEM_STATUS_INTERVAL_MS);
+                return DEFAULT_SYSTEM_STATUS_INTERVAL_MS;
+            }
+            return interval;
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Invalid systemStatusIntervalMs value: {}, "
+                    + "using the default value instead: " + DEFAULT_SYSTEM_STATUS_INTERVAL_MS, v, throwable);
+            return DEFAULT_SYSTEM_STATUS_INTERVAL_MS;
+        }
+    }
+
+    /**
+     * <p>Get the provider of system metrics: {@code jmx} (the default), {@code cgroup}, or {@code auto}
+     * (cgroup if available, or else JMX). The cgroup provider reports the CPU pressure of the container
+     * as the system load, so it should be enabled explicitly.</p>
+     *
+     * @return the system metrics provider type
+     * @since 1.8.1
+     */
+    public static String systemMetricsProvider() {
+        String v = props.get(SYSTEM_METRICS_PROVIDER);
+        if (StringUtil.isEmpty(v)) {
+            return DEFAULT_SYSTEM_METRICS_PROVIDER;
+        }
+        v = v.trim();
+        if (SYSTEM_METRICS_PROVIDER_AUTO.equalsIgnoreCase(v) || SYSTEM_METRICS_PROVIDER_CGROUP.equalsIgnoreCase(v)
+            || SYSTEM_METRICS_PROVIDER_JMX.equalsIgnoreCase(v)) {
+            return v.toLowerCase();
+        }
+        RecordLog.warn("[SentinelConfig] Invalid systemMetricsProvider value: {}, using the default value instead: "
+                + DEFAULT_SYSTEM_METRICS_PROVIDER, v);
+        return DEFAULT_SYSTEM_METRICS_PROVIDER;
+    }
+
+    /**
+     * <p>Get the root directory of the cgroup file system.</p>
+     *
+     * @return the cgroup root directory
+     * @since 1.8.1
+     */
+    public static String systemCgroupRoot() {
+        String v = props.get(SYSTEM_CGROUP_ROOT);
+        return StringUtil.isBlank(v) ? DEFAULT_SYSTEM_CGROUP_ROOT : v.trim();
+    }
+
     /**
      * Function for resolving project name. The order is elaborated below:
      *
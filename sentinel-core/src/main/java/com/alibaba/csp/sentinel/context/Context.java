@@ -78,6 +78,18 @@ public class Context {
 
     private final boolean async;
 
+    /**
+     * Whether the traffic shaping controllers should record the time to wait in this context rather than
+     * sleeping on current thread, which is used by the non-blocking entry
+     * ({@link com.alibaba.csp.sentinel.SphU#entryAsync(String)}).
+     */
+    private boolean pacingDeferred;
+
+    /**
+     * The max time to wait (in milliseconds) recorded by the traffic shaping controllers when pacing is deferred.
+     */
+    private long pacingDelayMs;
+
     /**
      * Create a new async context.
      *
@@ -135,6 +147,48 @@ public class Context {
         return this;
     }
 
+    /**
+     * @return whether the traffic shaping controllers should record the time to wait rather than sleeping
+     * @since 1.8.1
+     */
+    public boolean isPacingDeferred() {
+        return pacingDeferred;
+    }
+
+    /**
+     * Enable or disable deferred pacing for current context. The recorded delay is cleared.
+     *
+     * @param pacingDeferred whether the pacing is deferred to the caller
+     * @return current context
+     * @since 1.8.1
+     */
+    public Context setPacingDeferred(boolean pacingDeferred) {
+        this.pacingDeferred = pacingDeferred;
+        this.pacingDelayMs = 0;
+        return this;
+    }
+
+    /**
+     * Record the time that current invocation needs to wait before proceeding.
+     * The max one will be kept if there are multiple controllers.
+     *
+     * @param delayMs time to wait in milliseconds
+     * @since 1.8.1
+     */
+    public void deferPacing(long delayMs) {
+        if (delayMs > pacingDelayMs) {
+            this.pacingDelayMs = delayMs;
+        }
+    }
+
+    /**
+     * @return the time that current invocation needs to wait before proceeding in milliseconds
+     * @since 1.8.1
+     */
+    public long getPacingDelayMs() {
+        return pacingDelayMs;
+    }
+
     public double getOriginTotalQps() {
         return getOriginNode() == null ? 0 : getOriginNode().totalQps();
     }
@@ -15,9 +15,9 @@
  */
 package com.alibaba.csp.sentinel.context;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
@@ -52,9 +52,20 @@ public class ContextUtil {
     /**
      * Holds all {@link EntranceNode}. Each {@link EntranceNode} is associated with a distinct context name.
      */
-    private static volatile Map<String, DefaultNode> contextNameNodeMap = new HashMap<>();
+    private static final ConcurrentMap<String, DefaultNode> contextNameNodeMap = new ConcurrentHashMap<>();
+
+    /**
+     * Amount of registered entrance nodes, which is reserved before a new node is published
+     * so that the {@link Constants#MAX_CONTEXT_NAME_SIZE} limit holds without locking.
+     */
+    private static final AtomicInteger contextNameCount = new AtomicInteger(0);
+
+    /**
+     * Holds the default context of each thread that could be reused by entries of {@code ResourceHandle},
+     * so that no context will be created for each invocation in default context.
+     */
+    private static final ThreadLocal<Context> reusableDefaultContextHolder = new ThreadLocal<>();
 
-    private static final ReentrantLock LOCK = new ReentrantLock();
     private static final Context NULL_CONTEXT = new NullContext();
 
     static {
@@ -67,6 +78,7 @@ public class ContextUtil {
         EntranceNode node = new EntranceNode(new StringResourceWrapper(defaultContextName, EntryType.IN), null);
         Constants.ROOT.addChild(node);
         contextNameNodeMap.put(defaultContextName, node);
+        contextNameCount.incrementAndGet();
     }
 
     /**
@@ -76,6 +88,7 @@ public class ContextUtil {
         if (contextNameNodeMap != null) {
             RecordLog.warn("Context map cleared and reset to initial state");
             contextNameNodeMap.clear();
+            contextNameCount.set(0);
             initDefaultContext();
         }
     }
@@ -120,34 +133,12 @@ public class ContextUtil {
     protected static Context trueEnter(String name, String origin) {
         Context context = contextHolder.get();
         if (context == null) {
-            Map<String, DefaultNode> localCacheNameMap = contextNameNodeMap;
-            DefaultNode node = localCacheNameMap.get(name);
+            DefaultNode node = contextNameNodeMap.get(name);
             if (node == null) {
-                if (localCacheNameMap.size() > Constants.MAX_CONTEXT_NAME_SIZE) {
+                node = registerEntranceNode(name);
+                if (node == null) {
                     setNullContext();
                     return NULL_CONTEXT;
-                } else {
-                    LOCK.lock();
-                    try {
-                        node = contextNameNodeMap.get(name);
-                        if (node == null) {
-                            if (contextNameNodeMap.size() > Constants.MAX_CONTEXT_NAME_SIZE) {
-                                setNullContext();
-                                return NULL_CONTEXT;
-                            } else {
-                                node = new EntranceNode(new StringResourceWrapper(name, EntryType.IN), null);
-                                // Add entrance node.
-                                Constants.ROOT.addChild(node);
-
-                                Map<String, DefaultNode> newMap = new HashMap<>(contextNameNodeMap.size() + 1);
-                                newMap.putAll(contextNameNodeMap);
-                                newMap.put(name, node);
-                                contextNameNodeMap = newMap;
-                            }
-                        }
-                    } finally {
-                        LOCK.unlock();
-                    }
                 }
             }
             context = new Context(node, name);
@@ -158,6 +149,50 @@ public class ContextUtil {
         return context;
     }
 
+    private static DefaultNode registerEntranceNode(String name) {
+        // Reserve a slot first so that concurrent registrations won't exceed the limit.
+        // Near the limit, a registration may be rejected while a racing registration of the same name
+        // still holds its reserved slot. Such rejection is transient and later invocations will retry.
+        if (contextNameCount.getAndIncrement() > Constants.MAX_CONTEXT_NAME_SIZE) {
+            contextNameCount.decrementAndGet();
+            return contextNameNodeMap.get(name);
+        }
+        DefaultNode newNode = new EntranceNode(new StringResourceWrapper(name, EntryType.IN), null);
+        DefaultNode node = contextNameNodeMap.putIfAbsent(name, newNode);
+        if (node != null) {
+            // Other thread has registered the entrance node, so release the reserved slot.
+            contextNameCount.decrementAndGet();
+            return node;
+        }
+        // Add entrance node.
+        Constants.ROOT.addChild(newNode);
+        return newNode;
+    }
+
+    /**
+     * Enter the default context, reusing the default context instance cached for current thread.
+     * The returned context is the same as {@link #getContext()} if current thread has already been in a context.
+     *
+     * @return current context or the reused default context
+     * @since 1.8.1
+     */
+    protected static Context trueEnterReusableDefault() {
+        Context context = contextHolder.get();
+        if (context == null) {
+            DefaultNode node = contextNameNodeMap.get(Constants.CONTEXT_DEFAULT_NAME);
+            context = reusableDefaultContextHolder.get();
+            if (context == null || context.getEntranceNode() != node) {
+                context = new Context(node, Constants.CONTEXT_DEFAULT_NAME);
+                reusableDefaultContextHolder.set(context);
+            } else {
+                context.setCurEntry(null);
+                context.setOrigin("");
+            }
+            contextHolder.set(context);
+        }
+        return context;
+    }
+
     private static boolean shouldWarn = true;
 
     private static void setNullContext() {
@@ -211,7 +246,7 @@ public class ContextUtil {
      * @since 0.2.0
      */
     public static int contextSize() {
-        return contextNameNodeMap.size();
+        return contextNameCount.get();
     }
 
     /**
@@ -15,6 +15,8 @@
  */
 package com.alibaba.csp.sentinel.metric.extension.callback;
 
+import java.util.List;
+
 import com.alibaba.csp.sentinel.Entry;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.metric.extension.AdvancedMetricExtension;
@@ -39,7 +41,9 @@ public class MetricExitCallback implements ProcessorSlotExitCallback {
         if (curEntry == null) {
             return;
         }
-        for (MetricExtension m : MetricExtensionProvider.getMetricExtensions()) {
+        List<MetricExtension> extensions = MetricExtensionProvider.getMetricExtensions();
+        for (int i = 0; i < extensions.size(); i++) {
+            MetricExtension m = extensions.get(i);
             if (curEntry.getBlockError() != null) {
                 continue;
             }
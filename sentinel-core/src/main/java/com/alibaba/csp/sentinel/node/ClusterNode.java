@@ -20,9 +20,11 @@ import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.alibaba.csp.sentinel.ResourceTypeConstants;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
 
 /**
  * <p>
@@ -44,6 +46,8 @@ import com.alibaba.csp.sentinel.util.AssertUtil;
  */
 public class ClusterNode extends StatisticNode {
 
+    private static final boolean RT_HISTOGRAM_ENABLED = SentinelConfig.statisticRtHistogramEnabled();
+
     private final String name;
     private final int resourceType;
 
@@ -52,6 +56,7 @@ public class ClusterNode extends StatisticNode {
     }
 
     public ClusterNode(String name, int resourceType) {
+        super(RT_HISTOGRAM_ENABLED);
         AssertUtil.notEmpty(name, "name cannot be empty");
         this.name = name;
         this.resourceType = resourceType;
@@ -69,6 +74,17 @@ public class ClusterNode extends StatisticNode {
 
     private final ReentrantLock lock = new ReentrantLock();
 
+    /**
+     * Coarse-grained (at most once per second) time of the latest entry, which is tracked
+     * only when idle resource eviction is enabled.
+     */
+    private volatile long lastAccessTime = TimeUtil.currentTimeMillis();
+
+    /**
+     * Whether the node has been evicted from the cluster node map due to idleness.
+     */
+    private volatile boolean evicted = false;
+
     /**
      * Get resource name of the resource node.
      *
@@ -123,4 +139,42 @@ public class ClusterNode extends StatisticNode {
         return originCountMap;
     }
 
+    /**
+     * Record an access of the resource. The access time is only updated once per second.
+     *
+     * @param now current time in milliseconds
+     * @since 1.8.1
+     */
+    public void markAccessed(long now) {
+        if (now - lastAccessTime >= 1000) {
+            lastAccessTime = now;
+        }
+    }
+
+    /**
+     * @return time of the latest recorded access in milliseconds
+     * @since 1.8.1
+     */
+    public long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    /**
+     * Mark the node as evicted, so holders of the node (e.g. slot chains in use at the time of
+     * eviction) could resolve the current node of the resource again.
+     *
+     * @since 1.8.1
+     */
+    public void markEvicted() {
+        this.evicted = true;
+    }
+
+    /**
+     * @return whether the node has been evicted due to idleness
+     * @since 1.8.1
+     */
+    public boolean isEvicted() {
+        return evicted;
+    }
+
 }
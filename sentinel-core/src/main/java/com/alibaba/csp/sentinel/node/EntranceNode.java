@@ -53,6 +53,25 @@ public class EntranceNode extends DefaultNode {
         return total / (totalQps == 0 ? 1 : totalQps);
     }
 
+    /**
+     * Response time of the entrance is not recorded by itself, and histograms are only kept in
+     * {@link ClusterNode}s, so the max percentile value among the cluster nodes of the children
+     * is taken as an upper bound.
+     */
+    @Override
+    public double rtPercentile(double percentile) {
+        double r = 0;
+        for (Node node : getChildList()) {
+            if (node instanceof DefaultNode) {
+                node = ((DefaultNode) node).getClusterNode();
+            }
+            if (node instanceof RtPercentileNode) {
+                r = Math.max(r, ((RtPercentileNode) node).rtPercentile(percentile));
+            }
+        }
+        return r;
+    }
+
     @Override
     public double blockQps() {
         double blockQps = 0;
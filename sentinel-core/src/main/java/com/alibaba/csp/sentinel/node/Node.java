@@ -111,14 +111,14 @@ public interface Node extends OccupySupport, DebugSupport {
     double exceptionQps();
 
     /**
-     * Get average rt per second.
+     * Get average rt per second, in milliseconds.
      *
      * @return average response time per second
      */
     double avgRt();
 
     /**
-     * Get minimal response time.
+     * Get minimal response time, in milliseconds.
      *
      * @return recorded minimal response time
      */
@@ -167,7 +167,7 @@ public interface Node extends OccupySupport, DebugSupport {
     /**
      * Add rt and success count.
      *
-     * @param rt      response time
+     * @param rt      response time, in the unit of {@link com.alibaba.csp.sentinel.slots.statistic.RtUnit}
      * @param success success count to add
      */
     void addRtAndSuccess(long rt, int success);
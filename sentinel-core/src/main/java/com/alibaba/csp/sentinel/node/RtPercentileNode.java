@@ -0,0 +1,33 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node;
+
+/**
+ * A {@link Node} that tracks the distribution of response time, so response time at a given
+ * percentile can be read.
+ *
+ * @since 1.8.1
+ */
+public interface RtPercentileNode {
+
+    /**
+     * Get response time at the given percentile per second, in milliseconds.
+     *
+     * @param percentile percentile in [0, 100], e.g. 99 for p99
+     * @return response time at the percentile, or 0 if not available
+     */
+    double rtPercentile(double percentile);
+}
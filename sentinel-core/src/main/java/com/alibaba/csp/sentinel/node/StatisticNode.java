@@ -15,16 +15,20 @@
  */
 package com.alibaba.csp.sentinel.node;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.node.metric.MetricNode;
+import com.alibaba.csp.sentinel.slots.statistic.RtUnit;
 import com.alibaba.csp.sentinel.slots.statistic.base.LongAdder;
 import com.alibaba.csp.sentinel.slots.statistic.metric.ArrayMetric;
 import com.alibaba.csp.sentinel.slots.statistic.metric.Metric;
+import com.alibaba.csp.sentinel.slots.statistic.metric.RtPercentileMetric;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 import com.alibaba.csp.sentinel.util.function.Predicate;
 
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * <p>The statistic node keep three kinds of real-time statistics metrics:</p>
@@ -84,23 +88,36 @@ import java.util.concurrent.ConcurrentHashMap;
  *                                                    request
  * </pre>
  *
+ * <p>In compact mode ({@link SentinelConfig#statisticNodeCompact()}), the minute-level metrics is created
+ * on its first read, so nodes whose minute-level metrics are never read (e.g. most {@link DefaultNode}s
+ * and origin nodes) take much less memory. Requests before the creation are not counted in minute level.</p>
+ *
  * @author qinan.qn
  * @author jialiang.linjl
  */
-public class StatisticNode implements Node {
+public class StatisticNode implements Node, RtPercentileNode {
+
+    private static final boolean COMPACT = SentinelConfig.statisticNodeCompact();
+    private static final AtomicReferenceFieldUpdater<StatisticNode, Metric> MINUTE_COUNTER_UPDATER
+        = AtomicReferenceFieldUpdater.newUpdater(StatisticNode.class, Metric.class, "rollingCounterInMinute");
 
     /**
      * Holds statistics of the recent {@code INTERVAL} seconds. The {@code INTERVAL} is divided into time spans
      * by given {@code sampleCount}.
      */
-    private transient volatile Metric rollingCounterInSecond = new ArrayMetric(SampleCountProperty.SAMPLE_COUNT,
-        IntervalProperty.INTERVAL);
+    private transient volatile Metric rollingCounterInSecond;
 
     /**
      * Holds statistics of the recent 60 seconds. The windowLengthInMs is deliberately set to 1000 milliseconds,
      * meaning each bucket per second, in this way we can get accurate statistics of each second.
+     * Null until the first read in compact mode, see {@link #minuteCounter()}.
+     */
+    private transient volatile Metric rollingCounterInMinute;
+
+    /**
+     * Whether to keep histograms of response time for {@link #rtPercentile(double)}.
      */
-    private transient Metric rollingCounterInMinute = new ArrayMetric(60, 60 * 1000, false);
+    private final boolean rtHistogramEnabled;
 
     /**
      * The counter for thread count.
@@ -112,13 +129,28 @@ public class StatisticNode implements Node {
      */
     private long lastFetchTime = -1;
 
+    public StatisticNode() {
+        this(false);
+    }
+
+    /**
+     * @param rtHistogramEnabled whether to keep histograms of response time, which is required by
+     *                           {@link #rtPercentile(double)}
+     * @since 1.8.1
+     */
+    protected StatisticNode(boolean rtHistogramEnabled) {
+        this.rtHistogramEnabled = rtHistogramEnabled;
+        this.rollingCounterInSecond = newSecondCounter();
+        this.rollingCounterInMinute = COMPACT ? null : newMinuteCounter();
+    }
+
     @Override
     public Map<Long, MetricNode> metrics() {
         // The fetch operation is thread-safe under a single-thread scheduler pool.
         long currentTime = TimeUtil.currentTimeMillis();
         currentTime = currentTime - currentTime % 1000;
         Map<Long, MetricNode> metrics = new ConcurrentHashMap<>();
-        List<MetricNode> nodesOfEverySecond = rollingCounterInMinute.details();
+        List<MetricNode> nodesOfEverySecond = minuteCounter().details();
         long newLastFetchTime = lastFetchTime;
         // Iterate metrics of all resources, filter valid metrics (not-empty and up-to-date).
         for (MetricNode node : nodesOfEverySecond) {
@@ -134,7 +166,7 @@ public class StatisticNode implements Node {
 
     @Override
     public List<MetricNode> rawMetricsInMin(Predicate<Long> timePredicate) {
-        return rollingCounterInMinute.detailsOnCondition(timePredicate);
+        return minuteCounter().detailsOnCondition(timePredicate);
     }
 
     private boolean isNodeInTime(MetricNode node, long currentTime) {
@@ -146,19 +178,49 @@ public class StatisticNode implements Node {
             || node.getExceptionQps() > 0 || node.getRt() > 0 || node.getOccupiedPassQps() > 0;
     }
 
+    /**
+     * Get the minute-level metrics, which is created here on the first read in compact mode.
+     */
+    private Metric minuteCounter() {
+        Metric minute = rollingCounterInMinute;
+        if (minute == null) {
+            MINUTE_COUNTER_UPDATER.compareAndSet(this, null, newMinuteCounter());
+            minute = rollingCounterInMinute;
+        }
+        return minute;
+    }
+
+    private Metric newSecondCounter() {
+        return new ArrayMetric(SampleCountProperty.SAMPLE_COUNT, IntervalProperty.INTERVAL, true,
+            rtHistogramEnabled);
+    }
+
+    private Metric newMinuteCounter() {
+        return new ArrayMetric(60, 60 * 1000, false, rtHistogramEnabled);
+    }
+
+    /**
+     * @return whether the minute-level metrics has been created
+     * @since 1.8.1
+     */
+    public boolean isMinuteCounterCreated() {
+        return rollingCounterInMinute != null;
+    }
+
     @Override
     public void reset() {
-        rollingCounterInSecond = new ArrayMetric(SampleCountProperty.SAMPLE_COUNT, IntervalProperty.INTERVAL);
+        rollingCounterInSecond = newSecondCounter();
     }
 
     @Override
     public long totalRequest() {
-        return rollingCounterInMinute.pass() + rollingCounterInMinute.block();
+        Metric minute = minuteCounter();
+        return minute.pass() + minute.block();
     }
 
     @Override
     public long blockRequest() {
-        return rollingCounterInMinute.block();
+        return minuteCounter().block();
     }
 
     @Override
@@ -168,12 +230,12 @@ public class StatisticNode implements Node {
 
     @Override
     public double previousBlockQps() {
-        return this.rollingCounterInMinute.previousWindowBlock();
+        return minuteCounter().previousWindowBlock();
     }
 
     @Override
     public double previousPassQps() {
-        return this.rollingCounterInMinute.previousWindowPass();
+        return minuteCounter().previousWindowPass();
     }
 
     @Override
@@ -183,7 +245,7 @@ public class StatisticNode implements Node {
 
     @Override
     public long totalSuccess() {
-        return rollingCounterInMinute.success();
+        return minuteCounter().success();
     }
 
     @Override
@@ -193,7 +255,7 @@ public class StatisticNode implements Node {
 
     @Override
     public long totalException() {
-        return rollingCounterInMinute.exception();
+        return minuteCounter().exception();
     }
 
     @Override
@@ -203,7 +265,7 @@ public class StatisticNode implements Node {
 
     @Override
     public long totalPass() {
-        return rollingCounterInMinute.pass();
+        return minuteCounter().pass();
     }
 
     @Override
@@ -229,12 +291,21 @@ public class StatisticNode implements Node {
             return 0;
         }
 
-        return rollingCounterInSecond.rt() * 1.0 / successCount;
+        return RtUnit.toMillis(rollingCounterInSecond.rt() * 1.0 / successCount);
     }
 
     @Override
     public double minRt() {
-        return rollingCounterInSecond.minRt();
+        return RtUnit.toMillis(rollingCounterInSecond.minRt());
+    }
+
+    @Override
+    public double rtPercentile(double percentile) {
+        Metric second = rollingCounterInSecond;
+        if (second instanceof RtPercentileMetric) {
+            return RtUnit.toMillis(((RtPercentileMetric) second).rtPercentile(percentile));
+        }
+        return 0;
     }
 
     @Override
@@ -245,7 +316,10 @@ public class StatisticNode implements Node {
     @Override
     public void addPassRequest(int count) {
         rollingCounterInSecond.addPass(count);
-        rollingCounterInMinute.addPass(count);
+        Metric minute = rollingCounterInMinute;
+        if (minute != null) {
+            minute.addPass(count);
+        }
     }
 
     @Override
@@ -253,20 +327,29 @@ public class StatisticNode implements Node {
         rollingCounterInSecond.addSuccess(successCount);
         rollingCounterInSecond.addRT(rt);
 
-        rollingCounterInMinute.addSuccess(successCount);
-        rollingCounterInMinute.addRT(rt);
+        Metric minute = rollingCounterInMinute;
+        if (minute != null) {
+            minute.addSuccess(successCount);
+            minute.addRT(rt);
+        }
     }
 
     @Override
     public void increaseBlockQps(int count) {
         rollingCounterInSecond.addBlock(count);
-        rollingCounterInMinute.addBlock(count);
+        Metric minute = rollingCounterInMinute;
+        if (minute != null) {
+            minute.addBlock(count);
+        }
     }
 
     @Override
     public void increaseExceptionQps(int count) {
         rollingCounterInSecond.addException(count);
-        rollingCounterInMinute.addException(count);
+        Metric minute = rollingCounterInMinute;
+        if (minute != null) {
+            minute.addException(count);
+        }
     }
 
     @Override
@@ -331,7 +414,10 @@ public class StatisticNode implements Node {
 
     @Override
     public void addOccupiedPass(int acquireCount) {
-        rollingCounterInMinute.addOccupiedPass(acquireCount);
-        rollingCounterInMinute.addPass(acquireCount);
+        Metric minute = rollingCounterInMinute;
+        if (minute != null) {
+            minute.addOccupiedPass(acquireCount);
+            minute.addPass(acquireCount);
+        }
     }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node.metric;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+/**
+ * <p>Writes metric snapshots to metric log files in a dedicated writer thread, so that encoding and I/O
+ * do not delay the collection of metrics.</p>
+ *
+ * <p>Snapshots are handed over through a bounded queue. When the writer falls behind and the queue is full,
+ * the oldest snapshot is dropped, so that the freshest metrics are kept and written in order. Dropped
+ * snapshots and metric nodes are counted.</p>
+ *
+ * @since 1.8.1
+ */
+public class AsyncMetricWriter {
+
+    private final MetricWriter metricWriter;
+    private final BlockingQueue<Map<Long, List<MetricNode>>> queue;
+
+    private final AtomicLong droppedSnapshotCount = new AtomicLong();
+    private final AtomicLong droppedNodeCount = new AtomicLong();
+    private final AtomicLong writtenNodeCount = new AtomicLong();
+
+    /**
+     * @param metricWriter the underlying metric writer
+     * @param queueSize    capacity of the snapshot queue
+     */
+    public AsyncMetricWriter(MetricWriter metricWriter, int queueSize) {
+        this.metricWriter = metricWriter;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        Thread writerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeLoop();
+            }
+        });
+        writerThread.setDaemon(true);
+        writerThread.setName("sentinel-metrics-writer-thread");
+        writerThread.start();
+    }
+
+    /**
+     * Submit a metric snapshot to write. The snapshot should not be modified afterwards.
+     *
+     * @param snapshot metric nodes of all resources grouped by timestamp, in ascending order of timestamp
+     * @return false if older snapshots were dropped as the queue is full, otherwise true
+     */
+    public boolean submit(Map<Long, List<MetricNode>> snapshot) {
+        if (snapshot == null || snapshot.isEmpty()) {
+            return true;
+        }
+        boolean dropped = false;
+        while (!queue.offer(snapshot)) {
+            Map<Long, List<MetricNode>> oldest = queue.poll();
+            if (oldest != null) {
+                long nodes = nodeCountOf(oldest);
+                droppedSnapshotCount.incrementAndGet();
+                droppedNodeCount.addAndGet(nodes);
+                dropped = true;
+                RecordLog.warn("[AsyncMetricWriter] Metric write queue is full, dropped the oldest snapshot of "
+                    + "{} metric nodes (dropped nodes in total: {})", nodes, droppedNodeCount.get());
+            }
+        }
+        return !dropped;
+    }
+
+    private void writeLoop() {
+        while (true) {
+            Map<Long, List<MetricNode>> snapshot;
+            try {
+                snapshot = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            for (Entry<Long, List<MetricNode>> entry : snapshot.entrySet()) {
+                try {
+                    metricWriter.write(entry.getKey(), entry.getValue());
+                    writtenNodeCount.addAndGet(entry.getValue().size());
+                } catch (Throwable e) {
+                    RecordLog.warn("[AsyncMetricWriter] Write metric error", e);
+                }
+            }
+        }
+    }
+
+    private static long nodeCountOf(Map<Long, List<MetricNode>> snapshot) {
+        long count = 0;
+        for (List<MetricNode> nodes : snapshot.values()) {
+            count += nodes.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return count of snapshots dropped as the queue was full
+     */
+    public long getDroppedSnapshotCount() {
+        return droppedSnapshotCount.get();
+    }
+
+    /**
+     * @return count of metric nodes in the dropped snapshots
+     */
+    public long getDroppedNodeCount() {
+        return droppedNodeCount.get();
+    }
+
+    /**
+     * @return count of metric nodes written to metric log files
+     */
+    public long getWrittenNodeCount() {
+        return writtenNodeCount.get();
+    }
+
+    /**
+     * @return count of snapshots waiting to be written
+     */
+    public int getPendingSnapshotCount() {
+        return queue.size();
+    }
+}
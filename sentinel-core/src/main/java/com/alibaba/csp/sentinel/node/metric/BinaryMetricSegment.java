@@ -0,0 +1,182 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node.metric;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>A memory-mapped segment of the binary metric log. The segment file starts with a fixed header,
+ * followed by fixed-size records:</p>
+ * <pre>
+ * header: magic(4) | version(2) | reserved(2) | committed length(8)
+ * record: timestamp(8) | resource id(4) | passQps(8) | blockQps(8) | successQps(8) | exceptionQps(8)
+ *         | rt(8) | occupiedPassQps(8) | concurrency(4) | classification(4)
+ *         | rtP50(4) | rtP90(4) | rtP99(4) | rtP999(4)
+ * </pre>
+ * <p>Resource names are stored only once per segment, in a dictionary file ({@code ${segmentFileName}.dict})
+ * of {@link DataOutputStream#writeUTF(String)} entries, and the id of a resource is the order of its entry.
+ * The dictionary is flushed before the committed length is updated, so readers may rely on the committed
+ * length only.</p>
+ *
+ * @since 1.8.1
+ */
+final class BinaryMetricSegment {
+
+    static final int MAGIC = 0x534D4C47;
+    static final short VERSION = 2;
+    static final int HEADER_SIZE = 16;
+    static final int COMMITTED_OFFSET = 8;
+    static final int RECORD_SIZE = 84;
+    static final String DICT_FILE_SUFFIX = ".dict";
+
+    static final int DEFAULT_REGION_SIZE = 1024 * 1024;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final int regionSize;
+
+    private final DataOutputStream dictOut;
+    private final Map<String, Integer> dict = new HashMap<String, Integer>();
+
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long position = HEADER_SIZE;
+
+    BinaryMetricSegment(String fileName) throws IOException {
+        this(fileName, DEFAULT_REGION_SIZE);
+    }
+
+    BinaryMetricSegment(String fileName, int regionSize) throws IOException {
+        if (regionSize < RECORD_SIZE) {
+            throw new IllegalArgumentException("regionSize should be no less than " + RECORD_SIZE);
+        }
+        this.regionSize = regionSize;
+        this.file = new RandomAccessFile(fileName, "rw");
+        this.file.setLength(0);
+        this.channel = file.getChannel();
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        header.putInt(MAGIC).putShort(VERSION).putShort((short)0).putLong(HEADER_SIZE);
+        this.dictOut = new DataOutputStream(new BufferedOutputStream(
+            new FileOutputStream(formDictFileName(fileName), false)));
+    }
+
+    /**
+     * Append the record of the node to the segment. The record is invisible to readers until {@link #commit()}.
+     */
+    void append(MetricNode node) throws IOException {
+        int resourceId = resourceId(node.getResource());
+        if (region == null || position + RECORD_SIZE > regionStart + region.capacity()) {
+            // Map the next region from the current position, the file grows along with the mapping.
+            regionStart = position;
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionSize);
+        }
+        region.position((int)(position - regionStart));
+        region.putLong(node.getTimestamp())
+            .putInt(resourceId)
+            .putLong(node.getPassQps())
+            .putLong(node.getBlockQps())
+            .putLong(node.getSuccessQps())
+            .putLong(node.getExceptionQps())
+            .putLong(node.getRt())
+            .putLong(node.getOccupiedPassQps())
+            .putInt(node.getConcurrency())
+            .putInt(node.getClassification())
+            .putInt(toInt(node.getRtP50()))
+            .putInt(toInt(node.getRtP90()))
+            .putInt(toInt(node.getRtP99()))
+            .putInt(toInt(node.getRtP999()));
+        position += RECORD_SIZE;
+    }
+
+    /**
+     * Make all appended records visible to readers.
+     */
+    void commit() throws IOException {
+        dictOut.flush();
+        header.putLong(COMMITTED_OFFSET, position);
+    }
+
+    /**
+     * @return the end offset of the appended records
+     */
+    long position() {
+        return position;
+    }
+
+    void close() throws IOException {
+        try {
+            commit();
+            dictOut.close();
+            try {
+                // Cut the unused tail of the last region, readers never go beyond the committed length anyway.
+                file.setLength(position);
+            } catch (IOException ignore) {
+                // Some platforms forbid truncating a mapped file, which is harmless.
+            }
+        } finally {
+            file.close();
+        }
+    }
+
+    private int resourceId(String resource) throws IOException {
+        if (resource == null) {
+            resource = "";
+        }
+        Integer id = dict.get(resource);
+        if (id == null) {
+            id = dict.size();
+            dictOut.writeUTF(resource);
+            dict.put(resource, id);
+        }
+        return id;
+    }
+
+    private static int toInt(long value) {
+        return (int) Math.min(Integer.MAX_VALUE, value);
+    }
+
+    /**
+     * Form the resource dictionary file name of the {@code segmentFileName}.
+     */
+    static String formDictFileName(String segmentFileName) {
+        return segmentFileName + DICT_FILE_SUFFIX;
+    }
+
+    /**
+     * Read the committed length of the segment from the header.
+     *
+     * @return the committed length, or -1 if the file is not a valid segment
+     */
+    static long readCommitted(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            return -1;
+        }
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        if (buf.getInt(0) != MAGIC || buf.getShort(4) != VERSION) {
+            return -1;
+        }
+        return Math.min(buf.getLong(COMMITTED_OFFSET), channel.size());
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node.metric;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads metrics data from binary metric segments (see {@link BinaryMetricSegment}). Records are decoded
+ * straight from the mapped segment, and the resource name is resolved through the dictionary only for
+ * records that are actually returned.
+ *
+ * @since 1.8.1
+ */
+class BinaryMetricsReader extends MetricsReader {
+
+    /**
+     * Dictionary of the last read segment, as segments are mostly read one after another.
+     */
+    private String dictFileName;
+    private List<String> dict;
+
+    BinaryMetricsReader() {
+        super(Charset.forName("UTF-8"));
+    }
+
+    @Override
+    boolean readMetricsInOneFileByEndTime(List<MetricNode> list, String fileName, long offset,
+                                          long beginTimeMs, long endTimeMs, String identity) throws Exception {
+        MappedByteBuffer buf = mapRecords(fileName, offset);
+        if (buf == null) {
+            return true;
+        }
+        long beginSecond = beginTimeMs / 1000;
+        long endSecond = endTimeMs / 1000;
+        int identityId = -1;
+        if (identity != null) {
+            // Always reload here, the resource may be added to the segment after the dictionary is cached.
+            identityId = loadDict(fileName, Integer.MAX_VALUE).indexOf(identity);
+            if (identityId < 0) {
+                // The resource never appears in this segment, only check whether to go on to the next one.
+                identityId = Integer.MIN_VALUE;
+            }
+        }
+        while (buf.remaining() >= BinaryMetricSegment.RECORD_SIZE) {
+            int pos = buf.position();
+            long currentSecond = buf.getLong(pos) / 1000;
+            // currentSecond should >= beginSecond, otherwise a wrong metric file must occur
+            if (currentSecond < beginSecond || currentSecond > endSecond) {
+                return false;
+            }
+            if (identity == null || buf.getInt(pos + 8) == identityId) {
+                list.add(decode(buf, fileName));
+            } else {
+                buf.position(pos + BinaryMetricSegment.RECORD_SIZE);
+            }
+            if (list.size() >= MAX_LINES_RETURN) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    void readMetricsInOneFile(List<MetricNode> list, String fileName,
+                              long offset, int recommendLines) throws Exception {
+        MappedByteBuffer buf = mapRecords(fileName, offset);
+        if (buf == null) {
+            return;
+        }
+        long lastSecond = -1;
+        if (list.size() > 0) {
+            lastSecond = list.get(list.size() - 1).getTimestamp() / 1000;
+        }
+        while (buf.remaining() >= BinaryMetricSegment.RECORD_SIZE) {
+            long currentSecond = buf.getLong(buf.position()) / 1000;
+            if (list.size() >= recommendLines && currentSecond != lastSecond) {
+                break;
+            }
+            list.add(decode(buf, fileName));
+            lastSecond = currentSecond;
+        }
+    }
+
+    /**
+     * Map the committed records of the segment from {@code offset}.
+     *
+     * @return the mapped records, or null if the segment is invalid or nothing is there to read
+     */
+    private MappedByteBuffer mapRecords(String fileName, long offset) throws Exception {
+        RandomAccessFile file = null;
+        try {
+            file = new RandomAccessFile(fileName, "r");
+            FileChannel channel = file.getChannel();
+            long committed = BinaryMetricSegment.readCommitted(channel);
+            long start = Math.max(offset, BinaryMetricSegment.HEADER_SIZE);
+            if (committed <= start) {
+                return null;
+            }
+            // The mapping stays valid after the file is closed.
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, committed - start);
+        } finally {
+            if (file != null) {
+                file.close();
+            }
+        }
+    }
+
+    private MetricNode decode(MappedByteBuffer buf, String fileName) throws Exception {
+        MetricNode node = new MetricNode();
+        node.setTimestamp(buf.getLong());
+        int resourceId = buf.getInt();
+        node.setPassQps(buf.getLong());
+        node.setBlockQps(buf.getLong());
+        node.setSuccessQps(buf.getLong());
+        node.setExceptionQps(buf.getLong());
+        node.setRt(buf.getLong());
+        node.setOccupiedPassQps(buf.getLong());
+        node.setConcurrency(buf.getInt());
+        node.setClassification(buf.getInt());
+        node.setRtP50(buf.getInt());
+        node.setRtP90(buf.getInt());
+        node.setRtP99(buf.getInt());
+        node.setRtP999(buf.getInt());
+        List<String> names = loadDict(fileName, resourceId);
+        node.setResource(resourceId < names.size() ? names.get(resourceId) : "");
+        return node;
+    }
+
+    /**
+     * Load the dictionary of the segment, the cached one is reused unless it doesn't contain {@code resourceId}.
+     * The dictionary is always flushed before records get committed, so reloading once is enough.
+     */
+    private List<String> loadDict(String fileName, int resourceId) throws Exception {
+        String name = BinaryMetricSegment.formDictFileName(fileName);
+        if (name.equals(dictFileName) && resourceId < dict.size()) {
+            return dict;
+        }
+        List<String> names = new ArrayList<String>();
+        if (new File(name).exists()) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(name)));
+            try {
+                while (true) {
+                    names.add(in.readUTF());
+                }
+            } catch (EOFException ignore) {
+                // End of the dictionary, or a partially flushed entry.
+            } finally {
+                in.close();
+            }
+        }
+        this.dictFileName = name;
+        this.dict = names;
+        return names;
+    }
+}
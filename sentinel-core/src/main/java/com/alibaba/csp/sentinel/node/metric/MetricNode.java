@@ -19,6 +19,8 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+
 /**
  * Metrics data for a specific resource at given {@code timestamp}.
  *
@@ -27,6 +29,8 @@ import java.util.Date;
  */
 public class MetricNode {
 
+    private static final boolean RT_PERCENTILES_IN_STRING = SentinelConfig.statisticRtHistogramEnabled();
+
     private String resource;
     /**
      * Resource classification (e.g. SQL or RPC)
@@ -50,6 +54,16 @@ public class MetricNode {
      */
     private int concurrency;
 
+    /**
+     * Response time percentiles.
+     *
+     * @since 1.8.1
+     */
+    private long rtP50;
+    private long rtP90;
+    private long rtP99;
+    private long rtP999;
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -132,6 +146,42 @@ public class MetricNode {
         return this;
     }
 
+    public long getRtP50() {
+        return rtP50;
+    }
+
+    public MetricNode setRtP50(long rtP50) {
+        this.rtP50 = rtP50;
+        return this;
+    }
+
+    public long getRtP90() {
+        return rtP90;
+    }
+
+    public MetricNode setRtP90(long rtP90) {
+        this.rtP90 = rtP90;
+        return this;
+    }
+
+    public long getRtP99() {
+        return rtP99;
+    }
+
+    public MetricNode setRtP99(long rtP99) {
+        this.rtP99 = rtP99;
+        return this;
+    }
+
+    public long getRtP999() {
+        return rtP999;
+    }
+
+    public MetricNode setRtP999(long rtP999) {
+        this.rtP999 = rtP999;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "MetricNode{" +
@@ -145,6 +195,10 @@ public class MetricNode {
             ", rt=" + rt +
             ", concurrency=" + concurrency +
             ", occupiedPassQps=" + occupiedPassQps +
+            ", rtP50=" + rtP50 +
+            ", rtP90=" + rtP90 +
+            ", rtP99=" + rtP99 +
+            ", rtP999=" + rtP999 +
             '}';
     }
 
@@ -152,12 +206,20 @@ public class MetricNode {
      * To formatting string. All "|" in {@link #resource} will be replaced with
      * "_", format is: <br/>
      * <code>
-     * timestamp|resource|passQps|blockQps|successQps|exceptionQps|rt|occupiedPassQps
+     * timestamp|resource|passQps|blockQps|successQps|exceptionQps|rt|occupiedPassQps|concurrency|classification
+     * |rtP50|rtP90|rtP99|rtP999
      * </code>
+     * The RT percentiles are only appended when the RT histogram is enabled
+     * (see {@link SentinelConfig#statisticRtHistogramEnabled()}), as readers before 1.8.1 only recognize
+     * the classification in lines of exactly 10 fields.
      *
      * @return string format of this.
      */
     public String toThinString() {
+        return toThinString(RT_PERCENTILES_IN_STRING);
+    }
+
+    String toThinString(boolean withRtPercentiles) {
         StringBuilder sb = new StringBuilder();
         sb.append(timestamp).append("|");
         String legalName = resource.replaceAll("\\|", "_");
@@ -170,6 +232,9 @@ public class MetricNode {
         sb.append(occupiedPassQps).append("|");
         sb.append(concurrency).append("|");
         sb.append(classification);
+        if (withRtPercentiles) {
+            appendRtPercentiles(sb);
+        }
         return sb.toString();
     }
 
@@ -195,9 +260,12 @@ public class MetricNode {
         if (strs.length >= 9) {
             node.setConcurrency(Integer.parseInt(strs[8]));
         }
-        if (strs.length == 10) {
+        if (strs.length >= 10) {
             node.setClassification(Integer.parseInt(strs[9]));
         }
+        if (strs.length >= 14) {
+            parseRtPercentiles(node, strs, 10);
+        }
         return node;
     }
 
@@ -205,18 +273,41 @@ public class MetricNode {
      * To formatting string. All "|" in {@link MetricNode#resource} will be
      * replaced with "_", format is: <br/>
      * <code>
-     * timestamp|yyyy-MM-dd HH:mm:ss|resource|passQps|blockQps|successQps|exceptionQps|rt|occupiedPassQps\n
+     * timestamp|yyyy-MM-dd HH:mm:ss|resource|passQps|blockQps|successQps|exceptionQps|rt|occupiedPassQps
+     * |concurrency|classification|rtP50|rtP90|rtP99|rtP999\n
      * </code>
+     * The RT percentiles are only appended when the RT histogram is enabled, the same as
+     * {@link #toThinString()}, for readers that only recognize lines of exactly 11 fields.
      *
      * @return string format of this.
      */
     public String toFatString() {
+        return toFatString(RT_PERCENTILES_IN_STRING);
+    }
+
+    String toFatString(boolean withRtPercentiles) {
         DateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
         StringBuilder sb = new StringBuilder(32);
-        sb.delete(0, sb.length());
+        appendFatString(sb, df.format(new Date(getTimestamp())), withRtPercentiles);
+        return sb.toString();
+    }
+
+    /**
+     * Append the fat string (see {@link #toFatString()}) to the builder, with the formatted timestamp
+     * shared by a batch of nodes.
+     *
+     * @param sb            the string builder
+     * @param formattedTime timestamp formatted as {@code yyyy-MM-dd HH:mm:ss}
+     */
+    void appendFatString(StringBuilder sb, String formattedTime) {
+        appendFatString(sb, formattedTime, RT_PERCENTILES_IN_STRING);
+    }
+
+    private void appendFatString(StringBuilder sb, String formattedTime, boolean withRtPercentiles) {
         sb.append(getTimestamp()).append("|");
-        sb.append(df.format(new Date(getTimestamp()))).append("|");
-        String legalName = getResource().replaceAll("\\|", "_");
+        sb.append(formattedTime).append("|");
+        String resource = getResource();
+        String legalName = resource.indexOf('|') >= 0 ? resource.replace('|', '_') : resource;
         sb.append(legalName).append("|");
         sb.append(getPassQps()).append("|");
         sb.append(getBlockQps()).append("|");
@@ -226,8 +317,10 @@ public class MetricNode {
         sb.append(getOccupiedPassQps()).append("|");
         sb.append(concurrency).append("|");
         sb.append(classification);
+        if (withRtPercentiles) {
+            appendRtPercentiles(sb);
+        }
         sb.append('\n');
-        return sb.toString();
     }
 
     /**
@@ -253,10 +346,27 @@ public class MetricNode {
         if (strs.length >= 10) {
             node.setConcurrency(Integer.parseInt(strs[9]));
         }
-        if (strs.length == 11) {
+        if (strs.length >= 11) {
             node.setClassification(Integer.parseInt(strs[10]));
         }
+        if (strs.length >= 15) {
+            parseRtPercentiles(node, strs, 11);
+        }
         return node;
     }
 
+    private void appendRtPercentiles(StringBuilder sb) {
+        sb.append("|").append(rtP50);
+        sb.append("|").append(rtP90);
+        sb.append("|").append(rtP99);
+        sb.append("|").append(rtP999);
+    }
+
+    private static void parseRtPercentiles(MetricNode node, String[] strs, int offset) {
+        node.setRtP50(Long.parseLong(strs[offset]));
+        node.setRtP90(Long.parseLong(strs[offset + 1]));
+        node.setRtP99(Long.parseLong(strs[offset + 2]));
+        node.setRtP999(Long.parseLong(strs[offset + 3]));
+    }
+
 }
@@ -19,6 +19,9 @@ import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.util.List;
 
@@ -28,13 +31,21 @@ import com.alibaba.csp.sentinel.config.SentinelConfig;
  * 从指定目录下找出所有的metric文件，并按照指定时间戳进行检索，参考{@link MetricSearcher#find(long, int)}。
  * 会借助索引以提高检索效率，参考{@link MetricWriter}；还会在内部缓存上一次检索的文件指针，以便下一次顺序检索时
  * 减少读盘次数。
+ * <p>
+ * If the base file name is of the binary format (see {@link MetricWriter#isBinaryMetricFileName(String)}),
+ * the index is binary-searched through a {@link MappedByteBuffer}, and records are read from memory-mapped
+ * segments directly.
+ * </p>
  *
  * @author leyou
  */
 public class MetricSearcher {
 
     private static final Charset defaultCharset = Charset.forName(SentinelConfig.charset());
+    private static final int INDEX_ENTRY_SIZE = 16;
+
     private final MetricsReader metricsReader;
+    private final boolean binary;
 
     private String baseDir;
     private String baseFileName;
@@ -69,7 +80,8 @@ public class MetricSearcher {
             this.baseDir += File.separator;
         }
         this.baseFileName = baseFileName;
-        metricsReader = new MetricsReader(charset);
+        this.binary = MetricWriter.isBinaryMetricFileName(baseFileName);
+        metricsReader = binary ? new BinaryMetricsReader() : new MetricsReader(charset);
     }
 
     /**
@@ -197,6 +209,9 @@ public class MetricSearcher {
         if (!new File(idxFileName).exists()) {
             return -1;
         }
+        if (binary) {
+            return binarySearchOffset(beginTime, metricFileName, idxFileName, offsetInIndex);
+        }
         long beginSecond = beginTime / 1000;
         FileInputStream in = new FileInputStream(idxFileName);
         in.getChannel().position(offsetInIndex);
@@ -220,4 +235,43 @@ public class MetricSearcher {
             indexIn.close();
         }
     }
+
+    /**
+     * Binary-search the first index entry whose second is no less than the second of {@code beginTime}.
+     * Entries are sorted by second, as the writer never goes back in time.
+     */
+    private long binarySearchOffset(long beginTime, String metricFileName,
+                                    String idxFileName, long offsetInIndex) throws Exception {
+        long beginSecond = beginTime / 1000;
+        RandomAccessFile file = new RandomAccessFile(idxFileName, "r");
+        try {
+            FileChannel channel = file.getChannel();
+            long size = channel.size() / INDEX_ENTRY_SIZE * INDEX_ENTRY_SIZE;
+            if (offsetInIndex >= size) {
+                lastPosition.offsetInIndex = size;
+                return -1;
+            }
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int low = (int)(offsetInIndex / INDEX_ENTRY_SIZE);
+            int high = (int)(size / INDEX_ENTRY_SIZE);
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (index.getLong(mid * INDEX_ENTRY_SIZE) < beginSecond) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            lastPosition.offsetInIndex = (long)low * INDEX_ENTRY_SIZE;
+            if (lastPosition.offsetInIndex >= size) {
+                return -1;
+            }
+            lastPosition.metricFileName = metricFileName;
+            lastPosition.indexFileName = idxFileName;
+            lastPosition.second = index.getLong(low * INDEX_ENTRY_SIZE);
+            return index.getLong(low * INDEX_ENTRY_SIZE + 8);
+        } finally {
+            file.close();
+        }
+    }
 }
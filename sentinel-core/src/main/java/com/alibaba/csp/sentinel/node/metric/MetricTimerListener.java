@@ -23,7 +23,6 @@ import java.util.TreeMap;
 
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.config.SentinelConfig;
-import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.node.ClusterNode;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
@@ -33,8 +32,10 @@ import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
  */
 public class MetricTimerListener implements Runnable {
 
-    private static final MetricWriter metricWriter = new MetricWriter(SentinelConfig.singleMetricFileSize(),
-        SentinelConfig.totalMetricFileCount());
+    private static final AsyncMetricWriter metricWriter = new AsyncMetricWriter(
+        new MetricWriter(SentinelConfig.singleMetricFileSize(), SentinelConfig.totalMetricFileCount(),
+            SentinelConfig.METRIC_FILE_FORMAT_BINARY.equals(SentinelConfig.metricFileFormat())),
+        SentinelConfig.metricWriteQueueSize());
 
     @Override
     public void run() {
@@ -45,15 +46,18 @@ public class MetricTimerListener implements Runnable {
             aggregate(maps, metrics, node);
         }
         aggregate(maps, Constants.ENTRY_NODE.metrics(), Constants.ENTRY_NODE);
-        if (!maps.isEmpty()) {
-            for (Entry<Long, List<MetricNode>> entry : maps.entrySet()) {
-                try {
-                    metricWriter.write(entry.getKey(), entry.getValue());
-                } catch (Exception e) {
-                    RecordLog.warn("[MetricTimerListener] Write metric error", e);
-                }
-            }
-        }
+        // Encoding and I/O are done in the writer thread.
+        metricWriter.submit(maps);
+    }
+
+    /**
+     * Get the writer of metric log files, which also counts written and dropped metrics.
+     *
+     * @return the metric log writer
+     * @since 1.8.1
+     */
+    public static AsyncMetricWriter getMetricWriter() {
+        return metricWriter;
     }
 
     private void aggregate(Map<Long, List<MetricNode>> maps, Map<Long, MetricNode> metrics, ClusterNode node) {
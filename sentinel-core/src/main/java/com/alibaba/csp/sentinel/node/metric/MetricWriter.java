@@ -41,6 +41,12 @@ import com.alibaba.csp.sentinel.log.RecordLog;
  * <li>metric of different day should in different file;</li>
  * <li>every metric file is accompanied with an index file, which file name is {@code ${metricFileName}.idx}</li>
  * </ol>
+ * <p>
+ * In the binary format (see {@link SentinelConfig#METRIC_FILE_FORMAT}), file name is like
+ * {@code ${appName}-metrics.bin.pid${pid}.yyyy-MM-dd.[number]}, records are appended to memory-mapped segments
+ * (see {@link BinaryMetricSegment}), and resource names are kept in {@code ${metricFileName}.dict}.
+ * The index file is the same as the text format.
+ * </p>
  *
  * @author Carpenter Lee
  */
@@ -55,6 +61,10 @@ public class MetricWriter {
      * @see #formMetricFileName(String, int)
      */
     public static final String METRIC_FILE = "metrics.log";
+    /**
+     * @since 1.8.1
+     */
+    public static final String METRIC_BINARY_FILE = "metrics.bin";
     public static final String METRIC_FILE_INDEX_SUFFIX = ".idx";
     public static final Comparator<String> METRIC_FILE_NAME_CMP = new MetricFileNameComparator();
 
@@ -74,6 +84,8 @@ public class MetricWriter {
     private FileOutputStream outMetric;
     private DataOutputStream outIndex;
     private BufferedOutputStream outMetricBuf;
+    private BinaryMetricSegment outSegment;
+    private final boolean binary;
     private long singleFileSize;
     private int totalFileCount;
     private boolean append = false;
@@ -89,12 +101,28 @@ public class MetricWriter {
     }
 
     public MetricWriter(long singleFileSize, int totalFileCount) {
+        this(singleFileSize, totalFileCount, false);
+    }
+
+    /**
+     * @param binary whether to write metrics in the binary format
+     * @since 1.8.1
+     */
+    public MetricWriter(long singleFileSize, int totalFileCount, boolean binary) {
+        this(METRIC_BASE_DIR, singleFileSize, totalFileCount, binary);
+    }
+
+    MetricWriter(String baseDir, long singleFileSize, int totalFileCount, boolean binary) {
         if (singleFileSize <= 0 || totalFileCount <= 0) {
             throw new IllegalArgumentException();
         }
-        RecordLog.info("[MetricWriter] Creating new MetricWriter, singleFileSize={}, totalFileCount={}",
-            singleFileSize, totalFileCount);
-        this.baseDir = METRIC_BASE_DIR;
+        RecordLog.info("[MetricWriter] Creating new MetricWriter, singleFileSize={}, totalFileCount={}, binary={}",
+            singleFileSize, totalFileCount, binary);
+        this.binary = binary;
+        this.baseDir = baseDir;
+        if (!baseDir.endsWith(File.separator)) {
+            this.baseDir += File.separator;
+        }
         File dir = new File(baseDir);
         if (!dir.exists()) {
             dir.mkdirs();
@@ -131,7 +159,7 @@ public class MetricWriter {
         }
         // first write, should create file
         if (curMetricFile == null) {
-            baseFileName = formMetricFileName(appName, pid);
+            baseFileName = binary ? formBinaryMetricFileName(appName, pid) : formMetricFileName(appName, pid);
             closeAndNewFile(nextFileNameOfDay(time));
         }
         if (!(curMetricFile.exists() && curMetricIndexFile.exists())) {
@@ -142,29 +170,20 @@ public class MetricWriter {
         if (second < lastSecond) {
             // 时间靠前的直接忽略，不应该发生。
         } else if (second == lastSecond) {
-            for (MetricNode node : nodes) {
-                outMetricBuf.write(node.toFatString().getBytes(CHARSET));
-            }
-            outMetricBuf.flush();
+            writeNodes(nodes);
             if (!validSize()) {
                 closeAndNewFile(nextFileNameOfDay(time));
             }
         } else {
-            writeIndex(second, outMetric.getChannel().position());
+            writeIndex(second, currentPosition());
             if (isNewDay(lastSecond, second)) {
                 closeAndNewFile(nextFileNameOfDay(time));
-                for (MetricNode node : nodes) {
-                    outMetricBuf.write(node.toFatString().getBytes(CHARSET));
-                }
-                outMetricBuf.flush();
+                writeNodes(nodes);
                 if (!validSize()) {
                     closeAndNewFile(nextFileNameOfDay(time));
                 }
             } else {
-                for (MetricNode node : nodes) {
-                    outMetricBuf.write(node.toFatString().getBytes(CHARSET));
-                }
-                outMetricBuf.flush();
+                writeNodes(nodes);
                 if (!validSize()) {
                     closeAndNewFile(nextFileNameOfDay(time));
                 }
@@ -177,11 +196,39 @@ public class MetricWriter {
         if (outMetricBuf != null) {
             outMetricBuf.close();
         }
+        if (outSegment != null) {
+            outSegment.close();
+        }
         if (outIndex != null) {
             outIndex.close();
         }
     }
 
+    private void writeNodes(List<MetricNode> nodes) throws Exception {
+        if (binary) {
+            for (MetricNode node : nodes) {
+                outSegment.append(node);
+            }
+            outSegment.commit();
+        } else {
+            if (nodes.isEmpty()) {
+                return;
+            }
+            // All nodes are of the same timestamp, so the time is formatted only once.
+            String formattedTime = df.format(new Date(nodes.get(0).getTimestamp()));
+            StringBuilder sb = new StringBuilder(nodes.size() * 96);
+            for (MetricNode node : nodes) {
+                node.appendFatString(sb, formattedTime);
+            }
+            outMetricBuf.write(sb.toString().getBytes(CHARSET));
+            outMetricBuf.flush();
+        }
+    }
+
+    private long currentPosition() throws Exception {
+        return binary ? outSegment.position() : outMetric.getChannel().position();
+    }
+
     private void writeIndex(long time, long offset) throws Exception {
         outIndex.writeLong(time);
         outIndex.writeLong(offset);
@@ -198,6 +245,7 @@ public class MetricWriter {
             String fileName = file.getName();
             if (fileName.contains(fileNameModel)
                 && !fileName.endsWith(METRIC_FILE_INDEX_SUFFIX)
+                && !fileName.endsWith(BinaryMetricSegment.DICT_FILE_SUFFIX)
                 && !fileName.endsWith(".lck")) {
                 list.add(file.getAbsolutePath());
             }
@@ -330,6 +378,11 @@ public class MetricWriter {
             RecordLog.info("[MetricWriter] Removing metric file: {}", fileName);
             new File(indexFile).delete();
             RecordLog.info("[MetricWriter] Removing metric index file: {}", indexFile);
+            File dictFile = new File(BinaryMetricSegment.formDictFileName(fileName));
+            if (dictFile.exists()) {
+                dictFile.delete();
+                RecordLog.info("[MetricWriter] Removing metric dictionary file: {}", dictFile.getPath());
+            }
         }
     }
 
@@ -338,11 +391,18 @@ public class MetricWriter {
         if (outMetricBuf != null) {
             outMetricBuf.close();
         }
+        if (outSegment != null) {
+            outSegment.close();
+        }
         if (outIndex != null) {
             outIndex.close();
         }
-        outMetric = new FileOutputStream(fileName, append);
-        outMetricBuf = new BufferedOutputStream(outMetric);
+        if (binary) {
+            outSegment = new BinaryMetricSegment(fileName);
+        } else {
+            outMetric = new FileOutputStream(fileName, append);
+            outMetricBuf = new BufferedOutputStream(outMetric);
+        }
         curMetricFile = new File(fileName);
         String idxFile = formIndexFileName(fileName);
         curMetricIndexFile = new File(idxFile);
@@ -352,7 +412,7 @@ public class MetricWriter {
     }
 
     private boolean validSize() throws Exception {
-        long size = outMetric.getChannel().size();
+        long size = binary ? outSegment.position() : outMetric.getChannel().size();
         return size < singleFileSize;
     }
 
@@ -374,6 +434,34 @@ public class MetricWriter {
      * @return metric file name.
      */
     public static String formMetricFileName(String appName, int pid) {
+        return formMetricFileName(appName, pid, METRIC_FILE);
+    }
+
+    /**
+     * Form binary metric file name use the specific appName and pid. Note that only
+     * form the file name, not include path.
+     *
+     * @param appName
+     * @param pid
+     * @return binary metric file name.
+     * @since 1.8.1
+     */
+    public static String formBinaryMetricFileName(String appName, int pid) {
+        return formMetricFileName(appName, pid, METRIC_BINARY_FILE);
+    }
+
+    /**
+     * Whether the metric files of the base file name are in the binary format.
+     *
+     * @param baseFileName base file name, see {@link #formBinaryMetricFileName(String, int)}
+     * @return true if the metric files are in the binary format
+     * @since 1.8.1
+     */
+    public static boolean isBinaryMetricFileName(String baseFileName) {
+        return baseFileName != null && baseFileName.contains(METRIC_BINARY_FILE);
+    }
+
+    private static String formMetricFileName(String appName, int pid, String metricFile) {
         if (appName == null) {
             appName = "";
         }
@@ -383,7 +471,7 @@ public class MetricWriter {
         if (appName.contains(dot)) {
             appName = appName.replace(dot, separator);
         }
-        String name = appName + separator + METRIC_FILE;
+        String name = appName + separator + metricFile;
         if (LogBase.isLogNameUsePid()) {
             name += ".pid" + pid;
         }
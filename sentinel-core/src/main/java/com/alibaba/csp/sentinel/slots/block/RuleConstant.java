@@ -38,6 +38,19 @@ public final class RuleConstant {
 
     public static final int DEGRADE_DEFAULT_SLOW_REQUEST_AMOUNT = 5;
     public static final int DEGRADE_DEFAULT_MIN_REQUEST_AMOUNT = 5;
+    /**
+     * Circuit breaker statistics over a sliding time window of {@code statIntervalMs}.
+     *
+     * @since 1.8.1
+     */
+    public static final int DEGRADE_SLIDING_WINDOW_TIME = 0;
+    /**
+     * Circuit breaker statistics over the last {@code slidingWindowSize} calls.
+     *
+     * @since 1.8.1
+     */
+    public static final int DEGRADE_SLIDING_WINDOW_COUNT = 1;
+    public static final int DEGRADE_DEFAULT_SLIDING_WINDOW_SIZE = 100;
 
     public static final int AUTHORITY_WHITE = 0;
     public static final int AUTHORITY_BLACK = 1;
@@ -50,6 +63,12 @@ public final class RuleConstant {
     public static final int CONTROL_BEHAVIOR_WARM_UP = 1;
     public static final int CONTROL_BEHAVIOR_RATE_LIMITER = 2;
     public static final int CONTROL_BEHAVIOR_WARM_UP_RATE_LIMITER = 3;
+    /**
+     * Adaptive concurrency limiting, where the count of the rule is the max concurrency limit.
+     *
+     * @since 1.8.1
+     */
+    public static final int CONTROL_BEHAVIOR_ADAPTIVE_CONCURRENCY = 4;
 
     public static final int DEFAULT_BLOCK_STRATEGY = 0;
     public static final int TRY_AGAIN_BLOCK_STRATEGY = 1;
@@ -83,6 +83,21 @@ public class DegradeRule extends AbstractRule {
 
     private int statIntervalMs = 1000;
 
+    /**
+     * Type of the sliding window for statistics (0: time-based window of {@code statIntervalMs},
+     * 1: count-based window of the last {@code slidingWindowSize} calls).
+     *
+     * @since 1.8.1
+     */
+    private int slidingWindowType = RuleConstant.DEGRADE_SLIDING_WINDOW_TIME;
+
+    /**
+     * Number of the latest calls to refer in count-based sliding window.
+     *
+     * @since 1.8.1
+     */
+    private int slidingWindowSize = RuleConstant.DEGRADE_DEFAULT_SLIDING_WINDOW_SIZE;
+
     public int getGrade() {
         return grade;
     }
@@ -137,6 +152,24 @@ public class DegradeRule extends AbstractRule {
         return this;
     }
 
+    public int getSlidingWindowType() {
+        return slidingWindowType;
+    }
+
+    public DegradeRule setSlidingWindowType(int slidingWindowType) {
+        this.slidingWindowType = slidingWindowType;
+        return this;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public DegradeRule setSlidingWindowSize(int slidingWindowSize) {
+        this.slidingWindowSize = slidingWindowSize;
+        return this;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) { return true; }
@@ -148,13 +181,15 @@ public class DegradeRule extends AbstractRule {
             grade == rule.grade &&
             minRequestAmount == rule.minRequestAmount &&
             Double.compare(rule.slowRatioThreshold, slowRatioThreshold) == 0 &&
-            statIntervalMs == rule.statIntervalMs;
+            statIntervalMs == rule.statIntervalMs &&
+            slidingWindowType == rule.slidingWindowType &&
+            slidingWindowSize == rule.slidingWindowSize;
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(super.hashCode(), count, timeWindow, grade, minRequestAmount,
-            slowRatioThreshold, statIntervalMs);
+            slowRatioThreshold, statIntervalMs, slidingWindowType, slidingWindowSize);
     }
 
     @Override
@@ -168,6 +203,8 @@ public class DegradeRule extends AbstractRule {
             ", minRequestAmount=" + minRequestAmount +
             ", slowRatioThreshold=" + slowRatioThreshold +
             ", statIntervalMs=" + statIntervalMs +
+            ", slidingWindowType=" + slidingWindowType +
+            ", slidingWindowSize=" + slidingWindowSize +
             '}';
     }
 }
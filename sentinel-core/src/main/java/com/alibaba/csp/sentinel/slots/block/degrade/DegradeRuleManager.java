@@ -189,6 +189,13 @@ public final class DegradeRuleManager {
         if (rule.getMinRequestAmount() <= 0 || rule.getStatIntervalMs() <= 0) {
             return false;
         }
+        if (rule.getSlidingWindowType() == RuleConstant.DEGRADE_SLIDING_WINDOW_COUNT) {
+            if (rule.getSlidingWindowSize() <= 0) {
+                return false;
+            }
+        } else if (rule.getSlidingWindowType() != RuleConstant.DEGRADE_SLIDING_WINDOW_TIME) {
+            return false;
+        }
         switch (rule.getGrade()) {
             case RuleConstant.DEGRADE_GRADE_RT:
                 return rule.getSlowRatioThreshold() >= 0 && rule.getSlowRatioThreshold() <= 1;
@@ -0,0 +1,71 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
+
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+
+/**
+ * <p>Statistics of completed calls for circuit breakers, counting the total calls and the "bad" calls
+ * (slow calls or calls with errors). Running totals are maintained incrementally, so that recording a call
+ * and reading the totals are O(1) and allocation-free.</p>
+ *
+ * <p>A snapshot of the totals is packed into a single long, with the bad count in the high 32 bits
+ * and the total count in the low 32 bits.</p>
+ *
+ * @since 1.8.1
+ */
+abstract class CallStat {
+
+    private static final long TOTAL_MASK = 0xFFFFFFFFL;
+
+    static CallStat create(DegradeRule rule) {
+        if (rule.getSlidingWindowType() == RuleConstant.DEGRADE_SLIDING_WINDOW_COUNT) {
+            return new RingBufferCallStat(rule.getSlidingWindowSize());
+        }
+        return new SlidingTimeCallStat(1, rule.getStatIntervalMs());
+    }
+
+    /**
+     * Record a completed call.
+     *
+     * @param bad whether the call is a bad one
+     * @return snapshot of the totals including the call
+     */
+    abstract long record(boolean bad);
+
+    /**
+     * Reset the totals.
+     */
+    abstract void reset();
+
+    static long delta(boolean bad) {
+        return bad ? (1L << 32) + 1 : 1;
+    }
+
+    static long snapshot(long badCount, long totalCount) {
+        // The bad count may be transiently negative under concurrent updates.
+        return (Math.max(0, badCount) << 32) | (totalCount & TOTAL_MASK);
+    }
+
+    static long badCount(long snapshot) {
+        return snapshot >>> 32;
+    }
+
+    static long totalCount(long snapshot) {
+        return snapshot & TOTAL_MASK;
+    }
+}
@@ -15,15 +15,10 @@
  */
 package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
 
-import java.util.List;
-
 import com.alibaba.csp.sentinel.Entry;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
-import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
-import com.alibaba.csp.sentinel.slots.statistic.base.LongAdder;
-import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 
 import static com.alibaba.csp.sentinel.slots.block.RuleConstant.DEGRADE_GRADE_EXCEPTION_RATIO;
@@ -39,13 +34,13 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
     private final int minRequestAmount;
     private final double threshold;
 
-    private final LeapArray<SimpleErrorCounter> stat;
+    private final CallStat stat;
 
     public ExceptionCircuitBreaker(DegradeRule rule) {
-        this(rule, new SimpleErrorCounterLeapArray(1, rule.getStatIntervalMs()));
+        this(rule, CallStat.create(rule));
     }
 
-    ExceptionCircuitBreaker(DegradeRule rule, LeapArray<SimpleErrorCounter> stat) {
+    ExceptionCircuitBreaker(DegradeRule rule, CallStat stat) {
         super(rule);
         this.strategy = rule.getGrade();
         boolean modeOk = strategy == DEGRADE_GRADE_EXCEPTION_RATIO || strategy == DEGRADE_GRADE_EXCEPTION_COUNT;
@@ -58,8 +53,7 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
 
     @Override
     protected void resetStat() {
-        // Reset current bucket (bucket count = 1).
-        stat.currentWindow().value().reset();
+        stat.reset();
     }
 
     @Override
@@ -69,16 +63,12 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
             return;
         }
         Throwable error = entry.getError();
-        SimpleErrorCounter counter = stat.currentWindow().value();
-        if (error != null) {
-            counter.getErrorCount().add(1);
-        }
-        counter.getTotalCount().add(1);
+        long snapshot = stat.record(error != null);
 
-        handleStateChangeWhenThresholdExceeded(error);
+        handleStateChangeWhenThresholdExceeded(error, snapshot);
     }
 
-    private void handleStateChangeWhenThresholdExceeded(Throwable error) {
+    private void handleStateChangeWhenThresholdExceeded(Throwable error, long snapshot) {
         if (currentState.get() == State.OPEN) {
             return;
         }
@@ -93,13 +83,8 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
             return;
         }
         
-        List<SimpleErrorCounter> counters = stat.values();
-        long errCount = 0;
-        long totalCount = 0;
-        for (SimpleErrorCounter counter : counters) {
-            errCount += counter.errorCount.sum();
-            totalCount += counter.totalCount.sum();
-        }
+        long errCount = CallStat.badCount(snapshot);
+        long totalCount = CallStat.totalCount(snapshot);
         if (totalCount < minRequestAmount) {
             return;
         }
@@ -112,56 +97,4 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
             transformToOpen(curCount);
         }
     }
-
-    static class SimpleErrorCounter {
-        private LongAdder errorCount;
-        private LongAdder totalCount;
-
-        public SimpleErrorCounter() {
-            this.errorCount = new LongAdder();
-            this.totalCount = new LongAdder();
-        }
-
-        public LongAdder getErrorCount() {
-            return errorCount;
-        }
-
-        public LongAdder getTotalCount() {
-            return totalCount;
-        }
-
-        public SimpleErrorCounter reset() {
-            errorCount.reset();
-            totalCount.reset();
-            return this;
-        }
-
-        @Override
-        public String toString() {
-            return "SimpleErrorCounter{" +
-                "errorCount=" + errorCount +
-                ", totalCount=" + totalCount +
-                '}';
-        }
-    }
-
-    static class SimpleErrorCounterLeapArray extends LeapArray<SimpleErrorCounter> {
-
-        public SimpleErrorCounterLeapArray(int sampleCount, int intervalInMs) {
-            super(sampleCount, intervalInMs);
-        }
-
-        @Override
-        public SimpleErrorCounter newEmptyBucket(long timeMillis) {
-            return new SimpleErrorCounter();
-        }
-
-        @Override
-        protected WindowWrap<SimpleErrorCounter> resetWindowTo(WindowWrap<SimpleErrorCounter> w, long startTime) {
-            // Update the start time and reset value.
-            w.resetTo(startTime);
-            w.value().reset();
-            return w;
-        }
-    }
 }
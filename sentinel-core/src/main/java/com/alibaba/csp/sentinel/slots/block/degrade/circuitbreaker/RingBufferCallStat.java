@@ -0,0 +1,61 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * Call statistics over the last N calls, where outcomes of calls are kept in a ring buffer, and the bad count
+ * is adjusted by the outcome that a new call overwrites.
+ *
+ * @since 1.8.1
+ */
+final class RingBufferCallStat extends CallStat {
+
+    private final int size;
+    private final AtomicIntegerArray outcomes;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicLong badCount = new AtomicLong();
+
+    RingBufferCallStat(int size) {
+        AssertUtil.isTrue(size > 0, "size of the ring buffer should be positive");
+        this.size = size;
+        this.outcomes = new AtomicIntegerArray(size);
+    }
+
+    @Override
+    long record(boolean bad) {
+        long seq = cursor.getAndIncrement();
+        int outcome = bad ? 1 : 0;
+        int diff = outcome - outcomes.getAndSet((int) (seq % size), outcome);
+        long bads = diff == 0 ? badCount.get() : badCount.addAndGet(diff);
+        long total = Math.min(seq + 1, size);
+        return snapshot(Math.min(bads, total), total);
+    }
+
+    @Override
+    void reset() {
+        cursor.set(0);
+        for (int i = 0; i < size; i++) {
+            if (outcomes.getAndSet(i, 0) != 0) {
+                badCount.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>Call statistics over a sliding time window of buckets. The running totals of the window are kept along with
+ * the buckets; when the window slides, deprecated buckets are taken out of the totals exactly once, by the thread
+ * that moves the window. The new window start is published only after that (under a short lock), so calls of
+ * the new window never land in a bucket that is still to be cleared.</p>
+ *
+ * <p>Each bucket and the totals are single packed counters, so the totals never drift from the sum of the buckets:
+ * a call is counted once, and is only dropped along with its bucket when the bucket is deprecated.</p>
+ *
+ * @since 1.8.1
+ */
+final class SlidingTimeCallStat extends CallStat {
+
+    private final int sampleCount;
+    private final int bucketLengthInMs;
+
+    private final AtomicLongArray buckets;
+    private final AtomicLong totals = new AtomicLong();
+    private final Object slideLock = new Object();
+    private volatile long windowStart;
+
+    SlidingTimeCallStat(int sampleCount, int intervalInMs) {
+        AssertUtil.isTrue(sampleCount > 0, "bucket count is invalid: " + sampleCount);
+        AssertUtil.isTrue(intervalInMs > 0, "total time interval of the sliding window should be positive");
+        AssertUtil.isTrue(intervalInMs % sampleCount == 0, "time span needs to be evenly divided");
+        this.sampleCount = sampleCount;
+        this.bucketLengthInMs = intervalInMs / sampleCount;
+        this.buckets = new AtomicLongArray(sampleCount);
+    }
+
+    @Override
+    long record(boolean bad) {
+        return record(bad, TimeUtil.currentTimeMillis());
+    }
+
+    long record(boolean bad, long timeMillis) {
+        long start = timeMillis - timeMillis % bucketLengthInMs;
+        if (start > windowStart) {
+            slideTo(start);
+        }
+        long delta = delta(bad);
+        // Totals are added before the bucket and deducted after it, so they never fall below the buckets.
+        long snapshot = totals.addAndGet(delta);
+        buckets.addAndGet(indexOf(start), delta);
+        return snapshot;
+    }
+
+    private void slideTo(long start) {
+        synchronized (slideLock) {
+            long current = windowStart;
+            if (start > current) {
+                // Take out the deprecated buckets before publishing the new window start.
+                deprecateBuckets(current, start);
+                windowStart = start;
+            }
+        }
+    }
+
+    private void deprecateBuckets(long from, long to) {
+        long steps = Math.min(sampleCount, (to - from) / bucketLengthInMs);
+        for (long i = steps - 1; i >= 0; i--) {
+            int idx = indexOf(to - i * bucketLengthInMs);
+            long value = buckets.getAndSet(idx, 0);
+            if (value != 0) {
+                totals.addAndGet(-value);
+            }
+        }
+    }
+
+    private int indexOf(long bucketStart) {
+        return (int) ((bucketStart / bucketLengthInMs) % sampleCount);
+    }
+
+    @Override
+    void reset() {
+        for (int i = 0; i < sampleCount; i++) {
+            long value = buckets.getAndSet(i, 0);
+            if (value != 0) {
+                totals.addAndGet(-value);
+            }
+        }
+    }
+}
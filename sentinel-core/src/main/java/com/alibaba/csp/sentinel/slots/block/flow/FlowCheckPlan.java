@@ -0,0 +1,262 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.StringUtil;
+
+/**
+ * <p>Immutable check plan of the flow rules of one resource, which is compiled when rules are loaded.</p>
+ * <p>
+ * Each rule is compiled into a check specialized by its limit app and strategy, so that the check path
+ * neither looks up rules of the resource nor compares strings for rules limiting the {@code default} app.
+ * Origins explicitly limited by rules of the resource are precomputed for rules limiting {@code other} apps,
+ * and the reference node of {@link RuleConstant#STRATEGY_RELATE} rules is resolved once and cached
+ * until it is evicted.
+ * </p>
+ * <p>Note that modification of loaded rules won't take effect until rules are loaded again.</p>
+ *
+ * @since 1.8.1
+ */
+public final class FlowCheckPlan {
+
+    private final String resource;
+    private final List<FlowRule> rules;
+    private final RuleCheck[] checks;
+    private final Set<String> limitApps;
+
+    private FlowCheckPlan(String resource, List<FlowRule> rules, RuleCheck[] checks, Set<String> limitApps) {
+        this.resource = resource;
+        this.rules = rules;
+        this.checks = checks;
+        this.limitApps = limitApps;
+    }
+
+    /**
+     * Compile the flow rules of the resource, which should be sorted in checking order.
+     *
+     * @param resource resource name
+     * @param rules    valid flow rules of the resource
+     * @return the compiled check plan
+     */
+    public static FlowCheckPlan compile(String resource, List<FlowRule> rules) {
+        AssertUtil.notNull(resource, "resource cannot be null");
+        AssertUtil.notNull(rules, "rules cannot be null");
+        Set<String> limitApps = new HashSet<>();
+        for (FlowRule rule : rules) {
+            if (rule.getLimitApp() != null) {
+                limitApps.add(rule.getLimitApp());
+            }
+        }
+        limitApps = Collections.unmodifiableSet(limitApps);
+        List<RuleCheck> checks = new ArrayList<>(rules.size());
+        for (FlowRule rule : rules) {
+            // Rules without limit app always pass.
+            if (rule.getLimitApp() != null) {
+                checks.add(compile(rule, limitApps));
+            }
+        }
+        return new FlowCheckPlan(resource, Collections.unmodifiableList(new ArrayList<>(rules)),
+            checks.toArray(new RuleCheck[0]), limitApps);
+    }
+
+    private static RuleCheck compile(FlowRule rule, Set<String> limitApps) {
+        String limitApp = rule.getLimitApp();
+        int originMatch;
+        if (RuleConstant.LIMIT_APP_DEFAULT.equals(limitApp)) {
+            originMatch = RuleCheck.MATCH_ANY;
+        } else if (RuleConstant.LIMIT_APP_OTHER.equals(limitApp)) {
+            originMatch = RuleCheck.MATCH_OTHER;
+        } else {
+            originMatch = RuleCheck.MATCH_SPECIFIC;
+        }
+        String refResource = rule.getRefResource();
+        switch (rule.getStrategy()) {
+            case RuleConstant.STRATEGY_DIRECT:
+                return new DirectCheck(rule, limitApps, originMatch);
+            case RuleConstant.STRATEGY_RELATE:
+                return StringUtil.isEmpty(refResource) ? new NoNodeCheck(rule, limitApps, originMatch)
+                    : new RelateCheck(rule, limitApps, originMatch, refResource);
+            case RuleConstant.STRATEGY_CHAIN:
+                return StringUtil.isEmpty(refResource) ? new NoNodeCheck(rule, limitApps, originMatch)
+                    : new ChainCheck(rule, limitApps, originMatch, refResource);
+            default:
+                return new NoNodeCheck(rule, limitApps, originMatch);
+        }
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    /**
+     * @return the compiled rules in checking order
+     */
+    public List<FlowRule> getRules() {
+        return rules;
+    }
+
+    RuleCheck[] getChecks() {
+        return checks;
+    }
+
+    /**
+     * Check whether the origin is an {@code other} origin of the resource, i.e. it is not empty
+     * and not explicitly limited by any rule of the resource.
+     *
+     * @param origin the origin
+     * @return true if the origin is an {@code other} origin
+     */
+    public boolean isOtherOrigin(String origin) {
+        return isOtherOrigin(limitApps, origin);
+    }
+
+    private static boolean isOtherOrigin(Set<String> limitApps, String origin) {
+        return StringUtil.isNotEmpty(origin) && !limitApps.contains(origin);
+    }
+
+    @Override
+    public String toString() {
+        return "FlowCheckPlan{" +
+            "resource='" + resource + '\'' +
+            ", rules=" + rules +
+            '}';
+    }
+
+    /**
+     * Compiled check of a single flow rule.
+     */
+    abstract static class RuleCheck {
+
+        static final int MATCH_ANY = 0;
+        static final int MATCH_SPECIFIC = 1;
+        static final int MATCH_OTHER = 2;
+
+        final FlowRule rule;
+        final TrafficShapingController rater;
+        final boolean clusterMode;
+        private final Set<String> limitApps;
+        private final int originMatch;
+        private final String limitApp;
+
+        RuleCheck(FlowRule rule, Set<String> limitApps, int originMatch) {
+            this.rule = rule;
+            this.limitApps = limitApps;
+            this.rater = rule.getRater();
+            this.clusterMode = rule.isClusterMode();
+            this.originMatch = originMatch;
+            this.limitApp = rule.getLimitApp();
+        }
+
+        /**
+         * Select the node to check, which is the same as
+         * {@link FlowRuleChecker#selectNodeByRequesterAndStrategy(FlowRule, Context, DefaultNode)}.
+         *
+         * @return the selected node, or null if the rule does not apply
+         */
+        Node selectNode(Context context, DefaultNode node) {
+            switch (originMatch) {
+                case MATCH_ANY:
+                    return selectNode(context, node, false);
+                case MATCH_SPECIFIC:
+                    return limitApp.equals(context.getOrigin()) ? selectNode(context, node, true) : null;
+                default:
+                    return isOtherOrigin(limitApps, context.getOrigin()) ? selectNode(context, node, true) : null;
+            }
+        }
+
+        /**
+         * @param byOrigin whether the rule limits specific origins rather than the {@code default} app
+         */
+        abstract Node selectNode(Context context, DefaultNode node, boolean byOrigin);
+    }
+
+    private static final class DirectCheck extends RuleCheck {
+
+        DirectCheck(FlowRule rule, Set<String> limitApps, int originMatch) {
+            super(rule, limitApps, originMatch);
+        }
+
+        @Override
+        Node selectNode(Context context, DefaultNode node, boolean byOrigin) {
+            return byOrigin ? context.getOriginNode() : node.getClusterNode();
+        }
+    }
+
+    private static final class RelateCheck extends RuleCheck {
+
+        private final String refResource;
+        private volatile ClusterNode refNode;
+
+        RelateCheck(FlowRule rule, Set<String> limitApps, int originMatch, String refResource) {
+            super(rule, limitApps, originMatch);
+            this.refResource = refResource;
+            this.refNode = ClusterBuilderSlot.getClusterNode(refResource);
+        }
+
+        @Override
+        Node selectNode(Context context, DefaultNode node, boolean byOrigin) {
+            ClusterNode ref = refNode;
+            if (ref == null || ref.isEvicted()) {
+                // The reference resource has not been entered yet, or has been evicted.
+                ref = ClusterBuilderSlot.getClusterNode(refResource);
+                if (ref != null) {
+                    refNode = ref;
+                }
+            }
+            return ref;
+        }
+    }
+
+    private static final class ChainCheck extends RuleCheck {
+
+        private final String refResource;
+
+        ChainCheck(FlowRule rule, Set<String> limitApps, int originMatch, String refResource) {
+            super(rule, limitApps, originMatch);
+            this.refResource = refResource;
+        }
+
+        @Override
+        Node selectNode(Context context, DefaultNode node, boolean byOrigin) {
+            return refResource.equals(context.getName()) ? node : null;
+        }
+    }
+
+    private static final class NoNodeCheck extends RuleCheck {
+
+        NoNodeCheck(FlowRule rule, Set<String> limitApps, int originMatch) {
+            super(rule, limitApps, originMatch);
+        }
+
+        @Override
+        Node selectNode(Context context, DefaultNode node, boolean byOrigin) {
+            return null;
+        }
+    }
+}
@@ -56,6 +56,36 @@ public class FlowRuleChecker {
         }
     }
 
+    /**
+     * Check the flow rules of the resource with the compiled check plan.
+     *
+     * @param plan compiled check plan of the resource, or null if the resource has no rules
+     * @since 1.8.1
+     */
+    public void checkFlow(FlowCheckPlan plan, Context context, DefaultNode node, int count, boolean prioritized)
+        throws BlockException {
+        if (plan == null) {
+            return;
+        }
+        for (FlowCheckPlan.RuleCheck check : plan.getChecks()) {
+            if (!canPassCheck(check, context, node, count, prioritized)) {
+                throw new FlowException(check.rule.getLimitApp(), check.rule);
+            }
+        }
+    }
+
+    boolean canPassCheck(/*@NonNull*/ FlowCheckPlan.RuleCheck check, Context context, DefaultNode node,
+                         int acquireCount, boolean prioritized) {
+        if (check.clusterMode) {
+            return passClusterCheck(check.rule, context, node, acquireCount, prioritized);
+        }
+        Node selectedNode = check.selectNode(context, node);
+        if (selectedNode == null) {
+            return true;
+        }
+        return check.rater.canPass(selectedNode, acquireCount, prioritized);
+    }
+
     public boolean canPassCheck(/*@NonNull*/ FlowRule rule, Context context, DefaultNode node,
                                                     int acquireCount) {
         return canPassCheck(rule, context, node, acquireCount, false);
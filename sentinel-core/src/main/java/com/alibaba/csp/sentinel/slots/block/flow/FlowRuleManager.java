@@ -17,6 +17,7 @@ package com.alibaba.csp.sentinel.slots.block.flow;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -51,6 +52,12 @@ public class FlowRuleManager {
 
     private static final AtomicReference<Map<String, List<FlowRule>>> flowRules = new AtomicReference<Map<String, List<FlowRule>>>();
 
+    /**
+     * Check plans compiled from {@link #flowRules}, which are replaced together with the rules.
+     */
+    private static final AtomicReference<Map<String, FlowCheckPlan>> flowCheckPlans
+        = new AtomicReference<Map<String, FlowCheckPlan>>();
+
     private static final FlowPropertyListener LISTENER = new FlowPropertyListener();
     private static SentinelProperty<List<FlowRule>> currentProperty = new DynamicSentinelProperty<List<FlowRule>>();
 
@@ -60,6 +67,7 @@ public class FlowRuleManager {
 
     static {
         flowRules.set(Collections.<String, List<FlowRule>>emptyMap());
+        flowCheckPlans.set(Collections.<String, FlowCheckPlan>emptyMap());
         currentProperty.addListener(LISTENER);
         SCHEDULER.scheduleAtFixedRate(new MetricTimerListener(), 0, 1, TimeUnit.SECONDS);
     }
@@ -106,6 +114,17 @@ public class FlowRuleManager {
         return flowRules.get();
     }
 
+    /**
+     * Get the compiled check plan of flow rules of the resource.
+     *
+     * @param resource resource name
+     * @return the check plan, or null if the resource has no flow rules
+     * @since 1.8.1
+     */
+    static FlowCheckPlan getCheckPlan(String resource) {
+        return flowCheckPlans.get().get(resource);
+    }
+
     public static boolean hasConfig(String resource) {
         return flowRules.get().containsKey(resource);
     }
@@ -115,17 +134,17 @@ public class FlowRuleManager {
             return false;
         }
 
-        List<FlowRule> rules = flowRules.get().get(resourceName);
+        FlowCheckPlan plan = flowCheckPlans.get().get(resourceName);
+        return plan == null || plan.isOtherOrigin(origin);
+    }
 
-        if (rules != null) {
-            for (FlowRule rule : rules) {
-                if (origin.equals(rule.getLimitApp())) {
-                    return false;
-                }
-            }
+    private static void applyRules(Map<String, List<FlowRule>> rules) {
+        Map<String, FlowCheckPlan> plans = new HashMap<String, FlowCheckPlan>(rules.size() * 2);
+        for (Map.Entry<String, List<FlowRule>> entry : rules.entrySet()) {
+            plans.put(entry.getKey(), FlowCheckPlan.compile(entry.getKey(), entry.getValue()));
         }
-
-        return true;
+        flowRules.set(rules);
+        flowCheckPlans.set(plans);
     }
 
     private static final class FlowPropertyListener implements PropertyListener<List<FlowRule>> {
@@ -135,14 +154,14 @@ public class FlowRuleManager {
             Map<String, List<FlowRule>> rules = FlowRuleUtil.buildFlowRuleMap(value);
             //the rules was always not null, it's no need to check nullable
             //remove checking to avoid IDE warning
-            flowRules.set(rules);
+            applyRules(rules);
             RecordLog.info("[FlowRuleManager] Flow rules received: {}", rules);
         }
 
         @Override
         public void configLoad(List<FlowRule> conf) {
             Map<String, List<FlowRule>> rules = FlowRuleUtil.buildFlowRuleMap(conf);
-            flowRules.set(rules);
+            applyRules(rules);
             RecordLog.info("[FlowRuleManager] Flow rules loaded: {}", rules);
         }
     }
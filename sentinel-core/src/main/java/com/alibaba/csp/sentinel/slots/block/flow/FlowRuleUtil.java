@@ -18,6 +18,7 @@ package com.alibaba.csp.sentinel.slots.block.flow;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.slots.block.ClusterRuleConstant;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.AdaptiveConcurrencyController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.DefaultController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.RateLimiterController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.WarmUpController;
@@ -130,6 +131,10 @@ public final class FlowRuleUtil {
     }
 
     private static TrafficShapingController generateRater(/*@Valid*/ FlowRule rule) {
+        if (rule.getControlBehavior() == RuleConstant.CONTROL_BEHAVIOR_ADAPTIVE_CONCURRENCY) {
+            // Concurrency is limited regardless of the grade.
+            return new AdaptiveConcurrencyController(rule.getCount());
+        }
         if (rule.getGrade() == RuleConstant.FLOW_GRADE_QPS) {
             switch (rule.getControlBehavior()) {
                 case RuleConstant.CONTROL_BEHAVIOR_WARM_UP:
@@ -170,6 +175,10 @@ public final class FlowRuleUtil {
         if (!baseValid) {
             return false;
         }
+        if (rule.getControlBehavior() == RuleConstant.CONTROL_BEHAVIOR_ADAPTIVE_CONCURRENCY) {
+            // Adaptive concurrency limit is estimated locally, so cluster mode is not supported.
+            return rule.getCount() >= 1 && !rule.isClusterMode() && checkStrategyField(rule);
+        }
         if (rule.getGrade() == RuleConstant.FLOW_GRADE_QPS) {
             // Check strategy and control (shaping) behavior.
             return checkClusterField(rule) && checkStrategyField(rule) && checkControlBehaviorField(rule);
@@ -0,0 +1,135 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.node.IntervalProperty;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.node.SampleCountProperty;
+import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>Adaptive concurrency controller, which limits the concurrent requests of the resource to a limit estimated
+ * continuously from the statistics of the node (gradient style):</p>
+ *
+ * <ul>
+ * <li>The no-load RT is tracked from {@code minRt}: it drops to a lower {@code minRt} immediately,
+ * and follows a higher one slowly (e.g. after deployment).</li>
+ * <li>The gradient {@code noLoadRt / avgRt} in [0.5, 1.0] indicates whether requests are queueing.
+ * The new limit is {@code limit * gradient + sqrt(limit)}, so that the limit keeps probing upwards
+ * while RT is stable, and shrinks once RT increases.</li>
+ * <li>The limit is not increased if the concurrency in use, {@code successQps * avgRt} (Little's law),
+ * is far below the limit, so that the limit won't grow without bound when the resource is idle.</li>
+ * </ul>
+ *
+ * <p>The limit is updated once per sliding window bucket, within {@code [1, maxLimit]},
+ * where the max limit is the count of the flow rule.</p>
+ *
+ * @since 1.8.1
+ */
+public class AdaptiveConcurrencyController implements TrafficShapingController {
+
+    static final double MIN_LIMIT = 1;
+    static final double DEFAULT_INITIAL_LIMIT = 20;
+
+    /**
+     * Smoothing factor of the limit.
+     */
+    private static final double LIMIT_SMOOTHING = 0.2;
+    /**
+     * Smoothing factor of the no-load RT when RT increases.
+     */
+    private static final double NO_LOAD_RT_SMOOTHING = 0.05;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final double maxLimit;
+
+    private final AtomicLong nextUpdateTime = new AtomicLong(0);
+    private volatile double limit;
+    private double noLoadRt = -1;
+
+    public AdaptiveConcurrencyController(double maxLimit) {
+        this.maxLimit = Math.max(MIN_LIMIT, maxLimit);
+        this.limit = Math.min(this.maxLimit, DEFAULT_INITIAL_LIMIT);
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount) {
+        return canPass(node, acquireCount, false);
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount, boolean prioritized) {
+        if (node == null) {
+            return true;
+        }
+        tryUpdateLimit(node, TimeUtil.currentTimeMillis());
+        return node.curThreadNum() + acquireCount <= limit;
+    }
+
+    void tryUpdateLimit(Node node, long currentTime) {
+        long next = nextUpdateTime.get();
+        if (currentTime < next) {
+            return;
+        }
+        long bucketLength = Math.max(1, IntervalProperty.INTERVAL / SampleCountProperty.SAMPLE_COUNT);
+        // Only one thread could update the limit per bucket.
+        if (nextUpdateTime.compareAndSet(next, currentTime + bucketLength)) {
+            updateLimit(node);
+        }
+    }
+
+    private void updateLimit(Node node) {
+        double successQps = node.successQps();
+        if (successQps <= 0) {
+            return;
+        }
+        // RT is measured in milliseconds, so sub-millisecond RT is regarded as 1 ms.
+        double avgRt = Math.max(1, node.avgRt());
+        double minRt = Math.max(1, node.minRt());
+        if (noLoadRt < 0 || minRt < noLoadRt) {
+            noLoadRt = minRt;
+        } else {
+            noLoadRt += (minRt - noLoadRt) * NO_LOAD_RT_SMOOTHING;
+        }
+
+        double currentLimit = limit;
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, noLoadRt / avgRt));
+        double newLimit = currentLimit * gradient + Math.sqrt(currentLimit);
+        double inUse = successQps * avgRt / 1000;
+        if (newLimit > currentLimit && inUse < currentLimit / 2) {
+            // Not limited by the concurrency, so there is nothing to learn from probing upwards.
+            return;
+        }
+        newLimit = currentLimit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING;
+        limit = Math.max(MIN_LIMIT, Math.min(maxLimit, newLimit));
+    }
+
+    /**
+     * Get the current estimated concurrency limit.
+     *
+     * @return the current concurrency limit
+     */
+    public double getLimit() {
+        return limit;
+    }
+
+    public double getMaxLimit() {
+        return maxLimit;
+    }
+}
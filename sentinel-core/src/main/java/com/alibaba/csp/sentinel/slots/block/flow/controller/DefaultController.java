@@ -57,7 +57,9 @@ public class DefaultController implements TrafficShapingController {
                 if (waitInMs < OccupyTimeoutProperty.getOccupyTimeout()) {
                     node.addWaitingRequest(currentTime + waitInMs, acquireCount);
                     node.addOccupiedPass(acquireCount);
-                    sleep(waitInMs);
+                    if (!PacingSupport.tryDefer(waitInMs)) {
+                        sleep(waitInMs);
+                    }
 
                     // PriorityWaitException indicates that the request will pass after waiting for {@link @waitInMs}.
                     throw new PriorityWaitException(waitInMs);
@@ -0,0 +1,45 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+
+/**
+ * Helper for traffic shaping controllers that pace requests.
+ *
+ * @since 1.8.1
+ */
+final class PacingSupport {
+
+    /**
+     * Record the time to wait in current context if the pacing is deferred to the caller
+     * (i.e. the non-blocking entry), so that the controller should not sleep.
+     *
+     * @param waitMs time to wait in milliseconds
+     * @return true if the wait has been deferred to the caller, otherwise the controller should sleep
+     */
+    static boolean tryDefer(long waitMs) {
+        Context context = ContextUtil.getContext();
+        if (context != null && context.isPacingDeferred()) {
+            context.deferPacing(waitMs);
+            return true;
+        }
+        return false;
+    }
+
+    private PacingSupport() {}
+}
@@ -79,7 +79,7 @@ public class RateLimiterController implements TrafficShapingController {
                         return false;
                     }
                     // in race condition waitTime may <= 0
-                    if (waitTime > 0) {
+                    if (waitTime > 0 && !PacingSupport.tryDefer(waitTime)) {
                         Thread.sleep(waitTime);
                     }
                     return true;
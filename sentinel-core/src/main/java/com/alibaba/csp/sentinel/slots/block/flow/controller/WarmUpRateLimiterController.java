@@ -75,7 +75,7 @@ public class WarmUpRateLimiterController extends WarmUpController {
                         latestPassedTime.addAndGet(-costTime);
                         return false;
                     }
-                    if (waitTime > 0) {
+                    if (waitTime > 0 && !PacingSupport.tryDefer(waitTime)) {
                         Thread.sleep(waitTime);
                     }
                     return true;
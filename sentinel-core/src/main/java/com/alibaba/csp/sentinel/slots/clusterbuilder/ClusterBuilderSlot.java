@@ -15,10 +15,12 @@
  */
 package com.alibaba.csp.sentinel.slots.clusterbuilder;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.IdleResourceSweeper;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.node.ClusterNode;
@@ -31,6 +33,7 @@ import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.spi.SpiOrder;
+import com.alibaba.csp.sentinel.util.TimeUtil;
 
 /**
  * <p>
@@ -61,14 +64,11 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
      * in this map.
      * </p>
      * <p>
-     * The longer the application runs, the more stable this mapping will
-     * become. so we don't concurrent map but a lock. as this lock only happens
-     * at the very beginning while concurrent map will hold the lock all the time.
+     * Reads of a concurrent map do not lock, and registering new resources won't copy
+     * the whole map, so warming up lots of dynamically named resources stays cheap.
      * </p>
      */
-    private static volatile Map<ResourceWrapper, ClusterNode> clusterNodeMap = new HashMap<>();
-
-    private static final Object lock = new Object();
+    private static final ConcurrentMap<ResourceWrapper, ClusterNode> clusterNodeMap = new ConcurrentHashMap<>();
 
     private volatile ClusterNode clusterNode = null;
 
@@ -76,20 +76,19 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count,
                       boolean prioritized, Object... args)
         throws Throwable {
-        if (clusterNode == null) {
-            synchronized (lock) {
-                if (clusterNode == null) {
-                    // Create the cluster node.
-                    clusterNode = new ClusterNode(resourceWrapper.getName(), resourceWrapper.getResourceType());
-                    HashMap<ResourceWrapper, ClusterNode> newMap = new HashMap<>(Math.max(clusterNodeMap.size(), 16));
-                    newMap.putAll(clusterNodeMap);
-                    newMap.put(node.getId(), clusterNode);
-
-                    clusterNodeMap = newMap;
-                }
-            }
+        ClusterNode current = clusterNode;
+        if (current == null || current.isEvicted()) {
+            // Create the cluster node. Only one node will be published even under race.
+            // An evicted node is replaced as well, which happens when the chain was in use during eviction.
+            ClusterNode newNode = new ClusterNode(resourceWrapper.getName(), resourceWrapper.getResourceType());
+            ClusterNode existing = clusterNodeMap.putIfAbsent(node.getId(), newNode);
+            current = existing == null ? newNode : existing;
+            clusterNode = current;
         }
-        node.setClusterNode(clusterNode);
+        if (IdleResourceSweeper.isEnabled()) {
+            current.markAccessed(TimeUtil.currentTimeMillis());
+        }
+        node.setClusterNode(current);
 
         /*
          * if context origin is set, we should get or create a new {@link Node} of
@@ -152,6 +151,18 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
         return clusterNodeMap;
     }
 
+    /**
+     * Remove the {@link ClusterNode} of the resource if it is still registered. Used by {@link IdleResourceSweeper}.
+     *
+     * @param id   the resource
+     * @param node the registered cluster node of the resource
+     * @return true if the node was removed
+     * @since 1.8.1
+     */
+    public static boolean removeClusterNode(ResourceWrapper id, ClusterNode node) {
+        return clusterNodeMap.remove(id, node);
+    }
+
     /**
      * Reset all {@link ClusterNode}s. Reset is needed when {@link IntervalProperty#INTERVAL} or
      * {@link SampleCountProperty#SAMPLE_COUNT} is changed.
@@ -0,0 +1,71 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+
+/**
+ * <p>Unit of response time recorded in metric buckets ({@link SentinelConfig#statisticRtUnit()}).
+ * In the {@code us} unit, response time is measured with {@link System#nanoTime()} and recorded in
+ * microseconds, so that sub-millisecond calls are distinguishable. The RT read from nodes
+ * (e.g. {@code avgRt()} and {@code minRt()}) is always in milliseconds.</p>
+ *
+ * @since 1.8.1
+ */
+public final class RtUnit {
+
+    /**
+     * Whether response time is recorded in microseconds.
+     */
+    public static final boolean MICROS = SentinelConfig.RT_UNIT_MICROS.equals(SentinelConfig.statisticRtUnit());
+
+    /**
+     * Count of recorded RT units in one millisecond.
+     */
+    public static final int UNITS_PER_MILLI = MICROS ? 1000 : 1;
+
+    /**
+     * Get the statistic max RT ({@link SentinelConfig#statisticMaxRt()}) in the recorded unit.
+     *
+     * @return the max RT in the recorded unit
+     */
+    public static long maxRt() {
+        return (long)SentinelConfig.statisticMaxRt() * UNITS_PER_MILLI;
+    }
+
+    /**
+     * Convert the recorded RT to milliseconds.
+     *
+     * @param rt RT in the recorded unit
+     * @return RT in milliseconds
+     */
+    public static double toMillis(double rt) {
+        return MICROS ? rt / UNITS_PER_MILLI : rt;
+    }
+
+    /**
+     * Get the current time for measuring response time in the recorded unit.
+     *
+     * @param currentTimeMillis current time in milliseconds
+     * @return {@code System.nanoTime()} in microseconds if RT is recorded in microseconds,
+     * otherwise the given time in milliseconds
+     */
+    public static long now(long currentTimeMillis) {
+        return MICROS ? System.nanoTime() / 1000 : currentTimeMillis;
+    }
+
+    private RtUnit() {}
+}
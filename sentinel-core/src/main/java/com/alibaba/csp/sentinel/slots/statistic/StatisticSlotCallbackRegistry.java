@@ -15,7 +15,10 @@
  */
 package com.alibaba.csp.sentinel.slots.statistic;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -43,42 +46,87 @@ public final class StatisticSlotCallbackRegistry {
     private static final Map<String, ProcessorSlotExitCallback> exitCallbackMap
         = new ConcurrentHashMap<String, ProcessorSlotExitCallback>();
 
-    public static void clearEntryCallback() {
+    /**
+     * Snapshots of the registered callbacks, so that iterating the callbacks on the
+     * entry/exit path by index does not allocate iterators.
+     */
+    private static volatile List<ProcessorSlotEntryCallback<DefaultNode>> entryCallbacks
+        = Collections.emptyList();
+    private static volatile List<ProcessorSlotExitCallback> exitCallbacks = Collections.emptyList();
+
+    public static synchronized void clearEntryCallback() {
         entryCallbackMap.clear();
+        refreshEntryCallbacks();
     }
 
-    public static void clearExitCallback() {
+    public static synchronized void clearExitCallback() {
         exitCallbackMap.clear();
+        refreshExitCallbacks();
     }
 
-    public static void addEntryCallback(String key, ProcessorSlotEntryCallback<DefaultNode> callback) {
+    public static synchronized void addEntryCallback(String key, ProcessorSlotEntryCallback<DefaultNode> callback) {
         entryCallbackMap.put(key, callback);
+        refreshEntryCallbacks();
     }
 
-    public static void addExitCallback(String key, ProcessorSlotExitCallback callback) {
+    public static synchronized void addExitCallback(String key, ProcessorSlotExitCallback callback) {
         exitCallbackMap.put(key, callback);
+        refreshExitCallbacks();
     }
 
-    public static ProcessorSlotEntryCallback<DefaultNode> removeEntryCallback(String key) {
+    public static synchronized ProcessorSlotEntryCallback<DefaultNode> removeEntryCallback(String key) {
         if (key == null) {
             return null;
         }
-        return entryCallbackMap.remove(key);
+        ProcessorSlotEntryCallback<DefaultNode> callback = entryCallbackMap.remove(key);
+        refreshEntryCallbacks();
+        return callback;
     }
 
-    public static ProcessorSlotExitCallback removeExitCallback(String key) {
+    public static synchronized ProcessorSlotExitCallback removeExitCallback(String key) {
         if (key == null) {
             return null;
         }
-        return exitCallbackMap.remove(key);
+        ProcessorSlotExitCallback callback = exitCallbackMap.remove(key);
+        refreshExitCallbacks();
+        return callback;
     }
 
     public static Collection<ProcessorSlotEntryCallback<DefaultNode>> getEntryCallbacks() {
-        return entryCallbackMap.values();
+        return entryCallbacks;
     }
 
     public static Collection<ProcessorSlotExitCallback> getExitCallbacks() {
-        return exitCallbackMap.values();
+        return exitCallbacks;
+    }
+
+    /**
+     * Get the snapshot of registered entry callbacks, which supports random access.
+     *
+     * @return snapshot of registered entry callbacks
+     * @since 1.8.1
+     */
+    static List<ProcessorSlotEntryCallback<DefaultNode>> getEntryCallbackList() {
+        return entryCallbacks;
+    }
+
+    /**
+     * Get the snapshot of registered exit callbacks, which supports random access.
+     *
+     * @return snapshot of registered exit callbacks
+     * @since 1.8.1
+     */
+    static List<ProcessorSlotExitCallback> getExitCallbackList() {
+        return exitCallbacks;
+    }
+
+    private static void refreshEntryCallbacks() {
+        entryCallbacks = Collections.unmodifiableList(
+            new ArrayList<ProcessorSlotEntryCallback<DefaultNode>>(entryCallbackMap.values()));
+    }
+
+    private static void refreshExitCallbacks() {
+        exitCallbacks = Collections.unmodifiableList(new ArrayList<ProcessorSlotExitCallback>(exitCallbackMap.values()));
     }
 
     private StatisticSlotCallbackRegistry() {}
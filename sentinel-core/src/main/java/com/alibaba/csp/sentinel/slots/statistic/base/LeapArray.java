@@ -17,9 +17,11 @@ package com.alibaba.csp.sentinel.slots.statistic.base;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.ReentrantLock;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 
@@ -32,6 +34,11 @@ import com.alibaba.csp.sentinel.util.TimeUtil;
  * and the total time span is {@link #intervalInMs}, so the total bucket amount is:
  * {@code sampleCount = intervalInMs / windowLengthInMs}.
  * </p>
+ * <p>
+ * Deprecated buckets are rotated in one of the two ways (see {@link SentinelConfig#STATISTIC_WINDOW_ROTATION}):
+ * under a conditional update lock (the default), or via a per-bucket epoch stamp and CAS (see
+ * {@code currentWindowByEpoch}).
+ * </p>
  *
  * @param <T> type of statistic data
  * @author jialiang.linjl
@@ -52,6 +59,18 @@ public abstract class LeapArray<T> {
      */
     private final ReentrantLock updateLock = new ReentrantLock();
 
+    private static final boolean DEFAULT_EPOCH_ROTATION = SentinelConfig.WINDOW_ROTATION_EPOCH.equals(
+        SentinelConfig.statisticWindowRotation());
+
+    /**
+     * Start time of the latest window that has claimed each bucket, only used by epoch rotation.
+     */
+    private final AtomicLongArray epochs;
+    /**
+     * Retired bucket of each slot that will be reset and reused in the next rotation, only used by epoch rotation.
+     */
+    private final AtomicReferenceArray<WindowWrap<T>> spares;
+
     /**
      * The total bucket count is: {@code sampleCount = intervalInMs / windowLengthInMs}.
      *
@@ -59,6 +78,16 @@ public abstract class LeapArray<T> {
      * @param intervalInMs the total time interval of this {@link LeapArray} in milliseconds
      */
     public LeapArray(int sampleCount, int intervalInMs) {
+        this(sampleCount, intervalInMs, DEFAULT_EPOCH_ROTATION);
+    }
+
+    /**
+     * @param sampleCount   bucket count of the sliding window
+     * @param intervalInMs  the total time interval of this {@link LeapArray} in milliseconds
+     * @param epochRotation whether to rotate deprecated buckets via epoch stamps rather than the update lock
+     * @since 1.8.1
+     */
+    protected LeapArray(int sampleCount, int intervalInMs, boolean epochRotation) {
         AssertUtil.isTrue(sampleCount > 0, "bucket count is invalid: " + sampleCount);
         AssertUtil.isTrue(intervalInMs > 0, "total time interval of the sliding window should be positive");
         AssertUtil.isTrue(intervalInMs % sampleCount == 0, "time span needs to be evenly divided");
@@ -69,6 +98,13 @@ public abstract class LeapArray<T> {
         this.sampleCount = sampleCount;
 
         this.array = new AtomicReferenceArray<>(sampleCount);
+        if (epochRotation) {
+            this.epochs = new AtomicLongArray(sampleCount);
+            this.spares = new AtomicReferenceArray<>(sampleCount);
+        } else {
+            this.epochs = null;
+            this.spares = null;
+        }
     }
 
     /**
@@ -121,6 +157,9 @@ public abstract class LeapArray<T> {
         int idx = calculateTimeIdx(timeMillis);
         // Calculate current bucket start time.
         long windowStart = calculateWindowStart(timeMillis);
+        if (epochs != null) {
+            return currentWindowByEpoch(timeMillis, idx, windowStart);
+        }
 
         /*
          * Get bucket item at given time from the array.
@@ -201,6 +240,54 @@ public abstract class LeapArray<T> {
         }
     }
 
+    /**
+     * <p>Get bucket item at given time without any lock or yield.</p>
+     * <p>
+     * Each slot keeps an epoch stamp (the start time of the latest window that claimed the slot) and a spare
+     * bucket. When the bucket in the slot is deprecated, the thread that wins the CAS of the epoch stamp resets
+     * the spare bucket (which nobody else is using) to the new window, then publishes it into the slot, and the
+     * retired bucket becomes the next spare. Other threads never wait: during the short rotation they still get
+     * the retired bucket, so the few updates made at that moment are attributed to the previous window.
+     * </p>
+     * <p>
+     * Note that the spare buckets double the memory of the sliding window.
+     * </p>
+     */
+    private WindowWrap<T> currentWindowByEpoch(long timeMillis, int idx, long windowStart) {
+        while (true) {
+            WindowWrap<T> old = array.get(idx);
+            if (old == null) {
+                WindowWrap<T> window = new WindowWrap<T>(windowLengthInMs, windowStart, newEmptyBucket(timeMillis));
+                if (array.compareAndSet(idx, null, window)) {
+                    return window;
+                }
+                // The bucket has been created by another thread, so just read it again.
+                continue;
+            }
+            long oldStart = old.windowStart();
+            if (windowStart == oldStart) {
+                return old;
+            }
+            if (windowStart < oldStart) {
+                // Should not go through here, as the provided time is already behind.
+                return new WindowWrap<T>(windowLengthInMs, windowStart, newEmptyBucket(timeMillis));
+            }
+            long epoch = epochs.get(idx);
+            if (epoch >= windowStart || !epochs.compareAndSet(idx, epoch, windowStart)) {
+                // Another thread is rotating the bucket.
+                return old;
+            }
+            WindowWrap<T> spare = spares.get(idx);
+            WindowWrap<T> window = spare == null
+                ? new WindowWrap<T>(windowLengthInMs, windowStart, newEmptyBucket(timeMillis))
+                : resetWindowTo(spare, windowStart);
+            if (array.compareAndSet(idx, old, window)) {
+                spares.set(idx, old);
+                return window;
+            }
+        }
+    }
+
     /**
      * Get the previous bucket item before provided timestamp.
      *
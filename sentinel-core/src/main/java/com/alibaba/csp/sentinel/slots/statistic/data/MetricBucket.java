@@ -15,8 +15,10 @@
  */
 package com.alibaba.csp.sentinel.slots.statistic.data;
 
-import com.alibaba.csp.sentinel.config.SentinelConfig;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
 import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
+import com.alibaba.csp.sentinel.slots.statistic.RtUnit;
 import com.alibaba.csp.sentinel.slots.statistic.base.LongAdder;
 
 /**
@@ -27,30 +29,58 @@ import com.alibaba.csp.sentinel.slots.statistic.base.LongAdder;
  */
 public class MetricBucket {
 
+    private static final AtomicReferenceFieldUpdater<MetricBucket, RtHistogram> RT_HISTOGRAM_UPDATER
+        = AtomicReferenceFieldUpdater.newUpdater(MetricBucket.class, RtHistogram.class, "rtHistogram");
+
     private final LongAdder[] counters;
 
     private volatile long minRt;
 
+    /**
+     * Histogram of response time, created on the first {@link #addRtHistogram(long)}.
+     */
+    private volatile RtHistogram rtHistogram;
+
     public MetricBucket() {
-        MetricEvent[] events = MetricEvent.values();
-        this.counters = new LongAdder[events.length];
-        for (MetricEvent event : events) {
-            counters[event.ordinal()] = new LongAdder();
+        this(true);
+    }
+
+    /**
+     * Constructor for subclasses. Subclasses with customized counter layout should not create the adders,
+     * and should override {@link #get(MetricEvent)}, {@link #add(MetricEvent, long)} and {@link #resetCounters()}.
+     *
+     * @param createAdders whether to create the default {@link LongAdder} counters
+     * @since 1.8.1
+     */
+    protected MetricBucket(boolean createAdders) {
+        if (createAdders) {
+            MetricEvent[] events = MetricEvent.values();
+            this.counters = new LongAdder[events.length];
+            for (MetricEvent event : events) {
+                counters[event.ordinal()] = new LongAdder();
+            }
+        } else {
+            this.counters = null;
         }
         initMinRt();
     }
 
     public MetricBucket reset(MetricBucket bucket) {
+        resetCounters();
         for (MetricEvent event : MetricEvent.values()) {
-            counters[event.ordinal()].reset();
-            counters[event.ordinal()].add(bucket.get(event));
+            add(event, bucket.get(event));
         }
         initMinRt();
+        resetRtHistogram();
+        RtHistogram other = bucket.rtHistogram;
+        if (other != null) {
+            getOrCreateRtHistogram().add(other);
+        }
         return this;
     }
 
     private void initMinRt() {
-        this.minRt = SentinelConfig.statisticMaxRt();
+        this.minRt = RtUnit.maxRt();
     }
 
     /**
@@ -59,13 +89,39 @@ public class MetricBucket {
      * @return new metric bucket in initial state
      */
     public MetricBucket reset() {
-        for (MetricEvent event : MetricEvent.values()) {
-            counters[event.ordinal()].reset();
-        }
+        resetCounters();
         initMinRt();
+        resetRtHistogram();
         return this;
     }
 
+    private void resetRtHistogram() {
+        RtHistogram histogram = rtHistogram;
+        if (histogram != null) {
+            histogram.reset();
+        }
+    }
+
+    private RtHistogram getOrCreateRtHistogram() {
+        RtHistogram histogram = rtHistogram;
+        if (histogram == null) {
+            RT_HISTOGRAM_UPDATER.compareAndSet(this, null, new RtHistogram());
+            histogram = rtHistogram;
+        }
+        return histogram;
+    }
+
+    /**
+     * Reset all counters of the bucket to zero.
+     *
+     * @since 1.8.1
+     */
+    protected void resetCounters() {
+        for (LongAdder counter : counters) {
+            counter.reset();
+        }
+    }
+
     public long get(MetricEvent event) {
         return counters[event.ordinal()].sum();
     }
@@ -99,6 +155,16 @@ public class MetricBucket {
         return minRt;
     }
 
+    /**
+     * Get the histogram of response time in this bucket.
+     *
+     * @return the histogram, or null if no response time has been recorded or the histogram is disabled
+     * @since 1.8.1
+     */
+    public RtHistogram rtHistogram() {
+        return rtHistogram;
+    }
+
     public long success() {
         return get(MetricEvent.SUCCESS);
     }
@@ -132,6 +198,16 @@ public class MetricBucket {
         }
     }
 
+    /**
+     * Record the response time into the histogram of this bucket, creating it if absent.
+     *
+     * @param rt response time, in the unit of {@link RtUnit}
+     * @since 1.8.1
+     */
+    public void addRtHistogram(long rt) {
+        getOrCreateRtHistogram().record(rt);
+    }
+
     @Override
     public String toString() {
         return "p: " + pass() + ", b: " + block() + ", w: " + occupiedPass();
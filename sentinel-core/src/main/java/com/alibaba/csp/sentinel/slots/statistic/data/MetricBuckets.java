@@ -0,0 +1,60 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+/**
+ * Creates {@link MetricBucket} of the layout configured by {@link SentinelConfig#STATISTIC_BUCKET_LAYOUT}.
+ * The layout is resolved once when the class is initialized.
+ *
+ * @since 1.8.1
+ */
+public final class MetricBuckets {
+
+    private static final boolean STRIPED;
+    private static final boolean COMPACT;
+    private static final int STRIPES;
+
+    static {
+        String layout = SentinelConfig.statisticBucketLayout();
+        STRIPED = SentinelConfig.BUCKET_LAYOUT_STRIPED.equals(layout);
+        COMPACT = SentinelConfig.BUCKET_LAYOUT_COMPACT.equals(layout);
+        STRIPES = STRIPED ? SentinelConfig.statisticBucketStripes() : 1;
+        if (STRIPED) {
+            RecordLog.info("[MetricBuckets] Using striped metric bucket layout, stripes={}", STRIPES);
+        } else if (COMPACT) {
+            RecordLog.info("[MetricBuckets] Using compact metric bucket layout");
+        }
+    }
+
+    /**
+     * @return a new empty metric bucket of the configured layout
+     */
+    public static MetricBucket newBucket() {
+        if (STRIPED) {
+            return new StripedMetricBucket(STRIPES);
+        }
+        return COMPACT ? new CompactMetricBucket() : new MetricBucket();
+    }
+
+    public static boolean isStriped() {
+        return STRIPED;
+    }
+
+    private MetricBuckets() {}
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.slots.statistic.RtUnit;
+
+/**
+ * <p>Fixed-memory, lock-free log-linear histogram of response time (in the unit of {@link RtUnit}).</p>
+ *
+ * <p>Values in {@code [0, 16)} are counted exactly. Each power-of-two range above is divided into 8 equal
+ * sub-ranges, so a recorded value is represented with a relative error of no more than 1/16. The range is
+ * bounded by the statistic max RT ({@link SentinelConfig#statisticMaxRt()}), where larger values are counted
+ * in the last sub-range. With the default max RT (5000 ms) the histogram takes 82 counters in milliseconds,
+ * or 162 counters in microseconds.</p>
+ *
+ * @since 1.8.1
+ */
+public final class RtHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /**
+     * Values below this are counted exactly.
+     */
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+    private static final int LINEAR_BITS = SUB_BUCKET_BITS + 1;
+
+    static final int LENGTH = indexOf(RtUnit.maxRt(), Integer.MAX_VALUE) + 1;
+
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(LENGTH);
+
+    /**
+     * Record a value.
+     *
+     * @param value response time in the unit of {@link RtUnit}
+     */
+    public void record(long value) {
+        counts.getAndIncrement(indexOf(value, LENGTH - 1));
+    }
+
+    /**
+     * Add all counts of another histogram to this one.
+     *
+     * @param other another histogram
+     */
+    public void add(RtHistogram other) {
+        for (int i = 0; i < LENGTH; i++) {
+            int count = other.counts.get(i);
+            if (count != 0) {
+                counts.getAndAdd(i, count);
+            }
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < LENGTH; i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    public long totalCount() {
+        long total = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Get the value at the given percentile.
+     *
+     * @param percentile percentile in [0, 100]
+     * @return the value at the percentile, or 0 if there is no recorded value
+     */
+    public long valueAtPercentile(double percentile) {
+        long total = totalCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = rankOf(percentile, total);
+        long cumulative = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= rank) {
+                return valueOf(i);
+            }
+        }
+        return valueOf(LENGTH - 1);
+    }
+
+    /**
+     * Get the value at the given percentile of the values recorded in all the histograms.
+     *
+     * @param histograms histograms, where null elements are skipped
+     * @param percentile percentile in [0, 100]
+     * @return the value at the percentile, or 0 if there is no recorded value
+     */
+    public static long valueAtPercentile(List<RtHistogram> histograms, double percentile) {
+        long total = 0;
+        for (RtHistogram histogram : histograms) {
+            if (histogram != null) {
+                total += histogram.totalCount();
+            }
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = rankOf(percentile, total);
+        long cumulative = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            for (RtHistogram histogram : histograms) {
+                if (histogram != null) {
+                    cumulative += histogram.counts.get(i);
+                }
+            }
+            if (cumulative >= rank) {
+                return valueOf(i);
+            }
+        }
+        return valueOf(LENGTH - 1);
+    }
+
+    private static long rankOf(double percentile, long total) {
+        double p = Math.min(100, Math.max(0, percentile));
+        return Math.max(1, (long) Math.ceil(p / 100 * total));
+    }
+
+    static int indexOf(long value, int maxIndex) {
+        if (value < LINEAR_LIMIT) {
+            return value < 0 ? 0 : (int) value;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (highestBit - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        long index = LINEAR_LIMIT + ((long) (highestBit - LINEAR_BITS) << SUB_BUCKET_BITS) + subBucket;
+        return (int) Math.min(index, maxIndex);
+    }
+
+    /**
+     * Get the representative value (the middle) of the range counted at the index.
+     */
+    static long valueOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int shift = (offset >>> SUB_BUCKET_BITS) + 1;
+        long lowest = (long) (SUB_BUCKET_COUNT + (offset & (SUB_BUCKET_COUNT - 1))) << shift;
+        return lowest + ((1L << shift) - 1) / 2;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>A {@link MetricBucket} that keeps all counters in one contiguous {@code long} cell array
+ * instead of one {@link com.alibaba.csp.sentinel.slots.statistic.base.LongAdder} per event.</p>
+ * <p>
+ * The array is striped: each stripe holds the counters of all events and occupies a whole cache line,
+ * and each thread always updates the stripe chosen by its thread ID. So threads on different stripes
+ * never write to the same cache line. Reading an event sums up the cell of the event in all stripes.
+ * </p>
+ * <p>
+ * Memory footprint of each bucket is about {@code stripes * 64} bytes (plus padding), which is fixed
+ * and allocated eagerly, so the stripe amount should be chosen carefully when there are lots of resources.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public class StripedMetricBucket extends MetricBucket {
+
+    /**
+     * Each stripe takes 8 longs (64 bytes, a typical cache line), which could hold all metric events.
+     */
+    private static final int STRIPE_SHIFT = 3;
+    /**
+     * Padding cells before the first stripe and after the last stripe, to avoid sharing cache lines
+     * with the array header and neighbouring objects.
+     */
+    private static final int PADDING = 1 << STRIPE_SHIFT;
+
+    private static final int EVENT_COUNT = MetricEvent.values().length;
+
+    static {
+        AssertUtil.isTrue(EVENT_COUNT <= (1 << STRIPE_SHIFT), "too many metric events for a stripe");
+    }
+
+    private final AtomicLongArray cells;
+    private final int stripeMask;
+
+    /**
+     * @param stripes amount of stripes, which will be rounded up to a power of two
+     */
+    public StripedMetricBucket(int stripes) {
+        super(false);
+        AssertUtil.isTrue(stripes > 0, "stripes should be positive");
+        int size = ceilingPowerOfTwo(stripes);
+        this.stripeMask = size - 1;
+        this.cells = new AtomicLongArray(PADDING + (size << STRIPE_SHIFT) + PADDING);
+    }
+
+    @Override
+    public long get(MetricEvent event) {
+        int ordinal = event.ordinal();
+        long sum = 0;
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            sum += cells.get(indexOf(stripe, ordinal));
+        }
+        return sum;
+    }
+
+    @Override
+    public MetricBucket add(MetricEvent event, long n) {
+        cells.getAndAdd(indexOf(currentStripe(), event.ordinal()), n);
+        return this;
+    }
+
+    @Override
+    protected void resetCounters() {
+        for (int i = PADDING; i < cells.length() - PADDING; i++) {
+            cells.set(i, 0);
+        }
+    }
+
+    public int getStripeCount() {
+        return stripeMask + 1;
+    }
+
+    private int currentStripe() {
+        // Thread IDs are sequential, so mix the bits to spread threads over stripes evenly.
+        long id = Thread.currentThread().getId();
+        return (int)((id * 0x9E3779B97F4A7C15L) >>> 40) & stripeMask;
+    }
+
+    private static int indexOf(int stripe, int ordinal) {
+        return PADDING + (stripe << STRIPE_SHIFT) + ordinal;
+    }
+
+    static int ceilingPowerOfTwo(int n) {
+        int size = 1;
+        while (size < n) {
+            size <<= 1;
+        }
+        return size;
+    }
+}
@@ -18,11 +18,12 @@ package com.alibaba.csp.sentinel.slots.statistic.metric;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.node.metric.MetricNode;
 import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
+import com.alibaba.csp.sentinel.slots.statistic.RtUnit;
 import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
 import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+import com.alibaba.csp.sentinel.slots.statistic.data.RtHistogram;
 import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
 import com.alibaba.csp.sentinel.slots.statistic.metric.occupy.OccupiableBucketLeapArray;
 import com.alibaba.csp.sentinel.util.function.Predicate;
@@ -33,20 +34,31 @@ import com.alibaba.csp.sentinel.util.function.Predicate;
  * @author jialiang.linjl
  * @author Eric Zhao
  */
-public class ArrayMetric implements Metric {
+public class ArrayMetric implements Metric, RtPercentileMetric {
 
     private final LeapArray<MetricBucket> data;
+    private final boolean rtHistogramEnabled;
 
     public ArrayMetric(int sampleCount, int intervalInMs) {
-        this.data = new OccupiableBucketLeapArray(sampleCount, intervalInMs);
+        this(sampleCount, intervalInMs, true);
     }
 
     public ArrayMetric(int sampleCount, int intervalInMs, boolean enableOccupy) {
+        this(sampleCount, intervalInMs, enableOccupy, false);
+    }
+
+    /**
+     * @param enableRtHistogram whether to keep a histogram of response time in each bucket,
+     *                          which is required by {@link #rtPercentile(double)}
+     * @since 1.8.1
+     */
+    public ArrayMetric(int sampleCount, int intervalInMs, boolean enableOccupy, boolean enableRtHistogram) {
         if (enableOccupy) {
             this.data = new OccupiableBucketLeapArray(sampleCount, intervalInMs);
         } else {
             this.data = new BucketLeapArray(sampleCount, intervalInMs);
         }
+        this.rtHistogramEnabled = enableRtHistogram;
     }
 
     /**
@@ -54,6 +66,7 @@ public class ArrayMetric implements Metric {
      */
     public ArrayMetric(LeapArray<MetricBucket> array) {
         this.data = array;
+        this.rtHistogramEnabled = false;
     }
 
     @Override
@@ -141,7 +154,7 @@ public class ArrayMetric implements Metric {
     @Override
     public long minRt() {
         data.currentWindow();
-        long rt = SentinelConfig.statisticMaxRt();
+        long rt = RtUnit.maxRt();
         List<MetricBucket> list = data.values();
         for (MetricBucket window : list) {
             if (window.minRt() < rt) {
@@ -152,6 +165,17 @@ public class ArrayMetric implements Metric {
         return Math.max(1, rt);
     }
 
+    @Override
+    public long rtPercentile(double percentile) {
+        data.currentWindow();
+        List<MetricBucket> list = data.values();
+        List<RtHistogram> histograms = new ArrayList<>(list.size());
+        for (MetricBucket window : list) {
+            histograms.add(window.rtHistogram());
+        }
+        return RtHistogram.valueAtPercentile(histograms, percentile);
+    }
+
     @Override
     public List<MetricNode> details() {
         List<MetricNode> details = new ArrayList<>();
@@ -195,12 +219,19 @@ public class ArrayMetric implements Metric {
         long successQps = wrap.value().success();
         node.setSuccessQps(successQps);
         if (successQps != 0) {
-            node.setRt(wrap.value().rt() / successQps);
+            node.setRt(wrap.value().rt() / successQps / RtUnit.UNITS_PER_MILLI);
         } else {
-            node.setRt(wrap.value().rt());
+            node.setRt(wrap.value().rt() / RtUnit.UNITS_PER_MILLI);
         }
         node.setTimestamp(wrap.windowStart());
         node.setOccupiedPassQps(wrap.value().occupiedPass());
+        RtHistogram histogram = wrap.value().rtHistogram();
+        if (histogram != null) {
+            node.setRtP50(histogram.valueAtPercentile(50) / RtUnit.UNITS_PER_MILLI);
+            node.setRtP90(histogram.valueAtPercentile(90) / RtUnit.UNITS_PER_MILLI);
+            node.setRtP99(histogram.valueAtPercentile(99) / RtUnit.UNITS_PER_MILLI);
+            node.setRtP999(histogram.valueAtPercentile(99.9) / RtUnit.UNITS_PER_MILLI);
+        }
         return node;
     }
 
@@ -249,6 +280,9 @@ public class ArrayMetric implements Metric {
     public void addRT(long rt) {
         WindowWrap<MetricBucket> wrap = data.currentWindow();
         wrap.value().addRT(rt);
+        if (rtHistogramEnabled) {
+            wrap.value().addRtHistogram(rt);
+        }
     }
 
     @Override
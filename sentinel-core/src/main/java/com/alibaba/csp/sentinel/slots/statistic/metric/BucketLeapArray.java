@@ -18,6 +18,7 @@ package com.alibaba.csp.sentinel.slots.statistic.metric;
 import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
 import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
 import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+import com.alibaba.csp.sentinel.slots.statistic.data.MetricBuckets;
 
 /**
  * The fundamental data structure for metric statistics in a time span.
@@ -32,9 +33,17 @@ public class BucketLeapArray extends LeapArray<MetricBucket> {
         super(sampleCount, intervalInMs);
     }
 
+    /**
+     * @param epochRotation whether to rotate deprecated buckets via epoch stamps rather than the update lock
+     * @since 1.8.1
+     */
+    public BucketLeapArray(int sampleCount, int intervalInMs, boolean epochRotation) {
+        super(sampleCount, intervalInMs, epochRotation);
+    }
+
     @Override
     public MetricBucket newEmptyBucket(long time) {
-        return new MetricBucket();
+        return MetricBuckets.newBucket();
     }
 
     @Override
@@ -65,14 +65,14 @@ public interface Metric extends DebugSupport {
     long pass();
 
     /**
-     * Get total response time.
+     * Get total response time, in the unit of {@link com.alibaba.csp.sentinel.slots.statistic.RtUnit}.
      *
      * @return total RT
      */
     long rt();
 
     /**
-     * Get the minimal RT.
+     * Get the minimal RT, in the unit of {@link com.alibaba.csp.sentinel.slots.statistic.RtUnit}.
      *
      * @return minimal RT
      */
@@ -130,7 +130,7 @@ public interface Metric extends DebugSupport {
     void addPass(int n);
 
     /**
-     * Add given RT to current total RT.
+     * Add given RT to current total RT, in the unit of {@link com.alibaba.csp.sentinel.slots.statistic.RtUnit}.
      *
      * @param rt RT
      */
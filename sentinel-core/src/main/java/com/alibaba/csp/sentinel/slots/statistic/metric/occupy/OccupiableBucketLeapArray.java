@@ -21,6 +21,7 @@ import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
 import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
 import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
 import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+import com.alibaba.csp.sentinel.slots.statistic.data.MetricBuckets;
 
 /**
  * @author jialiang.linjl
@@ -38,7 +39,7 @@ public class OccupiableBucketLeapArray extends LeapArray<MetricBucket> {
 
     @Override
     public MetricBucket newEmptyBucket(long time) {
-        MetricBucket newBucket = new MetricBucket();
+        MetricBucket newBucket = MetricBuckets.newBucket();
 
         MetricBucket borrowBucket = borrowArray.getWindowValue(time);
         if (borrowBucket != null) {
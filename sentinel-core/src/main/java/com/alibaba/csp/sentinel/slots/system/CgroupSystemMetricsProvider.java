@@ -0,0 +1,242 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+
+/**
+ * <p>System metrics provider reading the CPU controller of the cgroup (v1 or v2) directly, so that the metrics
+ * reflect the container rather than the host.</p>
+ *
+ * <ul>
+ * <li>The CPU usage is the CPU time consumed by the cgroup during the sampling interval, divided by the CPU limit
+ * (the CFS quota, or the available processors if there is no quota).</li>
+ * <li>The load is estimated as the busy CPUs plus the share of time that runnable tasks stalled on CPU, taken from
+ * the PSI ({@code cpu.pressure}) of cgroup v2. If PSI is not available, the load of the fallback provider
+ * is used instead.</li>
+ * </ul>
+ *
+ * @since 1.8.1
+ */
+public class CgroupSystemMetricsProvider implements SystemMetricsProvider {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String[] V1_CPUACCT_DIRS = {"cpu,cpuacct", "cpuacct,cpu", "cpuacct"};
+    private static final String[] V1_CPU_DIRS = {"cpu,cpuacct", "cpuacct,cpu", "cpu"};
+
+    private final boolean v2;
+    private final File usageFile;
+    private final File quotaFile;
+    private final File periodFile;
+    private final File pressureFile;
+    private final int availableProcessors;
+    private final SystemMetricsProvider loadFallback;
+
+    private long lastSampleNanos = -1;
+    private long lastUsageNanos;
+    private long lastStallMicros = -1;
+
+    private double load = -1;
+    private double cpuUsage = -1;
+
+    private CgroupSystemMetricsProvider(boolean v2, File usageFile, File quotaFile, File periodFile,
+                                        File pressureFile, int availableProcessors,
+                                        SystemMetricsProvider loadFallback) {
+        this.v2 = v2;
+        this.usageFile = usageFile;
+        this.quotaFile = quotaFile;
+        this.periodFile = periodFile;
+        this.pressureFile = pressureFile;
+        this.availableProcessors = availableProcessors;
+        this.loadFallback = loadFallback;
+    }
+
+    /**
+     * Detect the cgroup layout under the given root directory.
+     *
+     * @param root         root directory of the cgroup file system, e.g. {@code /sys/fs/cgroup}
+     * @param loadFallback provider of the load if PSI is not available, nullable
+     * @return the provider, or null if no CPU controller is found under the root directory
+     */
+    public static CgroupSystemMetricsProvider detect(String root, SystemMetricsProvider loadFallback) {
+        return detect(root, Runtime.getRuntime().availableProcessors(), loadFallback);
+    }
+
+    static CgroupSystemMetricsProvider detect(String root, int availableProcessors,
+                                              SystemMetricsProvider loadFallback) {
+        File rootDir = new File(root);
+        if (new File(rootDir, "cgroup.controllers").isFile()) {
+            File cpuStat = new File(rootDir, "cpu.stat");
+            if (!cpuStat.isFile()) {
+                return null;
+            }
+            File pressure = new File(rootDir, "cpu.pressure");
+            return new CgroupSystemMetricsProvider(true, cpuStat, new File(rootDir, "cpu.max"), null,
+                pressure.isFile() ? pressure : null, availableProcessors, loadFallback);
+        }
+        File usage = findFile(rootDir, V1_CPUACCT_DIRS, "cpuacct.usage");
+        if (usage == null) {
+            return null;
+        }
+        File quota = findFile(rootDir, V1_CPU_DIRS, "cpu.cfs_quota_us");
+        File period = quota == null ? null : new File(quota.getParentFile(), "cpu.cfs_period_us");
+        return new CgroupSystemMetricsProvider(false, usage, quota, period, null, availableProcessors,
+            loadFallback);
+    }
+
+    private static File findFile(File rootDir, String[] dirs, String name) {
+        for (String dir : dirs) {
+            File file = new File(new File(rootDir, dir), name);
+            if (file.isFile()) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void refresh() throws Exception {
+        refresh(System.nanoTime());
+    }
+
+    void refresh(long nowNanos) throws Exception {
+        long usageNanos = readUsageNanos();
+        long stallMicros = pressureFile == null ? -1 : readStallMicros();
+        double cpuLimit = readCpuLimit();
+
+        long wallNanos = nowNanos - lastSampleNanos;
+        if (lastSampleNanos >= 0 && wallNanos > 0) {
+            double busyCpus = (double) Math.max(0, usageNanos - lastUsageNanos) / wallNanos;
+            cpuUsage = Math.min(1.0d, busyCpus / cpuLimit);
+            if (stallMicros >= 0 && lastStallMicros >= 0) {
+                double stallShare = Math.max(0, stallMicros - lastStallMicros) * 1000.0d / wallNanos;
+                load = busyCpus + Math.min(1.0d, stallShare);
+            }
+        }
+        lastSampleNanos = nowNanos;
+        lastUsageNanos = usageNanos;
+        lastStallMicros = stallMicros;
+
+        if (pressureFile == null && loadFallback != null) {
+            loadFallback.refresh();
+            load = loadFallback.getSystemLoad();
+        }
+    }
+
+    private long readUsageNanos() throws IOException {
+        if (v2) {
+            // cpu.stat of cgroup v2: "usage_usec <n>" line.
+            return readKeyedValue(usageFile, "usage_usec") * 1000;
+        }
+        return Long.parseLong(readFirstLine(usageFile));
+    }
+
+    private long readStallMicros() throws IOException {
+        // cpu.pressure: "some avg10=0.00 avg60=0.00 avg300=0.00 total=<n>" line.
+        BufferedReader reader = newReader(pressureFile);
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("some ")) {
+                    int idx = line.indexOf("total=");
+                    return idx < 0 ? -1 : Long.parseLong(line.substring(idx + 6).trim());
+                }
+            }
+            return -1;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private double readCpuLimit() throws IOException {
+        long quota;
+        long period;
+        if (v2) {
+            // cpu.max: "<quota|max> <period>".
+            if (!quotaFile.isFile()) {
+                return availableProcessors;
+            }
+            String[] parts = readFirstLine(quotaFile).split("\\s+");
+            if ("max".equals(parts[0]) || parts.length < 2) {
+                return availableProcessors;
+            }
+            quota = Long.parseLong(parts[0]);
+            period = Long.parseLong(parts[1]);
+        } else {
+            if (quotaFile == null || !periodFile.isFile()) {
+                return availableProcessors;
+            }
+            quota = Long.parseLong(readFirstLine(quotaFile));
+            period = Long.parseLong(readFirstLine(periodFile));
+        }
+        if (quota <= 0 || period <= 0) {
+            return availableProcessors;
+        }
+        return Math.min(availableProcessors, (double) quota / period);
+    }
+
+    private static long readKeyedValue(File file, String key) throws IOException {
+        BufferedReader reader = newReader(file);
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(key) && line.length() > key.length()
+                    && Character.isWhitespace(line.charAt(key.length()))) {
+                    return Long.parseLong(line.substring(key.length()).trim());
+                }
+            }
+            throw new IOException("No " + key + " in " + file);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static String readFirstLine(File file) throws IOException {
+        BufferedReader reader = newReader(file);
+        try {
+            String line = reader.readLine();
+            if (line == null) {
+                throw new IOException("Empty file: " + file);
+            }
+            return line.trim();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static BufferedReader newReader(File file) throws IOException {
+        return new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8), 256);
+    }
+
+    boolean isV2() {
+        return v2;
+    }
+
+    @Override
+    public double getSystemLoad() {
+        return load;
+    }
+
+    @Override
+    public double getCpuUsage() {
+        return cpuUsage;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.management.OperatingSystemMXBean;
+
+/**
+ * System metrics provider based on the {@link OperatingSystemMXBean}. The load is the host-wide load average,
+ * and the CPU usage is the higher one of the host-wide CPU usage and the CPU usage of current process.
+ *
+ * @since 1.8.1
+ */
+public class JmxSystemMetricsProvider implements SystemMetricsProvider {
+
+    private double load = -1;
+    private double cpuUsage = -1;
+
+    private long processCpuTime = 0;
+    private long processUpTime = 0;
+
+    @Override
+    public void refresh() {
+        OperatingSystemMXBean osBean = ManagementFactory.getPlatformMXBean(OperatingSystemMXBean.class);
+        load = osBean.getSystemLoadAverage();
+
+        /*
+         * Java Doc copied from {@link OperatingSystemMXBean#getSystemCpuLoad()}:</br>
+         * Returns the "recent cpu usage" for the whole system. This value is a double in the [0.0,1.0] interval.
+         * A value of 0.0 means that all CPUs were idle during the recent period of time observed, while a value
+         * of 1.0 means that all CPUs were actively running 100% of the time during the recent period being
+         * observed. All values between 0.0 and 1.0 are possible depending of the activities going on in the
+         * system. If the system recent cpu usage is not available, the method returns a negative value.
+         */
+        double systemCpuUsage = osBean.getSystemCpuLoad();
+
+        // calculate process cpu usage to support application running in container environment
+        RuntimeMXBean runtimeBean = ManagementFactory.getPlatformMXBean(RuntimeMXBean.class);
+        long newProcessCpuTime = osBean.getProcessCpuTime();
+        long newProcessUpTime = runtimeBean.getUptime();
+        int cpuCores = osBean.getAvailableProcessors();
+        long processCpuTimeDiffInMs = TimeUnit.NANOSECONDS
+                .toMillis(newProcessCpuTime - processCpuTime);
+        long processUpTimeDiffInMs = newProcessUpTime - processUpTime;
+        double processCpuUsage = processUpTimeDiffInMs > 0
+            ? (double) processCpuTimeDiffInMs / processUpTimeDiffInMs / cpuCores : -1;
+        processCpuTime = newProcessCpuTime;
+        processUpTime = newProcessUpTime;
+
+        cpuUsage = Math.max(processCpuUsage, systemCpuUsage);
+    }
+
+    @Override
+    public double getSystemLoad() {
+        return load;
+    }
+
+    @Override
+    public double getCpuUsage() {
+        return cpuUsage;
+    }
+}
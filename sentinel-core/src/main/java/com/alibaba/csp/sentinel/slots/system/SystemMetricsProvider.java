@@ -0,0 +1,49 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+/**
+ * <p>Provider of the system metrics referred by {@link SystemRuleManager}. The provider is refreshed periodically
+ * by the single system status thread, so implementations may keep state between two refreshes (e.g. to calculate
+ * the CPU usage over the sampling interval) without synchronization.</p>
+ *
+ * <p>Custom providers could be registered via SPI.</p>
+ *
+ * @since 1.8.1
+ */
+public interface SystemMetricsProvider {
+
+    /**
+     * Take a new sample of the metrics.
+     *
+     * @throws Exception if failed to read the metrics
+     */
+    void refresh() throws Exception;
+
+    /**
+     * Get the system load of the latest sample.
+     *
+     * @return the system load, or a negative value if not available
+     */
+    double getSystemLoad();
+
+    /**
+     * Get the CPU usage of the latest sample, in the [0.0, 1.0] interval.
+     *
+     * @return the CPU usage, or a negative value if not available
+     */
+    double getCpuUsage();
+}
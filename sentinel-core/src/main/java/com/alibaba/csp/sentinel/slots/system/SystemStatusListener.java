@@ -15,28 +15,70 @@
  */
 package com.alibaba.csp.sentinel.slots.system;
 
-import java.lang.management.ManagementFactory;
-import java.lang.management.RuntimeMXBean;
-import java.util.concurrent.TimeUnit;
-
 import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.util.SpiLoader;
 import com.alibaba.csp.sentinel.util.StringUtil;
-
-import com.sun.management.OperatingSystemMXBean;
+import com.alibaba.csp.sentinel.util.TimeUtil;
 
 /**
+ * <p>Samples the system metrics from the {@link SystemMetricsProvider} periodically. Samples are smoothed by
+ * an exponentially weighted moving average, whose time constant does not depend on the sampling interval.</p>
+ *
  * @author jialiang.linjl
  */
 public class SystemStatusListener implements Runnable {
 
+    /**
+     * Time constant of the moving average in milliseconds.
+     */
+    static final double SMOOTHING_TIME_CONSTANT_MS = 500;
+
+    private static final long STATUS_LOG_INTERVAL_MS = 1000;
+
     volatile double currentLoad = -1;
     volatile double currentCpuUsage = -1;
 
     volatile String reason = StringUtil.EMPTY;
 
-    volatile long processCpuTime = 0;
-    volatile long processUpTime = 0;
+    private final SystemMetricsProvider provider;
+    private final double alpha;
+    private long lastStatusLogTime = 0;
+
+    public SystemStatusListener() {
+        this(resolveProvider(), SentinelConfig.systemStatusIntervalMs());
+    }
+
+    SystemStatusListener(SystemMetricsProvider provider, long intervalMs) {
+        this.provider = provider;
+        this.alpha = 1 - Math.exp(-intervalMs / SMOOTHING_TIME_CONSTANT_MS);
+    }
+
+    static SystemMetricsProvider resolveProvider() {
+        SystemMetricsProvider provider = SpiLoader.loadFirstInstance(SystemMetricsProvider.class);
+        if (provider != null) {
+            RecordLog.info("[SystemStatusListener] Using system metrics provider: {}", provider.getClass().getName());
+            return provider;
+        }
+        String type = SentinelConfig.systemMetricsProvider();
+        JmxSystemMetricsProvider jmxProvider = new JmxSystemMetricsProvider();
+        if (!SentinelConfig.SYSTEM_METRICS_PROVIDER_JMX.equals(type)) {
+            String root = SentinelConfig.systemCgroupRoot();
+            CgroupSystemMetricsProvider cgroupProvider = CgroupSystemMetricsProvider.detect(root, jmxProvider);
+            if (cgroupProvider != null) {
+                RecordLog.warn("[SystemStatusListener] Using cgroup system metrics under {} (provider: {}),"
+                    + " the system load is derived from the cgroup CPU usage and pressure", root, type);
+                return cgroupProvider;
+            }
+            if (SentinelConfig.SYSTEM_METRICS_PROVIDER_CGROUP.equals(type)) {
+                RecordLog.warn("[SystemStatusListener] No cgroup CPU controller found under {}, using JMX instead",
+                    root);
+            }
+        }
+        RecordLog.info("[SystemStatusListener] Using JMX system metrics");
+        return jmxProvider;
+    }
 
     public double getSystemAverageLoad() {
         return currentLoad;
@@ -49,39 +91,31 @@ public class SystemStatusListener implements Runnable {
     @Override
     public void run() {
         try {
-            OperatingSystemMXBean osBean = ManagementFactory.getPlatformMXBean(OperatingSystemMXBean.class);
-            currentLoad = osBean.getSystemLoadAverage();
-
-            /*
-             * Java Doc copied from {@link OperatingSystemMXBean#getSystemCpuLoad()}:</br>
-             * Returns the "recent cpu usage" for the whole system. This value is a double in the [0.0,1.0] interval.
-             * A value of 0.0 means that all CPUs were idle during the recent period of time observed, while a value
-             * of 1.0 means that all CPUs were actively running 100% of the time during the recent period being
-             * observed. All values between 0.0 and 1.0 are possible depending of the activities going on in the
-             * system. If the system recent cpu usage is not available, the method returns a negative value.
-             */
-            double systemCpuUsage = osBean.getSystemCpuLoad();
-
-            // calculate process cpu usage to support application running in container environment
-            RuntimeMXBean runtimeBean = ManagementFactory.getPlatformMXBean(RuntimeMXBean.class);
-            long newProcessCpuTime = osBean.getProcessCpuTime();
-            long newProcessUpTime = runtimeBean.getUptime();
-            int cpuCores = osBean.getAvailableProcessors();
-            long processCpuTimeDiffInMs = TimeUnit.NANOSECONDS
-                    .toMillis(newProcessCpuTime - processCpuTime);
-            long processUpTimeDiffInMs = newProcessUpTime - processUpTime;
-            double processCpuUsage = (double) processCpuTimeDiffInMs / processUpTimeDiffInMs / cpuCores;
-            processCpuTime = newProcessCpuTime;
-            processUpTime = newProcessUpTime;
-
-            currentCpuUsage = Math.max(processCpuUsage, systemCpuUsage);
+            provider.refresh();
+            currentLoad = smooth(currentLoad, provider.getSystemLoad());
+            currentCpuUsage = smooth(currentCpuUsage, provider.getCpuUsage());
 
             if (currentLoad > SystemRuleManager.getSystemLoadThreshold()) {
-                writeSystemStatusLog();
+                long now = TimeUtil.currentTimeMillis();
+                if (now - lastStatusLogTime >= STATUS_LOG_INTERVAL_MS) {
+                    lastStatusLogTime = now;
+                    writeSystemStatusLog();
+                }
             }
         } catch (Throwable e) {
-            RecordLog.warn("[SystemStatusListener] Failed to get system metrics from JMX", e);
+            RecordLog.warn("[SystemStatusListener] Failed to get system metrics", e);
+        }
+    }
+
+    private double smooth(double current, double sample) {
+        if (sample < 0 || Double.isNaN(sample)) {
+            // Not available.
+            return -1;
+        }
+        if (current < 0) {
+            return sample;
         }
+        return current + alpha * (sample - current);
     }
 
     private void writeSystemStatusLog() {
@@ -17,24 +17,57 @@ package com.alibaba.csp.sentinel.util;
 
 import java.util.concurrent.TimeUnit;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.slots.statistic.base.LongAdder;
+
 /**
- * Provides millisecond-level time of OS.
+ * <p>Provides millisecond-level time of OS.</p>
+ *
+ * <p>By default the time is cached and updated by a tick thread every millisecond. In the {@code adaptive}
+ * tick mode ({@link SentinelConfig#timeTickMode()}), the tick thread stops ticking while the time is rarely
+ * read, and the time is read from the system clock directly until reads become frequent again.</p>
  *
  * @author qinan.qn
  */
 public final class TimeUtil {
 
+    /**
+     * Switch to ticking when the time is read more often than this (times per second).
+     */
+    static final long TICK_READS_UPPER_BOUND = 1200;
+    /**
+     * Stop ticking when the time is read less often than this (times per second).
+     */
+    static final long TICK_READS_LOWER_BOUND = 800;
+    private static final long TICKING_CHECK_INTERVAL_MS = 1000;
+    private static final long IDLE_CHECK_INTERVAL_MS = 100;
+
+    private static final boolean ADAPTIVE = SentinelConfig.TIME_TICK_MODE_ADAPTIVE.equals(
+        SentinelConfig.timeTickMode());
+    private static final LongAdder READS = ADAPTIVE ? new LongAdder() : null;
+
     private static volatile long currentTimeMillis;
+    private static volatile boolean ticking = true;
 
     static {
         currentTimeMillis = System.currentTimeMillis();
         Thread daemon = new Thread(new Runnable() {
             @Override
             public void run() {
+                long lastCheck = currentTimeMillis;
                 while (true) {
-                    currentTimeMillis = System.currentTimeMillis();
+                    long now = System.currentTimeMillis();
+                    currentTimeMillis = now;
+                    if (ADAPTIVE) {
+                        long elapsed = now - lastCheck;
+                        if (elapsed >= (ticking ? TICKING_CHECK_INTERVAL_MS : IDLE_CHECK_INTERVAL_MS)
+                            || elapsed < 0) {
+                            ticking = shouldTick(ticking, READS.sumThenReset(), elapsed);
+                            lastCheck = now;
+                        }
+                    }
                     try {
-                        TimeUnit.MILLISECONDS.sleep(1);
+                        TimeUnit.MILLISECONDS.sleep(ticking ? 1 : IDLE_CHECK_INTERVAL_MS);
                     } catch (Throwable e) {
 
                     }
@@ -46,7 +79,33 @@ public final class TimeUtil {
         daemon.start();
     }
 
+    /**
+     * Decide whether the tick thread should tick, according to the read rate in the last check interval.
+     * The bounds are apart from each other to avoid flapping.
+     *
+     * @param ticking   whether the tick thread is ticking now
+     * @param reads     count of reads in the last check interval
+     * @param elapsedMs length of the last check interval
+     * @return whether to tick in the next check interval
+     */
+    static boolean shouldTick(boolean ticking, long reads, long elapsedMs) {
+        if (elapsedMs <= 0) {
+            return ticking;
+        }
+        long readsPerSecond = reads * 1000 / elapsedMs;
+        if (ticking) {
+            return readsPerSecond >= TICK_READS_LOWER_BOUND;
+        }
+        return readsPerSecond > TICK_READS_UPPER_BOUND;
+    }
+
     public static long currentTimeMillis() {
+        if (ADAPTIVE) {
+            READS.increment();
+            if (!ticking) {
+                return System.currentTimeMillis();
+            }
+        }
         return currentTimeMillis;
     }
 }
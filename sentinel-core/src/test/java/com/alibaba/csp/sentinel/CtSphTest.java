@@ -13,6 +13,15 @@ import com.alibaba.csp.sentinel.slotchain.SlotChainProvider;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -269,6 +278,63 @@ public class CtSphTest {
         assertNull(ctSph.lookProcessChain(r2));
     }
 
+    @Test
+    public void testLookUpSlotChainConcurrently() throws Exception {
+        final int threadCount = 8;
+        final int resourceCount = Constants.MAX_SLOT_CHAIN_SIZE + 1000;
+        final ResourceWrapper[] resources = new ResourceWrapper[resourceCount];
+        for (int i = 0; i < resourceCount; i++) {
+            resources[i] = new StringResourceWrapper("concurrent-res-" + i, EntryType.IN);
+        }
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threadCount);
+        List<Future<ProcessorSlot<Object>[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            futures.add(pool.submit(new Callable<ProcessorSlot<Object>[]>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public ProcessorSlot<Object>[] call() throws Exception {
+                    startLatch.await();
+                    ProcessorSlot<Object>[] chains = new ProcessorSlot[resourceCount];
+                    for (int i = 0; i < resourceCount; i++) {
+                        chains[i] = ctSph.lookProcessChain(resources[i]);
+                    }
+                    return chains;
+                }
+            }));
+        }
+        startLatch.countDown();
+        List<ProcessorSlot<Object>[]> results = new ArrayList<>();
+        for (Future<ProcessorSlot<Object>[]> f : futures) {
+            results.add(f.get(30, TimeUnit.SECONDS));
+        }
+        pool.shutdownNow();
+
+        assertTrue(CtSph.entrySize() <= Constants.MAX_SLOT_CHAIN_SIZE);
+        assertEquals(CtSph.entrySize(), CtSph.getChainMap().size());
+        for (int i = 0; i < resourceCount; i++) {
+            ProcessorSlot<Object> expected = CtSph.getChainMap().get(resources[i]);
+            for (ProcessorSlot<Object>[] chains : results) {
+                // Threads should never see different chains for the same resource.
+                if (chains[i] != null) {
+                    assertSame(expected, chains[i]);
+                }
+            }
+        }
+
+        // Registrations rejected transiently under race could succeed later, until the limit is reached.
+        for (int i = 0; i < resourceCount; i++) {
+            ctSph.lookProcessChain(resources[i]);
+        }
+        assertEquals(Constants.MAX_SLOT_CHAIN_SIZE, CtSph.entrySize());
+        assertEquals(Constants.MAX_SLOT_CHAIN_SIZE, CtSph.getChainMap().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testChainMapIsReadOnly() {
+        CtSph.getChainMap().clear();
+    }
+
     private void fillFullContext() {
         for (int i = 0; i < Constants.MAX_CONTEXT_NAME_SIZE; i++) {
             ContextUtil.enter("test-context-" + i);
@@ -279,21 +345,21 @@ public class CtSphTest {
     private void fillFullResources() {
         for (int i = 0; i < Constants.MAX_SLOT_CHAIN_SIZE; i++) {
             ResourceWrapper resourceWrapper = new StringResourceWrapper("test-resource-" + i, EntryType.IN);
-            CtSph.getChainMap().put(resourceWrapper, SlotChainProvider.newSlotChain());
+            CtSph.putChain(resourceWrapper, SlotChainProvider.newSlotChain());
         }
     }
 
     private void addShouldNotPassSlotFor(ResourceWrapper resourceWrapper) {
         ProcessorSlotChain slotChain = new DefaultProcessorSlotChain();
         slotChain.addLast(new ShouldNotPassSlot());
-        CtSph.getChainMap().put(resourceWrapper, slotChain);
+        CtSph.putChain(resourceWrapper, slotChain);
     }
 
     private ShouldPassSlot addShouldPassSlotFor(ResourceWrapper resourceWrapper) {
         ProcessorSlotChain slotChain = new DefaultProcessorSlotChain();
         ShouldPassSlot shouldPassSlot = new ShouldPassSlot();
         slotChain.addLast(shouldPassSlot);
-        CtSph.getChainMap().put(resourceWrapper, slotChain);
+        CtSph.putChain(resourceWrapper, slotChain);
         return shouldPassSlot;
     }
 
@@ -301,7 +367,7 @@ public class CtSphTest {
         ProcessorSlotChain slotChain = new DefaultProcessorSlotChain();
         MustBlockSlot mustBlockSlot = new MustBlockSlot();
         slotChain.addLast(mustBlockSlot);
-        CtSph.getChainMap().put(resourceWrapper, slotChain);
+        CtSph.putChain(resourceWrapper, slotChain);
         return mustBlockSlot;
     }
 
@@ -0,0 +1,203 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link IdleResourceSweeper}.
+ */
+public class IdleResourceSweeperTest {
+
+    private static final long TTL = 60 * 1000;
+
+    @Before
+    public void setUp() {
+        FlowRuleManager.loadRules(null);
+    }
+
+    @After
+    public void tearDown() {
+        FlowRuleManager.loadRules(null);
+    }
+
+    @Test
+    public void testEvictIdleResource() throws BlockException {
+        String resourceName = "testEvictIdleResource";
+        StringResourceWrapper resource = new StringResourceWrapper(resourceName, EntryType.OUT);
+        enter("testEvictIdleResourceContext", resourceName);
+        ClusterNode node = ClusterBuilderSlot.getClusterNode(resourceName);
+        DefaultNode entranceNode = findEntranceNode("testEvictIdleResourceContext");
+        assertNotNull(findChild(entranceNode, resourceName));
+        long evictedBefore = IdleResourceSweeper.getEvictedResourceCount();
+        int sizeBefore = CtSph.entrySize();
+
+        assertEquals(1, sweepOnly(node));
+        assertTrue(node.isEvicted());
+        assertNull(ClusterBuilderSlot.getClusterNode(resourceName));
+        assertFalse(CtSph.getChainMap().containsKey(resource));
+        assertNull(findChild(entranceNode, resourceName));
+        assertEquals(sizeBefore - 1, CtSph.entrySize());
+        assertEquals(evictedBefore + 1, IdleResourceSweeper.getEvictedResourceCount());
+
+        // The resource is registered again on next entry.
+        enter("testEvictIdleResourceContext", resourceName);
+        ClusterNode newNode = ClusterBuilderSlot.getClusterNode(resourceName);
+        assertNotNull(newNode);
+        assertNotSame(node, newNode);
+        assertEquals(1, newNode.totalRequest());
+        assertTrue(CtSph.getChainMap().containsKey(resource));
+        assertNotNull(findChild(entranceNode, resourceName));
+    }
+
+    @Test
+    public void testNotEvictResourceWithRulesOrRunningThreads() throws BlockException {
+        String ruleResource = "testNotEvictResourceWithRules";
+        String runningResource = "testNotEvictResourceWithRunningThreads";
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(ruleResource).setCount(100)));
+        enter("testNotEvictContext", ruleResource);
+
+        Entry running = SphU.entry(runningResource);
+        try {
+            ClusterNode ruleNode = ClusterBuilderSlot.getClusterNode(ruleResource);
+            ClusterNode runningNode = ClusterBuilderSlot.getClusterNode(runningResource);
+            assertEquals(0, sweepOnly(ruleNode, runningNode));
+            assertFalse(ruleNode.isEvicted());
+            assertFalse(runningNode.isEvicted());
+            assertSame(ruleNode, ClusterBuilderSlot.getClusterNode(ruleResource));
+            assertSame(runningNode, ClusterBuilderSlot.getClusterNode(runningResource));
+        } finally {
+            running.exit();
+        }
+    }
+
+    @Test
+    public void testChildrenOfEvictedNodeKeptInTree() throws BlockException {
+        String contextName = "testChildrenOfEvictedNodeContext";
+        String outer = "testChildrenOfEvictedNodeOuter";
+        String inner = "testChildrenOfEvictedNodeInner";
+        ContextUtil.enter(contextName);
+        Entry outerEntry = SphU.entry(outer);
+        Entry innerEntry = SphU.entry(inner);
+        innerEntry.exit();
+        outerEntry.exit();
+        ContextUtil.exit();
+
+        DefaultNode entranceNode = findEntranceNode(contextName);
+        DefaultNode outerNode = findChild(entranceNode, outer);
+        DefaultNode innerNode = findChild(outerNode, inner);
+        assertNotNull(innerNode);
+
+        long evictedNodesBefore = IdleResourceSweeper.getEvictedNodeCount();
+        assertEquals(1, sweepOnly(ClusterBuilderSlot.getClusterNode(outer)));
+        assertNull(findChild(entranceNode, outer));
+        assertSame(innerNode, findChild(entranceNode, inner));
+        assertEquals(evictedNodesBefore + 1, IdleResourceSweeper.getEvictedNodeCount());
+    }
+
+    @Test
+    public void testResourceHandleResolvesChainAfterEviction() throws BlockException {
+        ResourceHandle handle = SphU.resource("testResourceHandleResolvesChainAfterEviction");
+        handle.entry().exit();
+        ProcessorSlotChain chain = CtSph.getChainMap().get(handle.getResourceWrapper());
+        ClusterNode node = ClusterBuilderSlot.getClusterNode(handle.getName());
+
+        assertEquals(1, sweepOnly(node));
+        handle.entry().exit();
+        ProcessorSlotChain newChain = CtSph.getChainMap().get(handle.getResourceWrapper());
+        assertNotNull(newChain);
+        assertNotSame(chain, newChain);
+        ClusterNode newNode = ClusterBuilderSlot.getClusterNode(handle.getName());
+        assertNotSame(node, newNode);
+        assertEquals(1, newNode.totalRequest());
+    }
+
+    @Test
+    public void testEvictedClusterNodeReplacedInChainInUse() throws BlockException {
+        ResourceHandle handle = SphU.resource("testEvictedClusterNodeReplacedInChainInUse");
+        handle.entry().exit();
+        ProcessorSlotChain chain = CtSph.getChainMap().get(handle.getResourceWrapper());
+        ClusterNode node = ClusterBuilderSlot.getClusterNode(handle.getName());
+
+        assertEquals(1, sweepOnly(node));
+        // Simulate an entry which obtained the chain before eviction.
+        handle.setChain(chain, CtSph.getChainEpoch());
+        handle.entry().exit();
+        ClusterNode newNode = ClusterBuilderSlot.getClusterNode(handle.getName());
+        assertNotNull(newNode);
+        assertNotSame(node, newNode);
+        assertFalse(newNode.isEvicted());
+        assertEquals(1, newNode.totalRequest());
+    }
+
+    /**
+     * Sweep with only given nodes being idle, so that resources of other tests are kept.
+     */
+    private static int sweepOnly(ClusterNode... idleNodes) {
+        long now = TimeUtil.currentTimeMillis() + TTL;
+        for (ClusterNode node : ClusterBuilderSlot.getClusterNodeMap().values()) {
+            boolean idle = false;
+            for (ClusterNode idleNode : idleNodes) {
+                idle |= idleNode == node;
+            }
+            if (!idle) {
+                node.markAccessed(now);
+            }
+        }
+        return IdleResourceSweeper.sweep(TTL, now);
+    }
+
+    private static void enter(String contextName, String resourceName) throws BlockException {
+        ContextUtil.enter(contextName);
+        try {
+            SphU.entry(resourceName).exit();
+        } finally {
+            ContextUtil.exit();
+        }
+    }
+
+    private static DefaultNode findEntranceNode(String contextName) {
+        return findChild(Constants.ROOT, contextName);
+    }
+
+    private static DefaultNode findChild(DefaultNode parent, String name) {
+        for (Node node : parent.getChildList()) {
+            DefaultNode child = (DefaultNode) node;
+            if (child.getId().getName().equals(name)) {
+                return child;
+            }
+        }
+        return null;
+    }
+}
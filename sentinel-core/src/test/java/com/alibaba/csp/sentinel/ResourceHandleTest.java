@@ -0,0 +1,171 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link ResourceHandle}.
+ */
+public class ResourceHandleTest {
+
+    @Before
+    public void setUp() {
+        FlowRuleManager.loadRules(null);
+    }
+
+    @After
+    public void tearDown() {
+        FlowRuleManager.loadRules(null);
+    }
+
+    @Test
+    public void testEntryRecycledAfterExit() throws BlockException {
+        ResourceHandle handle = SphU.resource("testEntryRecycledAfterExit");
+
+        Entry e1 = handle.entry();
+        assertEquals(handle.getResourceWrapper(), e1.getResourceWrapper());
+        assertTrue(ContextUtil.isDefaultContext(ContextUtil.getContext()));
+        assertNotNull(e1.getCurNode());
+        e1.exit();
+        assertNull(ContextUtil.getContext());
+        assertFalse(((RecyclableEntry)e1).isInUse());
+
+        Entry e2 = handle.entry();
+        assertSame(e1, e2);
+        assertTrue(((RecyclableEntry)e2).isInUse());
+        e2.exit();
+
+        ClusterNode node = ClusterBuilderSlot.getClusterNode(handle.getName());
+        assertNotNull(node);
+        assertEquals(2, node.totalRequest());
+    }
+
+    @Test
+    public void testDefaultContextReused() throws BlockException {
+        ResourceHandle handle = SphU.resource("testDefaultContextReused", EntryType.IN);
+
+        Entry e1 = handle.entry();
+        Context context = ContextUtil.getContext();
+        e1.exit();
+
+        Entry e2 = handle.entry();
+        assertSame(context, ContextUtil.getContext());
+        assertSame(e2, context.getCurEntry());
+        e2.exit();
+        assertNull(ContextUtil.getContext());
+    }
+
+    @Test
+    public void testNestedEntries() throws BlockException {
+        ResourceHandle outer = SphU.resource("testNestedEntriesOuter");
+        ResourceHandle inner = SphU.resource("testNestedEntriesInner");
+
+        Entry e1 = outer.entry();
+        Entry e2 = inner.entry();
+        assertNotSame(e1, e2);
+        assertSame(e2, ContextUtil.getContext().getCurEntry());
+        assertSame(e1, ((CtEntry)e2).parent);
+        assertEquals(inner.getResourceWrapper(), e2.getResourceWrapper());
+
+        e2.exit();
+        assertSame(e1, ContextUtil.getContext().getCurEntry());
+        e1.exit();
+        assertNull(ContextUtil.getContext());
+    }
+
+    @Test
+    public void testEntryInCustomContext() throws BlockException {
+        ResourceHandle handle = SphU.resource("testEntryInCustomContext");
+        ContextUtil.enter("testEntryInCustomContext", "app");
+        try {
+            Entry e = handle.entry();
+            assertEquals("testEntryInCustomContext", ContextUtil.getContext().getName());
+            assertEquals("app", ContextUtil.getContext().getOrigin());
+            e.exit();
+        } finally {
+            ContextUtil.exit();
+        }
+    }
+
+    @Test
+    public void testBlockedEntryRecycled() {
+        String resourceName = "testBlockedEntryRecycled";
+        FlowRule rule = new FlowRule(resourceName).setCount(0);
+        FlowRuleManager.loadRules(Collections.singletonList(rule));
+        ResourceHandle handle = SphU.resource(resourceName);
+
+        try {
+            handle.entry();
+            fail("Should be blocked");
+        } catch (BlockException ex) {
+            assertTrue(ex instanceof FlowException);
+        }
+        assertNull(ContextUtil.getContext());
+
+        FlowRuleManager.loadRules(null);
+        try {
+            Entry e = handle.entry();
+            assertNull(e.getBlockError());
+            e.exit();
+        } catch (BlockException ex) {
+            fail("Unexpected blocked");
+        }
+    }
+
+    @Test
+    public void testMismatchedExitOfNestedEntries() throws BlockException {
+        ResourceHandle outer = SphU.resource("testMismatchedExitOuter");
+        ResourceHandle middle = SphU.resource("testMismatchedExitMiddle");
+        ResourceHandle inner = SphU.resource("testMismatchedExitInner");
+
+        Entry outerEntry = outer.entry();
+        Entry middleEntry = middle.entry();
+        Entry innerEntry = inner.entry();
+        try {
+            outerEntry.exit();
+            fail("Mismatched exit should fail");
+        } catch (ErrorEntryFreeException ex) {
+            // Expected.
+        }
+
+        // All entries of the call stack are exited.
+        assertEquals(0, ClusterBuilderSlot.getClusterNode(inner.getName()).curThreadNum());
+        assertEquals(0, ClusterBuilderSlot.getClusterNode(middle.getName()).curThreadNum());
+        assertEquals(0, ClusterBuilderSlot.getClusterNode(outer.getName()).curThreadNum());
+        assertNull(ContextUtil.getContext());
+        // Entries exited during the recovery are still held by callers, so they are not reused.
+        Entry next = inner.entry();
+        assertNotSame(innerEntry, next);
+        assertNotSame(middleEntry, next);
+        next.exit();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.concurrent.ListenableFuture;
+import com.alibaba.csp.sentinel.context.ContextTestUtil;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for the non-blocking entry ({@link SphU#entryAsync(String)}).
+ */
+public class SphUEntryAsyncTest {
+
+    private static final String RESOURCE_NAME = "testEntryAsyncPaced";
+
+    @Before
+    public void setUp() {
+        ContextTestUtil.cleanUpContext();
+        FlowRule rule = new FlowRule(RESOURCE_NAME)
+            .setCount(10)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER)
+            .setMaxQueueingTimeMs(500);
+        FlowRuleManager.loadRules(Collections.singletonList(rule));
+    }
+
+    @After
+    public void tearDown() {
+        FlowRuleManager.loadRules(new ArrayList<FlowRule>());
+        ContextTestUtil.cleanUpContext();
+    }
+
+    @Test
+    public void testPacedEntriesDoNotBlockCaller() throws Exception {
+        int count = 5;
+        final CountDownLatch latch = new CountDownLatch(count);
+        final List<Long> completedTimes = Collections.synchronizedList(new ArrayList<Long>());
+        List<ListenableFuture<AsyncEntry>> futures = new ArrayList<ListenableFuture<AsyncEntry>>();
+
+        long start = TimeUtil.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            ListenableFuture<AsyncEntry> future = SphU.entryAsync(RESOURCE_NAME);
+            futures.add(future.whenComplete(new ListenableFuture.Listener<AsyncEntry>() {
+                @Override
+                public void onComplete(AsyncEntry entry, Throwable cause) {
+                    assertNull(cause);
+                    completedTimes.add(TimeUtil.currentTimeMillis());
+                    entry.exit();
+                    latch.countDown();
+                }
+            }));
+        }
+        // The caller thread should not sleep for pacing.
+        assertTrue(TimeUtil.currentTimeMillis() - start < 300);
+        assertNull(ContextUtil.getContext().getCurEntry());
+        assertFalse(futures.get(count - 1).isDone());
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        for (ListenableFuture<AsyncEntry> future : futures) {
+            assertTrue(future.isDone());
+        }
+        assertTrue(Collections.max(completedTimes) - start >= 300);
+    }
+
+    @Test
+    public void testCancelPacedEntryExitsEntry() throws Exception {
+        ListenableFuture<AsyncEntry> first = SphU.entryAsync(RESOURCE_NAME);
+        ListenableFuture<AsyncEntry> paced = SphU.entryAsync(RESOURCE_NAME);
+        assertFalse(paced.isDone());
+        ClusterNode node = ClusterBuilderSlot.getClusterNode(RESOURCE_NAME);
+        assertEquals(2, node.curThreadNum());
+
+        assertTrue(paced.cancel(false));
+        assertEquals(1, node.curThreadNum());
+        first.get().exit();
+        assertEquals(0, node.curThreadNum());
+    }
+
+    @Test
+    public void testBlockedEntryCompletesImmediately() throws Exception {
+        ListenableFuture<AsyncEntry> blocked = null;
+        for (int i = 0; i < 10 && blocked == null; i++) {
+            ListenableFuture<AsyncEntry> future = SphU.entryAsync(RESOURCE_NAME);
+            if (future.isDone() && !isBlocked(future)) {
+                future.get().exit();
+            } else if (future.isDone()) {
+                blocked = future;
+            } else {
+                future.cancel(false);
+            }
+        }
+        assertNotNull(blocked);
+        try {
+            blocked.get();
+            fail("The blocked entry should fail with the BlockException");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof FlowException);
+        }
+    }
+
+    private static boolean isBlocked(ListenableFuture<AsyncEntry> future) throws InterruptedException {
+        try {
+            future.get();
+            return false;
+        } catch (ExecutionException ex) {
+            return true;
+        }
+    }
+}
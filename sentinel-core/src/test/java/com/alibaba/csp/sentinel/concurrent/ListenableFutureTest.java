@@ -0,0 +1,104 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.concurrent;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link ListenableFuture}.
+ */
+public class ListenableFutureTest {
+
+    @Test
+    public void testCompleteNotifiesListeners() throws Exception {
+        ListenableFuture<String> future = new ListenableFuture<String>();
+        final AtomicReference<String> before = new AtomicReference<String>();
+        future.whenComplete(new ListenableFuture.Listener<String>() {
+            @Override
+            public void onComplete(String result, Throwable cause) {
+                assertNull(cause);
+                before.set(result);
+            }
+        });
+        assertFalse(future.isDone());
+        assertNull(before.get());
+
+        assertTrue(future.complete("ok"));
+        assertFalse(future.complete("again"));
+        assertFalse(future.completeExceptionally(new IllegalStateException()));
+        assertEquals("ok", before.get());
+        assertEquals("ok", future.get());
+
+        // Listeners registered after completion are invoked at once.
+        final AtomicReference<String> after = new AtomicReference<String>();
+        future.whenComplete(new ListenableFuture.Listener<String>() {
+            @Override
+            public void onComplete(String result, Throwable cause) {
+                after.set(result);
+            }
+        });
+        assertEquals("ok", after.get());
+    }
+
+    @Test
+    public void testFailedAndCancelled() throws Exception {
+        ListenableFuture<String> failed = ListenableFuture.failed(new IllegalStateException("bad"));
+        assertTrue(failed.isDone());
+        try {
+            failed.get();
+            fail("should fail");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+        }
+
+        ListenableFuture<String> cancelled = new ListenableFuture<String>();
+        assertTrue(cancelled.cancel(false));
+        assertTrue(cancelled.isCancelled());
+        assertFalse(cancelled.complete("late"));
+        try {
+            cancelled.get();
+            fail("should be cancelled");
+        } catch (CancellationException ex) {
+            // Expected.
+        }
+    }
+
+    @Test
+    public void testGetWithTimeout() throws Exception {
+        final ListenableFuture<Integer> future = new ListenableFuture<Integer>();
+        try {
+            future.get(10, TimeUnit.MILLISECONDS);
+            fail("should time out");
+        } catch (TimeoutException ex) {
+            // Expected.
+        }
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                future.complete(1);
+            }
+        }).start();
+        assertEquals(Integer.valueOf(1), future.get(1, TimeUnit.SECONDS));
+    }
+}
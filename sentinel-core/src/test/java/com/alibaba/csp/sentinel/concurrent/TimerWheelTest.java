@@ -0,0 +1,94 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link TimerWheel}.
+ */
+public class TimerWheelTest {
+
+    private final TimerWheel timer = new TimerWheel("sentinel-test-timer", 1, 8);
+
+    @After
+    public void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    public void testTasksRunAfterDelay() throws Exception {
+        int taskCount = 200;
+        final CountDownLatch latch = new CountDownLatch(taskCount);
+        final AtomicInteger early = new AtomicInteger();
+        for (int i = 0; i < taskCount; i++) {
+            // Delays longer than a round of the wheel are also included.
+            final long delayMs = i % 40;
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+            timer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (System.nanoTime() < deadline) {
+                        early.incrementAndGet();
+                    }
+                    latch.countDown();
+                }
+            }, delayMs, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, early.get());
+        assertEquals(0, timer.pendingTasks());
+    }
+
+    @Test
+    public void testScheduleAfterIdle() throws Exception {
+        final CountDownLatch first = new CountDownLatch(1);
+        timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("should not break the timer");
+            }
+        }, 1, TimeUnit.MILLISECONDS);
+        timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                first.countDown();
+            }
+        }, 5, TimeUnit.MILLISECONDS);
+        assertTrue(first.await(1, TimeUnit.SECONDS));
+
+        // Let the worker park for idle, then schedule again.
+        TimeUnit.MILLISECONDS.sleep(50);
+        final CountDownLatch second = new CountDownLatch(1);
+        long start = System.nanoTime();
+        timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                second.countDown();
+            }
+        }, 20, TimeUnit.MILLISECONDS);
+        assertTrue(second.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+}
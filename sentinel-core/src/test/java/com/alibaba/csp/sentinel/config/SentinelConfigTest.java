@@ -11,6 +11,7 @@ import java.io.IOException;
 import static com.alibaba.csp.sentinel.config.SentinelConfig.*;
 import static com.alibaba.csp.sentinel.util.ConfigUtil.addSeparator;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 /**
  * Test cases for {@link SentinelConfig}.
@@ -26,6 +27,8 @@ public class SentinelConfigTest {
         assertEquals(SentinelConfig.DEFAULT_TOTAL_METRIC_FILE_COUNT, SentinelConfig.totalMetricFileCount());
         assertEquals(SentinelConfig.DEFAULT_COLD_FACTOR, SentinelConfig.coldFactor());
         assertEquals(SentinelConfig.DEFAULT_STATISTIC_MAX_RT, SentinelConfig.statisticMaxRt());
+        assertEquals(SentinelConfig.SYSTEM_METRICS_PROVIDER_JMX, SentinelConfig.systemMetricsProvider());
+        assertFalse(SentinelConfig.statisticRtHistogramEnabled());
     }
 
     //    add JVM parameter
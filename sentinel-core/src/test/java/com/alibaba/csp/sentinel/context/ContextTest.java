@@ -15,6 +15,15 @@
  */
 package com.alibaba.csp.sentinel.context;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import com.alibaba.csp.sentinel.Constants;
 
 import org.junit.After;
@@ -71,6 +80,45 @@ public class ContextTest {
         }
     }
 
+    @Test
+    public void testEnterContextConcurrentlyWithinThreshold() throws Exception {
+        final int threadCount = 8;
+        final int nameCount = Constants.MAX_CONTEXT_NAME_SIZE + 500;
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threadCount);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            futures.add(pool.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    startLatch.await();
+                    for (int i = 0; i < nameCount; i++) {
+                        ContextUtil.enter("concurrent-context-" + i);
+                        ContextUtil.exit();
+                    }
+                    return null;
+                }
+            }));
+        }
+        startLatch.countDown();
+        for (Future<?> f : futures) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdownNow();
+
+        // The default context is also included.
+        assertTrue(ContextUtil.contextSize() <= Constants.MAX_CONTEXT_NAME_SIZE + 1);
+        assertTrue(Constants.ROOT.getChildList().size() <= ContextUtil.contextSize());
+
+        // Registrations rejected transiently under race could succeed later, until the limit is reached.
+        for (int i = 0; i < nameCount; i++) {
+            ContextUtil.enter("concurrent-context-" + i);
+            ContextUtil.exit();
+        }
+        assertEquals(Constants.MAX_CONTEXT_NAME_SIZE + 1, ContextUtil.contextSize());
+        resetContextMap();
+    }
+
     private void fillContext() {
         for (int i = 0; i < Constants.MAX_CONTEXT_NAME_SIZE; i++) {
             ContextUtil.enter("test-context-" + i);
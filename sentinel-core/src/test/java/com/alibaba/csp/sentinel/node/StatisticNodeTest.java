@@ -20,6 +20,7 @@ import com.alibaba.csp.sentinel.util.TimeUtil;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.lang.reflect.Field;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
@@ -36,6 +37,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -206,6 +208,47 @@ public class StatisticNodeTest {
     }
 
 
+    @Test
+    public void testRtPercentile() {
+        StatisticNode node = new StatisticNode(true);
+        assertEquals(0, node.rtPercentile(99), 0.01);
+        for (int i = 0; i < 99; i++) {
+            node.addRtAndSuccess(10, 1);
+        }
+        node.addRtAndSuccess(200, 1);
+
+        assertEquals(10, node.rtPercentile(50), 0.01);
+        assertEquals(10, node.rtPercentile(99), 0.01);
+        assertEquals(200, node.rtPercentile(100), 200 / 16.0);
+    }
+
+    @Test
+    public void testRtPercentileDisabled() {
+        StatisticNode node = new StatisticNode();
+        node.addRtAndSuccess(10, 1);
+        assertEquals(0, node.rtPercentile(50), 0.01);
+    }
+
+    @Test
+    public void testLazyMinuteCounter() throws Exception {
+        StatisticNode node = new StatisticNode();
+        // Simulate compact mode, in which the minute-level metrics is absent until the first read.
+        Field field = StatisticNode.class.getDeclaredField("rollingCounterInMinute");
+        field.setAccessible(true);
+        field.set(node, null);
+
+        node.addPassRequest(2);
+        node.increaseBlockQps(1);
+        node.addRtAndSuccess(5, 2);
+        assertFalse(node.isMinuteCounterCreated());
+        assertEquals(2, (long) node.passQps());
+
+        assertEquals(0, node.totalRequest());
+        assertTrue(node.isMinuteCounterCreated());
+        node.addPassRequest(3);
+        assertEquals(3, node.totalPass());
+    }
+
     /**
      * com.alibaba.csp.sentinel.node.StatisticNode#curThreadNum using LongAdder replace the  AtomicInteger.
      * now test the LongAdder is fast than AtomicInteger
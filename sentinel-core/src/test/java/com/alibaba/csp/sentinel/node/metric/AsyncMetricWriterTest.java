@@ -0,0 +1,115 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node.metric;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class AsyncMetricWriterTest {
+
+    @Test
+    public void testWriteSnapshotInOrder() throws Exception {
+        MetricWriter writer = mock(MetricWriter.class);
+        AsyncMetricWriter asyncWriter = new AsyncMetricWriter(writer, 4);
+
+        assertTrue(asyncWriter.submit(snapshot(2000L, 3)));
+        assertTrue(asyncWriter.submit(snapshot(1000L, 2)));
+
+        InOrder inOrder = inOrder(writer);
+        inOrder.verify(writer, timeout(1000)).write(eq(2000L), ArgumentMatchers.<MetricNode>anyList());
+        inOrder.verify(writer, timeout(1000)).write(eq(1000L), ArgumentMatchers.<MetricNode>anyList());
+        inOrder.verify(writer, timeout(1000)).write(eq(1001L), ArgumentMatchers.<MetricNode>anyList());
+        for (int i = 0; i < 100 && asyncWriter.getWrittenNodeCount() < 5; i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(5, asyncWriter.getWrittenNodeCount());
+        assertEquals(0, asyncWriter.getDroppedNodeCount());
+    }
+
+    @Test
+    public void testDropOldestSnapshotWhenQueueIsFull() throws Exception {
+        MetricWriter writer = mock(MetricWriter.class);
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                writing.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return null;
+            }
+        }).when(writer).write(anyLong(), ArgumentMatchers.<MetricNode>anyList());
+        AsyncMetricWriter asyncWriter = new AsyncMetricWriter(writer, 1);
+
+        // The first snapshot is being written, and the second one waits in the queue.
+        assertTrue(asyncWriter.submit(snapshot(1000L, 1)));
+        assertTrue(writing.await(1, TimeUnit.SECONDS));
+        assertTrue(asyncWriter.submit(snapshot(2000L, 2)));
+        // The queue is full, so the second snapshot is dropped.
+        assertFalse(asyncWriter.submit(snapshot(3000L, 1)));
+        assertEquals(1, asyncWriter.getDroppedSnapshotCount());
+        assertEquals(2, asyncWriter.getDroppedNodeCount());
+        assertEquals(1, asyncWriter.getPendingSnapshotCount());
+
+        release.countDown();
+        verify(writer, timeout(1000)).write(eq(3000L), ArgumentMatchers.<MetricNode>anyList());
+        verify(writer, never()).write(eq(2000L), ArgumentMatchers.<MetricNode>anyList());
+        verify(writer, never()).write(eq(2001L), ArgumentMatchers.<MetricNode>anyList());
+    }
+
+    @Test
+    public void testSubmitEmptySnapshot() {
+        MetricWriter writer = mock(MetricWriter.class);
+        AsyncMetricWriter asyncWriter = new AsyncMetricWriter(writer, 1);
+
+        assertTrue(asyncWriter.submit(new TreeMap<Long, List<MetricNode>>()));
+        assertTrue(asyncWriter.submit(null));
+        assertEquals(0, asyncWriter.getPendingSnapshotCount());
+    }
+
+    private Map<Long, List<MetricNode>> snapshot(long startTime, int seconds) {
+        Map<Long, List<MetricNode>> snapshot = new TreeMap<>();
+        for (int i = 0; i < seconds; i++) {
+            MetricNode node = new MetricNode();
+            node.setResource("res" + i);
+            snapshot.put(startTime + i, new ArrayList<>(Arrays.asList(node)));
+        }
+        return snapshot;
+    }
+}
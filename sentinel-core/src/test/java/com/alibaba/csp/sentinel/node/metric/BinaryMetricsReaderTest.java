@@ -0,0 +1,142 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node.metric;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.util.PidUtil;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BinaryMetricsReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSegmentAcrossRegions() throws Exception {
+        File file = new File(folder.getRoot(), "segment");
+        // Each region holds only two records.
+        BinaryMetricSegment segment = new BinaryMetricSegment(file.getAbsolutePath(),
+            BinaryMetricSegment.RECORD_SIZE * 2 + 10);
+        for (int i = 0; i < 7; i++) {
+            segment.append(newNode(1000L * i, "res" + (i % 3), i));
+        }
+        segment.commit();
+        long position = segment.position();
+        assertEquals(BinaryMetricSegment.HEADER_SIZE + 7 * BinaryMetricSegment.RECORD_SIZE, position);
+        segment.close();
+        assertEquals(position, file.length());
+
+        List<MetricNode> list = new ArrayList<MetricNode>();
+        new BinaryMetricsReader().readMetricsInOneFile(list, file.getAbsolutePath(), 0, 100);
+        assertEquals(7, list.size());
+        for (int i = 0; i < 7; i++) {
+            assertNode(newNode(1000L * i, "res" + (i % 3), i), list.get(i));
+        }
+    }
+
+    @Test
+    public void testUncommittedRecordsInvisible() throws Exception {
+        File file = new File(folder.getRoot(), "segment");
+        BinaryMetricSegment segment = new BinaryMetricSegment(file.getAbsolutePath());
+        segment.append(newNode(1000, "a", 1));
+        segment.commit();
+        segment.append(newNode(1000, "b", 2));
+
+        List<MetricNode> list = new ArrayList<MetricNode>();
+        new BinaryMetricsReader().readMetricsInOneFile(list, file.getAbsolutePath(), 0, 100);
+        assertEquals(1, list.size());
+        assertEquals("a", list.get(0).getResource());
+        segment.close();
+    }
+
+    @Test
+    public void testWriteAndSearch() throws Exception {
+        String baseDir = folder.getRoot().getAbsolutePath();
+        // Small segments to make the writer roll over files.
+        MetricWriter writer = new MetricWriter(baseDir, BinaryMetricSegment.RECORD_SIZE * 25, 100, true);
+        long start = (System.currentTimeMillis() / 1000 + 10) * 1000;
+        int seconds = 20;
+        int resources = 5;
+        for (int s = 0; s < seconds; s++) {
+            List<MetricNode> nodes = new ArrayList<MetricNode>();
+            for (int r = 0; r < resources; r++) {
+                nodes.add(newNode(0, "res|" + r, s * 10 + r));
+            }
+            writer.write(start + s * 1000, nodes);
+        }
+        writer.close();
+
+        String baseFileName = MetricWriter.formBinaryMetricFileName(SentinelConfig.getAppName(), PidUtil.getPid());
+        assertTrue(MetricWriter.listMetricFiles(baseDir, baseFileName).size() > 1);
+        MetricSearcher searcher = new MetricSearcher(baseDir, baseFileName);
+
+        List<MetricNode> list = searcher.find(start + 3000, 12);
+        // Records of the same second are never split.
+        assertEquals(15, list.size());
+        assertEquals(start + 3000, list.get(0).getTimestamp());
+        assertNode(newNode(start + 5000, "res|4", 54), list.get(14));
+
+        // Sequential search goes on from the cached position.
+        list = searcher.find(start + 6000, 5);
+        assertEquals(5, list.size());
+        assertNode(newNode(start + 6000, "res|0", 60), list.get(0));
+
+        list = searcher.findByTimeAndResource(start + 4000, start + 15000, "res|2");
+        assertEquals(12, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            assertNode(newNode(start + (4 + i) * 1000, "res|2", (4 + i) * 10 + 2), list.get(i));
+        }
+        list = searcher.findByTimeAndResource(start + 2000, start + 3999, null);
+        assertEquals(10, list.size());
+
+        assertEquals(0, searcher.findByTimeAndResource(start + 2000, start + 3999, "absent").size());
+        assertNull(searcher.find(start + seconds * 1000, 10));
+    }
+
+    private static MetricNode newNode(long timestamp, String resource, int seed) {
+        MetricNode node = new MetricNode();
+        node.setTimestamp(timestamp);
+        node.setResource(resource);
+        node.setPassQps(seed);
+        node.setBlockQps(seed + 1);
+        node.setSuccessQps(seed + 2);
+        node.setExceptionQps(seed + 3);
+        node.setRt(seed + 4);
+        node.setOccupiedPassQps(seed + 5);
+        node.setConcurrency(seed + 6);
+        node.setClassification(seed % 2);
+        node.setRtP50(seed + 7);
+        node.setRtP90(seed + 8);
+        node.setRtP99(seed + 9);
+        node.setRtP999(seed + 10);
+        return node;
+    }
+
+    private static void assertNode(MetricNode expected, MetricNode actual) {
+        assertEquals(expected.toThinString(true), actual.toThinString(true));
+    }
+}
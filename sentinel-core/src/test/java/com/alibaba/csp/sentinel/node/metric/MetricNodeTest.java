@@ -34,4 +34,38 @@ public class MetricNodeTest {
         assertEquals(2, node.getConcurrency());
         assertEquals(1, node.getSuccessQps());
     }
+
+    @Test
+    public void testRtPercentilesInString() {
+        MetricNode node = new MetricNode();
+        node.setTimestamp(1564382218000L);
+        node.setResource("/foo/*");
+        node.setSuccessQps(1);
+        node.setRt(12);
+        node.setRtP50(10).setRtP90(20).setRtP99(30).setRtP999(40);
+
+        MetricNode thin = MetricNode.fromThinString(node.toThinString(true));
+        MetricNode fat = MetricNode.fromFatString(node.toFatString(true).trim());
+        for (MetricNode parsed : new MetricNode[] {thin, fat}) {
+            assertEquals(12, parsed.getRt());
+            assertEquals(10, parsed.getRtP50());
+            assertEquals(20, parsed.getRtP90());
+            assertEquals(30, parsed.getRtP99());
+            assertEquals(40, parsed.getRtP999());
+        }
+        // Lines without percentiles.
+        assertEquals(0, MetricNode.fromThinString("1564382218000|/foo/*|1|0|1|0|0|0|2|1").getRtP99());
+    }
+
+    @Test
+    public void testLegacyFieldCountWithoutRtHistogram() {
+        MetricNode node = new MetricNode();
+        node.setTimestamp(1564382218000L);
+        node.setResource("/foo/*");
+        node.setRtP99(30);
+
+        // RT histogram is disabled by default, so the lines keep the field count of former versions.
+        assertEquals(10, node.toThinString().split("\\|").length);
+        assertEquals(11, node.toFatString().trim().split("\\|").length);
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class CallStatTest {
+
+    @Test
+    public void testSlidingTimeCallStat() {
+        SlidingTimeCallStat stat = new SlidingTimeCallStat(2, 1000);
+        assertSnapshot(1, 1, stat.record(true, 1000));
+        assertSnapshot(1, 2, stat.record(false, 1200));
+        // Next bucket in the same window.
+        assertSnapshot(1, 3, stat.record(false, 1600));
+        // The first bucket is deprecated.
+        assertSnapshot(1, 2, stat.record(true, 2100));
+        // Both buckets are deprecated.
+        assertSnapshot(0, 1, stat.record(false, 5000));
+
+        stat.reset();
+        assertSnapshot(0, 1, stat.record(false, 5100));
+    }
+
+    @Test
+    public void testConcurrentRecordsWhileSliding() throws Exception {
+        final SlidingTimeCallStat stat = new SlidingTimeCallStat(2, 1000);
+        for (int i = 0; i < 100; i++) {
+            stat.record(true, 1000);
+        }
+        int threadCount = 8;
+        final int callsPerThread = 1000;
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final CountDownLatch doneLatch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        startLatch.await();
+                        // The same bucket index as the deprecated bucket of time 1000.
+                        for (int j = 0; j < callsPerThread; j++) {
+                            stat.record(false, 2000);
+                        }
+                    } catch (InterruptedException ignored) {
+                    } finally {
+                        doneLatch.countDown();
+                    }
+                }
+            }).start();
+        }
+        startLatch.countDown();
+        doneLatch.await();
+
+        // Calls of the new window are never cleared along with the deprecated bucket.
+        assertSnapshot(0, threadCount * callsPerThread + 1, stat.record(false, 2000));
+    }
+
+    @Test
+    public void testSingleBucketSlidingTimeCallStat() {
+        SlidingTimeCallStat stat = new SlidingTimeCallStat(1, 1000);
+        assertSnapshot(0, 1, stat.record(false, 1000));
+        assertSnapshot(1, 2, stat.record(true, 1999));
+        assertSnapshot(1, 1, stat.record(true, 2000));
+    }
+
+    @Test
+    public void testRingBufferCallStat() {
+        RingBufferCallStat stat = new RingBufferCallStat(3);
+        assertSnapshot(1, 1, stat.record(true));
+        assertSnapshot(1, 2, stat.record(false));
+        assertSnapshot(2, 3, stat.record(true));
+        // Overwrites the first bad call.
+        assertSnapshot(1, 3, stat.record(false));
+        assertSnapshot(1, 3, stat.record(false));
+        // Overwrites the second bad call.
+        assertSnapshot(0, 3, stat.record(false));
+
+        stat.record(true);
+        stat.reset();
+        assertSnapshot(0, 1, stat.record(false));
+    }
+
+    private void assertSnapshot(long badCount, long totalCount, long snapshot) {
+        assertEquals(badCount, CallStat.badCount(snapshot));
+        assertEquals(totalCount, CallStat.totalCount(snapshot));
+    }
+}
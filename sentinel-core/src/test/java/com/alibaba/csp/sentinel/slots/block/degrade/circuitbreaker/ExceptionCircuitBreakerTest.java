@@ -82,4 +82,32 @@ public class ExceptionCircuitBreakerTest extends AbstractTimeBasedTest {
         assertTrue(entryWithErrorIfPresent(resource, new IllegalArgumentException()));
         assertTrue(entryAndSleepFor(resource, 100));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCountBasedSlidingWindow() {
+        String resource = "testCountBasedSlidingWindow";
+        DegradeRule rule = new DegradeRule(resource)
+            .setCount(0.5d)
+            .setGrade(RuleConstant.DEGRADE_GRADE_EXCEPTION_RATIO)
+            .setStatIntervalMs(1000)
+            .setSlidingWindowType(RuleConstant.DEGRADE_SLIDING_WINDOW_COUNT)
+            .setSlidingWindowSize(4)
+            .setTimeWindow(10)
+            .setMinRequestAmount(4);
+        DegradeRuleManager.loadRules(Arrays.asList(rule));
+
+        // Calls are counted regardless of the stat interval.
+        assertTrue(entryWithErrorIfPresent(resource, new IllegalArgumentException()));
+        sleep(5000);
+        assertTrue(entryAndSleepFor(resource, 10));
+        assertTrue(entryWithErrorIfPresent(resource, new IllegalArgumentException()));
+        sleep(5000);
+        // Last 4 calls: error, success, error, success.
+        assertTrue(entryAndSleepFor(resource, 10));
+        // Last 4 calls: success, error, success, error.
+        assertTrue(entryWithErrorIfPresent(resource, new IllegalArgumentException()));
+        // Last 4 calls: error, success, error, error -> open
+        assertTrue(entryWithErrorIfPresent(resource, new IllegalArgumentException()));
+        assertFalse(entryAndSleepFor(resource, 10));
+    }
+}
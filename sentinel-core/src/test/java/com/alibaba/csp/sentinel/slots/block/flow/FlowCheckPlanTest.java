@@ -0,0 +1,175 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for {@link FlowCheckPlan}.
+ */
+public class FlowCheckPlanTest {
+
+    @Test
+    public void testDefaultLimitAppSelectNode() {
+        DefaultNode node = mock(DefaultNode.class);
+        ClusterNode cn = mock(ClusterNode.class);
+        when(node.getClusterNode()).thenReturn(cn);
+        Context context = mock(Context.class);
+
+        FlowCheckPlan plan = compile(new FlowRule("testDefaultLimitAppSelectNode").setCount(1));
+        assertSame(cn, plan.getChecks()[0].selectNode(context, node));
+    }
+
+    @Test
+    public void testCustomAndOtherOriginSelectNode() {
+        String resource = "testCustomAndOtherOriginSelectNode";
+        DefaultNode node = mock(DefaultNode.class);
+        DefaultNode originNode = mock(DefaultNode.class);
+        Context context = mock(Context.class);
+        when(context.getOriginNode()).thenReturn(originNode);
+
+        FlowRule ruleA = new FlowRule(resource).setCount(1);
+        ruleA.setLimitApp("appA");
+        FlowRule ruleOther = new FlowRule(resource).setCount(2);
+        ruleOther.setLimitApp(RuleConstant.LIMIT_APP_OTHER);
+        FlowCheckPlan plan = compile(ruleA, ruleOther);
+        FlowCheckPlan.RuleCheck checkA = plan.getChecks()[0];
+        FlowCheckPlan.RuleCheck checkOther = plan.getChecks()[1];
+
+        when(context.getOrigin()).thenReturn("appA");
+        assertSame(originNode, checkA.selectNode(context, node));
+        assertNull(checkOther.selectNode(context, node));
+        assertFalse(plan.isOtherOrigin("appA"));
+
+        when(context.getOrigin()).thenReturn("appB");
+        assertNull(checkA.selectNode(context, node));
+        assertSame(originNode, checkOther.selectNode(context, node));
+        assertTrue(plan.isOtherOrigin("appB"));
+
+        when(context.getOrigin()).thenReturn("");
+        assertNull(checkOther.selectNode(context, node));
+        assertFalse(plan.isOtherOrigin(""));
+    }
+
+    @Test
+    public void testRelateReferenceResolvedAndReplacedAfterEviction() {
+        String refResource = "testRelateReference_refResource";
+        StringResourceWrapper refWrapper = new StringResourceWrapper(refResource, EntryType.IN);
+        DefaultNode node = mock(DefaultNode.class);
+        Context context = mock(Context.class);
+
+        FlowCheckPlan plan = compile(new FlowRule("testRelateReference").setCount(1)
+            .setStrategy(RuleConstant.STRATEGY_RELATE)
+            .setRefResource(refResource));
+        FlowCheckPlan.RuleCheck check = plan.getChecks()[0];
+        // The reference resource has not been entered yet.
+        assertNull(check.selectNode(context, node));
+
+        ClusterNode refNode = new ClusterNode(refResource);
+        ClusterBuilderSlot.getClusterNodeMap().put(refWrapper, refNode);
+        assertSame(refNode, check.selectNode(context, node));
+
+        ClusterNode newRefNode = new ClusterNode(refResource);
+        ClusterBuilderSlot.getClusterNodeMap().put(refWrapper, newRefNode);
+        // The cached node is used until it is evicted.
+        assertSame(refNode, check.selectNode(context, node));
+        refNode.markEvicted();
+        assertSame(newRefNode, check.selectNode(context, node));
+    }
+
+    @Test
+    public void testChainReferenceSelectNode() {
+        DefaultNode node = mock(DefaultNode.class);
+        Context context = mock(Context.class);
+
+        FlowCheckPlan plan = compile(
+            new FlowRule("testChainReferenceSelectNode").setCount(1)
+                .setStrategy(RuleConstant.STRATEGY_CHAIN)
+                .setRefResource("good_context"),
+            new FlowRule("testChainReferenceSelectNode").setCount(1)
+                .setStrategy(RuleConstant.STRATEGY_CHAIN));
+
+        when(context.getName()).thenReturn("good_context");
+        assertSame(node, plan.getChecks()[0].selectNode(context, node));
+        assertNull(plan.getChecks()[1].selectNode(context, node));
+
+        when(context.getName()).thenReturn("other_context");
+        assertNull(plan.getChecks()[0].selectNode(context, node));
+    }
+
+    @Test
+    public void testRulesWithoutLimitAppSkipped() {
+        FlowRule rule = new FlowRule("testRulesWithoutLimitAppSkipped").setCount(1);
+        rule.setLimitApp(null);
+        FlowCheckPlan plan = compile(rule, new FlowRule("testRulesWithoutLimitAppSkipped").setCount(2));
+
+        assertEquals(2, plan.getRules().size());
+        assertEquals(1, plan.getChecks().length);
+    }
+
+    @Test
+    public void testCheckPlanCompiledOnLoad() throws Exception {
+        String resource = "testCheckPlanCompiledOnLoad";
+        assertNull(FlowRuleManager.getCheckPlan(resource));
+
+        FlowRule rule = new FlowRule(resource).setCount(0);
+        FlowRuleManager.loadRules(Collections.singletonList(rule));
+        FlowCheckPlan plan = FlowRuleManager.getCheckPlan(resource);
+        assertNotNull(plan);
+        assertEquals(Collections.singletonList(rule), plan.getRules());
+
+        DefaultNode node = mock(DefaultNode.class);
+        when(node.getClusterNode()).thenReturn(new ClusterNode(resource));
+        try {
+            new FlowRuleChecker().checkFlow(plan, mock(Context.class), node, 1, false);
+            fail("The request should be blocked");
+        } catch (FlowException ex) {
+            assertSame(rule, ex.getRule());
+        }
+    }
+
+    private static FlowCheckPlan compile(FlowRule... rules) {
+        return FlowCheckPlan.compile(rules[0].getResource(), Arrays.asList(rules));
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        FlowRuleManager.loadRules(null);
+        ClusterBuilderSlot.getClusterNodeMap().clear();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FlowRuleManager.loadRules(null);
+        ClusterBuilderSlot.getClusterNodeMap().clear();
+    }
+}
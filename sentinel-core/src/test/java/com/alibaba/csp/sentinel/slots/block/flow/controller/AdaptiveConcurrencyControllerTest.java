@@ -0,0 +1,133 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import com.alibaba.csp.sentinel.node.Node;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveConcurrencyControllerTest {
+
+    @Test
+    public void testCanPassWithinLimit() {
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(10);
+        assertEquals(10, controller.getLimit(), 0.01);
+        Node node = mock(Node.class);
+        when(node.curThreadNum()).thenReturn(9).thenReturn(10);
+
+        assertTrue(controller.canPass(node, 1));
+        assertFalse(controller.canPass(node, 1));
+        assertTrue(controller.canPass(null, 1));
+    }
+
+    @Test
+    public void testLimitGrowsWhenRtIsStable() {
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(100);
+        assertEquals(AdaptiveConcurrencyController.DEFAULT_INITIAL_LIMIT, controller.getLimit(), 0.01);
+        Node node = mock(Node.class);
+        // Saturated: 1000 QPS * 20 ms = 20 concurrent requests in use.
+        when(node.successQps()).thenReturn(1000d);
+        when(node.avgRt()).thenReturn(20d);
+        when(node.minRt()).thenReturn(20d);
+
+        long time = 1000;
+        double lastLimit = controller.getLimit();
+        for (int i = 0; i < 5; i++) {
+            controller.tryUpdateLimit(node, time);
+            assertTrue(controller.getLimit() > lastLimit);
+            lastLimit = controller.getLimit();
+            time += 1000;
+        }
+        for (int i = 0; i < 200; i++) {
+            controller.tryUpdateLimit(node, time);
+            time += 1000;
+        }
+        // Stops probing once the limit is far beyond the concurrency in use.
+        assertTrue(controller.getLimit() >= 40 && controller.getLimit() < 45);
+
+        // Demand rises to 1000 QPS * 80 ms = 80 concurrent requests at stable RT.
+        when(node.avgRt()).thenReturn(80d);
+        when(node.minRt()).thenReturn(80d);
+        for (int i = 0; i < 200; i++) {
+            controller.tryUpdateLimit(node, time);
+            time += 1000;
+        }
+        assertEquals(100, controller.getLimit(), 0.01);
+    }
+
+    @Test
+    public void testLimitShrinksWhenRtIncreases() {
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(100);
+        Node node = mock(Node.class);
+        when(node.successQps()).thenReturn(1000d);
+        when(node.minRt()).thenReturn(20d);
+        when(node.avgRt()).thenReturn(20d);
+        long time = 1000;
+        controller.tryUpdateLimit(node, time);
+        double limit = controller.getLimit();
+
+        // Requests are queueing.
+        when(node.avgRt()).thenReturn(60d);
+        for (int i = 0; i < 5; i++) {
+            time += 1000;
+            controller.tryUpdateLimit(node, time);
+            assertTrue(controller.getLimit() < limit);
+            limit = controller.getLimit();
+        }
+        for (int i = 0; i < 200; i++) {
+            time += 1000;
+            controller.tryUpdateLimit(node, time);
+        }
+        // Converges to where limit = limit * 0.5 + sqrt(limit).
+        assertEquals(4, controller.getLimit(), 0.01);
+    }
+
+    @Test
+    public void testLimitNotGrowWhenIdle() {
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(100);
+        Node node = mock(Node.class);
+        // Only 1 concurrent request in use.
+        when(node.successQps()).thenReturn(50d);
+        when(node.avgRt()).thenReturn(20d);
+        when(node.minRt()).thenReturn(20d);
+        long time = 1000;
+        for (int i = 0; i < 10; i++) {
+            controller.tryUpdateLimit(node, time);
+            time += 1000;
+        }
+        assertEquals(AdaptiveConcurrencyController.DEFAULT_INITIAL_LIMIT, controller.getLimit(), 0.01);
+    }
+
+    @Test
+    public void testUpdateOncePerBucket() {
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(100);
+        Node node = mock(Node.class);
+        when(node.successQps()).thenReturn(1000d);
+        when(node.avgRt()).thenReturn(20d);
+        when(node.minRt()).thenReturn(20d);
+
+        controller.tryUpdateLimit(node, 1000);
+        double limit = controller.getLimit();
+        controller.tryUpdateLimit(node, 1001);
+        assertEquals(limit, controller.getLimit(), 0.0001);
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow.controller;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -24,6 +25,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 import com.alibaba.csp.sentinel.node.Node;
 
@@ -95,4 +98,32 @@ public class RateLimiterControllerTest {
             assertTrue(paceController.canPass(node, 0));
         }
     }
+
+    @Test
+    public void testPaceController_deferred() {
+        RateLimiterController paceController = new RateLimiterController(500, 10d);
+        Node node = mock(Node.class);
+
+        Context context = ContextUtil.enter("testPaceController_deferred");
+        try {
+            long start = TimeUtil.currentTimeMillis();
+            long lastDelay = 0;
+            for (int i = 0; i < 6; i++) {
+                context.setPacingDeferred(true);
+                assertTrue(paceController.canPass(node, 1));
+                assertTrue(context.getPacingDelayMs() >= lastDelay);
+                lastDelay = context.getPacingDelayMs();
+            }
+            assertTrue(TimeUtil.currentTimeMillis() - start < 400);
+            assertTrue(lastDelay > 400);
+
+            // Requests that need to wait longer than the timeout are still rejected.
+            assertFalse(paceController.canPass(node, 1));
+
+            context.setPacingDeferred(false);
+            assertEquals(0, context.getPacingDelayMs());
+        } finally {
+            ContextUtil.exit();
+        }
+    }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.node.StatisticNode;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class RtUnitTest {
+
+    @Test
+    public void testDefaultMillis() {
+        assertFalse(RtUnit.MICROS);
+        assertEquals(1, RtUnit.UNITS_PER_MILLI);
+        assertEquals(SentinelConfig.statisticMaxRt(), RtUnit.maxRt());
+        assertEquals(12.5, RtUnit.toMillis(12.5), 0.0);
+        assertEquals(123L, RtUnit.now(123L));
+    }
+
+    @Test
+    public void testNodeRtInMillis() {
+        StatisticNode node = new StatisticNode();
+        node.addRtAndSuccess(10 * RtUnit.UNITS_PER_MILLI, 1);
+        node.addRtAndSuccess(20 * RtUnit.UNITS_PER_MILLI, 1);
+        assertEquals(15, node.avgRt(), 0.01);
+        assertEquals(10, node.minRt(), 0.01);
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.alibaba.csp.sentinel.slots.statistic.base;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
@@ -62,4 +63,87 @@ public class LeapArrayTest extends AbstractTimeBasedTest {
         assertSame(expected2, leapArray.getValidHead());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testEpochRotationReusesRetiredBucket() {
+        int windowLengthInMs = 100;
+        int intervalInMs = 1000;
+        int sampleCount = intervalInMs / windowLengthInMs;
+        LeapArray<AtomicInteger> leapArray = newCounterLeapArray(sampleCount, intervalInMs, true);
+
+        WindowWrap<AtomicInteger> first = leapArray.currentWindow(1000);
+        first.value().addAndGet(3);
+        assertSame(first, leapArray.currentWindow(1050));
+
+        // The first rotation of the slot creates a new bucket and retires the old one as spare.
+        WindowWrap<AtomicInteger> second = leapArray.currentWindow(2010);
+        assertNotSame(first, second);
+        assertEquals(2000, second.windowStart());
+        assertEquals(0, second.value().get());
+        second.value().addAndGet(5);
+
+        // Following rotations reuse the retired bucket in place.
+        WindowWrap<AtomicInteger> third = leapArray.currentWindow(3020);
+        assertSame(first, third);
+        assertEquals(3000, third.windowStart());
+        assertEquals(0, third.value().get());
+        assertSame(second, leapArray.currentWindow(4000));
+
+        // Outdated time should not rotate the bucket.
+        WindowWrap<AtomicInteger> outdated = leapArray.currentWindow(3000);
+        assertEquals(3000, outdated.windowStart());
+        assertSame(second, leapArray.currentWindow(4000));
+    }
+
+    @Test
+    public void testEpochRotationConcurrently() throws Exception {
+        final int windowLengthInMs = 100;
+        int intervalInMs = 1000;
+        final LeapArray<AtomicInteger> leapArray = newCounterLeapArray(intervalInMs / windowLengthInMs,
+            intervalInMs, true);
+        final int threadCount = 16;
+        final int rounds = 200;
+        final CountDownLatch latch = new CountDownLatch(threadCount);
+        final AtomicInteger total = new AtomicInteger();
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int r = 0; r < rounds; r++) {
+                        WindowWrap<AtomicInteger> w = leapArray.currentWindow((long)r * windowLengthInMs);
+                        if (w.windowStart() == (long)r * windowLengthInMs) {
+                            w.value().incrementAndGet();
+                        }
+                        total.incrementAndGet();
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+
+        assertEquals(threadCount * rounds, total.get());
+        long lastStart = (long)(rounds - 1) * windowLengthInMs;
+        WindowWrap<AtomicInteger> last = leapArray.currentWindow(lastStart);
+        assertEquals(lastStart, last.windowStart());
+        assertTrue(last.value().get() <= threadCount);
+        for (WindowWrap<AtomicInteger> w : leapArray.listAll()) {
+            assertTrue(w.windowStart() <= lastStart);
+        }
+    }
+
+    private LeapArray<AtomicInteger> newCounterLeapArray(int sampleCount, int intervalInMs, boolean epochRotation) {
+        return new LeapArray<AtomicInteger>(sampleCount, intervalInMs, epochRotation) {
+            @Override
+            public AtomicInteger newEmptyBucket(long time) {
+                return new AtomicInteger(0);
+            }
+
+            @Override
+            protected WindowWrap<AtomicInteger> resetWindowTo(WindowWrap<AtomicInteger> windowWrap, long startTime) {
+                windowWrap.resetTo(startTime);
+                windowWrap.value().set(0);
+                return windowWrap;
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import java.util.concurrent.CountDownLatch;
+
+import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link CompactMetricBucket}.
+ */
+public class CompactMetricBucketTest {
+
+    @Test
+    public void testAddAndReset() {
+        CompactMetricBucket bucket = new CompactMetricBucket();
+        bucket.addPass(3);
+        bucket.addBlock(2);
+        bucket.addException(1);
+        bucket.addSuccess(5);
+        bucket.addRT(20);
+        bucket.addRT(10);
+        bucket.addOccupiedPass(7);
+
+        assertFalse(bucket.isInflated());
+        assertEquals(3, bucket.pass());
+        assertEquals(2, bucket.block());
+        assertEquals(1, bucket.exception());
+        assertEquals(5, bucket.success());
+        assertEquals(30, bucket.rt());
+        assertEquals(10, bucket.minRt());
+        assertEquals(7, bucket.occupiedPass());
+
+        bucket.reset();
+        for (MetricEvent event : MetricEvent.values()) {
+            assertEquals(0, bucket.get(event));
+        }
+    }
+
+    @Test
+    public void testResetFromBucketOfAnotherLayout() {
+        MetricBucket source = new MetricBucket();
+        source.addPass(4);
+        source.addRT(8);
+        MetricBucket bucket = new CompactMetricBucket();
+        bucket.addBlock(9);
+
+        bucket.reset(source);
+        assertEquals(4, bucket.pass());
+        assertEquals(8, bucket.rt());
+        assertEquals(0, bucket.block());
+    }
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        final CompactMetricBucket bucket = new CompactMetricBucket();
+        final int threadCount = 16;
+        final int times = 20000;
+        final CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < times; j++) {
+                        bucket.addPass(1);
+                        bucket.addRT(2);
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+
+        // Counts before and after inflation are both kept.
+        assertEquals(threadCount * times, bucket.pass());
+        assertEquals(threadCount * times * 2L, bucket.rt());
+
+        boolean inflated = bucket.isInflated();
+        bucket.reset();
+        assertEquals(0, bucket.pass());
+        assertEquals(inflated, bucket.isInflated());
+        bucket.addPass(1);
+        assertEquals(1, bucket.pass());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RtHistogramTest {
+
+    @Test
+    public void testIndexAndValue() {
+        for (int v = 0; v < 16; v++) {
+            assertEquals(v, RtHistogram.indexOf(v, Integer.MAX_VALUE));
+            assertEquals(v, RtHistogram.valueOf(v));
+        }
+        assertEquals(0, RtHistogram.indexOf(-1, Integer.MAX_VALUE));
+        // Each value is represented within 1/16 relative error.
+        for (long v = 16; v < 100000; v++) {
+            long represented = RtHistogram.valueOf(RtHistogram.indexOf(v, Integer.MAX_VALUE));
+            assertTrue("value: " + v, Math.abs(represented - v) <= v / 16.0);
+        }
+        // Indexes are contiguous.
+        assertEquals(16, RtHistogram.indexOf(16, Integer.MAX_VALUE));
+        assertEquals(23, RtHistogram.indexOf(31, Integer.MAX_VALUE));
+        assertEquals(24, RtHistogram.indexOf(32, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testValueAtPercentile() {
+        RtHistogram histogram = new RtHistogram();
+        assertEquals(0, histogram.valueAtPercentile(99));
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100, histogram.totalCount());
+        assertEquals(50, histogram.valueAtPercentile(50), 50 / 16.0);
+        assertEquals(90, histogram.valueAtPercentile(90), 90 / 16.0);
+        assertEquals(99, histogram.valueAtPercentile(99), 99 / 16.0);
+        assertEquals(1, histogram.valueAtPercentile(0));
+
+        // Values beyond the max RT are counted in the last range.
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(RtHistogram.valueOf(RtHistogram.LENGTH - 1), histogram.valueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.totalCount());
+    }
+
+    @Test
+    public void testValueAtPercentileOfSeveralHistograms() {
+        RtHistogram h1 = new RtHistogram();
+        RtHistogram h2 = new RtHistogram();
+        for (int i = 0; i < 99; i++) {
+            h1.record(10);
+        }
+        h2.record(1000);
+        assertEquals(10, RtHistogram.valueAtPercentile(Arrays.asList(h1, null, h2), 99));
+        assertEquals(1000, RtHistogram.valueAtPercentile(Arrays.asList(h1, null, h2), 99.9), 1000 / 16.0);
+
+        h1.add(h2);
+        assertEquals(100, h1.totalCount());
+        assertEquals(1000, h1.valueAtPercentile(100), 1000 / 16.0);
+    }
+}
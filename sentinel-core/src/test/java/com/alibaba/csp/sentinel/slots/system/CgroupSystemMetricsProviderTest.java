@@ -0,0 +1,178 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CgroupSystemMetricsProvider} against fake cgroup file trees.
+ */
+public class CgroupSystemMetricsProviderTest {
+
+    private static final long MS = 1000 * 1000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testNoCgroup() throws Exception {
+        assertNull(CgroupSystemMetricsProvider.detect(folder.getRoot().getPath(), 4, null));
+        assertNull(CgroupSystemMetricsProvider.detect(new File(folder.getRoot(), "absent").getPath(), 4, null));
+    }
+
+    @Test
+    public void testCgroupV2WithQuotaAndPressure() throws Exception {
+        File root = folder.getRoot();
+        write(root, "cgroup.controllers", "cpuset cpu io memory pids");
+        write(root, "cpu.max", "200000 100000");
+        writeCpuStatV2(root, 1000000);
+        writePressure(root, 0);
+
+        CgroupSystemMetricsProvider provider = CgroupSystemMetricsProvider.detect(root.getPath(), 8, null);
+        assertNotNull(provider);
+        assertTrue(provider.isV2());
+        provider.refresh(1000 * MS);
+        assertTrue(provider.getCpuUsage() < 0);
+        assertTrue(provider.getSystemLoad() < 0);
+
+        // 100ms CPU time in 100ms with 2 CPUs limit, and runnable tasks stalled for 50ms.
+        writeCpuStatV2(root, 1100000);
+        writePressure(root, 50000);
+        provider.refresh(1100 * MS);
+        assertEquals(0.5, provider.getCpuUsage(), 0.0001);
+        assertEquals(1.5, provider.getSystemLoad(), 0.0001);
+
+        // Usage is capped by the limit.
+        writeCpuStatV2(root, 1500000);
+        provider.refresh(1200 * MS);
+        assertEquals(1.0, provider.getCpuUsage(), 0.0001);
+        assertEquals(4.0, provider.getSystemLoad(), 0.0001);
+    }
+
+    @Test
+    public void testCgroupV2WithoutQuotaAndPressure() throws Exception {
+        File root = folder.getRoot();
+        write(root, "cgroup.controllers", "cpu");
+        write(root, "cpu.max", "max 100000");
+        writeCpuStatV2(root, 0);
+
+        CgroupSystemMetricsProvider provider = CgroupSystemMetricsProvider.detect(root.getPath(), 4,
+            new FixedProvider(2.5, 0.1));
+        assertNotNull(provider);
+        provider.refresh(0);
+        writeCpuStatV2(root, 200000);
+        provider.refresh(100 * MS);
+        // Limited by available processors, and the load comes from the fallback.
+        assertEquals(0.5, provider.getCpuUsage(), 0.0001);
+        assertEquals(2.5, provider.getSystemLoad(), 0.0001);
+    }
+
+    @Test
+    public void testCgroupV1() throws Exception {
+        File cpuDir = folder.newFolder("cpu,cpuacct");
+        write(cpuDir, "cpuacct.usage", "5000000000");
+        write(cpuDir, "cpu.cfs_quota_us", "50000");
+        write(cpuDir, "cpu.cfs_period_us", "100000");
+
+        CgroupSystemMetricsProvider provider = CgroupSystemMetricsProvider.detect(folder.getRoot().getPath(), 4,
+            null);
+        assertNotNull(provider);
+        assertFalse(provider.isV2());
+        provider.refresh(0);
+        write(cpuDir, "cpuacct.usage", "5025000000");
+        provider.refresh(100 * MS);
+        assertEquals(0.5, provider.getCpuUsage(), 0.0001);
+
+        // Quota removed at runtime.
+        write(cpuDir, "cpu.cfs_quota_us", "-1");
+        write(cpuDir, "cpuacct.usage", "5225000000");
+        provider.refresh(200 * MS);
+        assertEquals(0.5, provider.getCpuUsage(), 0.0001);
+    }
+
+    @Test
+    public void testCgroupV1SeparateControllers() throws Exception {
+        File cpuacctDir = folder.newFolder("cpuacct");
+        File cpuDir = folder.newFolder("cpu");
+        write(cpuacctDir, "cpuacct.usage", "0");
+        write(cpuDir, "cpu.cfs_quota_us", "100000");
+        write(cpuDir, "cpu.cfs_period_us", "100000");
+
+        CgroupSystemMetricsProvider provider = CgroupSystemMetricsProvider.detect(folder.getRoot().getPath(), 4,
+            null);
+        assertNotNull(provider);
+        provider.refresh(0);
+        write(cpuacctDir, "cpuacct.usage", "25000000");
+        provider.refresh(100 * MS);
+        assertEquals(0.25, provider.getCpuUsage(), 0.0001);
+    }
+
+    private void writeCpuStatV2(File root, long usageMicros) throws IOException {
+        write(root, "cpu.stat", "usage_usec " + usageMicros + "\nuser_usec " + usageMicros / 2
+            + "\nsystem_usec " + usageMicros / 2 + "\n");
+    }
+
+    private void writePressure(File root, long stallMicros) throws IOException {
+        write(root, "cpu.pressure", "some avg10=0.00 avg60=0.00 avg300=0.00 total=" + stallMicros
+            + "\nfull avg10=0.00 avg60=0.00 avg300=0.00 total=0\n");
+    }
+
+    private void write(File dir, String name, String content) throws IOException {
+        Writer writer = new OutputStreamWriter(new FileOutputStream(new File(dir, name)), "UTF-8");
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+    }
+
+    static class FixedProvider implements SystemMetricsProvider {
+        private final double load;
+        private final double cpuUsage;
+
+        FixedProvider(double load, double cpuUsage) {
+            this.load = load;
+            this.cpuUsage = cpuUsage;
+        }
+
+        @Override
+        public void refresh() {}
+
+        @Override
+        public double getSystemLoad() {
+            return load;
+        }
+
+        @Override
+        public double getCpuUsage() {
+            return cpuUsage;
+        }
+    }
+}
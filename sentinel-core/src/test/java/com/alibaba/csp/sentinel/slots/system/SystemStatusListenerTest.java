@@ -0,0 +1,68 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SystemStatusListenerTest {
+
+    @Test
+    public void testSmoothSamples() {
+        final double[] sample = {0.8, 0.2};
+        SystemMetricsProvider provider = new SystemMetricsProvider() {
+            @Override
+            public void refresh() {}
+
+            @Override
+            public double getSystemLoad() {
+                return sample[0] * 10;
+            }
+
+            @Override
+            public double getCpuUsage() {
+                return sample[1];
+            }
+        };
+        long intervalMs = 100;
+        double alpha = 1 - Math.exp(-intervalMs / SystemStatusListener.SMOOTHING_TIME_CONSTANT_MS);
+        SystemStatusListener listener = new SystemStatusListener(provider, intervalMs);
+
+        // The first sample is taken as is.
+        listener.run();
+        assertEquals(8, listener.getSystemAverageLoad(), 0.0001);
+        assertEquals(0.2, listener.getCpuUsage(), 0.0001);
+
+        sample[0] = 0.4;
+        sample[1] = 1.0;
+        listener.run();
+        assertEquals(8 + alpha * (4 - 8), listener.getSystemAverageLoad(), 0.0001);
+        assertEquals(0.2 + alpha * (1.0 - 0.2), listener.getCpuUsage(), 0.0001);
+
+        // Converges to the stable value after several time constants.
+        for (int i = 0; i < 50; i++) {
+            listener.run();
+        }
+        assertEquals(4, listener.getSystemAverageLoad(), 0.01);
+        assertEquals(1.0, listener.getCpuUsage(), 0.01);
+
+        // Unavailable samples are not smoothed.
+        sample[1] = -1;
+        listener.run();
+        assertEquals(-1, listener.getCpuUsage(), 0.0001);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TimeUtilTest {
+
+    @Test
+    public void testCurrentTimeMillis() {
+        long now = System.currentTimeMillis();
+        assertTrue(Math.abs(TimeUtil.currentTimeMillis() - now) < 100);
+    }
+
+    @Test
+    public void testStopTickingWhenRarelyRead() {
+        assertTrue(TimeUtil.shouldTick(true, TimeUtil.TICK_READS_LOWER_BOUND, 1000));
+        assertFalse(TimeUtil.shouldTick(true, TimeUtil.TICK_READS_LOWER_BOUND - 1, 1000));
+        assertFalse(TimeUtil.shouldTick(true, 0, 1000));
+    }
+
+    @Test
+    public void testResumeTickingWhenFrequentlyRead() {
+        assertFalse(TimeUtil.shouldTick(false, TimeUtil.TICK_READS_UPPER_BOUND / 10, 100));
+        assertTrue(TimeUtil.shouldTick(false, TimeUtil.TICK_READS_UPPER_BOUND / 10 + 1, 100));
+        // Reads between the bounds keep the current state.
+        long reads = (TimeUtil.TICK_READS_LOWER_BOUND + TimeUtil.TICK_READS_UPPER_BOUND) / 2;
+        assertTrue(TimeUtil.shouldTick(true, reads, 1000));
+        assertFalse(TimeUtil.shouldTick(false, reads, 1000));
+    }
+
+    @Test
+    public void testKeepStateWithoutElapsedTime() {
+        assertEquals(true, TimeUtil.shouldTick(true, 0, 0));
+        assertEquals(false, TimeUtil.shouldTick(false, 100000, -5));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.command.handler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.alibaba.csp.sentinel.command.CommandHandler;
+import com.alibaba.csp.sentinel.command.CommandRequest;
+import com.alibaba.csp.sentinel.command.CommandResponse;
+import com.alibaba.csp.sentinel.command.StreamingResult;
+import com.alibaba.csp.sentinel.command.annotation.CommandMapping;
+import com.alibaba.csp.sentinel.metric.exporter.MetricExporter;
+import com.alibaba.csp.sentinel.metric.exporter.MetricExporterProvider;
+import com.alibaba.csp.sentinel.metric.exporter.PrometheusMetricExporter;
+import com.alibaba.csp.sentinel.metric.exporter.ResourceMetricRegistry;
+
+/**
+ * Export metrics of all resources for scraping, e.g. by Prometheus.
+ * The exposition is streamed to the client as it is encoded.
+ *
+ * @since 1.8.1
+ */
+@CommandMapping(name = "metrics", desc = "export metrics of all resources, accept param: "
+    + "format={prometheus|openmetrics}")
+public class ExportMetricsCommandHandler implements CommandHandler<StreamingResult> {
+
+    @Override
+    public CommandResponse<StreamingResult> handle(CommandRequest request) {
+        String format = request.getParam("format", PrometheusMetricExporter.NAME);
+        final MetricExporter exporter = MetricExporterProvider.getExporter(format);
+        if (exporter == null) {
+            return CommandResponse.ofFailure(new IllegalArgumentException("Unknown metric format: " + format));
+        }
+        return CommandResponse.ofStreaming(new StreamingResult() {
+            @Override
+            public String getContentType() {
+                return exporter.getContentType();
+            }
+
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                exporter.export(ResourceMetricRegistry.getAll(), out);
+            }
+        });
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.metric.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Buffered output of ASCII exposition text, which encodes numbers without creating strings.
+ * Not thread-safe.
+ *
+ * @since 1.8.1
+ */
+final class ExpositionOutput {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final byte[] MIN_LONG = String.valueOf(Long.MIN_VALUE).getBytes(UTF_8);
+    private static final byte[] NAN = "NaN".getBytes(UTF_8);
+    private static final byte[] POSITIVE_INF = "+Inf".getBytes(UTF_8);
+    private static final byte[] NEGATIVE_INF = "-Inf".getBytes(UTF_8);
+    private static final double MAX_EXACT_LONG = 1L << 53;
+    /**
+     * The buffer should hold at least a long number (19 digits and the sign).
+     */
+    private static final int MIN_BUFFER_SIZE = 32;
+
+    private final OutputStream out;
+    private final byte[] buf;
+    private int pos;
+
+    ExpositionOutput(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buf = new byte[Math.max(bufferSize, MIN_BUFFER_SIZE)];
+    }
+
+    static byte[] ascii(String s) {
+        return s.getBytes(UTF_8);
+    }
+
+    void write(byte b) throws IOException {
+        if (pos == buf.length) {
+            flushBuffer();
+        }
+        buf[pos++] = b;
+    }
+
+    void write(byte[] bytes) throws IOException {
+        if (bytes.length > buf.length - pos) {
+            flushBuffer();
+            if (bytes.length > buf.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    void writeLong(long v) throws IOException {
+        if (v == Long.MIN_VALUE) {
+            write(MIN_LONG);
+            return;
+        }
+        if (buf.length - pos < 20) {
+            flushBuffer();
+        }
+        if (v < 0) {
+            buf[pos++] = '-';
+            v = -v;
+        }
+        int start = pos;
+        do {
+            buf[pos++] = (byte)('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+        // Digits were written in reverse order.
+        for (int i = start, j = pos - 1; i < j; i++, j--) {
+            byte t = buf[i];
+            buf[i] = buf[j];
+            buf[j] = t;
+        }
+    }
+
+    void writeDouble(double v) throws IOException {
+        if (Double.isNaN(v)) {
+            write(NAN);
+        } else if (Double.isInfinite(v)) {
+            write(v > 0 ? POSITIVE_INF : NEGATIVE_INF);
+        } else if (v == Math.rint(v) && Math.abs(v) < MAX_EXACT_LONG) {
+            writeLong((long)v);
+        } else {
+            write(ascii(Double.toString(v)));
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+
+    /**
+     * Write the buffered bytes to the underlying stream, without flushing the stream.
+     */
+    void finish() throws IOException {
+        flushBuffer();
+    }
+}
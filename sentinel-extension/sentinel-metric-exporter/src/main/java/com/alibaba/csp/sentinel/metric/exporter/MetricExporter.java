@@ -0,0 +1,48 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.metric.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+
+/**
+ * <p>SPI of metric exporters, which write metrics of resources in a specific exposition format.
+ * Exporters are resolved by name via {@link MetricExporterProvider}.</p>
+ *
+ * @since 1.8.1
+ */
+public interface MetricExporter {
+
+    /**
+     * @return name of the exposition format, e.g. {@code prometheus}
+     */
+    String getName();
+
+    /**
+     * @return HTTP content type of the exposition
+     */
+    String getContentType();
+
+    /**
+     * Write the metrics of resources to the output stream. The stream is neither flushed nor closed.
+     *
+     * @param metrics metrics of resources
+     * @param out     the output stream
+     * @throws IOException if failed to write
+     */
+    void export(Collection<ResourceMetrics> metrics, OutputStream out) throws IOException;
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.metric.exporter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.util.SpiLoader;
+
+/**
+ * Get all {@link MetricExporter}s via SPI.
+ *
+ * @since 1.8.1
+ */
+public final class MetricExporterProvider {
+
+    private static final Map<String, MetricExporter> EXPORTER_MAP = new HashMap<>();
+
+    static {
+        resolveInstance();
+    }
+
+    private static void resolveInstance() {
+        List<MetricExporter> exporters = SpiLoader.loadInstanceList(MetricExporter.class);
+        for (MetricExporter exporter : exporters) {
+            EXPORTER_MAP.put(exporter.getName(), exporter);
+        }
+        RecordLog.info("[MetricExporterProvider] MetricExporter resolved: {}", EXPORTER_MAP.keySet());
+    }
+
+    /**
+     * Get the metric exporter of the given exposition format.
+     *
+     * @param name name of the exposition format
+     * @return the metric exporter, or null if absent
+     */
+    public static MetricExporter getExporter(String name) {
+        return EXPORTER_MAP.get(name);
+    }
+
+    private MetricExporterProvider() {}
+}
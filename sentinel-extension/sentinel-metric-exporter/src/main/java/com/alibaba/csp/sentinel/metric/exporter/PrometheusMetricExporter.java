@@ -0,0 +1,41 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.metric.exporter;
+
+/**
+ * Metric exporter of the <a href="https://prometheus.io/docs/instrumenting/exposition_formats/">Prometheus
+ * text format</a> (version 0.0.4).
+ *
+ * @since 1.8.1
+ */
+public class PrometheusMetricExporter extends TextMetricExporter {
+
+    public static final String NAME = "prometheus";
+
+    public PrometheusMetricExporter() {
+        super(false);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getContentType() {
+        return "text/plain; version=0.0.4; charset=utf-8";
+    }
+}
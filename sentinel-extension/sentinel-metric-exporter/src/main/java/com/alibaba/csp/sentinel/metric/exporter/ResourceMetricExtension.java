@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.metric.exporter;
+
+import com.alibaba.csp.sentinel.metric.extension.AdvancedMetricExtension;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+
+/**
+ * Metric extension that records monotonic counters of resources for {@link MetricExporter}s.
+ *
+ * @since 1.8.1
+ */
+public class ResourceMetricExtension implements AdvancedMetricExtension {
+
+    @Override
+    public void onPass(ResourceWrapper rw, int batchCount, Object[] args) {
+        addPass(rw.getName(), batchCount, args);
+    }
+
+    @Override
+    public void onBlocked(ResourceWrapper rw, int batchCount, String origin, BlockException e, Object[] args) {
+        addBlock(rw.getName(), batchCount, origin, e, args);
+    }
+
+    @Override
+    public void onComplete(ResourceWrapper rw, long rt, int batchCount, Object[] args) {
+        ResourceMetrics metrics = ResourceMetricRegistry.getOrCreate(rw.getName());
+        metrics.add(ResourceMetrics.SUCCESS, batchCount);
+        metrics.add(ResourceMetrics.RT, rt);
+    }
+
+    @Override
+    public void onError(ResourceWrapper rw, Throwable throwable, int batchCount, Object[] args) {
+        addException(rw.getName(), batchCount, throwable);
+    }
+
+    @Override
+    public void addPass(String resource, int n, Object... args) {
+        ResourceMetricRegistry.getOrCreate(resource).add(ResourceMetrics.PASS, n);
+    }
+
+    @Override
+    public void addBlock(String resource, int n, String origin, BlockException blockException, Object... args) {
+        ResourceMetricRegistry.getOrCreate(resource).add(ResourceMetrics.BLOCK, n);
+    }
+
+    @Override
+    public void addSuccess(String resource, int n, Object... args) {
+        ResourceMetricRegistry.getOrCreate(resource).add(ResourceMetrics.SUCCESS, n);
+    }
+
+    @Override
+    public void addException(String resource, int n, Throwable throwable) {
+        ResourceMetricRegistry.getOrCreate(resource).add(ResourceMetrics.EXCEPTION, n);
+    }
+
+    @Override
+    public void addRt(String resource, long rt, Object... args) {
+        ResourceMetricRegistry.getOrCreate(resource).add(ResourceMetrics.RT, rt);
+    }
+
+    @Override
+    public void increaseThreadNum(String resource, Object... args) {
+        // Concurrency is exported from the cluster node of the resource.
+    }
+
+    @Override
+    public void decreaseThreadNum(String resource, Object... args) {
+        // Concurrency is exported from the cluster node of the resource.
+    }
+}
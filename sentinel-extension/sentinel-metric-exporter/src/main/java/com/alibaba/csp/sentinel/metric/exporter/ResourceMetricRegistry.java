@@ -0,0 +1,108 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.metric.exporter;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+
+/**
+ * Registry of {@link ResourceMetrics} of all resources to export.
+ *
+ * @since 1.8.1
+ */
+public final class ResourceMetricRegistry {
+
+    private static final ConcurrentMap<String, ResourceMetrics> METRICS_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * Get the metrics of the resource, which are created if absent.
+     *
+     * @param resource resource name
+     * @return the metrics of the resource
+     */
+    public static ResourceMetrics getOrCreate(String resource) {
+        ResourceMetrics metrics = METRICS_MAP.get(resource);
+        if (metrics == null) {
+            metrics = new ResourceMetrics(resource);
+            ResourceMetrics old = METRICS_MAP.putIfAbsent(resource, metrics);
+            if (old != null) {
+                metrics = old;
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Get the metrics of all resources, including the resources that have cluster nodes but no
+     * recorded counters (e.g. invoked before the extension is registered) and the total inbound traffic.
+     * Metrics of resources whose cluster nodes have been removed or evicted are dropped here.
+     *
+     * @return the metrics of all resources
+     */
+    public static Collection<ResourceMetrics> getAll() {
+        Set<String> liveResources = new HashSet<>();
+        for (Map.Entry<ResourceWrapper, ClusterNode> e : ClusterBuilderSlot.getClusterNodeMap().entrySet()) {
+            ClusterNode node = e.getValue();
+            if (node.isEvicted()) {
+                continue;
+            }
+            String resource = e.getKey().getName();
+            attachClusterNode(resource, node);
+            liveResources.add(resource);
+        }
+        attachClusterNode(Constants.TOTAL_IN_RESOURCE_NAME, Constants.ENTRY_NODE);
+        liveResources.add(Constants.TOTAL_IN_RESOURCE_NAME);
+        pruneDetached(liveResources);
+        return METRICS_MAP.values();
+    }
+
+    /**
+     * Remove the metrics that were attached to a cluster node no longer registered, so the node
+     * could be collected. Metrics never attached hold no node and are kept.
+     */
+    private static void pruneDetached(Set<String> liveResources) {
+        Iterator<ResourceMetrics> it = METRICS_MAP.values().iterator();
+        while (it.hasNext()) {
+            ResourceMetrics metrics = it.next();
+            if (metrics.getClusterNode() != null && !liveResources.contains(metrics.getResource())) {
+                it.remove();
+            }
+        }
+    }
+
+    private static void attachClusterNode(String resource, ClusterNode node) {
+        ResourceMetrics metrics = getOrCreate(resource);
+        if (metrics.getClusterNode() != node) {
+            metrics.setClusterNode(node);
+        }
+    }
+
+    static void clear() {
+        METRICS_MAP.clear();
+    }
+
+    private ResourceMetricRegistry() {}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.metric.exporter;
+
+import java.nio.charset.Charset;
+
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slots.statistic.base.LongAdder;
+
+/**
+ * <p>Exported metrics of a resource: monotonic counters recorded by {@link ResourceMetricExtension},
+ * and the cluster node of the resource for gauges. The label set of the resource is encoded once,
+ * so that samples are written without encoding the resource name on every scrape.</p>
+ *
+ * @since 1.8.1
+ */
+public class ResourceMetrics {
+
+    static final int PASS = 0;
+    static final int BLOCK = 1;
+    static final int SUCCESS = 2;
+    static final int EXCEPTION = 3;
+    static final int RT = 4;
+    private static final int COUNTER_SIZE = 5;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final String resource;
+    private final byte[] labels;
+    private final LongAdder[] counters = new LongAdder[COUNTER_SIZE];
+
+    private volatile ClusterNode clusterNode;
+
+    ResourceMetrics(String resource) {
+        this.resource = resource;
+        this.labels = encodeLabels(resource);
+        for (int i = 0; i < COUNTER_SIZE; i++) {
+            counters[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Encode the label set of the resource (without braces), e.g. {@code resource="abc"}, where backslash,
+     * double-quote and line feed in the resource name are escaped.
+     */
+    static byte[] encodeLabels(String resource) {
+        StringBuilder sb = new StringBuilder(resource.length() + 12);
+        sb.append("resource=\"");
+        for (int i = 0; i < resource.length(); i++) {
+            char c = resource.charAt(i);
+            switch (c) {
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        sb.append('"');
+        return sb.toString().getBytes(UTF_8);
+    }
+
+    void add(int counter, long value) {
+        counters[counter].add(value);
+    }
+
+    long get(int counter) {
+        return counters[counter].sum();
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    byte[] getLabels() {
+        return labels;
+    }
+
+    public long getPassCount() {
+        return get(PASS);
+    }
+
+    public long getBlockCount() {
+        return get(BLOCK);
+    }
+
+    public long getSuccessCount() {
+        return get(SUCCESS);
+    }
+
+    public long getExceptionCount() {
+        return get(EXCEPTION);
+    }
+
+    /**
+     * @return total response time of completed requests in milliseconds
+     */
+    public long getRtSum() {
+        return get(RT);
+    }
+
+    /**
+     * @return the cluster node of the resource, or null if the resource has not been invoked
+     */
+    public ClusterNode getClusterNode() {
+        return clusterNode;
+    }
+
+    void setClusterNode(ClusterNode clusterNode) {
+        this.clusterNode = clusterNode;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.metric.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.metric.MetricTimerListener;
+
+/**
+ * <p>Base of the text-based exposition formats (Prometheus text format and OpenMetrics text format).</p>
+ *
+ * <p>Exported metric families:</p>
+ * <ul>
+ *   <li>counters of each resource: {@code sentinel_pass_requests}, {@code sentinel_block_requests},
+ *   {@code sentinel_success_requests}, {@code sentinel_exception_requests} and
+ *   {@code sentinel_rt_milliseconds} (total response time of completed requests)</li>
+ *   <li>gauges of each resource from its cluster node: {@code sentinel_concurrency},
+ *   {@code sentinel_avg_rt_milliseconds} and {@code sentinel_rt_quantile_milliseconds}
+ *   (response time at quantiles 0.5, 0.9 and 0.99)</li>
+ *   <li>counter {@code sentinel_metric_log_dropped_nodes}: metric nodes dropped by the metric log writer</li>
+ * </ul>
+ *
+ * @since 1.8.1
+ */
+public abstract class TextMetricExporter implements MetricExporter {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte[] QUANTILE_50 = ExpositionOutput.ascii(",quantile=\"0.5\"");
+    private static final byte[] QUANTILE_90 = ExpositionOutput.ascii(",quantile=\"0.9\"");
+    private static final byte[] QUANTILE_99 = ExpositionOutput.ascii(",quantile=\"0.99\"");
+
+    private final boolean openMetrics;
+    private final List<Family> families = new ArrayList<>();
+    private final Family droppedNodesFamily;
+
+    protected TextMetricExporter(boolean openMetrics) {
+        this.openMetrics = openMetrics;
+        families.add(new CounterFamily("sentinel_pass_requests", "Passed requests.", ResourceMetrics.PASS));
+        families.add(new CounterFamily("sentinel_block_requests", "Blocked requests.", ResourceMetrics.BLOCK));
+        families.add(new CounterFamily("sentinel_success_requests", "Completed requests.",
+            ResourceMetrics.SUCCESS));
+        families.add(new CounterFamily("sentinel_exception_requests", "Requests completed with business exceptions.",
+            ResourceMetrics.EXCEPTION));
+        families.add(new CounterFamily("sentinel_rt_milliseconds", "Total response time of completed requests.",
+            ResourceMetrics.RT));
+        families.add(new Family("sentinel_concurrency", "gauge", "Current concurrency.") {
+            @Override
+            void writeSamples(ResourceMetrics metrics, ExpositionOutput out) throws IOException {
+                ClusterNode node = metrics.getClusterNode();
+                if (node != null) {
+                    writeSample(out, metrics, null);
+                    out.writeLong(node.curThreadNum());
+                    out.write((byte)'\n');
+                }
+            }
+        });
+        families.add(new Family("sentinel_avg_rt_milliseconds", "gauge",
+            "Average response time in the last second.") {
+            @Override
+            void writeSamples(ResourceMetrics metrics, ExpositionOutput out) throws IOException {
+                ClusterNode node = metrics.getClusterNode();
+                if (node != null) {
+                    writeSample(out, metrics, null);
+                    out.writeDouble(node.avgRt());
+                    out.write((byte)'\n');
+                }
+            }
+        });
+        // RT percentiles are available only when the RT histogram is enabled.
+        if (SentinelConfig.statisticRtHistogramEnabled()) {
+            families.add(new Family("sentinel_rt_quantile_milliseconds", "gauge",
+                "Response time at the quantile in the last second.") {
+                @Override
+                void writeSamples(ResourceMetrics metrics, ExpositionOutput out) throws IOException {
+                    ClusterNode node = metrics.getClusterNode();
+                    if (node != null) {
+                        writeQuantile(out, metrics, QUANTILE_50, node.rtPercentile(50));
+                        writeQuantile(out, metrics, QUANTILE_90, node.rtPercentile(90));
+                        writeQuantile(out, metrics, QUANTILE_99, node.rtPercentile(99));
+                    }
+                }
+
+                private void writeQuantile(ExpositionOutput out, ResourceMetrics metrics, byte[] quantile,
+                                           double value) throws IOException {
+                    writeSample(out, metrics, quantile);
+                    out.writeDouble(value);
+                    out.write((byte)'\n');
+                }
+            });
+        }
+        this.droppedNodesFamily = new Family("sentinel_metric_log_dropped_nodes", "counter",
+            "Metric nodes dropped as the metric log writer fell behind.") {
+            @Override
+            void writeSamples(ResourceMetrics metrics, ExpositionOutput out) {
+                // Not per resource, the only sample is written in export().
+            }
+        };
+    }
+
+    @Override
+    public void export(Collection<ResourceMetrics> metrics, OutputStream out) throws IOException {
+        ExpositionOutput output = new ExpositionOutput(out, BUFFER_SIZE);
+        for (Family family : families) {
+            output.write(family.header);
+            for (ResourceMetrics m : metrics) {
+                family.writeSamples(m, output);
+            }
+        }
+        output.write(droppedNodesFamily.header);
+        output.write(droppedNodesFamily.sampleName);
+        output.write((byte)' ');
+        output.writeLong(MetricTimerListener.getMetricWriter().getDroppedNodeCount());
+        output.write((byte)'\n');
+        if (openMetrics) {
+            output.write(ExpositionOutput.ascii("# EOF\n"));
+        }
+        output.finish();
+    }
+
+    private abstract class Family {
+        final byte[] header;
+        final byte[] sampleName;
+
+        /**
+         * @param name name of the metric family, without the {@code _total} suffix of counters
+         */
+        Family(String name, String type, String help) {
+            boolean counter = "counter".equals(type);
+            String sample = counter ? name + "_total" : name;
+            // The metric family of counters is named without the suffix in OpenMetrics.
+            String familyName = openMetrics ? name : sample;
+            String headerText = openMetrics
+                ? "# TYPE " + familyName + " " + type + "\n# HELP " + familyName + " " + help + "\n"
+                : "# HELP " + familyName + " " + help + "\n# TYPE " + familyName + " " + type + "\n";
+            this.header = ExpositionOutput.ascii(headerText);
+            this.sampleName = ExpositionOutput.ascii(sample);
+        }
+
+        /**
+         * Write the sample name and labels, followed by a space before the value.
+         */
+        void writeSample(ExpositionOutput out, ResourceMetrics metrics, byte[] extraLabels) throws IOException {
+            out.write(sampleName);
+            out.write((byte)'{');
+            out.write(metrics.getLabels());
+            if (extraLabels != null) {
+                out.write(extraLabels);
+            }
+            out.write((byte)'}');
+            out.write((byte)' ');
+        }
+
+        abstract void writeSamples(ResourceMetrics metrics, ExpositionOutput out) throws IOException;
+    }
+
+    private final class CounterFamily extends Family {
+        private final int counter;
+
+        CounterFamily(String name, String help, int counter) {
+            super(name, "counter", help);
+            this.counter = counter;
+        }
+
+        @Override
+        void writeSamples(ResourceMetrics metrics, ExpositionOutput out) throws IOException {
+            writeSample(out, metrics, null);
+            out.writeLong(metrics.get(counter));
+            out.write((byte)'\n');
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.metric.exporter;
+
+import java.util.Collection;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ResourceMetricRegistryTest {
+
+    private final ResourceWrapper id = new StringResourceWrapper("registryTestRes", EntryType.IN);
+
+    @After
+    public void tearDown() {
+        ClusterBuilderSlot.getClusterNodeMap().remove(id);
+        ResourceMetricRegistry.clear();
+    }
+
+    @Test
+    public void testPruneRemovedClusterNode() {
+        ClusterNode node = new ClusterNode(id.getName());
+        ClusterBuilderSlot.getClusterNodeMap().put(id, node);
+        ResourceMetrics metrics = ResourceMetricRegistry.getOrCreate(id.getName());
+
+        assertTrue(ResourceMetricRegistry.getAll().contains(metrics));
+        assertSame(node, metrics.getClusterNode());
+
+        ClusterBuilderSlot.removeClusterNode(id, node);
+        assertFalse(ResourceMetricRegistry.getAll().contains(metrics));
+    }
+
+    @Test
+    public void testSkipEvictedClusterNode() {
+        ClusterNode node = new ClusterNode(id.getName());
+        node.markEvicted();
+        ClusterBuilderSlot.getClusterNodeMap().put(id, node);
+
+        Collection<ResourceMetrics> all = ResourceMetricRegistry.getAll();
+        for (ResourceMetrics metrics : all) {
+            assertFalse(id.getName().equals(metrics.getResource()));
+        }
+    }
+
+    @Test
+    public void testKeepMetricsWithoutClusterNode() {
+        ResourceMetrics metrics = ResourceMetricRegistry.getOrCreate(id.getName());
+        metrics.add(ResourceMetrics.PASS, 1);
+
+        assertTrue(ResourceMetricRegistry.getAll().contains(metrics));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.metric.exporter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.ResourceTypeConstants;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TextMetricExporterTest {
+
+    @After
+    public void tearDown() {
+        ResourceMetricRegistry.clear();
+    }
+
+    @Test
+    public void testPrometheusFormat() throws Exception {
+        ResourceMetricExtension extension = new ResourceMetricExtension();
+        StringResourceWrapper rw = new StringResourceWrapper("res", EntryType.IN);
+        extension.onPass(rw, 3, null);
+        extension.onBlocked(rw, 2, "app", null, null);
+        extension.onComplete(rw, 15, 3, null);
+        extension.onError(rw, new RuntimeException(), 1, null);
+
+        String text = export(new PrometheusMetricExporter(),
+            ResourceMetricRegistry.getOrCreate("res"));
+
+        assertTrue(text.startsWith("# HELP sentinel_pass_requests_total Passed requests.\n"
+            + "# TYPE sentinel_pass_requests_total counter\n"
+            + "sentinel_pass_requests_total{resource=\"res\"} 3\n"));
+        assertTrue(text.contains("sentinel_block_requests_total{resource=\"res\"} 2\n"));
+        assertTrue(text.contains("sentinel_success_requests_total{resource=\"res\"} 3\n"));
+        assertTrue(text.contains("sentinel_exception_requests_total{resource=\"res\"} 1\n"));
+        assertTrue(text.contains("sentinel_rt_milliseconds_total{resource=\"res\"} 15\n"));
+        assertTrue(text.contains("# TYPE sentinel_metric_log_dropped_nodes_total counter\n"
+            + "sentinel_metric_log_dropped_nodes_total 0\n"));
+        // No gauges without cluster node.
+        assertFalse(text.contains("sentinel_concurrency{"));
+        assertFalse(text.contains("# EOF"));
+    }
+
+    @Test
+    public void testOpenMetricsFormat() throws Exception {
+        ResourceMetrics metrics = ResourceMetricRegistry.getOrCreate("res");
+        metrics.add(ResourceMetrics.PASS, 5);
+        ClusterNode node = new ClusterNode("res", ResourceTypeConstants.COMMON);
+        node.addRtAndSuccess(20, 1);
+        node.increaseThreadNum();
+        metrics.setClusterNode(node);
+
+        String text = export(new OpenMetricsExporter(), metrics);
+
+        assertTrue(text.startsWith("# TYPE sentinel_pass_requests counter\n"
+            + "# HELP sentinel_pass_requests Passed requests.\n"
+            + "sentinel_pass_requests_total{resource=\"res\"} 5\n"));
+        assertTrue(text.contains("# TYPE sentinel_concurrency gauge\n"));
+        assertTrue(text.contains("sentinel_concurrency{resource=\"res\"} 1\n"));
+        assertTrue(text.contains("sentinel_avg_rt_milliseconds{resource=\"res\"} 20\n"));
+        // RT histogram is disabled by default.
+        assertFalse(text.contains("sentinel_rt_quantile_milliseconds"));
+        assertTrue(text.endsWith("# EOF\n"));
+    }
+
+    @Test
+    public void testSamplesGroupedByFamily() throws Exception {
+        ResourceMetricRegistry.getOrCreate("a").add(ResourceMetrics.PASS, 1);
+        ResourceMetricRegistry.getOrCreate("b").add(ResourceMetrics.PASS, 2);
+
+        String text = export(new PrometheusMetricExporter(), ResourceMetricRegistry.getOrCreate("a"),
+            ResourceMetricRegistry.getOrCreate("b"));
+
+        int passA = text.indexOf("sentinel_pass_requests_total{resource=\"a\"} 1\n");
+        int passB = text.indexOf("sentinel_pass_requests_total{resource=\"b\"} 2\n");
+        int blockHeader = text.indexOf("# HELP sentinel_block_requests_total");
+        assertTrue(passA > 0 && passB > 0);
+        assertTrue(passA < blockHeader && passB < blockHeader);
+    }
+
+    @Test
+    public void testEscapeLabelValue() throws Exception {
+        assertEquals("resource=\"a\\\\b\\\"c\\nd\"", new String(ResourceMetrics.encodeLabels("a\\b\"c\nd"), "UTF-8"));
+        assertEquals("resource=\"资源\"", new String(ResourceMetrics.encodeLabels("资源"), "UTF-8"));
+    }
+
+    @Test
+    public void testWriteNumbers() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExpositionOutput output = new ExpositionOutput(out, 16);
+        for (long v : Arrays.asList(0L, 7L, -42L, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE)) {
+            output.writeLong(v);
+            output.write((byte)' ');
+        }
+        output.writeDouble(2.5);
+        output.write((byte)' ');
+        output.writeDouble(3.0);
+        output.write((byte)' ');
+        output.writeDouble(Double.NaN);
+        output.finish();
+        assertEquals("0 7 -42 1234567890123 " + Long.MAX_VALUE + " " + Long.MIN_VALUE + " 2.5 3 NaN",
+            out.toString("UTF-8"));
+    }
+
+    private String export(MetricExporter exporter, ResourceMetrics... metrics) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(metrics.length == 1 ? Collections.singletonList(metrics[0]) : Arrays.asList(metrics), out);
+        return out.toString("UTF-8");
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.command.handler;
+
+import com.alibaba.csp.sentinel.command.CommandHandler;
+import com.alibaba.csp.sentinel.command.CommandRequest;
+import com.alibaba.csp.sentinel.command.CommandResponse;
+import com.alibaba.csp.sentinel.command.annotation.CommandMapping;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRuleManager;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParameterMetric;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParameterMetricStorage;
+import com.alibaba.csp.sentinel.slots.statistic.sketch.SlidingCountMinSketch;
+import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+
+/**
+ * Get the hot parameter values (heavy hitters) and their approximate counts in the sliding window
+ * of parameter flow rules in approximate mode.
+ *
+ * @since 1.8.1
+ */
+@CommandMapping(name = "getParamHotItems", desc = "Get hot parameter values of parameter flow rules "
+    + "in approximate mode, accept param: resource={resourceName}")
+public class GetParamHotItemsCommandHandler implements CommandHandler<String> {
+
+    @Override
+    public CommandResponse<String> handle(CommandRequest request) {
+        String resource = request.getParam("resource");
+        long currentTime = TimeUtil.currentTimeMillis();
+        JSONArray result = new JSONArray();
+        for (ParamFlowRule rule : ParamFlowRuleManager.getRules()) {
+            if (!rule.isApproximate()) {
+                continue;
+            }
+            if (StringUtil.isNotBlank(resource) && !resource.equals(rule.getResource())) {
+                continue;
+            }
+            ParameterMetric metric = ParameterMetricStorage.getParamMetricForResource(rule.getResource());
+            SlidingCountMinSketch sketch = metric == null ? null : metric.getRuleSketch(rule);
+            if (sketch == null) {
+                continue;
+            }
+            JSONObject item = new JSONObject(true);
+            item.put("resource", rule.getResource());
+            item.put("paramIdx", rule.getParamIdx());
+            item.put("count", rule.getCount());
+            item.put("durationInSec", rule.getDurationInSec());
+            item.put("hotItems", sketch.getHeavyHitters(currentTime));
+            result.add(item);
+        }
+        return CommandResponse.ofSuccess(JSON.toJSONString(result));
+    }
+}
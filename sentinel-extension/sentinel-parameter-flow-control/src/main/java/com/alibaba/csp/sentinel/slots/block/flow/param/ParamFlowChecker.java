@@ -35,6 +35,7 @@ import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.statistic.cache.CacheMap;
+import com.alibaba.csp.sentinel.slots.statistic.sketch.SlidingCountMinSketch;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 
 /**
@@ -105,7 +106,9 @@ public final class ParamFlowChecker {
     static boolean passSingleValueCheck(ResourceWrapper resourceWrapper, ParamFlowRule rule, int acquireCount,
                                         Object value) {
         if (rule.getGrade() == RuleConstant.FLOW_GRADE_QPS) {
-            if (rule.getControlBehavior() == RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER) {
+            if (rule.isApproximate()) {
+                return passApproximateLocalCheck(resourceWrapper, rule, acquireCount, value);
+            } else if (rule.getControlBehavior() == RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER) {
                 return passThrottleLocalCheck(resourceWrapper, rule, acquireCount, value);
             } else {
                 return passDefaultLocalCheck(resourceWrapper, rule, acquireCount, value);
@@ -127,10 +130,9 @@ public final class ParamFlowChecker {
     static boolean passDefaultLocalCheck(ResourceWrapper resourceWrapper, ParamFlowRule rule, int acquireCount,
                                          Object value) {
         ParameterMetric metric = getParameterMetric(resourceWrapper);
-        CacheMap<Object, AtomicLong> tokenCounters = metric == null ? null : metric.getRuleTokenCounter(rule);
-        CacheMap<Object, AtomicLong> timeCounters = metric == null ? null : metric.getRuleTimeCounter(rule);
+        CacheMap<Object, AtomicLong> tokenBuckets = metric == null ? null : metric.getRuleTokenBuckets(rule);
 
-        if (tokenCounters == null || timeCounters == null) {
+        if (tokenBuckets == null) {
             return true;
         }
 
@@ -145,60 +147,88 @@ public final class ParamFlowChecker {
             return false;
         }
 
-        long maxCount = tokenCount + rule.getBurstCount();
+        long maxCount = Math.min(tokenCount + rule.getBurstCount(), PackedTokenBucket.MAX_TOKENS);
         if (acquireCount > maxCount) {
             return false;
         }
 
+        long durationInMs = rule.getDurationInSec() * 1000;
         while (true) {
             long currentTime = TimeUtil.currentTimeMillis();
 
-            AtomicLong lastAddTokenTime = timeCounters.putIfAbsent(value, new AtomicLong(currentTime));
-            if (lastAddTokenTime == null) {
+            AtomicLong bucket = tokenBuckets.get(value);
+            if (bucket == null) {
                 // Token never added, just replenish the tokens and consume {@code acquireCount} immediately.
-                tokenCounters.putIfAbsent(value, new AtomicLong(maxCount - acquireCount));
-                return true;
+                bucket = tokenBuckets.putIfAbsent(value,
+                    new AtomicLong(PackedTokenBucket.pack(maxCount - acquireCount, currentTime)));
+                if (bucket == null) {
+                    return true;
+                }
             }
 
+            long state = bucket.get();
+            long restQps = PackedTokenBucket.tokens(state);
             // Calculate the time duration since last token was added.
-            long passTime = currentTime - lastAddTokenTime.get();
+            long passTime = PackedTokenBucket.elapsed(state, currentTime);
+            long newState;
             // A simplified token bucket algorithm that will replenish the tokens only when statistic window has passed.
-            if (passTime > rule.getDurationInSec() * 1000) {
-                AtomicLong oldQps = tokenCounters.putIfAbsent(value, new AtomicLong(maxCount - acquireCount));
-                if (oldQps == null) {
-                    // Might not be accurate here.
-                    lastAddTokenTime.set(currentTime);
-                    return true;
-                } else {
-                    long restQps = oldQps.get();
-                    long toAddCount = (passTime * tokenCount) / (rule.getDurationInSec() * 1000);
-                    long newQps = toAddCount + restQps > maxCount ? (maxCount - acquireCount)
-                        : (restQps + toAddCount - acquireCount);
+            if (passTime > durationInMs) {
+                long toAddCount = passTime > Long.MAX_VALUE / tokenCount ? maxCount
+                    : (passTime * tokenCount) / durationInMs;
+                long newQps = toAddCount + restQps > maxCount ? (maxCount - acquireCount)
+                    : (restQps + toAddCount - acquireCount);
 
-                    if (newQps < 0) {
-                        return false;
-                    }
-                    if (oldQps.compareAndSet(restQps, newQps)) {
-                        lastAddTokenTime.set(currentTime);
-                        return true;
-                    }
-                    Thread.yield();
+                if (newQps < 0) {
+                    return false;
                 }
+                newState = PackedTokenBucket.pack(newQps, currentTime);
             } else {
-                AtomicLong oldQps = tokenCounters.get(value);
-                if (oldQps != null) {
-                    long oldQpsValue = oldQps.get();
-                    if (oldQpsValue - acquireCount >= 0) {
-                        if (oldQps.compareAndSet(oldQpsValue, oldQpsValue - acquireCount)) {
-                            return true;
-                        }
-                    } else {
-                        return false;
-                    }
+                if (restQps - acquireCount < 0) {
+                    return false;
                 }
-                Thread.yield();
+                // Only the tokens are updated, the refill time remains the same.
+                newState = state - ((long)acquireCount << PackedTokenBucket.TIME_BITS);
             }
+            // Tokens and the refill time are updated together, so no inconsistent state could be observed.
+            if (bucket.compareAndSet(state, newState)) {
+                return true;
+            }
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Check with the count of passed requests in the sliding window estimated by the sketch, which never
+     * underestimates, so that values of unbounded cardinality could never slip through by eviction.
+     * Requests might be blocked a little earlier than the exact check, within the error bound of the sketch.
+     */
+    static boolean passApproximateLocalCheck(ResourceWrapper resourceWrapper, ParamFlowRule rule, int acquireCount,
+                                             Object value) {
+        ParameterMetric metric = getParameterMetric(resourceWrapper);
+        SlidingCountMinSketch sketch = metric == null ? null : metric.getRuleSketch(rule);
+        if (sketch == null) {
+            return true;
+        }
+
+        // Calculate max token count (threshold)
+        Set<Object> exclusionItems = rule.getParsedHotItems().keySet();
+        long tokenCount = (long)rule.getCount();
+        if (exclusionItems.contains(value)) {
+            tokenCount = rule.getParsedHotItems().get(value);
         }
+
+        if (tokenCount == 0) {
+            return false;
+        }
+
+        long maxCount = tokenCount + rule.getBurstCount();
+        long currentTime = TimeUtil.currentTimeMillis();
+        if (sketch.estimate(value, currentTime) + acquireCount > maxCount) {
+            return false;
+        }
+        // Might pass a few more than the threshold under concurrency, as checking and adding are not atomic.
+        sketch.add(value, acquireCount, currentTime);
+        return true;
     }
 
     static boolean passThrottleLocalCheck(ResourceWrapper resourceWrapper, ParamFlowRule rule, int acquireCount,
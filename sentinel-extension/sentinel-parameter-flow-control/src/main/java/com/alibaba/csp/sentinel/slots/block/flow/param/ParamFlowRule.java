@@ -63,6 +63,14 @@ public class ParamFlowRule extends AbstractRule {
     private int burstCount = 0;
     private long durationInSec = 1;
 
+    /**
+     * Whether to count parameter values approximately in fixed memory with a sliding Count-Min Sketch,
+     * rather than exactly with a capacity-bounded LRU map (since 1.8.1). It's suitable for parameters
+     * of unbounded cardinality (e.g. IP or user ID). Only available for QPS mode with default control behavior,
+     * and not in cluster mode.
+     */
+    private boolean approximate = false;
+
     /**
      * Original exclusion items of parameters.
      */
@@ -118,6 +126,15 @@ public class ParamFlowRule extends AbstractRule {
         return this;
     }
 
+    public boolean isApproximate() {
+        return approximate;
+    }
+
+    public ParamFlowRule setApproximate(boolean approximate) {
+        this.approximate = approximate;
+        return this;
+    }
+
     public int getGrade() {
         return grade;
     }
@@ -202,6 +219,7 @@ public class ParamFlowRule extends AbstractRule {
         if (maxQueueingTimeMs != that.maxQueueingTimeMs) { return false; }
         if (burstCount != that.burstCount) { return false; }
         if (durationInSec != that.durationInSec) { return false; }
+        if (approximate != that.approximate) { return false; }
         if (clusterMode != that.clusterMode) { return false; }
         if (!Objects.equals(paramIdx, that.paramIdx)) { return false; }
         if (!Objects.equals(paramFlowItemList, that.paramFlowItemList)) { return false; }
@@ -220,6 +238,7 @@ public class ParamFlowRule extends AbstractRule {
         result = 31 * result + maxQueueingTimeMs;
         result = 31 * result + burstCount;
         result = 31 * result + (int)(durationInSec ^ (durationInSec >>> 32));
+        result = 31 * result + (approximate ? 1 : 0);
         result = 31 * result + (paramFlowItemList != null ? paramFlowItemList.hashCode() : 0);
         result = 31 * result + (clusterMode ? 1 : 0);
         result = 31 * result + (clusterConfig != null ? clusterConfig.hashCode() : 0);
@@ -236,6 +255,7 @@ public class ParamFlowRule extends AbstractRule {
             ", maxQueueingTimeMs=" + maxQueueingTimeMs +
             ", burstCount=" + burstCount +
             ", durationInSec=" + durationInSec +
+            ", approximate=" + approximate +
             ", paramFlowItemList=" + paramFlowItemList +
             ", clusterMode=" + clusterMode +
             ", clusterConfig=" + clusterConfig +
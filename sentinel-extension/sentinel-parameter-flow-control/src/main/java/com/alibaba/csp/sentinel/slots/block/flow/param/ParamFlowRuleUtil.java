@@ -48,7 +48,12 @@ public final class ParamFlowRuleUtil {
             && rule.getGrade() >= 0 && rule.getParamIdx() != null
             && rule.getBurstCount() >= 0 && rule.getControlBehavior() >= 0
             && rule.getDurationInSec() > 0 && rule.getMaxQueueingTimeMs() >= 0
-            && checkCluster(rule);
+            && checkCluster(rule) && checkApproximate(rule);
+    }
+
+    private static boolean checkApproximate(/*@PreChecked*/ ParamFlowRule rule) {
+        return !rule.isApproximate() || (rule.getGrade() == RuleConstant.FLOW_GRADE_QPS
+            && rule.getControlBehavior() == RuleConstant.CONTROL_BEHAVIOR_DEFAULT && !rule.isClusterMode());
     }
 
     private static boolean checkCluster(/*@PreChecked*/ ParamFlowRule rule) {
@@ -25,6 +25,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.slots.statistic.cache.CacheMap;
 import com.alibaba.csp.sentinel.slots.statistic.cache.ConcurrentLinkedHashMapWrapper;
+import com.alibaba.csp.sentinel.slots.statistic.sketch.SlidingCountMinSketch;
 
 /**
  * Metrics for frequent ("hot spot") parameters.
@@ -47,22 +48,45 @@ public class ParameterMetric {
      */
     private final Map<ParamFlowRule, CacheMap<Object, AtomicLong>> ruleTimeCounters = new HashMap<>();
     /**
-     * Format: (rule, (value, tokenCounter))
+     * Format: (rule, (value, packed token bucket state))
      *
-     * @since 1.6.0
+     * @see PackedTokenBucket
+     * @since 1.8.1
+     */
+    private final Map<ParamFlowRule, CacheMap<Object, AtomicLong>> ruleTokenBuckets = new HashMap<>();
+    /**
+     * Format: (rule, sketch), only for rules in approximate mode.
+     *
+     * @since 1.8.1
      */
-    private final Map<ParamFlowRule, CacheMap<Object, AtomicLong>> ruleTokenCounter = new HashMap<>();
+    private final Map<ParamFlowRule, SlidingCountMinSketch> ruleSketches = new HashMap<>();
     private final Map<Integer, CacheMap<Object, AtomicInteger>> threadCountMap = new HashMap<>();
 
+    /**
+     * Get the token buckets for given parameter rule. The rest tokens and the last refill time
+     * of each value are packed into a single {@code long}, see {@link PackedTokenBucket}.
+     *
+     * @param rule valid parameter rule
+     * @return the associated token buckets
+     * @since 1.8.1
+     */
+    public CacheMap<Object, AtomicLong> getRuleTokenBuckets(ParamFlowRule rule) {
+        return ruleTokenBuckets.get(rule);
+    }
+
     /**
      * Get the token counter for given parameter rule.
      *
      * @param rule valid parameter rule
-     * @return the associated token counter
+     * @return a read-only view of the rest tokens of each value, or null if the rule has no token buckets
      * @since 1.6.0
+     * @deprecated the rest tokens and the last refill time are packed together since 1.8.1,
+     * use {@link #getRuleTokenBuckets(ParamFlowRule)} instead
      */
+    @Deprecated
     public CacheMap<Object, AtomicLong> getRuleTokenCounter(ParamFlowRule rule) {
-        return ruleTokenCounter.get(rule);
+        CacheMap<Object, AtomicLong> buckets = ruleTokenBuckets.get(rule);
+        return buckets == null ? null : new RestTokenCounterView(buckets);
     }
 
     /**
@@ -76,18 +100,31 @@ public class ParameterMetric {
         return ruleTimeCounters.get(rule);
     }
 
+    /**
+     * Get the sketch for given parameter rule in approximate mode.
+     *
+     * @param rule valid parameter rule
+     * @return the associated sketch, or null if the rule is not in approximate mode
+     * @since 1.8.1
+     */
+    public SlidingCountMinSketch getRuleSketch(ParamFlowRule rule) {
+        return ruleSketches.get(rule);
+    }
+
     public void clear() {
         synchronized (lock) {
             threadCountMap.clear();
             ruleTimeCounters.clear();
-            ruleTokenCounter.clear();
+            ruleTokenBuckets.clear();
+            ruleSketches.clear();
         }
     }
 
     public void clearForRule(ParamFlowRule rule) {
         synchronized (lock) {
             ruleTimeCounters.remove(rule);
-            ruleTokenCounter.remove(rule);
+            ruleTokenBuckets.remove(rule);
+            ruleSketches.remove(rule);
             threadCountMap.remove(rule.getParamIdx());
         }
     }
@@ -102,11 +139,19 @@ public class ParameterMetric {
             }
         }
 
-        if (!ruleTokenCounter.containsKey(rule)) {
+        if (!rule.isApproximate() && !ruleTokenBuckets.containsKey(rule)) {
             synchronized (lock) {
-                if (ruleTokenCounter.get(rule) == null) {
+                if (ruleTokenBuckets.get(rule) == null) {
                     long size = Math.min(BASE_PARAM_MAX_CAPACITY * rule.getDurationInSec(), TOTAL_MAX_CAPACITY);
-                    ruleTokenCounter.put(rule, new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(size));
+                    ruleTokenBuckets.put(rule, new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(size));
+                }
+            }
+        }
+
+        if (rule.isApproximate() && !ruleSketches.containsKey(rule)) {
+            synchronized (lock) {
+                if (ruleSketches.get(rule) == null) {
+                    ruleSketches.put(rule, new SlidingCountMinSketch(rule.getDurationInSec() * 1000));
                 }
             }
         }
@@ -249,12 +294,16 @@ public class ParameterMetric {
     }
 
     /**
-     * Get the token counter map. Package-private for test.
+     * Get the token bucket map. Package-private for test.
      *
-     * @return the token counter map
+     * @return the token bucket map
      */
-    Map<ParamFlowRule, CacheMap<Object, AtomicLong>> getRuleTokenCounterMap() {
-        return ruleTokenCounter;
+    Map<ParamFlowRule, CacheMap<Object, AtomicLong>> getRuleTokenBucketMap() {
+        return ruleTokenBuckets;
+    }
+
+    Map<ParamFlowRule, SlidingCountMinSketch> getRuleSketchMap() {
+        return ruleSketches;
     }
 
     Map<Integer, CacheMap<Object, AtomicInteger>> getThreadCountMap() {
@@ -0,0 +1,78 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.slots.statistic.cache.CacheMap;
+
+/**
+ * A read-only view of the rest tokens in the packed token buckets, for the legacy
+ * {@link ParameterMetric#getRuleTokenCounter(ParamFlowRule)}. Each {@link #get(Object)} returns
+ * a snapshot of the rest tokens, so updating the returned counter has no effect on the bucket.
+ *
+ * @since 1.8.1
+ */
+final class RestTokenCounterView implements CacheMap<Object, AtomicLong> {
+
+    private final CacheMap<Object, AtomicLong> buckets;
+
+    RestTokenCounterView(CacheMap<Object, AtomicLong> buckets) {
+        this.buckets = buckets;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return buckets.containsKey(key);
+    }
+
+    @Override
+    public AtomicLong get(Object key) {
+        AtomicLong state = buckets.get(key);
+        return state == null ? null : new AtomicLong(PackedTokenBucket.tokens(state.get()));
+    }
+
+    @Override
+    public AtomicLong remove(Object key) {
+        throw new UnsupportedOperationException("Rest token counter is read-only");
+    }
+
+    @Override
+    public AtomicLong put(Object key, AtomicLong value) {
+        throw new UnsupportedOperationException("Rest token counter is read-only");
+    }
+
+    @Override
+    public AtomicLong putIfAbsent(Object key, AtomicLong value) {
+        throw new UnsupportedOperationException("Rest token counter is read-only");
+    }
+
+    @Override
+    public long size() {
+        return buckets.size();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Rest token counter is read-only");
+    }
+
+    @Override
+    public Set<Object> keySet(boolean ascending) {
+        return buckets.keySet(ascending);
+    }
+}
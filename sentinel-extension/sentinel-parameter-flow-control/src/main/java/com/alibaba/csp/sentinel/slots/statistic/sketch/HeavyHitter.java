@@ -0,0 +1,48 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.sketch;
+
+/**
+ * A value with its approximate count.
+ *
+ * @since 1.8.1
+ */
+public class HeavyHitter {
+
+    private final Object value;
+    private final long count;
+
+    public HeavyHitter(Object value, long count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "HeavyHitter{" +
+            "value=" + value +
+            ", count=" + count +
+            '}';
+    }
+}
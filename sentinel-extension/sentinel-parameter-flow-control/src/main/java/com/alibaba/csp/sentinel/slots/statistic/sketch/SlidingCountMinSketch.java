@@ -0,0 +1,325 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.sketch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>A Count-Min Sketch over a sliding time window, which estimates the count of any value
+ * in fixed memory regardless of the number of distinct values.</p>
+ *
+ * <p>Counts are kept for the current window and the previous window, and the count in the sliding window
+ * is estimated as the count of the current window plus the count of the previous window weighted by
+ * its overlap with the sliding window. For each window, the estimated count never underestimates,
+ * and overestimates by at most {@code e / width * N} with probability at least {@code 1 - e^(-depth)},
+ * where {@code N} is the total count of all values in the window. With the default 4 * 2048 counters,
+ * the error is within 0.14% of the total count with probability over 98%.</p>
+ *
+ * <p>The sketch also keeps the values with the largest estimated counts (heavy hitters) in a table
+ * of fixed capacity.</p>
+ *
+ * <p>Concurrent updates are lock-free, except for rotating windows once per window. Updates racing
+ * with a rotation might be lost, which is acceptable for approximate counting.</p>
+ *
+ * @since 1.8.1
+ */
+public class SlidingCountMinSketch {
+
+    public static final int DEFAULT_DEPTH = 4;
+    public static final int DEFAULT_WIDTH = 2048;
+    public static final int DEFAULT_HEAVY_HITTER_CAPACITY = 32;
+
+    private final int depth;
+    private final int mask;
+    private final long windowLengthMs;
+    private final int heavyHitterCapacity;
+
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+    /**
+     * The array retired in the last rotation, which is cleared and published as the current window
+     * in the next rotation, so it is never cleared while readers might still see it as current or previous.
+     */
+    private AtomicLongArray spare;
+    private volatile long windowStart;
+
+    private final Map<Object, Long> heavyHitters = new ConcurrentHashMap<>();
+    private volatile long minHeavyHitterCount = 0;
+
+    private final Object lock = new Object();
+
+    public SlidingCountMinSketch(long windowLengthMs) {
+        this(windowLengthMs, DEFAULT_DEPTH, DEFAULT_WIDTH, DEFAULT_HEAVY_HITTER_CAPACITY);
+    }
+
+    /**
+     * @param windowLengthMs      length of the sliding window in milliseconds
+     * @param depth               number of hash functions
+     * @param width               number of counters for each hash function, which will be rounded up to power of 2
+     * @param heavyHitterCapacity max number of heavy hitters to keep
+     */
+    public SlidingCountMinSketch(long windowLengthMs, int depth, int width, int heavyHitterCapacity) {
+        AssertUtil.isTrue(windowLengthMs > 0, "windowLengthMs should be positive");
+        AssertUtil.isTrue(depth > 0, "depth should be positive");
+        AssertUtil.isTrue(width > 0 && width <= 1 << 24, "width should be in (0, 2^24]");
+        AssertUtil.isTrue(heavyHitterCapacity >= 0, "heavyHitterCapacity should not be negative");
+        int w = Integer.highestOneBit(width);
+        if (w < width) {
+            w <<= 1;
+        }
+        this.depth = depth;
+        this.mask = w - 1;
+        this.windowLengthMs = windowLengthMs;
+        this.heavyHitterCapacity = heavyHitterCapacity;
+        this.current = new AtomicLongArray(depth * w);
+        this.previous = new AtomicLongArray(depth * w);
+        this.spare = new AtomicLongArray(depth * w);
+    }
+
+    /**
+     * Estimate the count of given value in the sliding window ending at given time.
+     *
+     * @param value             the value
+     * @param currentTimeMillis current time
+     * @return estimated count
+     */
+    public long estimate(Object value, long currentTimeMillis) {
+        rotateIfNeeded(currentTimeMillis);
+        return estimateInternal(value, currentTimeMillis);
+    }
+
+    /**
+     * Add count of given value in the window of given time.
+     *
+     * @param value             the value
+     * @param count             count to add
+     * @param currentTimeMillis current time
+     * @return estimated count of the value in the sliding window after adding
+     */
+    public long add(Object value, int count, long currentTimeMillis) {
+        rotateIfNeeded(currentTimeMillis);
+        AtomicLongArray cur = current;
+        for (int i = 0; i < depth; i++) {
+            cur.addAndGet(index(i, value), count);
+        }
+        long estimated = estimateInternal(value, currentTimeMillis);
+        offerHeavyHitter(value, estimated);
+        return estimated;
+    }
+
+    /**
+     * Get heavy hitters with their counts estimated at given time, in descending order of counts.
+     *
+     * @param currentTimeMillis current time
+     * @return heavy hitters
+     */
+    public List<HeavyHitter> getHeavyHitters(long currentTimeMillis) {
+        rotateIfNeeded(currentTimeMillis);
+        List<HeavyHitter> list = new ArrayList<>(heavyHitters.size());
+        for (Object value : heavyHitters.keySet()) {
+            long count = estimateInternal(value, currentTimeMillis);
+            if (count > 0) {
+                list.add(new HeavyHitter(value, count));
+            }
+        }
+        Collections.sort(list, new Comparator<HeavyHitter>() {
+            @Override
+            public int compare(HeavyHitter o1, HeavyHitter o2) {
+                return Long.compare(o2.getCount(), o1.getCount());
+            }
+        });
+        return list;
+    }
+
+    public long getWindowLengthMs() {
+        return windowLengthMs;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getWidth() {
+        return mask + 1;
+    }
+
+    private long estimateInternal(Object value, long currentTimeMillis) {
+        AtomicLongArray cur = current;
+        AtomicLongArray prev = previous;
+        long curMin = Long.MAX_VALUE;
+        long prevMin = Long.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            int idx = index(i, value);
+            curMin = Math.min(curMin, cur.get(idx));
+            prevMin = Math.min(prevMin, prev.get(idx));
+        }
+        long elapsed = currentTimeMillis - windowStart;
+        if (elapsed <= 0) {
+            return curMin + prevMin;
+        }
+        if (elapsed >= windowLengthMs) {
+            return curMin;
+        }
+        // Weight the previous window by its overlap with the sliding window.
+        return curMin + (long)Math.ceil((double)prevMin * (windowLengthMs - elapsed) / windowLengthMs);
+    }
+
+    private void rotateIfNeeded(long currentTimeMillis) {
+        if (currentTimeMillis - windowStart < windowLengthMs) {
+            return;
+        }
+        synchronized (lock) {
+            long passed = currentTimeMillis - windowStart;
+            if (passed < windowLengthMs) {
+                return;
+            }
+            // The spare array has been out of use for a window, so clear it before publishing.
+            AtomicLongArray fresh = spare;
+            clear(fresh);
+            if (passed < windowLengthMs * 2) {
+                spare = previous;
+                previous = current;
+            } else {
+                // The previous window is out of the sliding window as well.
+                spare = current;
+                previous = new AtomicLongArray(fresh.length());
+            }
+            current = fresh;
+            windowStart = currentTimeMillis - currentTimeMillis % windowLengthMs;
+            evictColdHeavyHitters(currentTimeMillis);
+        }
+    }
+
+    private void offerHeavyHitter(Object value, long count) {
+        if (heavyHitterCapacity == 0) {
+            return;
+        }
+        if (heavyHitters.containsKey(value)) {
+            heavyHitters.put(value, count);
+            return;
+        }
+        if (heavyHitters.size() >= heavyHitterCapacity && count <= minHeavyHitterCount) {
+            return;
+        }
+        synchronized (lock) {
+            heavyHitters.put(value, count);
+            if (heavyHitters.size() > heavyHitterCapacity) {
+                // Evict the one with the minimum count, which is a linear scan on a small table.
+                Object minValue = null;
+                long min = Long.MAX_VALUE;
+                for (Map.Entry<Object, Long> e : heavyHitters.entrySet()) {
+                    if (e.getValue() < min) {
+                        min = e.getValue();
+                        minValue = e.getKey();
+                    }
+                }
+                heavyHitters.remove(minValue);
+            }
+            if (heavyHitters.size() >= heavyHitterCapacity) {
+                long min = Long.MAX_VALUE;
+                for (Long c : heavyHitters.values()) {
+                    min = Math.min(min, c);
+                }
+                minHeavyHitterCount = min;
+            }
+        }
+    }
+
+    private void evictColdHeavyHitters(long currentTimeMillis) {
+        long min = Long.MAX_VALUE;
+        Iterator<Map.Entry<Object, Long>> it = heavyHitters.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Object, Long> e = it.next();
+            long count = estimateInternal(e.getKey(), currentTimeMillis);
+            if (count <= 0) {
+                it.remove();
+            } else {
+                e.setValue(count);
+                min = Math.min(min, count);
+            }
+        }
+        minHeavyHitterCount = heavyHitters.size() >= heavyHitterCapacity ? min : 0;
+    }
+
+    private int index(int row, Object value) {
+        return row * (mask + 1) + (hash(value, seed(row)) & mask);
+    }
+
+    private static void clear(AtomicLongArray array) {
+        for (int i = 0; i < array.length(); i++) {
+            array.set(i, 0);
+        }
+    }
+
+    private static int seed(int row) {
+        return (row + 1) * 0x9E3779B9;
+    }
+
+    /**
+     * Seeded hash of the content of given value, so that values colliding in one row (e.g. strings with
+     * equal {@link Object#hashCode()} such as "Aa" and "BB") are unlikely to collide in other rows.
+     * For values other than strings and numbers, {@link Object#hashCode()} is taken as the content.
+     */
+    private static int hash(Object value, int seed) {
+        int h = seed;
+        if (value instanceof CharSequence) {
+            CharSequence cs = (CharSequence)value;
+            int length = cs.length();
+            for (int i = 0; i < length; i++) {
+                h = mixH(h, mixK(cs.charAt(i)));
+            }
+            h ^= length;
+        } else if (value instanceof Double || value instanceof Float) {
+            long bits = Double.doubleToLongBits(((Number)value).doubleValue());
+            h = mixH(mixH(h, mixK((int)bits)), mixK((int)(bits >>> 32)));
+        } else if (value instanceof Number) {
+            long bits = ((Number)value).longValue();
+            h = mixH(mixH(h, mixK((int)bits)), mixK((int)(bits >>> 32)));
+        } else if (value != null) {
+            h = mixH(h, mixK(value.hashCode()));
+        }
+        return fmix(h);
+    }
+
+    private static int mixK(int k) {
+        k *= 0xCC9E2D51;
+        k = Integer.rotateLeft(k, 15);
+        return k * 0x1B873593;
+    }
+
+    private static int mixH(int h, int k) {
+        h ^= k;
+        h = Integer.rotateLeft(h, 13);
+        return h * 5 + 0xE6546B64;
+    }
+
+    private static int fmix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+}
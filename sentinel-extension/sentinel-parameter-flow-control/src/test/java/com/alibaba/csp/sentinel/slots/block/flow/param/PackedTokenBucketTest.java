@@ -0,0 +1,51 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PackedTokenBucketTest {
+
+    @Test
+    public void testPackAndUnpack() {
+        long now = System.currentTimeMillis();
+        long state = PackedTokenBucket.pack(PackedTokenBucket.MAX_TOKENS, now);
+        assertEquals(PackedTokenBucket.MAX_TOKENS, PackedTokenBucket.tokens(state));
+        assertEquals(0, PackedTokenBucket.elapsed(state, now));
+        assertEquals(1500, PackedTokenBucket.elapsed(state, now + 1500));
+
+        state = PackedTokenBucket.pack(0, now);
+        assertEquals(0, PackedTokenBucket.tokens(state));
+        assertEquals(24L * 3600 * 1000, PackedTokenBucket.elapsed(state, now + 24L * 3600 * 1000));
+    }
+
+    @Test
+    public void testElapsedAcrossTimeWrap() {
+        long time = PackedTokenBucket.TIME_MASK - 10;
+        long state = PackedTokenBucket.pack(5, time);
+        assertEquals(5, PackedTokenBucket.tokens(state));
+        assertEquals(30, PackedTokenBucket.elapsed(state, time + 30));
+    }
+
+    @Test
+    public void testElapsedWhenClockGoesBackwards() {
+        long now = System.currentTimeMillis();
+        long state = PackedTokenBucket.pack(5, now);
+        assertEquals(0, PackedTokenBucket.elapsed(state, now - 100));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.statistic.sketch.HeavyHitter;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * Test cases for the approximate mode of parameter flow rules.
+ */
+public class ParamFlowApproximateCheckerTest extends AbstractTimeBasedTest {
+
+    @Test
+    public void testApproximateCheckSingleQps() {
+        final String resourceName = "testApproximateCheckSingleQps";
+        final ResourceWrapper resourceWrapper = new StringResourceWrapper(resourceName, EntryType.IN);
+        ParamFlowRule rule = new ParamFlowRule(resourceName)
+            .setCount(5)
+            .setParamIdx(0)
+            .setApproximate(true);
+        ParamFlowItem item = ParamFlowItem.newItem("vip", 8);
+        rule.setParamFlowItemList(Collections.singletonList(item));
+        rule.setParsedHotItems(ParamFlowRuleUtil.parseHotItems(rule.getParamFlowItemList()));
+
+        ParameterMetric metric = new ParameterMetric();
+        ParameterMetricStorage.getMetricsMap().put(resourceWrapper.getName(), metric);
+        metric.initialize(rule);
+        assertNull(metric.getRuleTokenBuckets(rule));
+
+        setCurrentMillis(System.currentTimeMillis() / 1000 * 1000);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, "valueA"));
+        }
+        assertFalse(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, "valueA"));
+        assertTrue(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 5, "valueB"));
+        for (int i = 0; i < 8; i++) {
+            assertTrue(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, "vip"));
+        }
+        assertFalse(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, "vip"));
+
+        // Half of the passed requests slides out of the window.
+        sleep(1500);
+        assertTrue(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 2, "valueA"));
+        assertFalse(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, "valueA"));
+
+        sleep(2000);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, "valueA"));
+        }
+        assertFalse(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, "valueA"));
+
+        List<HeavyHitter> heavyHitters = metric.getRuleSketch(rule).getHeavyHitters(TimeUtil.currentTimeMillis());
+        assertEquals(1, heavyHitters.size());
+        assertEquals("valueA", heavyHitters.get(0).getValue());
+        assertEquals(5, heavyHitters.get(0).getCount());
+    }
+
+    @Test
+    public void testApproximateCheckManyDistinctValues() {
+        final String resourceName = "testApproximateCheckManyDistinctValues";
+        final ResourceWrapper resourceWrapper = new StringResourceWrapper(resourceName, EntryType.IN);
+        ParamFlowRule rule = new ParamFlowRule(resourceName)
+            .setCount(3)
+            .setParamIdx(0)
+            .setApproximate(true);
+
+        ParameterMetric metric = new ParameterMetric();
+        ParameterMetricStorage.getMetricsMap().put(resourceWrapper.getName(), metric);
+        metric.initialize(rule);
+
+        setCurrentMillis(System.currentTimeMillis() / 1000 * 1000);
+
+        // Far more distinct values than the capacity of exact counters, while the abusive value
+        // is never evicted.
+        for (int i = 0; i < 3; i++) {
+            assertTrue(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, "abusive"));
+        }
+        for (int i = 0; i < 50000; i++) {
+            ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, i);
+        }
+        assertFalse(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, "abusive"));
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        ParameterMetricStorage.getMetricsMap().clear();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ParameterMetricStorage.getMetricsMap().clear();
+    }
+}
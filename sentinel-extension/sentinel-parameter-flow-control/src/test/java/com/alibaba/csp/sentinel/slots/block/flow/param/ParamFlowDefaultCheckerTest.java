@@ -60,7 +60,7 @@ public class ParamFlowDefaultCheckerTest extends AbstractTimeBasedTest {
         ParameterMetric metric = new ParameterMetric();
         ParameterMetricStorage.getMetricsMap().put(resourceWrapper.getName(), metric);
         metric.getRuleTimeCounterMap().put(rule, new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(4000));
-        metric.getRuleTokenCounterMap().put(rule,
+        metric.getRuleTokenBucketMap().put(rule,
             new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(4000));
 
         // We mock the time directly to avoid unstable behaviour.
@@ -98,7 +98,7 @@ public class ParamFlowDefaultCheckerTest extends AbstractTimeBasedTest {
         ParameterMetric metric = new ParameterMetric();
         ParameterMetricStorage.getMetricsMap().put(resourceWrapper.getName(), metric);
         metric.getRuleTimeCounterMap().put(rule, new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(4000));
-        metric.getRuleTokenCounterMap().put(rule,
+        metric.getRuleTokenBucketMap().put(rule,
             new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(4000));
 
         // We mock the time directly to avoid unstable behaviour.
@@ -138,7 +138,7 @@ public class ParamFlowDefaultCheckerTest extends AbstractTimeBasedTest {
         ParameterMetric metric = new ParameterMetric();
         ParameterMetricStorage.getMetricsMap().put(resourceWrapper.getName(), metric);
         metric.getRuleTimeCounterMap().put(rule, new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(4000));
-        metric.getRuleTokenCounterMap().put(rule,
+        metric.getRuleTokenBucketMap().put(rule,
             new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(4000));
 
         // We mock the time directly to avoid unstable behaviour.
@@ -208,7 +208,7 @@ public class ParamFlowDefaultCheckerTest extends AbstractTimeBasedTest {
         ParameterMetric metric = new ParameterMetric();
         ParameterMetricStorage.getMetricsMap().put(resourceWrapper.getName(), metric);
         metric.getRuleTimeCounterMap().put(rule, new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(4000));
-        metric.getRuleTokenCounterMap().put(rule,
+        metric.getRuleTokenBucketMap().put(rule,
             new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(4000));
 
         // We mock the time directly to avoid unstable behaviour.
@@ -261,7 +261,7 @@ public class ParamFlowDefaultCheckerTest extends AbstractTimeBasedTest {
         ParameterMetric metric = new ParameterMetric();
         ParameterMetricStorage.getMetricsMap().put(resourceWrapper.getName(), metric);
         metric.getRuleTimeCounterMap().put(rule, new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(4000));
-        metric.getRuleTokenCounterMap().put(rule,
+        metric.getRuleTokenBucketMap().put(rule,
             new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(4000));
         int threadCount = 40;
 
@@ -7,6 +7,8 @@ import java.util.Map;
 
 import org.junit.Test;
 
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+
 import static org.junit.Assert.*;
 
 /**
@@ -41,6 +43,29 @@ public class ParamFlowRuleUtilTest {
             .setCount(10)
             .setParamIdx(1);
         assertTrue(ParamFlowRuleUtil.isValidRule(goodRule));
+
+        // Approximate mode is only available for QPS mode with default control behavior, and not in cluster mode.
+        assertTrue(ParamFlowRuleUtil.isValidRule(new ParamFlowRule("abc")
+            .setCount(10)
+            .setParamIdx(1)
+            .setApproximate(true)));
+        assertFalse(ParamFlowRuleUtil.isValidRule(new ParamFlowRule("abc")
+            .setCount(10)
+            .setParamIdx(1)
+            .setGrade(RuleConstant.FLOW_GRADE_THREAD)
+            .setApproximate(true)));
+        assertFalse(ParamFlowRuleUtil.isValidRule(new ParamFlowRule("abc")
+            .setCount(10)
+            .setParamIdx(1)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER)
+            .setApproximate(true)));
+        ParamFlowRule clusterRule = new ParamFlowRule("abc")
+            .setCount(10)
+            .setParamIdx(1)
+            .setClusterMode(true)
+            .setClusterConfig(new ParamFlowClusterConfig().setFlowId(1L));
+        assertTrue(ParamFlowRuleUtil.isValidRule(clusterRule));
+        assertFalse(ParamFlowRuleUtil.isValidRule(clusterRule.setApproximate(true)));
     }
 
     @Test
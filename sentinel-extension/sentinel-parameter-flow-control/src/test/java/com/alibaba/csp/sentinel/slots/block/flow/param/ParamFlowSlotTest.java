@@ -102,7 +102,7 @@ public class ParamFlowSlotTest {
         CacheMap<Object, AtomicLong> map = new ConcurrentLinkedHashMapWrapper<>(4000);
         CacheMap<Object, AtomicLong> map2 = new ConcurrentLinkedHashMapWrapper<>(4000);
         when(metric.getRuleTimeCounter(rule)).thenReturn(map);
-        when(metric.getRuleTokenCounter(rule)).thenReturn(map2);
+        when(metric.getRuleTokenBuckets(rule)).thenReturn(map2);
         map.put(argToGo, new AtomicLong(TimeUtil.currentTimeMillis()));
 
         // Insert the mock metric to control pass or block.
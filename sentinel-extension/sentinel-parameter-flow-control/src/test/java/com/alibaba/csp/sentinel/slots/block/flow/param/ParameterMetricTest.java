@@ -16,10 +16,13 @@
 package com.alibaba.csp.sentinel.slots.block.flow.param;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -73,7 +76,30 @@ public class ParameterMetricTest {
         metric.clear();
         assertEquals(0, metric.getThreadCountMap().size());
         assertEquals(0, metric.getRuleTimeCounterMap().size());
-        assertEquals(0, metric.getRuleTokenCounterMap().size());
+        assertEquals(0, metric.getRuleTokenBucketMap().size());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testLegacyRuleTokenCounterView() {
+        ParameterMetric metric = new ParameterMetric();
+        ParamFlowRule rule = new ParamFlowRule("abc")
+            .setParamIdx(0);
+        assertNull(metric.getRuleTokenCounter(rule));
+        metric.initialize(rule);
+
+        metric.getRuleTokenBuckets(rule).put("a", new AtomicLong(PackedTokenBucket.pack(7, 12345L)));
+        CacheMap<Object, AtomicLong> tokenCounter = metric.getRuleTokenCounter(rule);
+        assertEquals(1, tokenCounter.size());
+        assertTrue(tokenCounter.containsKey("a"));
+        assertEquals(7, tokenCounter.get("a").get());
+        assertNull(tokenCounter.get("b"));
+        try {
+            tokenCounter.put("b", new AtomicLong(1));
+            fail("The legacy token counter should be read-only");
+        } catch (UnsupportedOperationException ex) {
+            assertFalse(metric.getRuleTokenBuckets(rule).containsKey("b"));
+        }
     }
 
     @Test
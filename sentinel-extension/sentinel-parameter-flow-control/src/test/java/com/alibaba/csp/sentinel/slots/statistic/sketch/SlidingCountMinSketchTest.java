@@ -0,0 +1,115 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.sketch;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SlidingCountMinSketchTest {
+
+    @Test
+    public void testEstimateNeverUnderestimates() {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(1000, 4, 256, 8);
+        long time = 10000;
+        int distinct = 5000;
+        for (int i = 0; i < distinct; i++) {
+            sketch.add("user-" + i, 1 + i % 3, time);
+        }
+        long total = 0;
+        long maxError = 0;
+        for (int i = 0; i < distinct; i++) {
+            long expected = 1 + i % 3;
+            total += expected;
+            long estimated = sketch.estimate("user-" + i, time);
+            assertTrue(estimated >= expected);
+            maxError = Math.max(maxError, estimated - expected);
+        }
+        // e / width * N for a single value with high probability, while 4 times of that for all the values.
+        assertTrue(maxError <= 4 * Math.E / sketch.getWidth() * total);
+    }
+
+    @Test
+    public void testEqualHashCodesDoNotCollideInEveryRow() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(1000);
+        long time = 10000;
+        sketch.add("Aa", 100, time);
+        assertEquals(0, sketch.estimate("BB", time));
+        assertEquals(100, sketch.estimate("Aa", time));
+    }
+
+    @Test
+    public void testSlidingWindow() {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(1000);
+        long time = 10000;
+        assertEquals(10, sketch.add("a", 10, time));
+        assertEquals(20, sketch.add("a", 10, time + 500));
+
+        // Half of the previous window overlaps with the sliding window.
+        assertEquals(10, sketch.estimate("a", time + 1500));
+        assertEquals(15, sketch.add("a", 5, time + 1500));
+        // The whole previous window overlaps at the start of a new window.
+        assertEquals(5, sketch.estimate("a", time + 2000));
+        // Both windows expired.
+        assertEquals(0, sketch.estimate("a", time + 5000));
+    }
+
+    @Test
+    public void testRecycleArraysAcrossRotations() {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(1000);
+        long time = 10000;
+        for (int i = 0; i < 5; i++) {
+            // Counts of the retired windows never leak into the recycled ones.
+            assertEquals(i == 0 ? 1 : 2, sketch.add("a", 1, time + i * 1000));
+        }
+        // Rotating after an idle window, both windows are empty.
+        assertEquals(0, sketch.estimate("a", time + 7000));
+        for (int i = 7; i < 10; i++) {
+            assertEquals(i == 7 ? 1 : 2, sketch.add("a", 1, time + i * 1000));
+        }
+    }
+
+    @Test
+    public void testHeavyHitters() {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(1000, 4, 1024, 3);
+        long time = 10000;
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("cold-" + i, 1, time);
+            if (i % 2 == 0) {
+                sketch.add("hot-a", 1, time);
+            }
+            if (i % 4 == 0) {
+                sketch.add("hot-b", 1, time);
+            }
+            if (i % 5 == 0) {
+                sketch.add("hot-c", 1, time);
+            }
+        }
+        List<HeavyHitter> heavyHitters = sketch.getHeavyHitters(time);
+        assertEquals(3, heavyHitters.size());
+        assertEquals("hot-a", heavyHitters.get(0).getValue());
+        assertEquals("hot-b", heavyHitters.get(1).getValue());
+        assertEquals("hot-c", heavyHitters.get(2).getValue());
+        assertTrue(heavyHitters.get(0).getCount() >= 500);
+
+        // Heavy hitters are evicted after the sliding window.
+        assertEquals(0, sketch.getHeavyHitters(time + 3000).size());
+    }
+}
@@ -17,6 +17,8 @@ package com.alibaba.csp.sentinel.command;
 
 /**
  * Represent a handler that handles a {@link CommandRequest}.
+ * Handlers producing large results could respond with {@link CommandResponse#ofStreaming(StreamingResult)},
+ * so that the result is written to the client piece by piece rather than encoded as a whole.
  *
  * @author Eric Zhao
  */
@@ -48,6 +48,17 @@ public class CommandResponse<R> {
         return new CommandResponse<T>(result);
     }
 
+    /**
+     * Construct a successful response whose result is streamed to the connection.
+     *
+     * @param result the streaming result
+     * @return constructed server response
+     * @since 1.8.1
+     */
+    public static CommandResponse<StreamingResult> ofStreaming(StreamingResult result) {
+        return new CommandResponse<StreamingResult>(result);
+    }
+
     /**
      * Construct a failed response with given exception.
      *
@@ -73,6 +84,14 @@ public class CommandResponse<R> {
         return success;
     }
 
+    /**
+     * @return whether the result should be streamed to the connection
+     * @since 1.8.1
+     */
+    public boolean isStreaming() {
+        return success && result instanceof StreamingResult;
+    }
+
     public R getResult() {
         return result;
     }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.command;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * <p>Result of a command which is written to the connection progressively (in HTTP chunks) by the
+ * command center, rather than being encoded as a whole. Large results should be streamed to avoid
+ * creating huge transient strings.</p>
+ *
+ * @since 1.8.1
+ * @see CommandResponse#ofStreaming(StreamingResult)
+ */
+public interface StreamingResult {
+
+    /**
+     * @return content type of the result, or null for plain text in the charset of Sentinel
+     */
+    String getContentType();
+
+    /**
+     * Write the result to the output stream. The stream should be neither flushed nor closed,
+     * which is managed by the command center.
+     *
+     * @param out the output stream
+     * @throws IOException if failed to write
+     */
+    void writeTo(OutputStream out) throws IOException;
+}
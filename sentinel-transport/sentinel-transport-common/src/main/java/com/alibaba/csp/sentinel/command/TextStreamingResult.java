@@ -0,0 +1,68 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.command;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+
+/**
+ * {@link StreamingResult} of plain text in the charset of Sentinel.
+ *
+ * @since 1.8.1
+ */
+public abstract class TextStreamingResult implements StreamingResult {
+
+    @Override
+    public String getContentType() {
+        return null;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, Charset.forName(SentinelConfig.charset()));
+        write(writer);
+        // Only flush the encoder to the output stream, which is not closed.
+        writer.flush();
+    }
+
+    /**
+     * Write the text result. The writer should be neither flushed nor closed.
+     *
+     * @param writer the writer
+     * @throws IOException if failed to write
+     */
+    protected abstract void write(Writer writer) throws IOException;
+
+    /**
+     * Render the whole text, for the command centers that do not support streaming.
+     */
+    @Override
+    public String toString() {
+        StringWriter writer = new StringWriter();
+        try {
+            write(writer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.command.handler;
+
+import com.alibaba.csp.sentinel.CtSph;
+import com.alibaba.csp.sentinel.IdleResourceSweeper;
+import com.alibaba.csp.sentinel.command.CommandHandler;
+import com.alibaba.csp.sentinel.command.CommandRequest;
+import com.alibaba.csp.sentinel.command.CommandResponse;
+import com.alibaba.csp.sentinel.command.annotation.CommandMapping;
+import com.alibaba.fastjson.JSONObject;
+
+/**
+ * Get the statistics of idle resource eviction.
+ *
+ * @since 1.8.1
+ */
+@CommandMapping(name = "resourceEviction", desc = "get statistics of idle resource eviction")
+public class FetchResourceEvictionCommandHandler implements CommandHandler<String> {
+
+    @Override
+    public CommandResponse<String> handle(CommandRequest request) {
+        JSONObject result = new JSONObject();
+        result.put("enabled", IdleResourceSweeper.isEnabled());
+        result.put("ttlMs", IdleResourceSweeper.getTtlMs());
+        result.put("resourceCount", CtSph.entrySize());
+        result.put("evictedResourceCount", IdleResourceSweeper.getEvictedResourceCount());
+        result.put("evictedNodeCount", IdleResourceSweeper.getEvictedNodeCount());
+        result.put("sweepCount", IdleResourceSweeper.getSweepCount());
+        result.put("lastSweepTime", IdleResourceSweeper.getLastSweepTime());
+        return CommandResponse.ofSuccess(result.toJSONString());
+    }
+}
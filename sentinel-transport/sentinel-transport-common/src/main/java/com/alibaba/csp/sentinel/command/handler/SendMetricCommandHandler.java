@@ -15,6 +15,8 @@
  */
 package com.alibaba.csp.sentinel.command.handler;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,6 +24,8 @@ import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.command.CommandHandler;
 import com.alibaba.csp.sentinel.command.CommandRequest;
 import com.alibaba.csp.sentinel.command.CommandResponse;
+import com.alibaba.csp.sentinel.command.StreamingResult;
+import com.alibaba.csp.sentinel.command.TextStreamingResult;
 import com.alibaba.csp.sentinel.command.annotation.CommandMapping;
 import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.node.metric.MetricNode;
@@ -40,14 +44,14 @@ import com.alibaba.csp.sentinel.util.TimeUtil;
  */
 @CommandMapping(name = "metric", desc = "get and aggregate metrics, accept param: "
     + "startTime={startTime}&endTime={endTime}&maxLines={maxLines}&identify={resourceName}")
-public class SendMetricCommandHandler implements CommandHandler<String> {
+public class SendMetricCommandHandler implements CommandHandler<StreamingResult> {
 
     private volatile MetricSearcher searcher;
 
     private final Object lock = new Object();
 
     @Override
-    public CommandResponse<String> handle(CommandRequest request) {
+    public CommandResponse<StreamingResult> handle(CommandRequest request) {
         // Note: not thread-safe.
         if (searcher == null) {
             synchronized (lock) {
@@ -56,8 +60,11 @@ public class SendMetricCommandHandler implements CommandHandler<String> {
                     appName = "";
                 }
                 if (searcher == null) {
-                    searcher = new MetricSearcher(MetricWriter.METRIC_BASE_DIR,
-                        MetricWriter.formMetricFileName(appName, PidUtil.getPid()));
+                    // Binary metric files are searched through the memory-mapped index and segments.
+                    boolean binary = SentinelConfig.METRIC_FILE_FORMAT_BINARY.equals(SentinelConfig.metricFileFormat());
+                    String baseFileName = binary ? MetricWriter.formBinaryMetricFileName(appName, PidUtil.getPid())
+                        : MetricWriter.formMetricFileName(appName, PidUtil.getPid());
+                    searcher = new MetricSearcher(MetricWriter.METRIC_BASE_DIR, baseFileName);
                 }
             }
         }
@@ -70,7 +77,7 @@ public class SendMetricCommandHandler implements CommandHandler<String> {
         if (StringUtil.isNotBlank(startTimeStr)) {
             startTime = Long.parseLong(startTimeStr);
         } else {
-            return CommandResponse.ofSuccess("");
+            return CommandResponse.ofSuccess(null);
         }
         List<MetricNode> list;
         try {
@@ -94,11 +101,16 @@ public class SendMetricCommandHandler implements CommandHandler<String> {
         if (StringUtil.isBlank(identity)) {
             addCpuUsageAndLoad(list);
         }
-        StringBuilder sb = new StringBuilder();
-        for (MetricNode node : list) {
-            sb.append(node.toThinString()).append("\n");
-        }
-        return CommandResponse.ofSuccess(sb.toString());
+        final List<MetricNode> nodes = list;
+        return CommandResponse.ofStreaming(new TextStreamingResult() {
+            @Override
+            protected void write(Writer writer) throws IOException {
+                for (MetricNode node : nodes) {
+                    writer.write(node.toThinString());
+                    writer.write('\n');
+                }
+            }
+        });
     }
 
     /**
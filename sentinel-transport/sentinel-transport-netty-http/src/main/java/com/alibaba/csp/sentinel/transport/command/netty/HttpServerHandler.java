@@ -16,14 +16,23 @@
 package com.alibaba.csp.sentinel.transport.command.netty;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import com.alibaba.csp.sentinel.command.CommandHandler;
 import com.alibaba.csp.sentinel.command.CommandRequest;
 import com.alibaba.csp.sentinel.command.CommandResponse;
+import com.alibaba.csp.sentinel.command.StreamingResult;
+import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
 import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.transport.log.CommandCenterLog;
 import com.alibaba.csp.sentinel.transport.command.codec.CodecRegistry;
@@ -32,18 +41,23 @@ import com.alibaba.csp.sentinel.transport.util.HttpCommandUtils;
 import com.alibaba.csp.sentinel.util.StringUtil;
 
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http.QueryStringDecoder;
 import io.netty.handler.codec.http.multipart.HttpData;
 import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder;
@@ -57,19 +71,58 @@ import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 /**
  * Netty-based HTTP server handler for command center.
  *
- * Note: HTTP chunked is not tested!
+ * Note: chunked requests are not tested! Streaming command results are sent as chunked responses.
  *
  * @author Eric Zhao
  */
 public class HttpServerHandler extends SimpleChannelInboundHandler<Object> {
 
+    /**
+     * Max time to wait for a slow client to drain the connection when streaming a result.
+     */
+    private static final long STREAMING_WRITE_TIMEOUT_MS = 10000;
+
+    /**
+     * Streaming results are written out of the event loop, so the writer could wait for the channel
+     * to be writable while the event loop flushes the outbound buffer. Streams beyond the max threads
+     * are rejected.
+     */
+    private static final Executor STREAMING_EXECUTOR = new ThreadPoolExecutor(0, 8, 60, TimeUnit.SECONDS,
+        new SynchronousQueue<Runnable>(), new NamedThreadFactory("sentinel-netty-command-streaming", true));
+
     private final CodecRegistry codecRegistry = new CodecRegistry();
 
+    private final Executor streamingExecutor;
+    private final Object writabilityLock = new Object();
+
+    public HttpServerHandler() {
+        this(STREAMING_EXECUTOR);
+    }
+
+    /**
+     * @param streamingExecutor executor to write streaming results
+     */
+    HttpServerHandler(Executor streamingExecutor) {
+        this.streamingExecutor = streamingExecutor;
+    }
+
     @Override
     public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
         ctx.flush();
     }
 
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        signalWritability();
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        signalWritability();
+        super.channelInactive(ctx);
+    }
+
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, Object msg) throws Exception {
         FullHttpRequest httpRequest = (FullHttpRequest)msg;
@@ -79,7 +132,7 @@ public class HttpServerHandler extends SimpleChannelInboundHandler<Object> {
                 writeErrorResponse(BAD_REQUEST.code(), "Invalid command", ctx);
                 return;
             }
-            handleRequest(request, ctx, HttpUtil.isKeepAlive(httpRequest));
+            handleRequest(request, ctx, HttpUtil.isKeepAlive(httpRequest), httpRequest.protocolVersion());
 
         } catch (Exception ex) {
             writeErrorResponse(INTERNAL_SERVER_ERROR.code(), SERVER_ERROR_MESSAGE, ctx);
@@ -87,14 +140,18 @@ public class HttpServerHandler extends SimpleChannelInboundHandler<Object> {
         }
     }
 
-    private void handleRequest(CommandRequest request, ChannelHandlerContext ctx, boolean keepAlive)
-        throws Exception {
+    private void handleRequest(CommandRequest request, ChannelHandlerContext ctx, boolean keepAlive,
+                               HttpVersion version) throws Exception {
         String commandName = HttpCommandUtils.getTarget(request);
         // Find the matching command handler.
         CommandHandler<?> commandHandler = getHandler(commandName);
         if (commandHandler != null) {
             CommandResponse<?> response = commandHandler.handle(request);
-            writeResponse(response, ctx, keepAlive);
+            if (response.isStreaming()) {
+                writeStreamingResponse((StreamingResult)response.getResult(), ctx, version);
+            } else {
+                writeResponse(response, ctx, keepAlive);
+            }
         } else {
             // No matching command handler.
             writeErrorResponse(BAD_REQUEST.code(), String.format("Unknown command \"%s\"", commandName), ctx);
@@ -165,6 +222,137 @@ public class HttpServerHandler extends SimpleChannelInboundHandler<Object> {
         ctx.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
     }
 
+    /**
+     * Write the result body in pieces as it is produced. HTTP/1.1 clients get a chunked response,
+     * while HTTP/1.0 clients get the raw body delimited by closing the connection.
+     */
+    private void writeStreamingResponse(final StreamingResult result, final ChannelHandlerContext ctx,
+                                        HttpVersion version) {
+        boolean chunked = !HttpVersion.HTTP_1_0.equals(version);
+        HttpResponse httpResponse = new DefaultHttpResponse(chunked ? HttpVersion.HTTP_1_1 : HttpVersion.HTTP_1_0,
+            OK);
+        String contentType = result.getContentType();
+        if (contentType == null) {
+            contentType = "text/plain; charset=" + SentinelConfig.charset();
+        }
+        httpResponse.headers().set("Content-Type", contentType);
+        if (chunked) {
+            httpResponse.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+        }
+        httpResponse.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        ctx.writeAndFlush(httpResponse);
+
+        try {
+            streamingExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    writeStreamingBody(result, ctx);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            CommandCenterLog.warn("Streaming response rejected", ex);
+            ctx.close();
+        }
+    }
+
+    private void writeStreamingBody(StreamingResult result, ChannelHandlerContext ctx) {
+        try {
+            HttpContentOutputStream out = new HttpContentOutputStream(ctx);
+            result.writeTo(out);
+            out.flush();
+        } catch (Exception ex) {
+            // The head has been sent, so just close the connection without the last content,
+            // and the client will see a truncated response.
+            CommandCenterLog.warn("Error when writing streaming response", ex);
+            ctx.close();
+            return;
+        }
+        ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT).addListener(ChannelFutureListener.CLOSE);
+    }
+
+    private void signalWritability() {
+        synchronized (writabilityLock) {
+            writabilityLock.notifyAll();
+        }
+    }
+
+    /**
+     * Wait until the channel is writable, so a slow client holds back the streaming writer rather than
+     * piling up the outbound buffer. It never waits in the event loop, which is the one to drain the buffer.
+     */
+    private void awaitWritable(ChannelHandlerContext ctx) throws IOException {
+        Channel channel = ctx.channel();
+        if (ctx.executor().inEventLoop()) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + STREAMING_WRITE_TIMEOUT_MS;
+        synchronized (writabilityLock) {
+            while (!channel.isWritable()) {
+                if (!channel.isActive()) {
+                    throw new IOException("Connection closed");
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new IOException("Timed out waiting for the connection to be writable");
+                }
+                try {
+                    writabilityLock.wait(remaining);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for the connection to be writable");
+                }
+            }
+        }
+    }
+
+    /**
+     * Buffers the written bytes and emits them as {@link io.netty.handler.codec.http.HttpContent} pieces.
+     */
+    private class HttpContentOutputStream extends OutputStream {
+
+        private static final int BUFFER_SIZE = 8192;
+
+        private final ChannelHandlerContext ctx;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private int count;
+
+        HttpContentOutputStream(ChannelHandlerContext ctx) {
+            this.ctx = ctx;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buf.length) {
+                flush();
+            }
+            buf[count++] = (byte)b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (count == buf.length) {
+                    flush();
+                }
+                int n = Math.min(len, buf.length - count);
+                System.arraycopy(b, off, buf, count, n);
+                count += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (count == 0) {
+                return;
+            }
+            awaitWritable(ctx);
+            ctx.writeAndFlush(new DefaultHttpContent(Unpooled.copiedBuffer(buf, 0, count)));
+            count = 0;
+        }
+    }
+
     private CommandRequest parseRequest(FullHttpRequest request) {
         QueryStringDecoder queryStringDecoder = new QueryStringDecoder(request.uri());
         CommandRequest serverRequest = new CommandRequest();
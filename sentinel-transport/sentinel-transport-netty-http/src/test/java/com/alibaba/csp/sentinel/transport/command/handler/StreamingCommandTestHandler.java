@@ -0,0 +1,59 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.transport.command.handler;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.alibaba.csp.sentinel.command.CommandHandler;
+import com.alibaba.csp.sentinel.command.CommandRequest;
+import com.alibaba.csp.sentinel.command.CommandResponse;
+import com.alibaba.csp.sentinel.command.StreamingResult;
+import com.alibaba.csp.sentinel.command.TextStreamingResult;
+import com.alibaba.csp.sentinel.command.annotation.CommandMapping;
+
+/**
+ * A test handler whose result spans several chunks.
+ */
+@CommandMapping(name = "streaming", desc = "a test handler with streaming result, accept param: "
+    + "lines={lines}&fail={true|false}")
+public class StreamingCommandTestHandler implements CommandHandler<StreamingResult> {
+
+    public static String expectedBody(int lines) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            sb.append("line-").append(i).append('\n');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public CommandResponse<StreamingResult> handle(CommandRequest request) {
+        final int lines = Integer.parseInt(request.getParam("lines"));
+        final boolean fail = Boolean.parseBoolean(request.getParam("fail"));
+        return CommandResponse.ofStreaming(new TextStreamingResult() {
+            @Override
+            protected void write(Writer writer) throws IOException {
+                for (int i = 0; i < lines; i++) {
+                    writer.write("line-" + i + "\n");
+                }
+                if (fail) {
+                    throw new IllegalStateException("Failed in the middle of streaming");
+                }
+            }
+        });
+    }
+}
@@ -24,11 +24,13 @@ import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
 import com.alibaba.csp.sentinel.transport.CommandCenter;
 import com.alibaba.csp.sentinel.transport.command.NettyHttpCommandCenter;
 import com.alibaba.csp.sentinel.transport.command.handler.MultipleSlashNameCommandTestHandler;
+import com.alibaba.csp.sentinel.transport.command.handler.StreamingCommandTestHandler;
 import com.alibaba.fastjson.JSON;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.http.*;
+import io.netty.util.concurrent.ImmediateExecutor;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -43,6 +45,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test cases for {@link HttpServerHandler}.
@@ -83,7 +87,8 @@ public class HttpServerHandlerTest {
         HttpObjectAggregator httpObjectAggregator = new HttpObjectAggregator(1024 * 1024);
         HttpResponseEncoder httpResponseEncoder = new HttpResponseEncoder();
 
-        HttpServerHandler httpServerHandler = new HttpServerHandler();
+        // Write streaming results in the calling thread, as the embedded channel is not thread-safe.
+        HttpServerHandler httpServerHandler = new HttpServerHandler(ImmediateExecutor.INSTANCE);
 
         // Create new EmbeddedChannel every method call
         embeddedChannel = new EmbeddedChannel(httpRequestDecoder, httpObjectAggregator, httpResponseEncoder, httpServerHandler);
@@ -189,6 +194,64 @@ public class HttpServerHandlerTest {
         processSuccess(httpRequestStr, expectedBody);
     }
 
+    /**
+     * {@link StreamingCommandTestHandler}
+     */
+    @Test
+    public void testStreamingCommandChunked() {
+        String httpRequestStr = "GET /streaming?lines=5000 HTTP/1.1" + CRLF
+                              + "Host: localhost:8719" + CRLF
+                              + CRLF;
+        String expectedBody = StreamingCommandTestHandler.expectedBody(5000);
+
+        String responseStr = processResponse(httpRequestStr);
+        assertTrue(responseStr.startsWith(HttpVersion.HTTP_1_1.toString() + ' ' + OK.toString() + CRLF));
+        assertTrue(responseStr.contains("transfer-encoding: chunked" + CRLF));
+        assertTrue(responseStr.endsWith("0" + CRLF + CRLF));
+
+        FullHttpResponse response = decodeResponse(responseStr);
+        assertEquals(OK, response.status());
+        assertEquals(expectedBody, response.content().toString(SENTINEL_CHARSET));
+        response.release();
+    }
+
+    @Test
+    public void testStreamingCommandHttp10() {
+        String httpRequestStr = "GET /streaming?lines=3 HTTP/1.0" + CRLF
+                              + "Host: localhost:8719" + CRLF
+                              + CRLF;
+        String expectedBody = StreamingCommandTestHandler.expectedBody(3);
+
+        String responseStr = processResponse(httpRequestStr);
+        assertTrue(responseStr.startsWith(HttpVersion.HTTP_1_0.toString() + ' ' + OK.toString() + CRLF));
+        assertFalse(responseStr.contains("transfer-encoding"));
+        assertFalse(responseStr.contains("content-length"));
+        assertTrue(responseStr.endsWith(CRLF + CRLF + expectedBody));
+    }
+
+    @Test
+    public void testStreamingCommandFailure() {
+        String httpRequestStr = "GET /streaming?lines=3000&fail=true HTTP/1.1" + CRLF
+                              + "Host: localhost:8719" + CRLF
+                              + CRLF;
+
+        String responseStr = processResponse(httpRequestStr);
+        assertTrue(responseStr.startsWith(HttpVersion.HTTP_1_1.toString() + ' ' + OK.toString() + CRLF));
+        assertTrue(responseStr.contains("line-0\n"));
+        // The connection is closed without the last chunk, so the client sees a truncated response.
+        assertFalse(responseStr.endsWith("0" + CRLF + CRLF));
+        assertFalse(embeddedChannel.isOpen());
+    }
+
+    private FullHttpResponse decodeResponse(String httpResponseStr) {
+        EmbeddedChannel clientChannel = new EmbeddedChannel(new HttpResponseDecoder(),
+            new HttpObjectAggregator(1024 * 1024));
+        clientChannel.writeInbound(Unpooled.wrappedBuffer(httpResponseStr.getBytes(SENTINEL_CHARSET)));
+        FullHttpResponse response = clientChannel.readInbound();
+        clientChannel.finish();
+        return response;
+    }
+
     private void processError(String httpRequestStr, String expectedBody) {
         processError(httpRequestStr, BAD_REQUEST, expectedBody);
     }
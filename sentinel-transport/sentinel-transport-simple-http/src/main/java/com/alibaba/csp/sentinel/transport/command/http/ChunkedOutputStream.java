@@ -0,0 +1,119 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.transport.command.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An output stream that encodes the written bytes in HTTP/1.1 chunked transfer coding.
+ * Bytes are buffered and emitted as one chunk whenever the buffer is full or on {@link #flush()}.
+ * {@link #finish()} must be called to write the terminating zero-length chunk.
+ *
+ * @since 1.8.1
+ */
+public class ChunkedOutputStream extends OutputStream {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] LAST_CHUNK = {'0', '\r', '\n', '\r', '\n'};
+
+    private final OutputStream out;
+    private final byte[] buf;
+    private int count;
+    private boolean finished;
+
+    public ChunkedOutputStream(OutputStream out) {
+        this(out, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ChunkedOutputStream(OutputStream out, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize should be positive");
+        }
+        this.out = out;
+        this.buf = new byte[chunkSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (count == buf.length) {
+            writeChunk();
+        }
+        buf[count++] = (byte)b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (count == buf.length) {
+                writeChunk();
+            }
+            int n = Math.min(len, buf.length - count);
+            System.arraycopy(b, off, buf, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        writeChunk();
+        out.flush();
+    }
+
+    /**
+     * Write the buffered bytes and the last chunk, without closing the underlying stream.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        writeChunk();
+        out.write(LAST_CHUNK);
+        out.flush();
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        out.close();
+    }
+
+    private void writeChunk() throws IOException {
+        if (count == 0) {
+            // A zero-length chunk would terminate the body.
+            return;
+        }
+        out.write(Integer.toHexString(count).getBytes("US-ASCII"));
+        out.write(CRLF);
+        out.write(buf, 0, count);
+        out.write(CRLF);
+        count = 0;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (finished) {
+            throw new IOException("Chunked stream already finished");
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.alibaba.csp.sentinel.transport.command.http;
 import com.alibaba.csp.sentinel.command.CommandHandler;
 import com.alibaba.csp.sentinel.command.CommandRequest;
 import com.alibaba.csp.sentinel.command.CommandResponse;
+import com.alibaba.csp.sentinel.command.StreamingResult;
 import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.transport.log.CommandCenterLog;
 import com.alibaba.csp.sentinel.transport.command.SimpleHttpCommandCenter;
@@ -26,6 +27,7 @@ import com.alibaba.csp.sentinel.transport.util.HttpCommandUtils;
 import com.alibaba.csp.sentinel.util.StringUtil;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
@@ -55,6 +57,7 @@ public class HttpEventTask implements Runnable {
     private final Socket socket;
 
     private boolean writtenHead = false;
+    private boolean http11 = false;
 
     public HttpEventTask(Socket socket) {
         this.socket = socket;
@@ -84,6 +87,7 @@ public class HttpEventTask implements Runnable {
             CommandCenterLog.info("[SimpleHttpCommandCenter] Socket income: " + firstLine
                 + ", addr: " + socket.getInetAddress());
             CommandRequest request = processQueryString(firstLine);
+            http11 = firstLine.endsWith("HTTP/1.1");
 
             if (firstLine.length() > 4 && StringUtil.equalsIgnoreCase("POST", firstLine.substring(0, 4))) {
                 // Deal with post method
@@ -101,7 +105,7 @@ public class HttpEventTask implements Runnable {
             CommandHandler<?> commandHandler = SimpleHttpCommandCenter.getHandler(commandName);
             if (commandHandler != null) {
                 CommandResponse<?> response = commandHandler.handle(request);
-                handleResponse(response, printWriter);
+                handleResponse(response, printWriter, outputStream);
             } else {
                 // No matching command handler.
                 writeResponse(printWriter, StatusCode.BAD_REQUEST, "Unknown command `" + commandName + '`');
@@ -120,7 +124,7 @@ public class HttpEventTask implements Runnable {
                     e.printStackTrace();
                     if (!writtenHead) {
                         writeResponse(printWriter, StatusCode.INTERNAL_SERVER_ERROR, errorMessage);
-                    } else {
+                    } else if (!http11) {
                         printWriter.println(errorMessage);
                     }
                     printWriter.flush();
@@ -302,7 +306,12 @@ public class HttpEventTask implements Runnable {
         }
     }
 
-    private <T> void handleResponse(CommandResponse<T> response, final PrintWriter printWriter) throws Exception {
+    private <T> void handleResponse(CommandResponse<T> response, final PrintWriter printWriter,
+                                    OutputStream outputStream) throws Exception {
+        if (response.isStreaming()) {
+            writeStreamingResponse(printWriter, outputStream, (StreamingResult)response.getResult());
+            return;
+        }
         if (response.isSuccess()) {
             if (response.getResult() == null) {
                 writeResponse(printWriter, StatusCode.OK, null);
@@ -331,6 +340,37 @@ public class HttpEventTask implements Runnable {
         writtenHead = true;
     }
 
+    /**
+     * Write the result body as it is produced, so that large results are never materialized as a whole.
+     * The body is sent in chunked transfer coding for HTTP/1.1 clients. HTTP/1.0 clients get the raw body
+     * delimited by closing the connection.
+     */
+    private void writeStreamingResponse(PrintWriter out, OutputStream outputStream, StreamingResult result)
+        throws IOException {
+        String contentType = result.getContentType();
+        if (contentType == null) {
+            contentType = "text/plain; charset=" + SentinelConfig.charset();
+        }
+        out.print((http11 ? "HTTP/1.1 " : "HTTP/1.0 ") + StatusCode.OK.toString() + "\r\n"
+            + "Content-Type: " + contentType + "\r\n"
+            + (http11 ? "Transfer-Encoding: chunked\r\n" : "")
+            + "Connection: close\r\n\r\n");
+        out.flush();
+        writtenHead = true;
+
+        if (http11) {
+            ChunkedOutputStream chunked = new ChunkedOutputStream(outputStream);
+            result.writeTo(chunked);
+            // The last chunk is only written on success, so a failure mid-stream shows up as a truncated body.
+            chunked.finish();
+        } else {
+            BufferedOutputStream buffered = new BufferedOutputStream(outputStream,
+                ChunkedOutputStream.DEFAULT_CHUNK_SIZE);
+            result.writeTo(buffered);
+            buffered.flush();
+        }
+    }
+
     /**
      * Parse raw HTTP request line to a {@link CommandRequest}.
      *
@@ -0,0 +1,58 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.transport.command.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ChunkedOutputStreamTest {
+
+    @Test
+    public void testWriteChunks() throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ChunkedOutputStream out = new ChunkedOutputStream(bos, 4);
+        out.write("abcdefghij".getBytes("US-ASCII"));
+        out.write('k');
+        out.finish();
+
+        assertEquals("4\r\nabcd\r\n4\r\nefgh\r\n3\r\nijk\r\n0\r\n\r\n", bos.toString("US-ASCII"));
+    }
+
+    @Test
+    public void testFlushSkipsEmptyChunk() throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ChunkedOutputStream out = new ChunkedOutputStream(bos);
+        out.flush();
+        out.write("hello".getBytes("US-ASCII"));
+        out.flush();
+        out.flush();
+        out.finish();
+        out.finish();
+
+        assertEquals("5\r\nhello\r\n0\r\n\r\n", bos.toString("US-ASCII"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testWriteAfterFinish() throws IOException {
+        ChunkedOutputStream out = new ChunkedOutputStream(new ByteArrayOutputStream());
+        out.finish();
+        out.write('a');
+    }
+}